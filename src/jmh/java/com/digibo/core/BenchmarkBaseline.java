@@ -0,0 +1,106 @@
+package com.digibo.core;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result (-rf json) against a baseline result of an earlier commit.
+ *
+ * Prints every benchmark present in both files with its change in percent, where a
+ * positive change is always a slowdown (higher time per op, lower throughput). Exits
+ * with status 1 when a benchmark got slower by more than the tolerance and the change
+ * is larger than the error margins of both measurements.
+ *
+ * Usage: BenchmarkBaseline baseline.json current.json [tolerancePercent, default 10]
+ */
+public final class BenchmarkBaseline {
+
+    private BenchmarkBaseline() {
+    }
+
+    record Score(double score, double error, String unit, boolean higherIsBetter) {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkBaseline baseline.json current.json [tolerancePercent]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.isFile()) {
+            System.err.println("No baseline at " + baselineFile + "; save a result of the base commit there first");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        ObjectMapper mapper = JsonMapper.builder().build();
+        Map<String, Score> baseline = read(mapper.readTree(baselineFile));
+        Map<String, Score> current = read(mapper.readTree(new File(args[1])));
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s  (new)%n", entry.getKey(), format(entry.getValue()));
+                continue;
+            }
+            Score after = entry.getValue();
+            double change = slowdownPercent(before, after);
+            boolean significant = Math.abs(after.score() - before.score()) > before.error() + after.error();
+            boolean regression = significant && change > tolerance;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14s -> %14s  %+7.1f%%%s%n", entry.getKey(), format(before), format(after),
+                    change, regression ? "  SLOWER" : significant && change < -tolerance ? "  faster" : "");
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) slower than the baseline by more than " + tolerance + "%");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Change in percent where positive means slower, whatever the benchmark mode.
+     */
+    static double slowdownPercent(Score before, Score after) {
+        double ratio = after.score() / before.score();
+        return (after.higherIsBetter() ? 1 / ratio - 1 : ratio - 1) * 100;
+    }
+
+    /**
+     * Scores by "benchmark [param=value, ...]".
+     */
+    static Map<String, Score> read(JsonNode results) {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.get("benchmark").asString());
+            JsonNode params = result.get("params");
+            if (params != null && !params.isEmpty()) {
+                key.append(' ').append(new TreeMap<>(mapParams(params)));
+            }
+            JsonNode metric = result.get("primaryMetric");
+            String mode = result.get("mode").asString();
+            double error = metric.get("scoreError").asDouble(0);
+            scores.put(key.toString(), new Score(metric.get("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.get("scoreUnit").asString(),
+                    mode.equals("thrpt")));
+        }
+        return scores;
+    }
+
+    private static Map<String, String> mapParams(JsonNode params) {
+        Map<String, String> values = new LinkedHashMap<>();
+        params.properties().forEach(param -> values.put(param.getKey(), param.getValue().asString()));
+        return values;
+    }
+
+    private static String format(Score score) {
+        return String.format("%.3f %s", score.score(), score.unit());
+    }
+}
@@ -0,0 +1,90 @@
+package com.digibo.core.mapper;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CompactRow vs HashMap rows for a typical find() cursor (12 columns).
+ *
+ * build*: cost of materializing a result; run with "-prof gc" and compare
+ * gc.alloc.rate.norm (bytes per result) for the heap footprint.
+ * serialize*: JSON serialization throughput of the same result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompactRowBenchmark {
+
+    private static final String[] COLUMNS = {
+            "ID", "CUST_ID", "CUST_NAME", "USER_LOGIN", "DOC_CLASS", "STATUS",
+            "CHANNEL", "AMOUNT", "CURRENCY", "CREATED", "PROCESSED", "DETAILS"
+    };
+
+    @Param({"100", "5000"})
+    public int rows;
+
+    private final ObjectMapper mapper = JsonMapper.builder().build();
+    private List<Object[]> cursor;
+    private List<Map<String, Object>> hashMapResult;
+    private List<Map<String, Object>> compactResult;
+
+    @Setup
+    public void setUp() {
+        cursor = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            cursor.add(new Object[]{
+                    "D" + i, "C" + (i % 97), "Customer " + (i % 97), "user" + (i % 13), "PAYMENT",
+                    i % 3 == 0 ? "NEW" : "DONE", "IB", BigDecimal.valueOf(i * 10L, 2), "EUR",
+                    new Timestamp(1_700_000_000_000L + i * 60_000L), null, "Payment details " + i
+            });
+        }
+        hashMapResult = buildHashMapRows();
+        compactResult = buildCompactRows();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> buildHashMapRows() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Object[] values : cursor) {
+            Map<String, Object> row = new HashMap<>();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                row.put(COLUMNS[i], values[i]);
+            }
+            result.add(row);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> buildCompactRows() {
+        RowSchema schema = new RowSchema(COLUMNS);
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Object[] values : cursor) {
+            result.add(new CompactRow(schema, values.clone()));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public void serializeHashMapRows(Blackhole bh) {
+        bh.consume(mapper.writeValueAsBytes(hashMapResult));
+    }
+
+    @Benchmark
+    public void serializeCompactRows(Blackhole bh) {
+        bh.consume(mapper.writeValueAsBytes(compactResult));
+    }
+}
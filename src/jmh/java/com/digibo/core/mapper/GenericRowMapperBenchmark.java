@@ -0,0 +1,112 @@
+package com.digibo.core.mapper;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cursor to rows mapping for a typical find() cursor (12 columns), against a stub
+ * ResultSet that serves values from memory, so only the mapping itself is measured.
+ *
+ * genericRowMapper: one mapper per query, column plan built from the first row.
+ * metadataPerRow: the mapping before the column plan, as the baseline: getMetaData()
+ * and getColumnName(i) for every cell, getObject(i), into a HashMap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenericRowMapperBenchmark {
+
+    private static final String[] COLUMNS = {
+            "ID", "CUST_ID", "CUST_NAME", "USER_LOGIN", "DOC_CLASS", "STATUS",
+            "CHANNEL", "AMOUNT", "CURRENCY", "CREATED", "PROCESSED", "DETAILS"
+    };
+    private static final int[] TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.NUMERIC, Types.CHAR, Types.TIMESTAMP, Types.TIMESTAMP, Types.VARCHAR
+    };
+
+    @Param({"100", "5000"})
+    public int rows;
+
+    private Object[][] data;
+
+    @Setup
+    public void setUp() {
+        data = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            data[i] = new Object[]{
+                    "D" + i, "C" + (i % 97), "Customer " + (i % 97), "user" + (i % 13), "PAYMENT",
+                    i % 3 == 0 ? "NEW" : "DONE", "IB", BigDecimal.valueOf(i * 10L, 2), "EUR",
+                    new Timestamp(1_700_000_000_000L + i * 60_000L), null, "Payment details " + i
+            };
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> genericRowMapper() throws SQLException {
+        ResultSet rs = resultSet(data);
+        GenericRowMapper mapper = new GenericRowMapper();
+        List<Map<String, Object>> result = new ArrayList<>();
+        int rowNum = 0;
+        while (rs.next()) {
+            result.add(mapper.mapRow(rs, rowNum++));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> metadataPerRow() throws SQLException {
+        ResultSet rs = resultSet(data);
+        List<Map<String, Object>> result = new ArrayList<>();
+        while (rs.next()) {
+            Map<String, Object> row = new HashMap<>();
+            int columnCount = rs.getMetaData().getColumnCount();
+            for (int i = 1; i <= columnCount; i++) {
+                row.put(rs.getMetaData().getColumnName(i), rs.getObject(i));
+            }
+            result.add(row);
+        }
+        return result;
+    }
+
+    /**
+     * Forward-only ResultSet over the rows; supports what the mapper calls.
+     */
+    static ResultSet resultSet(Object[][] data) {
+        ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+                GenericRowMapperBenchmark.class.getClassLoader(), new Class<?>[]{ResultSetMetaData.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getColumnCount" -> COLUMNS.length;
+                    case "getColumnName", "getColumnLabel" -> COLUMNS[(Integer) args[0] - 1];
+                    case "getColumnType" -> TYPES[(Integer) args[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        int[] row = {-1};
+        return (ResultSet) Proxy.newProxyInstance(
+                GenericRowMapperBenchmark.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++row[0] < data.length;
+                    case "getMetaData" -> metaData;
+                    case "getString", "getBigDecimal", "getTimestamp", "getObject" ->
+                            data[row[0]][(Integer) args[0] - 1];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
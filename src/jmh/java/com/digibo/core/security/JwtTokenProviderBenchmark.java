@@ -0,0 +1,59 @@
+package com.digibo.core.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token verification as done by JwtAuthenticationFilter on every request.
+ *
+ * verifyCached: token seen before, answered from the verified token cache.
+ * verifyUncached: signature check and claims parsing on every call (cache disabled).
+ * permissionsFromToken: verify and decode the permission claim.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long-for-hs256";
+
+    @Param({"10", "300"})
+    public int permissions;
+
+    private JwtTokenProvider cached;
+    private JwtTokenProvider uncached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtTokenProvider(SECRET, 3_600_000L, 86_400_000L);
+        uncached = new JwtTokenProvider(SECRET, 3_600_000L, 86_400_000L, 0);
+        Set<String> granted = new HashSet<>();
+        for (int i = 0; i < permissions; i++) {
+            granted.add("BOPACKAGE" + (i / 10) + ".PROCEDURE_" + i);
+        }
+        token = cached.generateToken("user1", "1", List.of("USER"), granted);
+    }
+
+    @Benchmark
+    public VerifiedClaims verifyCached() {
+        return cached.verifyToken(token);
+    }
+
+    @Benchmark
+    public VerifiedClaims verifyUncached() {
+        return uncached.verifyToken(token);
+    }
+
+    @Benchmark
+    public Set<String> permissionsFromToken() {
+        return uncached.getPermissionsFromToken(token);
+    }
+}
@@ -0,0 +1,55 @@
+package com.digibo.core.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * hasPermission checks behind @PreAuthorize("hasPermission(...)"), for a granted and a
+ * missing permission and for the targetType/permission variant that builds the name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OraclePermissionEvaluatorBenchmark {
+
+    @Param({"10", "300"})
+    public int permissions;
+
+    private final OraclePermissionEvaluator evaluator = new OraclePermissionEvaluator(null);
+    private Authentication authentication;
+
+    @Setup
+    public void setUp() {
+        Set<String> granted = new HashSet<>();
+        for (int i = 0; i < permissions; i++) {
+            granted.add("BOPACKAGE" + (i / 10) + ".PROCEDURE_" + i);
+        }
+        granted.add("BODOCUMENTS.FIND");
+        UserPrincipal principal = UserPrincipal.create("1", "user1", null, List.of("USER"), granted);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Benchmark
+    public boolean granted() {
+        return evaluator.hasPermission(authentication, null, "BODOCUMENTS.FIND");
+    }
+
+    @Benchmark
+    public boolean denied() {
+        return evaluator.hasPermission(authentication, null, "BODOCUMENTS.DELETE");
+    }
+
+    @Benchmark
+    public boolean byTargetType() {
+        return evaluator.hasPermission(authentication, 1L, "bodocuments", "find");
+    }
+}
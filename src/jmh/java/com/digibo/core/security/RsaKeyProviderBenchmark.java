@@ -0,0 +1,40 @@
+package com.digibo.core.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.OAEPParameterSpec;
+import java.nio.charset.StandardCharsets;
+import java.security.spec.MGF1ParameterSpec;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login password decryption (RSA-2048 OAEP/SHA-256) as done by AuthController on login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RsaKeyProviderBenchmark {
+
+    private final RsaKeyProvider provider = new RsaKeyProvider();
+    private String encrypted;
+
+    @Setup
+    public void setUp() throws Exception {
+        provider.init();
+        Cipher cipher = Cipher.getInstance("RSA/ECB/OAEPPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, provider.getPublicKey(), new OAEPParameterSpec(
+                "SHA-256", "MGF1", MGF1ParameterSpec.SHA256, OAEPParameterSpec.DEFAULT.getPSource()));
+        encrypted = Base64.getEncoder().encodeToString(
+                cipher.doFinal("password1".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return provider.decrypt(encrypted);
+    }
+}
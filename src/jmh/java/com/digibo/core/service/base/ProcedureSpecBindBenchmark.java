@@ -0,0 +1,73 @@
+package com.digibo.core.service.base;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IN parameter binding of a typical find() call (ProcedureSpec.bind, which replaced
+ * BaseService.setParameter) against a stub CallableStatement that only counts calls.
+ *
+ * bindTyped: arguments already of the bound JDBC type.
+ * bindConverted: request strings and java.util.Date that need conversion while binding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProcedureSpecBindBenchmark {
+
+    private final ProcedureSpec spec = ProcedureSpec.procedure("BODOCUMENTS", "find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_DOC_CLASS", Types.NUMERIC)
+            .in("P_STATUS", Types.NUMERIC)
+            .in("P_AMOUNT_FROM", Types.NUMERIC)
+            .in("P_AMOUNT_TO", Types.NUMERIC)
+            .in("P_CREATED_FROM", Types.TIMESTAMP)
+            .in("P_CREATED_TILL", Types.TIMESTAMP)
+            .in("P_ROWS", Types.INTEGER)
+            .cursor("P_RESULT")
+            .out("P_COUNT", Types.NUMERIC)
+            .build();
+
+    private final Object[] typedArgs = {
+            "C12", "Customer", null, new BigDecimal(3), new BigDecimal(1), new BigDecimal("10.00"),
+            new BigDecimal("99999.99"), new Timestamp(1_700_000_000_000L), null, 500
+    };
+    private final Object[] convertedArgs = {
+            "C12", "Customer", null, "3", 1, "10.00", 99999.99,
+            new Date(1_700_000_000_000L), null, "500"
+    };
+
+    private final int[] calls = new int[1];
+    private final CallableStatement statement = (CallableStatement) Proxy.newProxyInstance(
+            ProcedureSpecBindBenchmark.class.getClassLoader(), new Class<?>[]{CallableStatement.class},
+            (proxy, method, args) -> {
+                calls[0]++;
+                return null;
+            });
+
+    @Benchmark
+    public void bindTyped(Blackhole bh) throws SQLException {
+        spec.bind(statement, typedArgs);
+        bh.consume(calls[0]);
+    }
+
+    @Benchmark
+    public void bindConverted(Blackhole bh) throws SQLException {
+        spec.bind(statement, convertedArgs);
+        bh.consume(calls[0]);
+    }
+}
@@ -1,14 +1,32 @@
 package com.digibo.core.config;
 
+import com.digibo.core.service.base.Bulkheads;
+import com.digibo.core.service.base.ConnectionGate;
+import com.digibo.core.service.base.FetchSizeAdvisor;
+import com.digibo.core.service.base.OpenCursors;
+import com.digibo.core.service.base.ProcedureMetrics;
+import com.digibo.core.service.base.SingleFlight;
+import com.digibo.core.service.base.SlowCallJournal;
+import com.digibo.core.service.base.SlowCallsEndpoint;
+import com.digibo.core.service.base.StatementCacheMonitor;
+import com.digibo.core.service.base.replay.RecordingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import oracle.jdbc.OracleConnection;
+import org.springframework.beans.factory.BeanCreationException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
-import org.springframework.jdbc.core.simple.SimpleJdbcCall;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
 
 @Configuration
 @Profile("!mock")
@@ -25,4 +43,165 @@ public class DatabaseConfig {
     public NamedParameterJdbcTemplate namedParameterJdbcTemplate(DataSource dataSource) {
         return new NamedParameterJdbcTemplate(dataSource);
     }
+
+    /**
+     * Enables the Oracle implicit statement cache on every pooled connection.
+     * Each service calls a small, fixed set of procedures, so with the cache sized
+     * to cover them a checked out connection reuses its parsed call statements
+     * instead of parsing them again. A value already set under
+     * spring.datasource.hikari.data-source-properties takes precedence.
+     *
+     * Also sets the default LOB prefetch size, the bytes of each LOB returned together
+     * with its locator, so small LOBs are read without extra round trips.
+     */
+    @Bean
+    public static BeanPostProcessor statementCacheConfigurer(
+            @Value("${app.db.statement-cache-size:50}") int statementCacheSize,
+            @Value("${app.db.lob-prefetch-size:32768}") int lobPrefetchSize) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    hikari.getDataSourceProperties().putIfAbsent(
+                            OracleConnection.CONNECTION_PROPERTY_IMPLICIT_STATEMENT_CACHE_SIZE,
+                            String.valueOf(statementCacheSize));
+                    hikari.getDataSourceProperties().putIfAbsent(
+                            OracleConnection.CONNECTION_PROPERTY_DEFAULT_LOB_PREFETCH_SIZE,
+                            String.valueOf(lobPrefetchSize));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * With app.db.record.file set, records every database call to that file for replay
+     * with the replay profile (see {@link RecordingDataSource}). Not for production use:
+     * the file holds the data read.
+     */
+    @Bean
+    public static BeanPostProcessor databaseRecorder(@Value("${app.db.record.file:}") String recordFile) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (recordFile.isBlank() || !(bean instanceof DataSource dataSource)
+                        || bean instanceof RecordingDataSource) {
+                    return bean;
+                }
+                try {
+                    return new RecordingDataSource(dataSource, Path.of(recordFile));
+                } catch (IOException e) {
+                    throw new BeanCreationException(beanName, "Cannot record database calls to " + recordFile, e);
+                }
+            }
+        };
+    }
+
+    @Bean
+    public StatementCacheMonitor statementCacheMonitor(
+            @Value("${app.db.statement-cache-size:50}") int statementCacheSize, MeterRegistry meterRegistry) {
+        return new StatementCacheMonitor(statementCacheSize, meterRegistry);
+    }
+
+    /**
+     * Cursor fetch sizes per procedure, learned from past calls. Fixed sizes can be
+     * configured per procedure (app.db.fetch-size.procedure.PACKAGE.PROCEDURE) or per
+     * package (app.db.fetch-size.package.PACKAGE), names in upper case.
+     */
+    @Bean
+    public FetchSizeAdvisor fetchSizeAdvisor(
+            @Value("${app.db.fetch-size.default:100}") int defaultFetchSize,
+            @Value("${app.db.fetch-size.max:1000}") int maxFetchSize,
+            @Value("${app.db.fetch-size.max-bytes:1048576}") long maxFetchBytes,
+            Environment environment, MeterRegistry meterRegistry) {
+        return new FetchSizeAdvisor(defaultFetchSize, maxFetchSize, maxFetchBytes,
+                name -> environment.getProperty(
+                        (name.indexOf('.') > 0 ? "app.db.fetch-size.procedure." : "app.db.fetch-size.package.") + name,
+                        Integer.class),
+                meterRegistry);
+    }
+
+    /**
+     * Admission of procedure calls to the pool, sized to the pool unless
+     * app.db.admission.permits is set. Waits at most app.db.admission.timeout,
+     * by default the pool's connection timeout.
+     */
+    @Bean
+    public ConnectionGate connectionGate(
+            DataSource dataSource,
+            @Value("${app.db.admission.permits:0}") int permits,
+            @Value("${app.db.admission.timeout:0}") long timeout,
+            MeterRegistry meterRegistry) throws SQLException {
+        HikariDataSource hikari = dataSource.isWrapperFor(HikariDataSource.class)
+                ? dataSource.unwrap(HikariDataSource.class) : null;
+        if (permits <= 0) {
+            permits = hikari != null ? hikari.getMaximumPoolSize() : 10;
+        }
+        if (timeout <= 0) {
+            timeout = hikari != null ? hikari.getConnectionTimeout() : 30000;
+        }
+        return new ConnectionGate(permits, timeout, meterRegistry);
+    }
+
+    /**
+     * Call time, rows and connection acquire time per package and procedure, see
+     * {@link ProcedureMetrics}.
+     */
+    @Bean
+    public ProcedureMetrics procedureMetrics(MeterRegistry meterRegistry) {
+        return new ProcedureMetrics(meterRegistry);
+    }
+
+    /**
+     * Slowest calls per package (app.db.slow-calls), see {@link SlowCallJournal}.
+     */
+    @Bean
+    public SlowCallJournal slowCallJournal(
+            @Value("${app.db.slow-calls.threshold:500}") long threshold,
+            @Value("${app.db.slow-calls.max-entries:20}") int maxEntries,
+            @Value("${app.db.slow-calls.window:300000}") long window,
+            @Value("${app.db.slow-calls.windows:12}") int windows) {
+        return new SlowCallJournal(threshold, maxEntries, window, windows);
+    }
+
+    /**
+     * Shared execution of identical concurrent calls of coalesced procedures. Share windows
+     * can be configured per procedure (app.db.coalescing.procedure.PACKAGE.PROCEDURE) or per
+     * package (app.db.coalescing.package.PACKAGE), names in upper case.
+     */
+    @Bean
+    public SingleFlight singleFlight(
+            @Value("${app.db.coalescing.share-window:0}") long shareWindow,
+            Environment environment, MeterRegistry meterRegistry) {
+        return new SingleFlight(shareWindow,
+                name -> environment.getProperty(
+                        (name.indexOf('.') > 0 ? "app.db.coalescing.procedure." : "app.db.coalescing.package.") + name,
+                        Long.class),
+                meterRegistry);
+    }
+
+    @Bean
+    public SlowCallsEndpoint slowCallsEndpoint(SlowCallJournal slowCallJournal) {
+        return new SlowCallsEndpoint(slowCallJournal);
+    }
+
+    /**
+     * Per-package concurrency limits (app.bulkheads), see {@link Bulkheads}.
+     */
+    @Bean
+    public Bulkheads bulkheads(Environment environment, MeterRegistry meterRegistry) {
+        return new Bulkheads(environment, meterRegistry);
+    }
+
+    /**
+     * Cursors kept open between the pages of paged searches (0 disables keeping them;
+     * pages then run the procedure again and skip the rows already returned).
+     */
+    @Bean
+    public OpenCursors openCursors(
+            @Value("${app.paging.open-cursor-ttl:30000}") long openCursorTtl,
+            @Value("${app.paging.max-open-cursors:0}") int maxOpenCursors,
+            MeterRegistry meterRegistry) {
+        return new OpenCursors(openCursorTtl, maxOpenCursors, meterRegistry);
+    }
 }
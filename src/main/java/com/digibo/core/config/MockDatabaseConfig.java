@@ -1,7 +1,14 @@
 package com.digibo.core.config;
 
+import com.digibo.core.service.mock.SyntheticData;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+
+import java.util.Arrays;
 
 /**
  * MockDatabaseConfig - Configuration for mock profile
@@ -10,6 +17,34 @@ import org.springframework.context.annotation.Profile;
 @Configuration
 @Profile("mock")
 public class MockDatabaseConfig {
-    // No beans needed - mock services don't use database
-    // This class exists to document the mock profile behavior
+
+    private static final String MOCK_PACKAGE = "com.digibo.core.service.mock";
+    private static final String SERVICE_PACKAGE = "com.digibo.core.service";
+
+    @Bean
+    public SyntheticData syntheticData(Environment environment) {
+        return new SyntheticData(environment);
+    }
+
+    /**
+     * With app.mock.synthetic.enabled, wrap every mock service so its results are
+     * synthetic data of the configured size and its calls take the configured latency.
+     * Post-processors are created before other beans, so this one has its own generator.
+     */
+    @Bean
+    public static BeanPostProcessor syntheticMockServices(Environment environment) {
+        SyntheticData synthetic = new SyntheticData(environment);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!MOCK_PACKAGE.equals(bean.getClass().getPackageName())) {
+                    return bean;
+                }
+                Class<?>[] services = Arrays.stream(ClassUtils.getAllInterfacesForClass(bean.getClass()))
+                        .filter(type -> SERVICE_PACKAGE.equals(type.getPackageName()))
+                        .toArray(Class<?>[]::new);
+                return services.length > 0 && synthetic.isEnabled() ? synthetic.wrap(bean, services) : bean;
+            }
+        };
+    }
 }
@@ -0,0 +1,28 @@
+package com.digibo.core.config;
+
+import com.digibo.core.service.base.replay.ReplayDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * ReplayDatabaseConfig - Configuration for replay profile
+ * Serves the database calls of a recording (app.db.record.file of an earlier run)
+ * instead of connecting to Oracle; combine with dev for its logging.
+ */
+@Configuration
+@Profile("replay")
+public class ReplayDatabaseConfig {
+
+    @Bean
+    public DataSource dataSource(
+            @Value("${app.db.replay.file}") String replayFile,
+            @Value("${app.db.replay.speed:1.0}") double speed) throws IOException {
+        return ReplayDataSource.of(Path.of(replayFile), speed);
+    }
+}
@@ -3,12 +3,17 @@ package com.digibo.core.config;
 import com.digibo.core.security.JwtAuthenticationFilter;
 import com.digibo.core.security.MockAuthenticationProvider;
 import com.digibo.core.security.OraclePermissionEvaluator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
 import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.SingleResultAuthorizationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -17,6 +22,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
@@ -31,15 +37,21 @@ public class SecurityConfig {
     private final CorsConfigurationSource corsConfigurationSource;
     private final OraclePermissionEvaluator permissionEvaluator;
     private final MockAuthenticationProvider mockAuthenticationProvider;
+    private final boolean publicScrape;
+    private final String adminPermission;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
                           CorsConfigurationSource corsConfigurationSource,
                           OraclePermissionEvaluator permissionEvaluator,
-                          MockAuthenticationProvider mockAuthenticationProvider) {
+                          MockAuthenticationProvider mockAuthenticationProvider,
+                          @Value("${app.metrics.public-scrape:false}") boolean publicScrape,
+                          @Value("${app.actuator.admin-permission:BOSYSADMIN.GET_OFFICERS}") String adminPermission) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.corsConfigurationSource = corsConfigurationSource;
         this.permissionEvaluator = permissionEvaluator;
         this.mockAuthenticationProvider = mockAuthenticationProvider;
+        this.publicScrape = publicScrape;
+        this.adminPermission = adminPermission;
     }
 
     /**
@@ -63,6 +75,13 @@ public class SecurityConfig {
                         // Public endpoints
                         .requestMatchers("/").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
+                        // Prometheus scrape, when the metrics port is not reachable from outside
+                        .requestMatchers("/actuator/prometheus").access(publicScrape
+                                ? SingleResultAuthorizationManager.permitAll()
+                                : AuthenticatedAuthorizationManager.authenticated())
+                        // Other officers' calls: administrators only
+                        .requestMatchers("/actuator/slowcalls", "/actuator/slowcalls/**")
+                                .access(hasPermission(adminPermission))
                         .requestMatchers("/api/auth/login", "/api/auth/refresh", "/api/auth/public-key").permitAll()
                         // Swagger UI
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html").permitAll()
@@ -75,6 +94,14 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Grants access to users holding the Oracle permission (PACKAGE.PROCEDURE).
+     */
+    private AuthorizationManager<RequestAuthorizationContext> hasPermission(String permission) {
+        return (authentication, context) ->
+                new AuthorizationDecision(permissionEvaluator.hasPermission(authentication.get(), null, permission));
+    }
+
     @Bean
     public AuthenticationManager authenticationManager() {
         // MockAuthenticationProvider handles user1/user2/user3
@@ -0,0 +1,31 @@
+package com.digibo.core.config;
+
+import com.digibo.core.util.PinnedThreadMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Virtual-thread request execution (spring.threads.virtual.enabled, VIRTUAL_THREADS).
+ *
+ * Spring Boot then runs each request, and with it the BaseService procedure calls, on its
+ * own virtual thread instead of the Tomcat worker pool. Admission to the connection pool
+ * is limited by {@link com.digibo.core.service.base.ConnectionGate}; this configuration
+ * adds the pinned thread monitor.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.virtual-threads.pinned-monitor", havingValue = "true", matchIfMissing = true)
+    public PinnedThreadMonitor pinnedThreadMonitor(
+            @Value("${app.virtual-threads.pinned-threshold:20ms}") Duration threshold,
+            MeterRegistry meterRegistry) {
+        return new PinnedThreadMonitor(threshold, meterRegistry);
+    }
+}
@@ -2,8 +2,11 @@ package com.digibo.core.controller;
 
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.AccAdminService;
+import com.digibo.core.service.base.PageRequest;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -21,16 +24,21 @@ import java.util.Map;
 public class AccAdminController {
 
     private final AccAdminService accAdminService;
+    private final CursorJsonWriter cursorJsonWriter;
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
 
-    public AccAdminController(AccAdminService accAdminService) {
+    public AccAdminController(AccAdminService accAdminService, CursorJsonWriter cursorJsonWriter) {
         this.accAdminService = accAdminService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
      * GET /api/accadmin/orders/search
      * Search account administration orders by filters
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * Query params:
      * - custId: Customer ID
      * - custName: Customer name (partial match)
@@ -43,7 +51,7 @@ public class AccAdminController {
      * - createdTill: End date (ISO format)
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<Map<String, Object>> searchOrders(
+    public ResponseEntity<?> searchOrders(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
             @RequestParam(required = false) String userLogin,
@@ -52,11 +60,20 @@ public class AccAdminController {
             @RequestParam(required = false) String statuses,
             @RequestParam(required = false) String docClass,
             @RequestParam(required = false) String createdFrom,
-            @RequestParam(required = false) String createdTill) {
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
 
         Date dateFrom = parseDate(createdFrom, "createdFrom");
         Date dateTill = parseDate(createdTill, "createdTill");
 
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(accAdminService.streamFind(
+                    custId, custName, userLogin, officerId, docId,
+                    statuses, docClass, dateFrom, dateTill)
+                    .page(PageRequest.of(limit, pageToken)));
+        }
+
         List<Map<String, Object>> orders = accAdminService.find(
                 custId, custName, userLogin, officerId, docId,
                 statuses, docClass, dateFrom, dateTill);
@@ -68,6 +85,33 @@ public class AccAdminController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/accadmin/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamSearchOrders(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String userLogin,
+            @RequestParam(required = false) Long officerId,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String docClass,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill) {
+
+        Date dateFrom = parseDate(createdFrom, "createdFrom");
+        Date dateTill = parseDate(createdTill, "createdTill");
+
+        return cursorJsonWriter.object(
+                accAdminService.streamFind(
+                        custId, custName, userLogin, officerId, docId,
+                        statuses, docClass, dateFrom, dateTill),
+                "orders", "count");
+    }
+
     /**
      * GET /api/accadmin/orders/my
      * Get officer's account administration orders
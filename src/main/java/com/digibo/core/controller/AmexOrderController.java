@@ -2,8 +2,11 @@ package com.digibo.core.controller;
 
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.AmexOrderService;
+import com.digibo.core.service.base.PageRequest;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -21,10 +24,12 @@ import java.util.Map;
 public class AmexOrderController {
 
     private final AmexOrderService amexOrderService;
+    private final CursorJsonWriter cursorJsonWriter;
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
 
-    public AmexOrderController(AmexOrderService amexOrderService) {
+    public AmexOrderController(AmexOrderService amexOrderService, CursorJsonWriter cursorJsonWriter) {
         this.amexOrderService = amexOrderService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
@@ -51,6 +56,9 @@ public class AmexOrderController {
      * GET /api/amexorder/orders/search
      * Search AMEX orders by filters
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * Query params:
      * - custId: Customer ID
      * - custName: Customer name (partial match)
@@ -66,7 +74,7 @@ public class AmexOrderController {
      * - formType: Form type (CREDIT_SCORE, CREDIT_CARD, KPP)
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<Map<String, Object>> searchOrders(
+    public ResponseEntity<?> searchOrders(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
             @RequestParam(required = false) String userLogin,
@@ -78,11 +86,20 @@ public class AmexOrderController {
             @RequestParam(required = false) String createdTill,
             @RequestParam(required = false) String customerName,
             @RequestParam(required = false) String legalId,
-            @RequestParam(required = false) String formType) {
+            @RequestParam(required = false) String formType,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
 
         Date dateFrom = parseDate(createdFrom, "createdFrom");
         Date dateTill = parseDate(createdTill, "createdTill");
 
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(amexOrderService.streamFind(
+                    custId, custName, userLogin, docId, statuses, docClass,
+                    fromLocation, dateFrom, dateTill, customerName, legalId, formType)
+                    .page(PageRequest.of(limit, pageToken)));
+        }
+
         List<Map<String, Object>> orders = amexOrderService.find(
                 custId, custName, userLogin, docId, statuses, docClass,
                 fromLocation, dateFrom, dateTill, customerName, legalId, formType);
@@ -94,6 +111,36 @@ public class AmexOrderController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/amexorder/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamSearchOrders(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String userLogin,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String docClass,
+            @RequestParam(required = false) String fromLocation,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) String customerName,
+            @RequestParam(required = false) String legalId,
+            @RequestParam(required = false) String formType) {
+
+        Date dateFrom = parseDate(createdFrom, "createdFrom");
+        Date dateTill = parseDate(createdTill, "createdTill");
+
+        return cursorJsonWriter.object(
+                amexOrderService.streamFind(
+                        custId, custName, userLogin, docId, statuses, docClass,
+                        fromLocation, dateFrom, dateTill, customerName, legalId, formType),
+                "orders", "count");
+    }
+
     /**
      * GET /api/amexorder/orders/:id/details
      * Get detailed AMEX order info
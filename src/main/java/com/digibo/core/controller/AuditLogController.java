@@ -2,8 +2,10 @@ package com.digibo.core.controller;
 
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.AuditLogService;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -21,11 +23,13 @@ import java.util.Map;
 public class AuditLogController {
 
     private final AuditLogService auditLogService;
+    private final CursorJsonWriter cursorJsonWriter;
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
     private static final SimpleDateFormat DATETIME_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
 
-    public AuditLogController(AuditLogService auditLogService) {
+    public AuditLogController(AuditLogService auditLogService, CursorJsonWriter cursorJsonWriter) {
         this.auditLogService = auditLogService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
@@ -64,6 +68,29 @@ public class AuditLogController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/auditlog/search/stream
+     * Same query params and JSON as /search, but entries are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamSearch(
+            @RequestParam(required = false) String dfrom,
+            @RequestParam(required = false) String dto,
+            @RequestParam(required = false) String events,
+            @RequestParam(required = false) String object,
+            @RequestParam(required = false) String originator,
+            @RequestParam(required = false) String channels,
+            @RequestParam(required = false, defaultValue = "1000") Integer limit) {
+
+        Date dateFrom = parseDate(dfrom, "dfrom");
+        Date dateTo = parseDate(dto, "dto");
+
+        return cursorJsonWriter.object(
+                auditLogService.streamFind(dateFrom, dateTo, events, object, originator, channels, limit),
+                "entries", "count");
+    }
+
     /**
      * GET /api/auditlog/session/:sessionId
      * Get audit log entries for a specific session
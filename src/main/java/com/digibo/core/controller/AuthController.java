@@ -181,6 +181,7 @@ public class AuthController {
                 logger.debug("Could not extract sessionId from expired access token");
             }
         }
+        officerSessionService.touchSession(sessionId);
 
         String newAccessToken = tokenProvider.generateToken(username, userId, roles, permissions, sessionId);
         String newRefreshToken = tokenProvider.generateRefreshToken(username);
@@ -0,0 +1,203 @@
+package com.digibo.core.controller;
+
+import com.digibo.core.dto.request.BatchRequest;
+import com.digibo.core.exception.ValidationException;
+import com.digibo.core.web.InProcessDispatcher;
+import com.digibo.core.web.ParallelSections;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.concurrent.DelegatingSecurityContextCallable;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriUtils;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BatchController - Runs several GET calls of the API in one request
+ * Maps to /api/batch
+ */
+@RestController
+@RequestMapping("/api/batch")
+public class BatchController {
+
+    private final InProcessDispatcher dispatcher;
+    private final ParallelSections parallelSections;
+    private final ObjectMapper objectMapper;
+    private final int maxRequests;
+    private final int maxConcurrency;
+    private final long timeout;
+
+    public BatchController(InProcessDispatcher dispatcher, ParallelSections parallelSections, ObjectMapper objectMapper,
+                           @Value("${app.batch.max-requests:30}") int maxRequests,
+                           @Value("${app.batch.max-concurrency:6}") int maxConcurrency,
+                           @Value("${app.batch.timeout:10000}") long timeout) {
+        this.dispatcher = dispatcher;
+        this.parallelSections = parallelSections;
+        this.objectMapper = objectMapper;
+        this.maxRequests = maxRequests;
+        this.maxConcurrency = maxConcurrency;
+        this.timeout = timeout;
+    }
+
+    /**
+     * POST /api/batch
+     * Run the GET calls a screen needs in one request. Each call is dispatched in-process
+     * to its controller with the caller's authentication, so method permission checks
+     * apply as usual; up to app.batch.max-concurrency calls run in parallel under one
+     * deadline (app.batch.timeout).
+     *
+     * Body: { "requests": [ { "id": "history", "method": "GET", "path": "/api/documents/1/history" } ] }
+     *
+     * @param request Sub-requests (id defaults to the position, method to GET)
+     * @return { elapsedMs, responses: [ { id, status, elapsedMs, body } ] }, status per
+     *         call: its HTTP status, 400 for a call that cannot be batched, 503 when its
+     *         package was saturated, 504 when it missed the deadline
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> batch(@RequestBody BatchRequest request, HttpServletRequest httpRequest) {
+        List<BatchRequest.Entry> entries = request.getRequests();
+        if (entries == null || entries.isEmpty()) {
+            throw new ValidationException("Missing required parameter: requests");
+        }
+        if (entries.size() > maxRequests) {
+            throw new ValidationException("At most " + maxRequests + " requests per batch");
+        }
+
+        long start = System.nanoTime();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        InProcessDispatcher.Origin origin = dispatcher.origin(httpRequest);
+        ParallelSections.Plan plan = parallelSections.plan(timeout, maxConcurrency);
+        List<String> ids = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < entries.size(); i++) {
+            BatchRequest.Entry entry = entries.get(i);
+            String id = entry.getId() != null ? entry.getId() : String.valueOf(i);
+            if (!seen.add(id)) {
+                throw new ValidationException("Duplicate request id: " + id);
+            }
+            ids.add(id);
+            plan.add(id, true, new DelegatingSecurityContextCallable<>(
+                    () -> dispatch(entry, origin), securityContext));
+        }
+        Map<String, Map<String, Object>> sections = plan.run();
+
+        List<Map<String, Object>> responses = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            responses.add(response(id, sections.get(id)));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        result.put("responses", responses);
+        return ResponseEntity.ok(result);
+    }
+
+    private InProcessDispatcher.Response dispatch(BatchRequest.Entry entry, InProcessDispatcher.Origin origin)
+            throws Exception {
+        String method = entry.getMethod() != null ? entry.getMethod() : "GET";
+        if (!"GET".equalsIgnoreCase(method)) {
+            throw new ValidationException("Only GET requests can be batched");
+        }
+        String path = normalize(entry.getPath());
+        if (!isBatchable(path)) {
+            throw new ValidationException("Path cannot be batched: " + entry.getPath());
+        }
+        int query = entry.getPath().indexOf('?');
+        return dispatcher.get(origin, UriUtils.encodePath(path, StandardCharsets.UTF_8)
+                + (query < 0 ? "" : entry.getPath().substring(query)));
+    }
+
+    /**
+     * API paths except authentication and the batch endpoint itself, matched on whole
+     * segments of the normalized path.
+     */
+    static boolean isBatchable(String path) {
+        return path != null && path.startsWith("/api/")
+                && !isWithin(path, "/api/auth") && !isWithin(path, "/api/batch");
+    }
+
+    private static boolean isWithin(String path, String prefix) {
+        return path.equals(prefix) || path.startsWith(prefix + "/");
+    }
+
+    /**
+     * The path of a sub-request as it will be matched: percent-decoded, with repeated
+     * slashes collapsed. Null for paths that are relative or could match differently than
+     * they read (dot segments, path parameters, backslashes, double encoding).
+     */
+    static String normalize(String pathAndQuery) {
+        if (pathAndQuery == null) {
+            return null;
+        }
+        int query = pathAndQuery.indexOf('?');
+        String path;
+        try {
+            path = UriUtils.decode(query < 0 ? pathAndQuery : pathAndQuery.substring(0, query), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!path.startsWith("/") || path.indexOf(';') >= 0 || path.indexOf('\\') >= 0 || path.indexOf('%') >= 0
+                || path.chars().anyMatch(Character::isISOControl)) {
+            return null;
+        }
+        path = path.replaceAll("/{2,}", "/");
+        for (String segment : path.split("/")) {
+            if (segment.equals(".") || segment.equals("..")) {
+                return null;
+            }
+        }
+        return path;
+    }
+
+    private Map<String, Object> response(String id, Map<String, Object> section) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("id", id);
+        Object status = section.get("status");
+        if (ParallelSections.OK.equals(status)) {
+            InProcessDispatcher.Response dispatched = (InProcessDispatcher.Response) section.get("data");
+            response.put("status", dispatched.status());
+            response.put("elapsedMs", section.get("elapsedMs"));
+            response.put("body", body(dispatched));
+            return response;
+        }
+        response.put("status", switch ((String) status) {
+            case ParallelSections.INVALID -> HttpStatus.BAD_REQUEST.value();
+            case ParallelSections.UNAVAILABLE -> HttpStatus.SERVICE_UNAVAILABLE.value();
+            case ParallelSections.TIMEOUT -> HttpStatus.GATEWAY_TIMEOUT.value();
+            default -> HttpStatus.INTERNAL_SERVER_ERROR.value();
+        });
+        response.put("elapsedMs", section.get("elapsedMs"));
+        if (section.containsKey("message")) {
+            response.put("body", Map.of("error", "Validation Error", "message", section.get("message")));
+        }
+        return response;
+    }
+
+    private Object body(InProcessDispatcher.Response dispatched) {
+        if (dispatched.body().length == 0) {
+            return null;
+        }
+        String contentType = dispatched.contentType();
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            try {
+                return objectMapper.readTree(dispatched.body());
+            } catch (JacksonException e) {
+                // fall through to text
+            }
+        }
+        return new String(dispatched.body(), StandardCharsets.UTF_8);
+    }
+}
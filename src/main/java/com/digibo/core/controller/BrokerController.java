@@ -2,8 +2,11 @@ package com.digibo.core.controller;
 
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.BrokerService;
+import com.digibo.core.service.base.PageRequest;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -21,16 +24,21 @@ import java.util.Map;
 public class BrokerController {
 
     private final BrokerService brokerService;
+    private final CursorJsonWriter cursorJsonWriter;
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
 
-    public BrokerController(BrokerService brokerService) {
+    public BrokerController(BrokerService brokerService, CursorJsonWriter cursorJsonWriter) {
         this.brokerService = brokerService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
      * GET /api/broker/orders/search
      * Search broker orders by filters
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * Query params:
      * - custId: Customer ID
      * - custName: Customer name (partial match)
@@ -48,7 +56,7 @@ public class BrokerController {
      * - createdTill: End date (ISO format)
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<Map<String, Object>> searchOrders(
+    public ResponseEntity<?> searchOrders(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
             @RequestParam(required = false) String userLogin,
@@ -62,13 +70,23 @@ public class BrokerController {
             @RequestParam(required = false) String docId,
             @RequestParam(required = false) String statuses,
             @RequestParam(required = false) String createdFrom,
-            @RequestParam(required = false) String createdTill) {
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
 
         Date expiryFromDate = parseDate(expiryFrom, "expiryFrom");
         Date expiryTillDate = parseDate(expiryTill, "expiryTill");
         Date createdFromDate = parseDate(createdFrom, "createdFrom");
         Date createdTillDate = parseDate(createdTill, "createdTill");
 
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(brokerService.streamFind(
+                    custId, custName, userLogin, userPassword, docClass, operationType,
+                    docCount, currencies, expiryFromDate, expiryTillDate, docId, statuses,
+                    createdFromDate, createdTillDate)
+                    .page(PageRequest.of(limit, pageToken)));
+        }
+
         List<Map<String, Object>> orders = brokerService.find(
                 custId, custName, userLogin, userPassword, docClass, operationType,
                 docCount, currencies, expiryFromDate, expiryTillDate, docId, statuses,
@@ -81,6 +99,41 @@ public class BrokerController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/broker/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamSearchOrders(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String userLogin,
+            @RequestParam(required = false) String userPassword,
+            @RequestParam(required = false) String docClass,
+            @RequestParam(required = false) String operationType,
+            @RequestParam(required = false) Integer docCount,
+            @RequestParam(required = false) String currencies,
+            @RequestParam(required = false) String expiryFrom,
+            @RequestParam(required = false) String expiryTill,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill) {
+
+        Date expiryFromDate = parseDate(expiryFrom, "expiryFrom");
+        Date expiryTillDate = parseDate(expiryTill, "expiryTill");
+        Date createdFromDate = parseDate(createdFrom, "createdFrom");
+        Date createdTillDate = parseDate(createdTill, "createdTill");
+
+        return cursorJsonWriter.object(
+                brokerService.streamFind(
+                        custId, custName, userLogin, userPassword, docClass, operationType,
+                        docCount, currencies, expiryFromDate, expiryTillDate, docId, statuses,
+                        createdFromDate, createdTillDate),
+                "orders", "count");
+    }
+
     /**
      * GET /api/broker/orders/my
      * Get user's broker orders
@@ -2,8 +2,11 @@ package com.digibo.core.controller;
 
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.CQService;
+import com.digibo.core.service.base.PageRequest;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -20,16 +23,21 @@ import java.util.Map;
 public class CQController {
 
     private final CQService cqService;
+    private final CursorJsonWriter cursorJsonWriter;
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
 
-    public CQController(CQService cqService) {
+    public CQController(CQService cqService, CursorJsonWriter cursorJsonWriter) {
         this.cqService = cqService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
      * GET /api/cq/orders/search
      * Search client questionnaire documents by filters using BOCQ.find()
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * @param custId Customer ID
      * @param custName Customer name (partial match)
      * @param userLogin User login (partial match)
@@ -42,7 +50,7 @@ public class CQController {
      * @return List of matching documents
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<List<Map<String, Object>>> searchOrders(
+    public ResponseEntity<?> searchOrders(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
             @RequestParam(required = false) String userLogin,
@@ -51,17 +59,51 @@ public class CQController {
             @RequestParam(required = false) String docId,
             @RequestParam(required = false) String statuses,
             @RequestParam(required = false) String createdFrom,
-            @RequestParam(required = false) String createdTill) {
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
 
         Date dateFrom = parseDate(createdFrom, "createdFrom");
         Date dateTill = parseDate(createdTill, "createdTill");
 
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(cqService.streamFind(
+                    custId, custName, userLogin, officerId, docClass, docId,
+                    statuses, dateFrom, dateTill)
+                    .page(PageRequest.of(limit, pageToken)));
+        }
+
         List<Map<String, Object>> result = cqService.find(
                 custId, custName, userLogin, officerId, docClass, docId,
                 statuses, dateFrom, dateTill);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/cq/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamSearchOrders(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String userLogin,
+            @RequestParam(required = false) Long officerId,
+            @RequestParam(required = false) String docClass,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill) {
+
+        Date dateFrom = parseDate(createdFrom, "createdFrom");
+        Date dateTill = parseDate(createdTill, "createdTill");
+
+        return cursorJsonWriter.array(cqService.streamFind(
+                custId, custName, userLogin, officerId, docClass, docId,
+                statuses, dateFrom, dateTill));
+    }
+
     /**
      * GET /api/cq/orders/my
      * Get user's CQ documents using BOCQ.find_my()
@@ -2,8 +2,11 @@ package com.digibo.core.controller;
 
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.CRUService;
+import com.digibo.core.service.base.PageRequest;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -20,16 +23,21 @@ import java.util.Map;
 public class CRUController {
 
     private final CRUService cruService;
+    private final CursorJsonWriter cursorJsonWriter;
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
 
-    public CRUController(CRUService cruService) {
+    public CRUController(CRUService cruService, CursorJsonWriter cursorJsonWriter) {
         this.cruService = cruService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
      * GET /api/cru/orders/search
      * Search CRU documents by filters using BOCRU.find()
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * @param custId Customer ID
      * @param docId Document ID
      * @param statuses Comma-separated status IDs
@@ -38,21 +46,49 @@ public class CRUController {
      * @return List of matching documents
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<List<Map<String, Object>>> searchOrders(
+    public ResponseEntity<?> searchOrders(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String docId,
             @RequestParam(required = false) String statuses,
             @RequestParam(required = false) String createdFrom,
-            @RequestParam(required = false) String createdTill) {
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
 
         Date dateFrom = parseDate(createdFrom, "createdFrom");
         Date dateTill = parseDate(createdTill, "createdTill");
 
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(cruService.streamFind(
+                    custId, docId, statuses, dateFrom, dateTill)
+                    .page(PageRequest.of(limit, pageToken)));
+        }
+
         List<Map<String, Object>> result = cruService.find(
                 custId, docId, statuses, dateFrom, dateTill);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/cru/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamSearchOrders(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill) {
+
+        Date dateFrom = parseDate(createdFrom, "createdFrom");
+        Date dateTill = parseDate(createdTill, "createdTill");
+
+        return cursorJsonWriter.array(cruService.streamFind(
+                custId, docId, statuses, dateFrom, dateTill));
+    }
+
     /**
      * GET /api/cru/orders/{id}/details
      * Get detailed CRU document information using BOCRU.cru() procedure
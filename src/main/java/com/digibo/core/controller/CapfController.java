@@ -2,8 +2,11 @@ package com.digibo.core.controller;
 
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.CapfService;
+import com.digibo.core.service.base.PageRequest;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -21,16 +24,21 @@ import java.util.Map;
 public class CapfController {
 
     private final CapfService capfService;
+    private final CursorJsonWriter cursorJsonWriter;
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
 
-    public CapfController(CapfService capfService) {
+    public CapfController(CapfService capfService, CursorJsonWriter cursorJsonWriter) {
         this.capfService = capfService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
      * GET /api/capf/orders/search
      * Search CAPF orders by filters
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * Query params:
      * - custId: Customer ID
      * - custName: Customer name (partial match)
@@ -44,7 +52,7 @@ public class CapfController {
      * - pLegalId: Legal ID filter
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<Map<String, Object>> searchOrders(
+    public ResponseEntity<?> searchOrders(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
             @RequestParam(required = false) String userLogin,
@@ -54,11 +62,20 @@ public class CapfController {
             @RequestParam(required = false) String createdFrom,
             @RequestParam(required = false) String createdTill,
             @RequestParam(required = false) String pCustomerName,
-            @RequestParam(required = false) String pLegalId) {
+            @RequestParam(required = false) String pLegalId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
 
         Date dateFrom = parseDate(createdFrom, "createdFrom");
         Date dateTill = parseDate(createdTill, "createdTill");
 
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(capfService.streamFind(
+                    custId, custName, userLogin, docId, statuses, docClass,
+                    dateFrom, dateTill, pCustomerName, pLegalId)
+                    .page(PageRequest.of(limit, pageToken)));
+        }
+
         List<Map<String, Object>> orders = capfService.find(
                 custId, custName, userLogin, docId, statuses, docClass,
                 dateFrom, dateTill, pCustomerName, pLegalId);
@@ -70,6 +87,34 @@ public class CapfController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/capf/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamSearchOrders(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String userLogin,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String docClass,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) String pCustomerName,
+            @RequestParam(required = false) String pLegalId) {
+
+        Date dateFrom = parseDate(createdFrom, "createdFrom");
+        Date dateTill = parseDate(createdTill, "createdTill");
+
+        return cursorJsonWriter.object(
+                capfService.streamFind(
+                        custId, custName, userLogin, docId, statuses, docClass,
+                        dateFrom, dateTill, pCustomerName, pLegalId),
+                "orders", "count");
+    }
+
     /**
      * GET /api/capf/orders/my
      * Get officer's CAPF orders
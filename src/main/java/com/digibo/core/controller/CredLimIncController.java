@@ -2,8 +2,11 @@ package com.digibo.core.controller;
 
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.CredLimIncService;
+import com.digibo.core.service.base.PageRequest;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -20,16 +23,21 @@ import java.util.Map;
 public class CredLimIncController {
 
     private final CredLimIncService credLimIncService;
+    private final CursorJsonWriter cursorJsonWriter;
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
 
-    public CredLimIncController(CredLimIncService credLimIncService) {
+    public CredLimIncController(CredLimIncService credLimIncService, CursorJsonWriter cursorJsonWriter) {
         this.credLimIncService = credLimIncService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
      * GET /api/credliminc/orders/search
      * Search credit limit increase orders by filters using BOCredLimInc.find()
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * @param custId Customer ID
      * @param custName Customer name (partial match)
      * @param userLogin User login (partial match)
@@ -43,7 +51,7 @@ public class CredLimIncController {
      * @return List of matching orders
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<List<Map<String, Object>>> searchOrders(
+    public ResponseEntity<?> searchOrders(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
             @RequestParam(required = false) String userLogin,
@@ -53,17 +61,52 @@ public class CredLimIncController {
             @RequestParam(required = false) String createdFrom,
             @RequestParam(required = false) String createdTill,
             @RequestParam(required = false) Long officerId,
-            @RequestParam(required = false) String fromLocation) {
+            @RequestParam(required = false) String fromLocation,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
 
         Date dateFrom = parseDate(createdFrom, "createdFrom");
         Date dateTill = parseDate(createdTill, "createdTill");
 
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(credLimIncService.streamFind(
+                    custId, custName, userLogin, docId, statuses, docClass,
+                    dateFrom, dateTill, officerId, fromLocation)
+                    .page(PageRequest.of(limit, pageToken)));
+        }
+
         List<Map<String, Object>> result = credLimIncService.find(
                 custId, custName, userLogin, docId, statuses, docClass,
                 dateFrom, dateTill, officerId, fromLocation);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/credliminc/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamSearchOrders(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String userLogin,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String docClass,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) Long officerId,
+            @RequestParam(required = false) String fromLocation) {
+
+        Date dateFrom = parseDate(createdFrom, "createdFrom");
+        Date dateTill = parseDate(createdTill, "createdTill");
+
+        return cursorJsonWriter.array(credLimIncService.streamFind(
+                custId, custName, userLogin, docId, statuses, docClass,
+                dateFrom, dateTill, officerId, fromLocation));
+    }
+
     /**
      * GET /api/credliminc/orders/my
      * Get credit limit increase orders for a specific officer using BOCredLimInc.find_my()
@@ -2,8 +2,11 @@ package com.digibo.core.controller;
 
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.CustodyService;
+import com.digibo.core.service.base.PageRequest;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -20,16 +23,21 @@ import java.util.Map;
 public class CustodyController {
 
     private final CustodyService custodyService;
+    private final CursorJsonWriter cursorJsonWriter;
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
 
-    public CustodyController(CustodyService custodyService) {
+    public CustodyController(CustodyService custodyService, CursorJsonWriter cursorJsonWriter) {
         this.custodyService = custodyService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
      * GET /api/custody/orders/search
      * Search custody orders by filters using BOCustody.find()
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * @param custId Customer ID
      * @param custName Customer name (partial match)
      * @param userLogin User login (partial match)
@@ -41,7 +49,7 @@ public class CustodyController {
      * @return List of matching orders
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<List<Map<String, Object>>> searchOrders(
+    public ResponseEntity<?> searchOrders(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
             @RequestParam(required = false) String userLogin,
@@ -49,17 +57,50 @@ public class CustodyController {
             @RequestParam(required = false) String statuses,
             @RequestParam(required = false) String docClass,
             @RequestParam(required = false) String createdFrom,
-            @RequestParam(required = false) String createdTill) {
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
 
         Date dateFrom = parseDate(createdFrom, "createdFrom");
         Date dateTill = parseDate(createdTill, "createdTill");
 
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(custodyService.streamFind(
+                    custId, custName, userLogin, docId, statuses, docClass,
+                    dateFrom, dateTill)
+                    .page(PageRequest.of(limit, pageToken)));
+        }
+
         List<Map<String, Object>> result = custodyService.find(
                 custId, custName, userLogin, docId, statuses, docClass,
                 dateFrom, dateTill);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/custody/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamSearchOrders(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String userLogin,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String docClass,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill) {
+
+        Date dateFrom = parseDate(createdFrom, "createdFrom");
+        Date dateTill = parseDate(createdTill, "createdTill");
+
+        return cursorJsonWriter.array(custodyService.streamFind(
+                custId, custName, userLogin, docId, statuses, docClass,
+                dateFrom, dateTill));
+    }
+
     /**
      * GET /api/custody/orders/my
      * Get user's custody orders using BOCustody.findMy()
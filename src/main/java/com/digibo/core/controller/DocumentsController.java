@@ -5,16 +5,22 @@ import com.digibo.core.dto.request.SetManualStatusWithRefRequest;
 import com.digibo.core.dto.request.SignOwnerRequest;
 import com.digibo.core.exception.ResourceNotFoundException;
 import com.digibo.core.exception.ValidationException;
+import com.digibo.core.security.PermissionSet;
+import com.digibo.core.security.UserPrincipal;
 import com.digibo.core.service.DocumentsService;
+import com.digibo.core.web.ParallelSections;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * DocumentsController - REST controller for document operations
@@ -25,11 +31,13 @@ import java.util.Map;
 public class DocumentsController {
 
     private final DocumentsService documentsService;
+    private final ParallelSections parallelSections;
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
     private static final SimpleDateFormat DATETIME_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
 
-    public DocumentsController(DocumentsService documentsService) {
+    public DocumentsController(DocumentsService documentsService, ParallelSections parallelSections) {
         this.documentsService = documentsService;
+        this.parallelSections = parallelSections;
     }
 
     /**
@@ -51,6 +59,55 @@ public class DocumentsController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/documents/{id}/detail
+     * Everything the document view shows, in one request: the document, its history,
+     * message history, addresses, extensions and IB signatures. The procedures run
+     * concurrently under one deadline (app.composite.timeout); each section is checked
+     * against its own permission and reports its own status and timing, so the
+     * response carries whatever sections completed.
+     *
+     * @param id Document ID
+     * @return { id, elapsedMs, sections: { document, history, messages, addresses, extensions, signatures } }
+     */
+    @GetMapping("/{id}/detail")
+    public ResponseEntity<Map<String, Object>> getDocumentDetail(
+            @PathVariable String id, @AuthenticationPrincipal UserPrincipal principal) {
+        Integer documentId = parseInteger(id, "id");
+        PermissionSet permissions = principal != null ? principal.getPermissionSet() : PermissionSet.EMPTY;
+        long start = System.nanoTime();
+
+        Map<String, Map<String, Object>> sections = parallelSections.plan()
+                .add("document", permissions.contains("BODOCUMENTS.GET_BY_ID"), () -> {
+                    Map<String, Object> document = documentsService.getById(documentId);
+                    if (document == null || !Boolean.TRUE.equals(document.get("found"))) {
+                        throw new ResourceNotFoundException("Document", id);
+                    }
+                    return document;
+                })
+                .add("history", permissions.contains("BODOCUMENTS.HISTORY"),
+                        () -> documentsService.getHistory(id))
+                .add("messages", permissions.contains("BODOCUMENTS.MESSAGEHISTORY"),
+                        () -> documentsService.getMessageHistory(id))
+                .add("addresses", permissions.contains("BODOCUMENTS.GET_ADDR"),
+                        () -> documentsService.getAddresses(id))
+                .add("extensions", permissions.contains("BODOCUMENTS.GET_EXTENSIONS"),
+                        () -> documentsService.getExtensions(id))
+                .add("signatures", permissions.contains("BODOCUMENTS.GET_IB_SIGNATURES"),
+                        () -> documentsService.getIBSignatures(id))
+                .run();
+
+        if (ParallelSections.NOT_FOUND.equals(sections.get("document").get("status"))) {
+            throw new ResourceNotFoundException("Document", id);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", documentId);
+        result.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        result.put("sections", sections);
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * GET /api/documents/{id}/history
      * Get document audit history
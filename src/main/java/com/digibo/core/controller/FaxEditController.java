@@ -2,10 +2,17 @@ package com.digibo.core.controller;
 
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.FaxEditService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.Base64;
 import java.util.Map;
@@ -19,17 +26,71 @@ import java.util.Map;
 public class FaxEditController {
 
     private final FaxEditService faxEditService;
+    private final long maxImageSize;
 
-    public FaxEditController(FaxEditService faxEditService) {
+    public FaxEditController(FaxEditService faxEditService,
+                             @Value("${app.fax.max-image-size:52428800}") long maxImageSize) {
         this.faxEditService = faxEditService;
+        this.maxImageSize = maxImageSize;
     }
 
     /**
      * POST /api/faxedit/documents
      * Add a new document from fax using BOFaxEdit.add_document()
+     * JSON body with the TIF image base64 encoded in dTif
      */
-    @PostMapping("/documents")
+    @PostMapping(value = "/documents", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<Map<String, Object>> addDocument(@RequestBody Map<String, Object> request) {
+        String dTif = (String) request.get("dTif");
+
+        // Convert base64 TIF to byte array if provided
+        byte[] tifBuffer = null;
+        if (dTif != null && !dTif.isEmpty()) {
+            tifBuffer = Base64.getDecoder().decode(dTif);
+        }
+
+        return addDocument(request, tifBuffer != null ? new ByteArrayInputStream(tifBuffer) : null);
+    }
+
+    /**
+     * POST /api/faxedit/documents (multipart/form-data)
+     * Same fields as form fields, the TIF image as file part dTif. The upload is
+     * streamed from the multipart temp file into the BLOB parameter.
+     */
+    @PostMapping(value = "/documents", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> addDocumentMultipart(
+            @RequestParam Map<String, String> fields,
+            @RequestPart(value = "dTif", required = false) MultipartFile dTif) throws IOException {
+
+        if (dTif == null || dTif.isEmpty()) {
+            return addDocument(fields, null);
+        }
+        try (InputStream tif = dTif.getInputStream()) {
+            return addDocument(fields, tif);
+        }
+    }
+
+    /**
+     * POST /api/faxedit/documents?faxId=..&docClass=.. (application/octet-stream)
+     * Same fields as query parameters, the raw TIF image as request body, streamed
+     * into the BLOB parameter as it arrives. Content-Length is required.
+     */
+    @PostMapping(value = "/documents", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Map<String, Object>> addDocumentStream(
+            @RequestParam Map<String, String> fields,
+            HttpServletRequest request) throws IOException {
+
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+            throw new ValidationException("Content-Length is required");
+        }
+        if (length > maxImageSize) {
+            throw new ValidationException("TIF image exceeds " + maxImageSize + " bytes");
+        }
+        return addDocument(fields, length > 0 ? request.getInputStream() : null);
+    }
+
+    private ResponseEntity<Map<String, Object>> addDocument(Map<String, ?> request, InputStream tif) {
 
         String faxId = (String) request.get("faxId");
         Integer docClass = getIntegerValue(request.get("docClass"));
@@ -43,19 +104,12 @@ public class FaxEditController {
         String note = (String) request.get("note");
         String subj = (String) request.get("subj");
         Integer docStatus = getIntegerValue(request.get("docStatus"));
-        String dTif = (String) request.get("dTif");
 
         // Validate required fields
         if (faxId == null || docClass == null || officerId == null || docStatus == null) {
             throw new ValidationException("Missing required fields: faxId, docClass, officerId, docStatus");
         }
 
-        // Convert base64 TIF to byte array if provided
-        byte[] tifBuffer = null;
-        if (dTif != null && !dTif.isEmpty()) {
-            tifBuffer = Base64.getDecoder().decode(dTif);
-        }
-
         Map<String, Object> result = faxEditService.addDocument(
                 faxId,
                 docClass,
@@ -68,7 +122,7 @@ public class FaxEditController {
                 note,
                 subj,
                 docStatus,
-                tifBuffer
+                tif
         );
 
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
@@ -3,9 +3,16 @@ package com.digibo.core.controller;
 import com.digibo.core.exception.ResourceNotFoundException;
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.FaxViewService;
+import com.digibo.core.web.ConditionalGet;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -17,6 +24,8 @@ import java.util.Map;
 @RequestMapping("/api/faxview")
 public class FaxViewController {
 
+    private static final String TIFF = "image/tiff";
+
     private final FaxViewService faxViewService;
 
     public FaxViewController(FaxViewService faxViewService) {
@@ -30,6 +39,7 @@ public class FaxViewController {
      * Query params:
      * - classes: Comma-separated class IDs (required)
      */
+    @ConditionalGet
     @GetMapping("/documents/my")
     public ResponseEntity<List<Map<String, Object>>> findMyDocuments(
             @RequestParam String classes) {
@@ -173,6 +183,76 @@ public class FaxViewController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/faxview/:id/tif
+     * TIFF image of a fax (P_FTIF of BOFaxView.load_fax()), streamed from the BLOB.
+     * Supports a single byte range (Range: bytes=start-end) for partial downloads.
+     *
+     * Query params:
+     * - docId: Optional document ID filter
+     */
+    @GetMapping("/{id}/tif")
+    public void loadFaxImage(
+            @PathVariable String id,
+            @RequestParam(required = false) String docId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            HttpServletResponse response) throws IOException {
+
+        boolean found = faxViewService.readFaxImage(id, docId, blob -> {
+            if (blob == null) {
+                return false;
+            }
+            long length = blob.length();
+            long start = 0;
+            long end = length - 1;
+            List<HttpRange> ranges = parseRanges(range);
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            if (ranges.size() == 1) {
+                HttpRange requested = ranges.get(0);
+                if (length == 0 || !isSatisfiable(requested, length)) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return true;
+                }
+                start = requested.getRangeStart(length);
+                end = requested.getRangeEnd(length);
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+            response.setContentType(TIFF);
+            response.setContentLengthLong(end - start + 1);
+            if (end >= start) {
+                try (InputStream image = blob.getBinaryStream(start + 1, end - start + 1)) {
+                    image.transferTo(response.getOutputStream());
+                }
+            }
+            return true;
+        });
+
+        if (!found) {
+            throw new ResourceNotFoundException("Fax image", id);
+        }
+    }
+
+    /**
+     * Ranges of a Range header; a malformed header is ignored, as HTTP allows.
+     */
+    private static List<HttpRange> parseRanges(String range) {
+        if (range == null || range.isBlank()) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    private static boolean isSatisfiable(HttpRange range, long length) {
+        long start = range.getRangeStart(length);
+        return start >= 0 && start < length && start <= range.getRangeEnd(length);
+    }
+
     /**
      * GET /api/faxview/:id/init
      * Initialize/get basic info for fax document using BOFaxView.init()
@@ -2,8 +2,11 @@ package com.digibo.core.controller;
 
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.GerDepService;
+import com.digibo.core.service.base.PageRequest;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -20,9 +23,11 @@ import java.util.Map;
 public class GerDepController {
 
     private final GerDepService gerDepService;
+    private final CursorJsonWriter cursorJsonWriter;
 
-    public GerDepController(GerDepService gerDepService) {
+    public GerDepController(GerDepService gerDepService, CursorJsonWriter cursorJsonWriter) {
         this.gerDepService = gerDepService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
@@ -39,6 +44,9 @@ public class GerDepController {
      * GET /api/gerdep/orders/search
      * Search German deposit orders by filters
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * @param docId Document ID
      * @param custId Customer ID
      * @param custName Customer name (partial match)
@@ -49,7 +57,7 @@ public class GerDepController {
      * @param orderDateTo End date (ISO format)
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<List<Map<String, Object>>> findByFilter(
+    public ResponseEntity<?> findByFilter(
             @RequestParam(required = false) String docId,
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
@@ -57,16 +65,47 @@ public class GerDepController {
             @RequestParam(required = false) String login,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String orderDateFrom,
-            @RequestParam(required = false) String orderDateTo) {
+            @RequestParam(required = false) String orderDateTo,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
 
         Date orderDateFromDate = parseDate(orderDateFrom);
         Date orderDateToDate = parseDate(orderDateTo);
 
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(gerDepService.streamFindByFilter(
+                    docId, custId, custName, idDocNo, login, status, orderDateFromDate, orderDateToDate)
+                    .page(PageRequest.of(limit, pageToken)));
+        }
+
         List<Map<String, Object>> result = gerDepService.findByFilter(
                 docId, custId, custName, idDocNo, login, status, orderDateFromDate, orderDateToDate);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/gerdep/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamFindByFilter(
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String idDocNo,
+            @RequestParam(required = false) String login,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String orderDateFrom,
+            @RequestParam(required = false) String orderDateTo) {
+
+        Date orderDateFromDate = parseDate(orderDateFrom);
+        Date orderDateToDate = parseDate(orderDateTo);
+
+        return cursorJsonWriter.array(gerDepService.streamFindByFilter(
+                docId, custId, custName, idDocNo, login, status, orderDateFromDate, orderDateToDate));
+    }
+
     /**
      * GET /api/gerdep/customers/{custId}
      * Select customer for German deposit
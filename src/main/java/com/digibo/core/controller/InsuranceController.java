@@ -1,8 +1,11 @@
 package com.digibo.core.controller;
 
 import com.digibo.core.service.InsuranceService;
+import com.digibo.core.service.base.PageRequest;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -19,15 +22,20 @@ import java.util.Map;
 public class InsuranceController {
 
     private final InsuranceService insuranceService;
+    private final CursorJsonWriter cursorJsonWriter;
 
-    public InsuranceController(InsuranceService insuranceService) {
+    public InsuranceController(InsuranceService insuranceService, CursorJsonWriter cursorJsonWriter) {
         this.insuranceService = insuranceService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
      * GET /api/insurance/orders/search
      * Search insurance orders by filters
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * @param custId Customer ID
      * @param custName Customer name (partial match)
      * @param userLogin User login (partial match)
@@ -41,7 +49,7 @@ public class InsuranceController {
      * @param fromLocation Location code
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<List<Map<String, Object>>> find(
+    public ResponseEntity<?> find(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
             @RequestParam(required = false) String userLogin,
@@ -52,17 +60,53 @@ public class InsuranceController {
             @RequestParam(required = false) String statuses,
             @RequestParam(required = false) String createdFrom,
             @RequestParam(required = false) String createdTill,
-            @RequestParam(required = false) String fromLocation) {
+            @RequestParam(required = false) String fromLocation,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
 
         Date createdFromDate = parseDate(createdFrom);
         Date createdTillDate = parseDate(createdTill);
 
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(insuranceService.streamFind(
+                    custId, custName, userLogin, officerId, docClass, docId,
+                    channels, statuses, createdFromDate, createdTillDate, fromLocation)
+                    .page(PageRequest.of(limit, pageToken)));
+        }
+
         List<Map<String, Object>> result = insuranceService.find(
                 custId, custName, userLogin, officerId, docClass, docId,
                 channels, statuses, createdFromDate, createdTillDate, fromLocation);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/insurance/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamFind(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String userLogin,
+            @RequestParam(required = false) Long officerId,
+            @RequestParam(required = false) String docClass,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String channels,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) String fromLocation) {
+
+        Date createdFromDate = parseDate(createdFrom);
+        Date createdTillDate = parseDate(createdTill);
+
+        return cursorJsonWriter.array(insuranceService.streamFind(
+                custId, custName, userLogin, officerId, docClass, docId,
+                channels, statuses, createdFromDate, createdTillDate, fromLocation));
+    }
+
     /**
      * GET /api/insurance/orders/my
      * Get user's insurance orders
@@ -2,8 +2,11 @@ package com.digibo.core.controller;
 
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.LeaseWebService;
+import com.digibo.core.service.base.PageRequest;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -20,15 +23,20 @@ import java.util.Map;
 public class LeaseWebController {
 
     private final LeaseWebService leaseWebService;
+    private final CursorJsonWriter cursorJsonWriter;
 
-    public LeaseWebController(LeaseWebService leaseWebService) {
+    public LeaseWebController(LeaseWebService leaseWebService, CursorJsonWriter cursorJsonWriter) {
         this.leaseWebService = leaseWebService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
      * GET /api/leaseweb/orders/search
      * Search lease web orders by filters
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * @param custId Customer ID
      * @param custName Customer name (partial match)
      * @param userLogin User login (partial match)
@@ -41,7 +49,7 @@ public class LeaseWebController {
      * @param pLegalId Legal ID filter
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<List<Map<String, Object>>> find(
+    public ResponseEntity<?> find(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
             @RequestParam(required = false) String userLogin,
@@ -51,17 +59,52 @@ public class LeaseWebController {
             @RequestParam(required = false) String createdFrom,
             @RequestParam(required = false) String createdTill,
             @RequestParam(required = false) String pCustomerName,
-            @RequestParam(required = false) String pLegalId) {
+            @RequestParam(required = false) String pLegalId,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
 
         Date createdFromDate = parseDate(createdFrom);
         Date createdTillDate = parseDate(createdTill);
 
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(leaseWebService.streamFind(
+                    custId, custName, userLogin, docId, statuses, docClass,
+                    createdFromDate, createdTillDate, pCustomerName, pLegalId)
+                    .page(PageRequest.of(limit, pageToken)));
+        }
+
         List<Map<String, Object>> result = leaseWebService.find(
                 custId, custName, userLogin, docId, statuses, docClass,
                 createdFromDate, createdTillDate, pCustomerName, pLegalId);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/leaseweb/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamFind(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String userLogin,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String docClass,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) String pCustomerName,
+            @RequestParam(required = false) String pLegalId) {
+
+        Date createdFromDate = parseDate(createdFrom);
+        Date createdTillDate = parseDate(createdTill);
+
+        return cursorJsonWriter.array(leaseWebService.streamFind(
+                custId, custName, userLogin, docId, statuses, docClass,
+                createdFromDate, createdTillDate, pCustomerName, pLegalId));
+    }
+
     /**
      * GET /api/leaseweb/orders/my
      * Get officer's lease web orders
@@ -1,8 +1,11 @@
 package com.digibo.core.controller;
 
 import com.digibo.core.service.LifeAndPensionService;
+import com.digibo.core.service.base.PageRequest;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -19,15 +22,20 @@ import java.util.Map;
 public class LifeAndPensionController {
 
     private final LifeAndPensionService lifeAndPensionService;
+    private final CursorJsonWriter cursorJsonWriter;
 
-    public LifeAndPensionController(LifeAndPensionService lifeAndPensionService) {
+    public LifeAndPensionController(LifeAndPensionService lifeAndPensionService, CursorJsonWriter cursorJsonWriter) {
         this.lifeAndPensionService = lifeAndPensionService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
      * GET /api/lifeandpension/orders/search
      * Search life and pension orders by filters
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * @param custId Customer ID
      * @param custName Customer name (partial match)
      * @param userLogin User login (partial match)
@@ -38,7 +46,7 @@ public class LifeAndPensionController {
      * @param createdTill End date (ISO format)
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<List<Map<String, Object>>> find(
+    public ResponseEntity<?> find(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
             @RequestParam(required = false) String userLogin,
@@ -46,16 +54,47 @@ public class LifeAndPensionController {
             @RequestParam(required = false) String statuses,
             @RequestParam(required = false) String docClass,
             @RequestParam(required = false) String createdFrom,
-            @RequestParam(required = false) String createdTill) {
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
 
         Date createdFromDate = parseDate(createdFrom);
         Date createdTillDate = parseDate(createdTill);
 
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(lifeAndPensionService.streamFind(
+                    custId, custName, userLogin, docId, statuses, docClass, createdFromDate, createdTillDate)
+                    .page(PageRequest.of(limit, pageToken)));
+        }
+
         List<Map<String, Object>> result = lifeAndPensionService.find(
                 custId, custName, userLogin, docId, statuses, docClass, createdFromDate, createdTillDate);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/lifeandpension/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamFind(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String userLogin,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String docClass,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill) {
+
+        Date createdFromDate = parseDate(createdFrom);
+        Date createdTillDate = parseDate(createdTill);
+
+        return cursorJsonWriter.array(lifeAndPensionService.streamFind(
+                custId, custName, userLogin, docId, statuses, docClass, createdFromDate, createdTillDate));
+    }
+
     /**
      * GET /api/lifeandpension/orders/my
      * Get officer's life and pension orders
@@ -1,9 +1,12 @@
 package com.digibo.core.controller;
 
 import com.digibo.core.service.MLoanService;
+import com.digibo.core.service.base.PageRequest;
 import com.digibo.core.util.DateUtils;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -17,15 +20,20 @@ import java.util.Map;
 public class MLoanController {
 
     private final MLoanService mloanService;
+    private final CursorJsonWriter cursorJsonWriter;
 
-    public MLoanController(MLoanService mloanService) {
+    public MLoanController(MLoanService mloanService, CursorJsonWriter cursorJsonWriter) {
         this.mloanService = mloanService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
      * GET /api/mloan/orders/search
      * Search mortgage loan orders by filters
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * @param custId Customer ID
      * @param custName Customer name (partial match)
      * @param userLogin User login (partial match)
@@ -37,7 +45,7 @@ public class MLoanController {
      * @param fromLocation Location code (e.g., LV, EE)
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<List<Map<String, Object>>> find(
+    public ResponseEntity<?> find(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
             @RequestParam(required = false) String userLogin,
@@ -46,7 +54,16 @@ public class MLoanController {
             @RequestParam(required = false) String createdFrom,
             @RequestParam(required = false) String createdTill,
             @RequestParam(required = false) String docClass,
-            @RequestParam(required = false) String fromLocation) {
+            @RequestParam(required = false) String fromLocation,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
+
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(mloanService.streamFind(
+                    custId, custName, userLogin, docId, statuses,
+                    DateUtils.parseDate(createdFrom), DateUtils.parseDate(createdTill), docClass, fromLocation)
+                    .page(PageRequest.of(limit, pageToken)));
+        }
 
         List<Map<String, Object>> result = mloanService.find(
                 custId, custName, userLogin, docId, statuses,
@@ -54,6 +71,28 @@ public class MLoanController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/mloan/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamFind(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String userLogin,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) String docClass,
+            @RequestParam(required = false) String fromLocation) {
+
+        return cursorJsonWriter.array(mloanService.streamFind(
+                custId, custName, userLogin, docId, statuses,
+                DateUtils.parseDate(createdFrom), DateUtils.parseDate(createdTill), docClass, fromLocation));
+    }
+
     /**
      * GET /api/mloan/orders/my
      * Get mortgage loan orders for a specific officer
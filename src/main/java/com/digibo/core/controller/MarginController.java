@@ -1,9 +1,12 @@
 package com.digibo.core.controller;
 
 import com.digibo.core.service.MarginService;
+import com.digibo.core.service.base.PageRequest;
 import com.digibo.core.util.DateUtils;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -17,15 +20,20 @@ import java.util.Map;
 public class MarginController {
 
     private final MarginService marginService;
+    private final CursorJsonWriter cursorJsonWriter;
 
-    public MarginController(MarginService marginService) {
+    public MarginController(MarginService marginService, CursorJsonWriter cursorJsonWriter) {
         this.marginService = marginService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
      * GET /api/margin/orders/search
      * Search margin orders by filters
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * @param custId Customer ID
      * @param custName Customer name (partial match)
      * @param userLogin User login (partial match)
@@ -43,7 +51,7 @@ public class MarginController {
      * @param createdTill End date (ISO format)
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<List<Map<String, Object>>> find(
+    public ResponseEntity<?> find(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
             @RequestParam(required = false) String userLogin,
@@ -58,7 +66,18 @@ public class MarginController {
             @RequestParam(required = false) String docId,
             @RequestParam(required = false) String statuses,
             @RequestParam(required = false) String createdFrom,
-            @RequestParam(required = false) String createdTill) {
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
+
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(marginService.streamFind(
+                    custId, custName, userLogin, userPassword, docClass,
+                    rateFrom, rateTill, orderCCY, contraryCCY,
+                    DateUtils.parseDate(expiryFrom), DateUtils.parseDate(expiryTill), docId, statuses,
+                    DateUtils.parseDate(createdFrom), DateUtils.parseDate(createdTill))
+                    .page(PageRequest.of(limit, pageToken)));
+        }
 
         List<Map<String, Object>> result = marginService.find(
                 custId, custName, userLogin, userPassword, docClass,
@@ -68,6 +87,36 @@ public class MarginController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/margin/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamFind(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String userLogin,
+            @RequestParam(required = false) String userPassword,
+            @RequestParam(required = false) String docClass,
+            @RequestParam(required = false) Double rateFrom,
+            @RequestParam(required = false) Double rateTill,
+            @RequestParam(required = false) String orderCCY,
+            @RequestParam(required = false) String contraryCCY,
+            @RequestParam(required = false) String expiryFrom,
+            @RequestParam(required = false) String expiryTill,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill) {
+
+        return cursorJsonWriter.array(marginService.streamFind(
+                custId, custName, userLogin, userPassword, docClass,
+                rateFrom, rateTill, orderCCY, contraryCCY,
+                DateUtils.parseDate(expiryFrom), DateUtils.parseDate(expiryTill), docId, statuses,
+                DateUtils.parseDate(createdFrom), DateUtils.parseDate(createdTill)));
+    }
+
     /**
      * GET /api/margin/orders/my
      * Get user's margin orders
@@ -3,6 +3,7 @@ package com.digibo.core.controller;
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.MessageService;
 import com.digibo.core.util.DateUtils;
+import com.digibo.core.web.ConditionalGet;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -72,6 +73,7 @@ public class MessagesController {
      *
      * @param classes Comma-separated class IDs (optional)
      */
+    @ConditionalGet
     @GetMapping("/current")
     public ResponseEntity<List<Map<String, Object>>> findCurrent(
             @RequestParam(required = false) String classes) {
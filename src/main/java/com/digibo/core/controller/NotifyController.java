@@ -61,12 +61,13 @@ public class NotifyController {
     }
 
     /**
-     * POST /api/notify/permissions
+     * POST /api/notify/permissions[?username=]
      * Update BO permissions using BONotify.updateBoPermissions()
+     * and drop cached permissions (of one user when username is given)
      */
     @PostMapping("/permissions")
-    public ResponseEntity<Map<String, Object>> updateBoPermissions() {
-        Map<String, Object> result = notifyService.updateBoPermissions();
+    public ResponseEntity<Map<String, Object>> updateBoPermissions(@RequestParam(required = false) String username) {
+        Map<String, Object> result = notifyService.updateBoPermissions(username);
         return ResponseEntity.ok(result);
     }
 }
@@ -6,9 +6,11 @@ import com.digibo.core.dto.response.PaymentSearchResponse;
 import com.digibo.core.exception.ResourceNotFoundException;
 import com.digibo.core.exception.ValidationException;
 import com.digibo.core.service.PaymentService;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 
@@ -23,9 +25,11 @@ import java.util.Map;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final CursorJsonWriter cursorJsonWriter;
 
-    public PaymentController(PaymentService paymentService) {
+    public PaymentController(PaymentService paymentService, CursorJsonWriter cursorJsonWriter) {
         this.paymentService = paymentService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
@@ -39,6 +43,18 @@ public class PaymentController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * POST /api/payments/find/stream
+     * Same filters and JSON as /find, but payments are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @PostMapping("/find/stream")
+    @PreAuthorize("hasPermission(null, 'BO_PAYMENT.FIND')")
+    public ResponseEntity<StreamingResponseBody> streamFindPayments(@RequestBody PaymentSearchRequest filters) {
+        return cursorJsonWriter.object(paymentService.streamFind(filters), "payments", null,
+                Map.of("P_PMT_CLASS_OUT", "pmtClass"));
+    }
+
     /**
      * GET /api/payments/:id
      * Get detailed payment information by ID
@@ -1,9 +1,12 @@
 package com.digibo.core.controller;
 
 import com.digibo.core.service.ProdKitService;
+import com.digibo.core.service.base.PageRequest;
 import com.digibo.core.util.DateUtils;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -17,15 +20,20 @@ import java.util.Map;
 public class ProdKitController {
 
     private final ProdKitService prodKitService;
+    private final CursorJsonWriter cursorJsonWriter;
 
-    public ProdKitController(ProdKitService prodKitService) {
+    public ProdKitController(ProdKitService prodKitService, CursorJsonWriter cursorJsonWriter) {
         this.prodKitService = prodKitService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
      * GET /api/prodkit/orders/search
      * Search custody orders by filters using BOProdKit.find()
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * Query params:
      * - custId: Customer ID
      * - custName: Customer name (partial match)
@@ -37,7 +45,7 @@ public class ProdKitController {
      * - createdTill: End date (ISO format)
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<List<Map<String, Object>>> searchOrders(
+    public ResponseEntity<?> searchOrders(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
             @RequestParam(required = false) String userLogin,
@@ -45,13 +53,42 @@ public class ProdKitController {
             @RequestParam(required = false) String statuses,
             @RequestParam(required = false) String docClass,
             @RequestParam(required = false) String createdFrom,
-            @RequestParam(required = false) String createdTill) {
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(prodKitService.streamFind(
+                    custId, custName, userLogin, docId, statuses, docClass,
+                    DateUtils.parseDate(createdFrom), DateUtils.parseDate(createdTill))
+                    .page(PageRequest.of(limit, pageToken)));
+        }
+
         List<Map<String, Object>> result = prodKitService.find(
                 custId, custName, userLogin, docId, statuses, docClass,
                 DateUtils.parseDate(createdFrom), DateUtils.parseDate(createdTill));
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/prodkit/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamSearchOrders(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String userLogin,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String docClass,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill) {
+        return cursorJsonWriter.array(prodKitService.streamFind(
+                custId, custName, userLogin, docId, statuses, docClass,
+                DateUtils.parseDate(createdFrom), DateUtils.parseDate(createdTill)));
+    }
+
     /**
      * GET /api/prodkit/orders/my
      * Get custody orders for current officer using BOProdKit.find_my()
@@ -1,6 +1,7 @@
 package com.digibo.core.controller;
 
 import com.digibo.core.service.RatesService;
+import com.digibo.core.web.ConditionalGet;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,6 +30,7 @@ public class RatesController {
      * - filter: Filter criteria (optional)
      * - dao: DAO parameter (optional)
      */
+    @ConditionalGet
     @GetMapping
     public ResponseEntity<List<Map<String, Object>>> getCurrencyRates(
             @RequestParam(required = false) String filter,
@@ -1,9 +1,12 @@
 package com.digibo.core.controller;
 
 import com.digibo.core.service.STOService;
+import com.digibo.core.service.base.PageRequest;
 import com.digibo.core.util.DateUtils;
+import com.digibo.core.web.CursorJsonWriter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -17,15 +20,20 @@ import java.util.Map;
 public class STOController {
 
     private final STOService stoService;
+    private final CursorJsonWriter cursorJsonWriter;
 
-    public STOController(STOService stoService) {
+    public STOController(STOService stoService, CursorJsonWriter cursorJsonWriter) {
         this.stoService = stoService;
+        this.cursorJsonWriter = cursorJsonWriter;
     }
 
     /**
      * GET /api/sto/orders/search
      * Search STO documents using BOSTO.find()
      *
+     * With limit and/or pageToken only that page is read and returned as
+     * { rows, hasMore, nextPageToken }; nextPageToken is passed back for the next page.
+     *
      * Query params:
      * - custId: Customer ID
      * - custName: Customer name (partial match)
@@ -38,7 +46,7 @@ public class STOController {
      * - createdTill: End date (ISO format)
      */
     @GetMapping("/orders/search")
-    public ResponseEntity<List<Map<String, Object>>> searchOrders(
+    public ResponseEntity<?> searchOrders(
             @RequestParam(required = false) String custId,
             @RequestParam(required = false) String custName,
             @RequestParam(required = false) String userLogin,
@@ -47,7 +55,17 @@ public class STOController {
             @RequestParam(required = false) String docId,
             @RequestParam(required = false) String statuses,
             @RequestParam(required = false) String createdFrom,
-            @RequestParam(required = false) String createdTill) {
+            @RequestParam(required = false) String createdTill,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String pageToken) {
+
+        if (PageRequest.requested(limit, pageToken)) {
+            return ResponseEntity.ok(stoService.streamFind(
+                    custId, custName, userLogin, officerId,
+                    pType, docId, statuses,
+                    DateUtils.parseDate(createdFrom), DateUtils.parseDate(createdTill))
+                    .page(PageRequest.of(limit, pageToken)));
+        }
 
         List<Map<String, Object>> result = stoService.find(
                 custId, custName, userLogin, officerId,
@@ -56,6 +74,29 @@ public class STOController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * GET /api/sto/orders/search/stream
+     * Same filters and JSON as /orders/search, but rows are written to the response
+     * while the cursor is read instead of being buffered first
+     */
+    @GetMapping("/orders/search/stream")
+    public ResponseEntity<StreamingResponseBody> streamSearchOrders(
+            @RequestParam(required = false) String custId,
+            @RequestParam(required = false) String custName,
+            @RequestParam(required = false) String userLogin,
+            @RequestParam(required = false) Long officerId,
+            @RequestParam(required = false) String pType,
+            @RequestParam(required = false) String docId,
+            @RequestParam(required = false) String statuses,
+            @RequestParam(required = false) String createdFrom,
+            @RequestParam(required = false) String createdTill) {
+
+        return cursorJsonWriter.array(stoService.streamFind(
+                custId, custName, userLogin, officerId,
+                pType, docId, statuses,
+                DateUtils.parseDate(createdFrom), DateUtils.parseDate(createdTill)));
+    }
+
     /**
      * GET /api/sto/orders/:id/details
      * Get detailed STO order info using BOSTO.sto() procedure
@@ -0,0 +1,25 @@
+package com.digibo.core.dto.request;
+
+import java.util.List;
+
+public class BatchRequest {
+    private List<Entry> requests;
+
+    public List<Entry> getRequests() { return requests; }
+    public void setRequests(List<Entry> requests) { this.requests = requests; }
+
+    public static class Entry {
+        private String id;
+        private String method;
+        private String path;
+
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+
+        public String getMethod() { return method; }
+        public void setMethod(String method) { this.method = method; }
+
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+    }
+}
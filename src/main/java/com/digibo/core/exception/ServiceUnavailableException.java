@@ -0,0 +1,25 @@
+package com.digibo.core.exception;
+
+/**
+ * The call was shed because its back-office package is saturated; the client should
+ * retry after retryAfterSeconds.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final String packageName;
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, String packageName, long retryAfterSeconds) {
+        super(message);
+        this.packageName = packageName;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,99 @@
+package com.digibo.core.mapper;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * ColumnPlan - Column layout of a cursor, built once from its ResultSetMetaData.
+ *
+ * Holds the interned column names (as a {@link RowSchema}) and a typed reader per
+ * column, so rows can be read without touching the metadata again. A plan is
+ * immutable and may be shared by every row of the cursor it was built for.
+ */
+public final class ColumnPlan {
+
+    /**
+     * Reads one column value from the current row.
+     */
+    @FunctionalInterface
+    public interface ColumnReader {
+        Object read(ResultSet rs, int column) throws SQLException;
+    }
+
+    private static final ColumnReader STRING = ResultSet::getString;
+    private static final ColumnReader DECIMAL = ResultSet::getBigDecimal;
+    private static final ColumnReader TIMESTAMP = ResultSet::getTimestamp;
+    private static final ColumnReader OBJECT = ResultSet::getObject;
+
+    private final RowSchema schema;
+    private final ColumnReader[] readers;
+
+    private ColumnPlan(RowSchema schema, ColumnReader[] readers) {
+        this.schema = schema;
+        this.readers = readers;
+    }
+
+    /**
+     * Build the plan for the cursor the metadata belongs to.
+     */
+    public static ColumnPlan of(ResultSetMetaData metaData) throws SQLException {
+        int columnCount = metaData.getColumnCount();
+        String[] names = new String[columnCount];
+        ColumnReader[] readers = new ColumnReader[columnCount];
+
+        for (int i = 0; i < columnCount; i++) {
+            names[i] = metaData.getColumnName(i + 1).intern();
+            readers[i] = readerFor(metaData.getColumnType(i + 1));
+        }
+
+        return new ColumnPlan(new RowSchema(names), readers);
+    }
+
+    /**
+     * Typed getter for a JDBC type. Only types whose typed getter returns the same
+     * value as getObject() get one; everything else falls back to getObject().
+     */
+    private static ColumnReader readerFor(int sqlType) {
+        return switch (sqlType) {
+            case Types.VARCHAR, Types.CHAR, Types.NVARCHAR, Types.NCHAR -> STRING;
+            case Types.NUMERIC, Types.DECIMAL -> DECIMAL;
+            case Types.TIMESTAMP -> TIMESTAMP;
+            default -> OBJECT;
+        };
+    }
+
+    public int size() {
+        return readers.length;
+    }
+
+    public RowSchema schema() {
+        return schema;
+    }
+
+    /**
+     * Column names in cursor order. The array is shared and must not be modified.
+     */
+    public String[] names() {
+        return schema.names();
+    }
+
+    /**
+     * Read the current row into a reusable value array of {@link #size()} elements.
+     */
+    public void readInto(ResultSet rs, Object[] values) throws SQLException {
+        for (int i = 0; i < readers.length; i++) {
+            values[i] = readers[i].read(rs, i + 1);
+        }
+    }
+
+    /**
+     * Read the current row into a new {@link CompactRow} sharing this plan's schema.
+     */
+    public CompactRow readRow(ResultSet rs) throws SQLException {
+        Object[] values = new Object[readers.length];
+        readInto(rs, values);
+        return new CompactRow(schema, values);
+    }
+}
@@ -0,0 +1,143 @@
+package com.digibo.core.mapper;
+
+import tools.jackson.databind.annotation.JsonSerialize;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * CompactRow - Cursor row stored as a flat value array over a shared {@link RowSchema}.
+ *
+ * Implements Map<String, Object> so existing callers keep working, but costs one
+ * object plus one array per row instead of a hash table with an entry per column.
+ * Values of existing columns can be replaced; adding or removing columns is not
+ * supported.
+ */
+@JsonSerialize(using = CompactRowSerializer.class)
+public final class CompactRow extends AbstractMap<String, Object> {
+
+    private final RowSchema schema;
+    private final Object[] values;
+
+    public CompactRow(RowSchema schema, Object[] values) {
+        if (values.length != schema.columnCount()) {
+            throw new IllegalArgumentException(
+                    "Expected " + schema.columnCount() + " values but got " + values.length);
+        }
+        this.schema = schema;
+        this.values = values;
+    }
+
+    public RowSchema schema() {
+        return schema;
+    }
+
+    /**
+     * Value of the cursor column at the given position, duplicates included.
+     */
+    public Object value(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return schema.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return schema.indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int index = schema.indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        int index = schema.indexOf(key);
+        if (index < 0) {
+            throw new UnsupportedOperationException("Column " + key + " is not part of the row schema");
+        }
+        Object previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < schema.size();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (next >= schema.size()) {
+                            throw new NoSuchElementException();
+                        }
+                        return new ColumnEntry(next++);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return schema.size();
+            }
+        };
+    }
+
+    private final class ColumnEntry implements Map.Entry<String, Object> {
+
+        private final int key;
+        private final int index;
+
+        private ColumnEntry(int key) {
+            this.key = key;
+            this.index = schema.column(key);
+        }
+
+        @Override
+        public String getKey() {
+            return schema.name(key);
+        }
+
+        @Override
+        public Object getValue() {
+            return values[index];
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e
+                    && getKey().equals(e.getKey())
+                    && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+    }
+}
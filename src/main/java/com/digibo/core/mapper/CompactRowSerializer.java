@@ -0,0 +1,40 @@
+package com.digibo.core.mapper;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ValueSerializer;
+
+/**
+ * Writes a {@link CompactRow} as a JSON object in cursor column order, each distinct
+ * column name once (see {@link RowSchema}).
+ *
+ * Walks the value array by index with the schema's pre-encoded property names,
+ * so no map entries or iterators are created. Strings and nulls are written
+ * directly; other values go through the configured serializers (dates, numbers).
+ */
+public class CompactRowSerializer extends ValueSerializer<CompactRow> {
+
+    @Override
+    public void serialize(CompactRow row, JsonGenerator gen, SerializationContext ctxt) throws JacksonException {
+        RowSchema schema = row.schema();
+        gen.writeStartObject(row, schema.size());
+        for (int i = 0; i < schema.size(); i++) {
+            gen.writeName(schema.jsonName(i));
+            Object value = row.value(schema.column(i));
+            if (value == null) {
+                gen.writeNull();
+            } else if (value instanceof String s) {
+                gen.writeString(s);
+            } else {
+                ctxt.findValueSerializer(value.getClass()).serialize(value, gen, ctxt);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    @Override
+    public Class<?> handledType() {
+        return CompactRow.class;
+    }
+}
@@ -4,32 +4,39 @@ import org.springframework.jdbc.core.RowMapper;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Generic RowMapper that maps any ResultSet to a Map<String, Object>
  * Preserves column names as keys and values as Objects
+ *
+ * Rows are {@link CompactRow}s: all rows of a cursor share one {@link RowSchema}
+ * and only carry their own value array.
+ *
+ * The column plan is built from the metadata of the first row and reused for
+ * every following row of the same ResultSet. Instances therefore hold per-cursor
+ * state: create one per query (see BaseService.rowMapper()) and do not share
+ * them between threads.
  */
 public class GenericRowMapper implements RowMapper<Map<String, Object>> {
 
-    private static final GenericRowMapper INSTANCE = new GenericRowMapper();
-
-    public static GenericRowMapper getInstance() {
-        return INSTANCE;
-    }
+    private ResultSet planSource;
+    private ColumnPlan plan;
 
     @Override
     public Map<String, Object> mapRow(ResultSet rs, int rowNum) throws SQLException {
-        Map<String, Object> row = new HashMap<>();
-        int columnCount = rs.getMetaData().getColumnCount();
+        return planFor(rs).readRow(rs);
+    }
 
-        for (int i = 1; i <= columnCount; i++) {
-            String columnName = rs.getMetaData().getColumnName(i);
-            Object value = rs.getObject(i);
-            row.put(columnName, value);
+    /**
+     * Column plan for the given ResultSet, rebuilt only when the mapper is reused
+     * for a different cursor.
+     */
+    public ColumnPlan planFor(ResultSet rs) throws SQLException {
+        if (plan == null || planSource != rs) {
+            plan = ColumnPlan.of(rs.getMetaData());
+            planSource = rs;
         }
-
-        return row;
+        return plan;
     }
 }
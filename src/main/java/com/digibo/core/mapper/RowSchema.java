@@ -0,0 +1,102 @@
+package com.digibo.core.mapper;
+
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * RowSchema - Column names of a cursor, shared by all {@link CompactRow}s read from it.
+ *
+ * Keeps the names in cursor order, a name-to-index lookup and the pre-encoded
+ * JSON property names used by {@link CompactRowSerializer}.
+ *
+ * A name that occurs more than once (duplicate column aliases) is one key of the row,
+ * holding the value of its last column, as a HashMap filled in cursor order would.
+ * {@link #size()} and {@link #name(int)} are over these distinct names;
+ * {@link #names()} and {@link #columnCount()} over the cursor columns.
+ */
+public final class RowSchema {
+
+    private final String[] names;
+    private final String[] keys;
+    private final int[] columns;
+    private final SerializableString[] jsonNames;
+    private final Map<String, Integer> indexes;
+
+    public RowSchema(String... names) {
+        this.names = names.clone();
+        this.indexes = HashMap.newHashMap(names.length);
+        for (int i = 0; i < names.length; i++) {
+            indexes.put(names[i], i);
+        }
+
+        // Distinct names in order of first appearance, each on its last column
+        int size = indexes.size();
+        this.keys = new String[size];
+        this.columns = new int[size];
+        this.jsonNames = new SerializableString[size];
+        Set<String> seen = HashSet.newHashSet(size);
+        int key = 0;
+        for (String name : names) {
+            if (seen.add(name)) {
+                keys[key] = name;
+                columns[key] = indexes.get(name);
+                jsonNames[key] = new SerializedString(name);
+                key++;
+            }
+        }
+    }
+
+    /**
+     * Number of distinct column names, the keys of a row.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Distinct column name at the given position.
+     */
+    public String name(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Cursor column (0-based) holding the value of the distinct name at the given position.
+     */
+    public int column(int index) {
+        return columns[index];
+    }
+
+    SerializableString jsonName(int index) {
+        return jsonNames[index];
+    }
+
+    /**
+     * Number of cursor columns, duplicates included.
+     */
+    public int columnCount() {
+        return names.length;
+    }
+
+    /**
+     * Column names in cursor order, duplicates included. The array is shared and must
+     * not be modified.
+     */
+    public String[] names() {
+        return names;
+    }
+
+    /**
+     * Cursor column (0-based) of the name, its last one for a duplicate, or -1 when the
+     * schema has no such column.
+     */
+    public int indexOf(Object name) {
+        Integer index = indexes.get(name);
+        return index != null ? index : -1;
+    }
+}
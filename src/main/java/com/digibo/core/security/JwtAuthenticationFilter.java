@@ -16,8 +16,6 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.List;
-import java.util.Set;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -40,13 +38,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                String userId = tokenProvider.getUserIdFromToken(jwt);
-                List<String> roles = tokenProvider.getRolesFromToken(jwt);
-                Set<String> permissions = tokenProvider.getPermissionsFromToken(jwt);
+            VerifiedClaims claims = StringUtils.hasText(jwt) ? tokenProvider.verifyToken(jwt) : null;
 
-                UserPrincipal userPrincipal = UserPrincipal.fromToken(userId, username, roles, permissions);
+            if (claims != null) {
+                UserPrincipal userPrincipal = UserPrincipal.fromToken(
+                        claims.getUserId(), claims.getUsername(), claims.getRoles(), claims.getPermissionSet());
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
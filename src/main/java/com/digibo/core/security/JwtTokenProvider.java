@@ -4,6 +4,7 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -14,7 +15,6 @@ import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -24,15 +24,34 @@ public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
+    private static final int DEFAULT_VERIFIED_CACHE_SIZE = 10000;
+
     private final SecretKey secretKey;
+    private final JwtParser parser;
+    private final VerifiedTokenCache verifiedTokens;
     private final long jwtExpiration;
     private final long refreshExpiration;
+    private final PermissionClaimCodec permissionCodec;
+
+    public JwtTokenProvider(String secret, long jwtExpiration, long refreshExpiration) {
+        this(secret, jwtExpiration, refreshExpiration, DEFAULT_VERIFIED_CACHE_SIZE);
+    }
+
+    public JwtTokenProvider(String secret, long jwtExpiration, long refreshExpiration, int verifiedCacheSize) {
+        this(secret, jwtExpiration, refreshExpiration, verifiedCacheSize, PermissionClaimCodec.withoutCatalog());
+    }
 
+    @Autowired
     public JwtTokenProvider(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.expiration:86400000}") long jwtExpiration,
-            @Value("${jwt.refresh-expiration:604800000}") long refreshExpiration) {
+            @Value("${jwt.refresh-expiration:604800000}") long refreshExpiration,
+            @Value("${jwt.verified-cache-size:10000}") int verifiedCacheSize,
+            PermissionClaimCodec permissionCodec) {
+        this.permissionCodec = permissionCodec;
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+        this.verifiedTokens = new VerifiedTokenCache(verifiedCacheSize);
         this.jwtExpiration = jwtExpiration;
         this.refreshExpiration = refreshExpiration;
     }
@@ -72,7 +91,7 @@ public class JwtTokenProvider {
                 .subject(username)
                 .claim("userId", userId)
                 .claim("roles", roles)
-                .claim("permissions", permissions);
+                .claims(permissionCodec.encode(permissions));
 
         if (sessionId != null) {
             builder.claim("sessionId", sessionId);
@@ -99,19 +118,15 @@ public class JwtTokenProvider {
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = parseToken(token);
-        return claims.getSubject();
+        return claims(token).getUsername();
     }
 
     public String getUserIdFromToken(String token) {
-        Claims claims = parseToken(token);
-        return claims.get("userId", String.class);
+        return claims(token).getUserId();
     }
 
-    @SuppressWarnings("unchecked")
     public List<String> getRolesFromToken(String token) {
-        Claims claims = parseToken(token);
-        return claims.get("roles", List.class);
+        return claims(token).getRoles();
     }
 
     /**
@@ -120,19 +135,12 @@ public class JwtTokenProvider {
      * @param token JWT token
      * @return Set of permissions in format "PACKAGE.PROCEDURE"
      */
-    @SuppressWarnings("unchecked")
     public Set<String> getPermissionsFromToken(String token) {
-        Claims claims = parseToken(token);
-        List<String> permissionsList = claims.get("permissions", List.class);
-        if (permissionsList == null) {
-            return Collections.emptySet();
-        }
-        return new HashSet<>(permissionsList);
+        return claims(token).getPermissions();
     }
 
     public String getSessionIdFromToken(String token) {
-        Claims claims = parseToken(token);
-        return claims.get("sessionId", String.class);
+        return claims(token).getSessionId();
     }
 
     /**
@@ -143,14 +151,19 @@ public class JwtTokenProvider {
      * @return true if permission exists in token
      */
     public boolean hasPermission(String token, String permission) {
-        Set<String> permissions = getPermissionsFromToken(token);
-        return permissions.contains(permission.toUpperCase());
+        return claims(token).getPermissionSet().contains(permission);
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verify the token once and return all of its claims.
+     * Tokens verified before are served from a cache until they expire.
+     *
+     * @param token JWT token
+     * @return verified claims, or null if the token is invalid or expired
+     */
+    public VerifiedClaims verifyToken(String token) {
         try {
-            parseToken(token);
-            return true;
+            return claims(token);
         } catch (MalformedJwtException ex) {
             logger.error("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
@@ -162,23 +175,36 @@ public class JwtTokenProvider {
         } catch (JwtException ex) {
             logger.error("JWT validation error: {}", ex.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    public boolean validateToken(String token) {
+        return verifyToken(token) != null;
     }
 
     public boolean isRefreshToken(String token) {
         try {
-            Claims claims = parseToken(token);
-            return "refresh".equals(claims.get("type", String.class));
+            return claims(token).isRefreshToken();
         } catch (JwtException e) {
             return false;
         }
     }
 
-    private Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private VerifiedClaims claims(String token) {
+        if (token == null || token.isEmpty()) {
+            // Let the parser report the empty token as before
+            return verify(token);
+        }
+        VerifiedClaims claims = verifiedTokens.get(token);
+        if (claims == null) {
+            claims = verify(token);
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
+    }
+
+    private VerifiedClaims verify(String token) {
+        Claims payload = parser.parseSignedClaims(token).getPayload();
+        return VerifiedClaims.from(payload, permissionCodec.decode(payload));
     }
 }
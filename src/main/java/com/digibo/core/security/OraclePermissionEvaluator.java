@@ -7,10 +7,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
-import java.util.Set;
 
 /**
  * Custom PermissionEvaluator that checks Oracle PL/SQL permissions from JWT.
+ * Checks are a bit test on the principal's {@link PermissionSet}; case does not matter.
  *
  * Usage in controllers:
  * <pre>
@@ -47,15 +47,15 @@ public class OraclePermissionEvaluator implements PermissionEvaluator {
             return false;
         }
 
-        String permissionStr = permission.toString().toUpperCase();
-
         // Get permissions from the authentication principal
         if (authentication.getPrincipal() instanceof UserPrincipal userPrincipal) {
-            Set<String> permissions = userPrincipal.getPermissions();
-            boolean hasPermission = permissions.contains(permissionStr);
+            String permissionStr = permission.toString();
+            boolean hasPermission = userPrincipal.getPermissionSet().contains(permissionStr);
 
-            logger.debug("Permission check for user '{}': {} -> {}",
-                    userPrincipal.getUsername(), permissionStr, hasPermission);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Permission check for user '{}': {} -> {}",
+                        userPrincipal.getUsername(), permissionStr, hasPermission);
+            }
 
             return hasPermission;
         }
@@ -0,0 +1,71 @@
+package com.digibo.core.security;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of Oracle permissions ("PACKAGE.PROCEDURE") with a dense
+ * integer id per permission, so a user's permissions can be held as a bitset.
+ *
+ * Ids are assigned on first registration and never change while the process runs.
+ * Names are stored upper case; lookups accept any case.
+ */
+public final class PermissionCatalog {
+
+    private static final PermissionCatalog GLOBAL = new PermissionCatalog();
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[256];
+    private int size;
+
+    PermissionCatalog() {
+    }
+
+    public static PermissionCatalog global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Id of the permission, registering it if it is new.
+     */
+    public int register(String permission) {
+        Integer id = ids.get(permission);
+        if (id != null) {
+            return id;
+        }
+        String name = permission.toUpperCase(Locale.ROOT);
+        synchronized (this) {
+            id = ids.get(name);
+            if (id == null) {
+                id = size;
+                if (size == names.length) {
+                    names = Arrays.copyOf(names, size * 2);
+                }
+                names[size++] = name;
+                ids.put(name, id);
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Id of a registered permission, or -1 if it is unknown. Does not allocate
+     * when the permission is given in upper case.
+     */
+    public int idOf(String permission) {
+        Integer id = ids.get(permission);
+        if (id == null) {
+            id = ids.get(permission.toUpperCase(Locale.ROOT));
+        }
+        return id != null ? id : -1;
+    }
+
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
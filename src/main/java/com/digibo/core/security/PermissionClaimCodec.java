@@ -0,0 +1,271 @@
+package com.digibo.core.security;
+
+import com.digibo.core.service.AuthPermissionService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.MalformedJwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Encodes a user's permissions into compact JWT claims against a versioned catalog.
+ *
+ * The catalog is the sorted list of all application procedures (BO_AUTH.GET_PERMISSION_CATALOG);
+ * its version is a hash of that list, so every node reading the same database agrees on it.
+ * A token carries:
+ * - pv: catalog version
+ * - pb: bitmap over the catalog positions, base64url (bit i = i-th catalog entry)
+ * - px: permissions missing from the catalog, if any, as a plain list
+ *
+ * Decoding turns the bitmap straight into a {@link PermissionSet}. The last few catalog
+ * versions are kept, so tokens issued before a catalog change still decode; a token with
+ * an unknown version is rejected and the client refreshes it. Tokens with the old
+ * "permissions" list are still accepted.
+ *
+ * Reloads are serialized by a lock rather than a monitor: the load is a database call,
+ * and a virtual thread blocked inside a monitor would pin its carrier thread.
+ */
+@Component
+public class PermissionClaimCodec {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionClaimCodec.class);
+
+    static final String VERSION_CLAIM = "pv";
+    static final String BITMAP_CLAIM = "pb";
+    static final String EXTRA_CLAIM = "px";
+    static final String LEGACY_CLAIM = "permissions";
+
+    private static final int KEPT_VERSIONS = 4;
+    private static final long MIN_RELOAD_INTERVAL = 10_000;
+
+    private final Supplier<List<String>> catalogSource;
+    private final long catalogTtl;
+    private final LongSupplier clock;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final LinkedHashMap<String, Catalog> history = new LinkedHashMap<>();
+    private volatile Map<String, Catalog> versions = Map.of();
+    private volatile Catalog current;
+    private volatile long loadedAt;
+
+    @Autowired
+    public PermissionClaimCodec(AuthPermissionService authPermissionService,
+                                @Value("${app.permissions.catalog-ttl:3600000}") long catalogTtl) {
+        this(authPermissionService::getPermissionCatalog, catalogTtl, System::currentTimeMillis);
+    }
+
+    PermissionClaimCodec(Supplier<List<String>> catalogSource, long catalogTtl, LongSupplier clock) {
+        this.catalogSource = catalogSource;
+        this.catalogTtl = catalogTtl;
+        this.clock = clock;
+    }
+
+    /**
+     * A codec without a catalog: all permissions are written to the px claim.
+     */
+    public static PermissionClaimCodec withoutCatalog() {
+        return new PermissionClaimCodec(List::of, Long.MAX_VALUE, System::currentTimeMillis);
+    }
+
+    /**
+     * Claims to add to a token for the given permissions.
+     */
+    public Map<String, Object> encode(Collection<String> permissions) {
+        Catalog catalog = currentCatalog();
+        Map<String, Object> claims = new HashMap<>();
+        byte[] bitmap = new byte[(catalog.names.length + 7) / 8];
+        List<String> extra = new ArrayList<>();
+        int length = 0;
+
+        if (permissions != null) {
+            for (String permission : permissions) {
+                String name = permission.toUpperCase(Locale.ROOT);
+                int position = Arrays.binarySearch(catalog.names, name);
+                if (position >= 0) {
+                    bitmap[position >>> 3] |= (byte) (1 << (position & 7));
+                    length = Math.max(length, (position >>> 3) + 1);
+                } else {
+                    extra.add(name);
+                }
+            }
+        }
+
+        claims.put(VERSION_CLAIM, catalog.version);
+        claims.put(BITMAP_CLAIM, Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Arrays.copyOf(bitmap, length)));
+        if (!extra.isEmpty()) {
+            claims.put(EXTRA_CLAIM, extra);
+        }
+        return claims;
+    }
+
+    /**
+     * Permissions of a verified token.
+     *
+     * @throws MalformedJwtException if the token refers to an unknown catalog version
+     */
+    @SuppressWarnings("unchecked")
+    public PermissionSet decode(Claims claims) {
+        String version = claims.get(VERSION_CLAIM, String.class);
+        if (version == null) {
+            return PermissionSet.of(claims.get(LEGACY_CLAIM, List.class));
+        }
+
+        Catalog catalog = versions.get(version);
+        if (catalog == null) {
+            // Issued against a catalog this node has not loaded yet (restart, catalog change)
+            catalog = reloadFor(version);
+        }
+        if (catalog == null) {
+            throw new MalformedJwtException("Unknown permission catalog version " + version);
+        }
+
+        String bitmapClaim = claims.get(BITMAP_CLAIM, String.class);
+        byte[] bitmap = bitmapClaim != null ? Base64.getUrlDecoder().decode(bitmapClaim) : new byte[0];
+        List<String> extra = claims.get(EXTRA_CLAIM, List.class);
+
+        int[] ids = new int[catalog.names.length + (extra != null ? extra.size() : 0)];
+        int count = 0;
+        for (int b = 0; b < bitmap.length; b++) {
+            int bits = bitmap[b] & 0xFF;
+            while (bits != 0) {
+                int position = (b << 3) + Integer.numberOfTrailingZeros(bits);
+                if (position >= catalog.ids.length) {
+                    throw new MalformedJwtException("Permission bitmap does not match catalog " + version);
+                }
+                ids[count++] = catalog.ids[position];
+                bits &= bits - 1;
+            }
+        }
+        if (extra != null) {
+            for (String permission : extra) {
+                ids[count++] = PermissionCatalog.global().register(permission);
+            }
+        }
+        return PermissionSet.ofIds(ids, count);
+    }
+
+    /**
+     * Version of the catalog new tokens are encoded against.
+     */
+    public String currentVersion() {
+        return currentCatalog().version;
+    }
+
+    private Catalog currentCatalog() {
+        Catalog catalog = current;
+        if (catalog == null || clock.getAsLong() - loadedAt >= catalogTtl) {
+            catalog = reload(catalog);
+        }
+        return catalog;
+    }
+
+    private Catalog reload(Catalog previous) {
+        reloadLock.lock();
+        try {
+            if (current != previous) {
+                return current;
+            }
+            loadedAt = clock.getAsLong();
+            try {
+                Catalog loaded = Catalog.of(catalogSource.get());
+                if (previous == null || !previous.version.equals(loaded.version)) {
+                    logger.info("Permission catalog version {} with {} entries", loaded.version, loaded.names.length);
+                }
+                remember(loaded);
+                current = loaded;
+            } catch (RuntimeException e) {
+                // Keep encoding against the previous catalog (or none) and try again later
+                logger.warn("Could not load permission catalog: {}", e.getMessage());
+                if (current == null) {
+                    current = Catalog.of(List.of());
+                    remember(current);
+                }
+            }
+            return current;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private Catalog reloadFor(String version) {
+        reloadLock.lock();
+        try {
+            Catalog catalog = versions.get(version);
+            if (catalog == null && (current == null || clock.getAsLong() - loadedAt >= MIN_RELOAD_INTERVAL)) {
+                reload(current);
+                catalog = versions.get(version);
+            }
+            return catalog;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private void remember(Catalog catalog) {
+        history.remove(catalog.version);
+        history.put(catalog.version, catalog);
+        while (history.size() > KEPT_VERSIONS) {
+            history.remove(history.keySet().iterator().next());
+        }
+        versions = Map.copyOf(history);
+    }
+
+    private static final class Catalog {
+
+        private final String version;
+        private final String[] names;
+        private final int[] ids;
+
+        private Catalog(String version, String[] names, int[] ids) {
+            this.version = version;
+            this.names = names;
+            this.ids = ids;
+        }
+
+        static Catalog of(Collection<String> permissions) {
+            TreeSet<String> sorted = new TreeSet<>();
+            for (String permission : permissions) {
+                sorted.add(permission.toUpperCase(Locale.ROOT));
+            }
+            String[] names = sorted.toArray(new String[0]);
+            int[] ids = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                ids[i] = PermissionCatalog.global().register(names[i]);
+            }
+            return new Catalog(version(names), names, ids);
+        }
+
+        private static String version(String[] names) {
+            try {
+                MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+                for (String name : names) {
+                    sha256.update(name.getBytes(StandardCharsets.UTF_8));
+                    sha256.update((byte) '\n');
+                }
+                return HexFormat.of().formatHex(sha256.digest(), 0, 4);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
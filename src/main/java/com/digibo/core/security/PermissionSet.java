@@ -0,0 +1,145 @@
+package com.digibo.core.security;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Immutable set of permissions as a bitset over {@link PermissionCatalog} ids.
+ * A check is a single bit test and does not allocate.
+ *
+ * Serialized by permission name, since ids are only meaningful within one catalog;
+ * a deserialized set belongs to the global catalog.
+ */
+public final class PermissionSet implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final PermissionSet EMPTY = new PermissionSet(PermissionCatalog.global(), new long[0]);
+
+    private final transient PermissionCatalog catalog;
+    private final transient long[] words;
+    private transient volatile Set<String> names;
+
+    private PermissionSet(PermissionCatalog catalog, long[] words) {
+        this.catalog = catalog;
+        this.words = words;
+    }
+
+    /**
+     * Build a set from permission names, registering names not seen before.
+     */
+    public static PermissionSet of(Collection<String> permissions) {
+        return of(PermissionCatalog.global(), permissions);
+    }
+
+    static PermissionSet of(PermissionCatalog catalog, Collection<String> permissions) {
+        if (permissions == null || permissions.isEmpty()) {
+            return catalog == PermissionCatalog.global() ? EMPTY : new PermissionSet(catalog, new long[0]);
+        }
+        int[] ids = new int[permissions.size()];
+        int maxId = 0;
+        int i = 0;
+        for (String permission : permissions) {
+            ids[i] = catalog.register(permission);
+            maxId = Math.max(maxId, ids[i++]);
+        }
+        long[] words = new long[(maxId >>> 6) + 1];
+        for (int id : ids) {
+            words[id >>> 6] |= 1L << id;
+        }
+        return new PermissionSet(catalog, words);
+    }
+
+    /**
+     * Build a set from the first count ids of the global catalog.
+     */
+    static PermissionSet ofIds(int[] ids, int count) {
+        if (count == 0) {
+            return EMPTY;
+        }
+        int maxId = 0;
+        for (int i = 0; i < count; i++) {
+            maxId = Math.max(maxId, ids[i]);
+        }
+        long[] words = new long[(maxId >>> 6) + 1];
+        for (int i = 0; i < count; i++) {
+            words[ids[i] >>> 6] |= 1L << ids[i];
+        }
+        return new PermissionSet(PermissionCatalog.global(), words);
+    }
+
+    public boolean contains(int id) {
+        int word = id >>> 6;
+        return id >= 0 && word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * @param permission Permission in format "PACKAGE.PROCEDURE", any case
+     */
+    public boolean contains(String permission) {
+        return contains(catalog.idOf(permission));
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Permission names (upper case), built on first use.
+     */
+    public Set<String> names() {
+        Set<String> result = names;
+        if (result == null) {
+            Set<String> built = new LinkedHashSet<>();
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    built.add(catalog.nameOf((w << 6) + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+            result = Collections.unmodifiableSet(built);
+            names = result;
+        }
+        return result;
+    }
+
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(names().toArray(new String[0]));
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("PermissionSet is serialized by name");
+    }
+
+    private record SerializedForm(String[] names) implements Serializable {
+
+        @Serial
+        private Object readResolve() {
+            return PermissionSet.of(Arrays.asList(names));
+        }
+    }
+}
@@ -6,7 +6,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -17,16 +16,22 @@ public class UserPrincipal implements UserDetails {
     private final String username;
     private final String password;
     private final Collection<? extends GrantedAuthority> authorities;
-    private final Set<String> permissions;
+    private final PermissionSet permissions;
 
     public UserPrincipal(String userId, String username, String password,
                          Collection<? extends GrantedAuthority> authorities,
                          Set<String> permissions) {
+        this(userId, username, password, authorities, PermissionSet.of(permissions));
+    }
+
+    public UserPrincipal(String userId, String username, String password,
+                         Collection<? extends GrantedAuthority> authorities,
+                         PermissionSet permissions) {
         this.userId = userId;
         this.username = username;
         this.password = password;
         this.authorities = authorities;
-        this.permissions = permissions != null ? new HashSet<>(permissions) : Collections.emptySet();
+        this.permissions = permissions != null ? permissions : PermissionSet.EMPTY;
     }
 
     // Backward-compatible constructor
@@ -53,6 +58,11 @@ public class UserPrincipal implements UserDetails {
     }
 
     public static UserPrincipal fromToken(String userId, String username, List<String> roles, Set<String> permissions) {
+        return fromToken(userId, username, roles, PermissionSet.of(permissions));
+    }
+
+    public static UserPrincipal fromToken(String userId, String username, List<String> roles,
+                                          PermissionSet permissions) {
         List<GrantedAuthority> authorities = roles.stream()
                 .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toList());
@@ -65,7 +75,14 @@ public class UserPrincipal implements UserDetails {
      * @return Set of permissions in format "PACKAGE.PROCEDURE"
      */
     public Set<String> getPermissions() {
-        return Collections.unmodifiableSet(permissions);
+        return permissions.names();
+    }
+
+    /**
+     * Get the user's permissions as a bitset over {@link PermissionCatalog} ids.
+     */
+    public PermissionSet getPermissionSet() {
+        return permissions;
     }
 
     /**
@@ -74,7 +91,16 @@ public class UserPrincipal implements UserDetails {
      * @return true if user has the permission
      */
     public boolean hasPermission(String permission) {
-        return permissions.contains(permission.toUpperCase());
+        return permissions.contains(permission);
+    }
+
+    /**
+     * Check if user has a specific permission.
+     * @param permissionId Permission id from {@link PermissionCatalog}
+     * @return true if user has the permission
+     */
+    public boolean hasPermission(int permissionId) {
+        return permissions.contains(permissionId);
     }
 
     public String getUserId() {
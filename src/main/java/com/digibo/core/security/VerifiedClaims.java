@@ -0,0 +1,93 @@
+package com.digibo.core.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Claims of a JWT whose signature and expiry have been checked.
+ * Read once from the token, so callers never have to parse it again.
+ */
+public final class VerifiedClaims {
+
+    private final String username;
+    private final String userId;
+    private final List<String> roles;
+    private final PermissionSet permissions;
+    private final String sessionId;
+    private final String type;
+    private final long expiresAtMillis;
+
+    private VerifiedClaims(String username, String userId, List<String> roles, PermissionSet permissions,
+                           String sessionId, String type, long expiresAtMillis) {
+        this.username = username;
+        this.userId = userId;
+        this.roles = roles;
+        this.permissions = permissions;
+        this.sessionId = sessionId;
+        this.type = type;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    @SuppressWarnings("unchecked")
+    static VerifiedClaims from(Claims claims, PermissionSet permissions) {
+        List<String> roles = claims.get("roles", List.class);
+        Date expiration = claims.getExpiration();
+        return new VerifiedClaims(
+                claims.getSubject(),
+                claims.get("userId", String.class),
+                roles != null ? List.copyOf(roles) : null,
+                permissions,
+                claims.get("sessionId", String.class),
+                claims.get("type", String.class),
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE
+        );
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * Roles claim, or null when the token has none (refresh tokens).
+     */
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    /**
+     * Permissions in format "PACKAGE.PROCEDURE"; empty when the token has none.
+     */
+    public Set<String> getPermissions() {
+        return permissions.names();
+    }
+
+    /**
+     * Permissions as a bitset, built once per token.
+     */
+    public PermissionSet getPermissionSet() {
+        return permissions;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,97 @@
+package com.digibo.core.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of already verified tokens, keyed by the SHA-256 digest of the token
+ * so the tokens themselves are not kept in memory.
+ *
+ * An entry is only returned until the token's own expiry. When the cache is full, the
+ * least recently used entry is evicted; expired entries are swept out once every
+ * maxSize insertions, so they do not push out live ones for long. An evicted token is
+ * simply verified again on its next use.
+ */
+class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<ByteBuffer, VerifiedClaims> entries;
+    private int putsSinceSweep;
+
+    VerifiedTokenCache(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    VerifiedTokenCache(int maxSize, LongSupplier clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, VerifiedClaims> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    VerifiedClaims get(String token) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        ByteBuffer key = digest(token);
+        lock.lock();
+        try {
+            VerifiedClaims claims = entries.get(key);
+            if (claims != null && claims.isExpired(clock.getAsLong())) {
+                entries.remove(key);
+                return null;
+            }
+            return claims;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void put(String token, VerifiedClaims claims) {
+        if (maxSize <= 0) {
+            return;
+        }
+        ByteBuffer key = digest(token);
+        lock.lock();
+        try {
+            if (++putsSinceSweep >= maxSize) {
+                putsSinceSweep = 0;
+                long now = clock.getAsLong();
+                entries.values().removeIf(entry -> entry.isExpired(now));
+            }
+            entries.put(key, claims);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
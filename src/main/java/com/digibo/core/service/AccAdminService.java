@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.CursorStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,17 @@ public interface AccAdminService {
                                    String docId, String statuses, String docClass,
                                    Date createdFrom, Date createdTill);
 
+    /**
+     * Stream the rows of {@link #find} without buffering the whole result.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFind(String custId, String custName, String userLogin, Long officerId,
+                                    String docId, String statuses, String docClass, Date createdFrom,
+                                    Date createdTill) {
+        return CursorStream.of(find(custId, custName, userLogin, officerId, docId, statuses, docClass,
+                createdFrom, createdTill));
+    }
+
     /**
      * Get officer's account administration orders
      * @param officerId Officer ID
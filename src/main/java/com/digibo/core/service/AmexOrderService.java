@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.CursorStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +32,17 @@ public interface AmexOrderService {
                                    Date createdFrom, Date createdTill,
                                    String customerName, String legalId, String formType);
 
+    /**
+     * Stream the rows of {@link #find} without buffering the whole result.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFind(String custId, String custName, String userLogin, String docId,
+                                    String statuses, String docClass, String fromLocation, Date createdFrom,
+                                    Date createdTill, String customerName, String legalId, String formType) {
+        return CursorStream.of(find(custId, custName, userLogin, docId, statuses, docClass, fromLocation,
+                createdFrom, createdTill, customerName, legalId, formType));
+    }
+
     /**
      * Get user's AMEX orders (find_my)
      * @param officerId Officer ID (0 for new orders)
@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.CursorStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,15 @@ public interface AuditLogService {
     List<Map<String, Object>> find(Date dfrom, Date dto, String events, String pObject,
                                    String pOriginator, String pChannels, Integer pResultSetSize);
 
+    /**
+     * Stream the rows of {@link #find} without buffering the whole result.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFind(Date dfrom, Date dto, String events, String pObject,
+                                    String pOriginator, String pChannels, Integer pResultSetSize) {
+        return CursorStream.of(find(dfrom, dto, events, pObject, pOriginator, pChannels, pResultSetSize));
+    }
+
     /**
      * Find audit log entries by session ID
      * @param pSession Session ID
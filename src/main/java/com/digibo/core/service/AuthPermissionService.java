@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -42,4 +43,26 @@ public interface AuthPermissionService {
         }
         return hasPermission(username, parts[0], parts[1]);
     }
+
+    /**
+     * Drop cached permissions of a user so the next lookup reads them from Oracle.
+     *
+     * @param username The Oracle/LDAP username
+     */
+    default void clearCache(String username) {
+    }
+
+    /**
+     * Drop all cached permissions.
+     */
+    default void clearAllCache() {
+    }
+
+    /**
+     * All permissions that can be granted, in format "PACKAGE.PROCEDURE".
+     * Used as the catalog compact token claims are encoded against; empty when unknown.
+     */
+    default List<String> getPermissionCatalog() {
+        return List.of();
+    }
 }
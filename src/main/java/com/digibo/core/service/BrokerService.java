@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.CursorStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +34,18 @@ public interface BrokerService {
                                    Date expiryFrom, Date expiryTill,
                                    String docId, String statuses, Date createdFrom, Date createdTill);
 
+    /**
+     * Stream the rows of {@link #find} without buffering the whole result.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFind(String custId, String custName, String userLogin, String userPassword,
+                                    String docClass, String operationType, Integer docCount,
+                                    String currencies, Date expiryFrom, Date expiryTill, String docId,
+                                    String statuses, Date createdFrom, Date createdTill) {
+        return CursorStream.of(find(custId, custName, userLogin, userPassword, docClass, operationType,
+                docCount, currencies, expiryFrom, expiryTill, docId, statuses, createdFrom, createdTill));
+    }
+
     /**
      * Get user's broker orders
      * @param docClass Document class filter
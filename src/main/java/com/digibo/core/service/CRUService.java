@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.CursorStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +23,15 @@ public interface CRUService {
     List<Map<String, Object>> find(String custId, String docId, String statuses,
                                     Date createdFrom, Date createdTill);
 
+    /**
+     * Stream the rows of {@link #find} without buffering the whole result.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFind(String custId, String docId, String statuses, Date createdFrom,
+                                    Date createdTill) {
+        return CursorStream.of(find(custId, docId, statuses, createdFrom, createdTill));
+    }
+
     /**
      * Get detailed CRU document information
      * @param docId Document ID
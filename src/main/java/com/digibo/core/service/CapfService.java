@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.CursorStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +30,17 @@ public interface CapfService {
                                    Date createdFrom, Date createdTill,
                                    String customerName, String legalId);
 
+    /**
+     * Stream the rows of {@link #find} without buffering the whole result.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFind(String custId, String custName, String userLogin, String docId,
+                                    String statuses, String docClass, Date createdFrom, Date createdTill,
+                                    String customerName, String legalId) {
+        return CursorStream.of(find(custId, custName, userLogin, docId, statuses, docClass, createdFrom,
+                createdTill, customerName, legalId));
+    }
+
     /**
      * Get officer's CAPF orders using find_my function
      * @param officerId Officer ID (0 for new orders)
@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.CursorStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +30,17 @@ public interface CredLimIncService {
                                     Date createdFrom, Date createdTill, Long officerId,
                                     String fromLocation);
 
+    /**
+     * Stream the rows of {@link #find} without buffering the whole result.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFind(String custId, String custName, String userLogin, String docId,
+                                    String statuses, String docClass, Date createdFrom, Date createdTill,
+                                    Long officerId, String fromLocation) {
+        return CursorStream.of(find(custId, custName, userLogin, docId, statuses, docClass, createdFrom,
+                createdTill, officerId, fromLocation));
+    }
+
     /**
      * Get credit limit increase orders for a specific officer
      * @param officerId Officer ID (0 for new/unassigned orders)
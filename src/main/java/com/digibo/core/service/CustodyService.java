@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.CursorStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +27,16 @@ public interface CustodyService {
                                     String docId, String statuses, String docClass,
                                     Date createdFrom, Date createdTill);
 
+    /**
+     * Stream the rows of {@link #find} without buffering the whole result.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFind(String custId, String custName, String userLogin, String docId,
+                                    String statuses, String docClass, Date createdFrom, Date createdTill) {
+        return CursorStream.of(find(custId, custName, userLogin, docId, statuses, docClass, createdFrom,
+                createdTill));
+    }
+
     /**
      * Get user's custody orders using findMy function
      * @param officerId Officer ID
@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.Map;
 
@@ -23,7 +24,7 @@ public interface FaxEditService {
      * @param note Note text
      * @param subj Subject
      * @param docStatus Document status
-     * @param dTif Document TIF image (BLOB as byte array)
+     * @param dTif Document TIF image, streamed into the BLOB parameter (null for none)
      * @return Result map with success indicator, faxId, and message
      */
     Map<String, Object> addDocument(
@@ -38,6 +39,6 @@ public interface FaxEditService {
             String note,
             String subj,
             Integer docStatus,
-            byte[] dTif
+            InputStream dTif
     );
 }
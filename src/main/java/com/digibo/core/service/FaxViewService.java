@@ -1,5 +1,8 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.BlobHandler;
+
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -74,10 +77,21 @@ public interface FaxViewService {
      *
      * @param id Fax ID
      * @param docId Optional document ID filter
-     * @return Fax details including id, docId, fromFax, fromCSid, recvTime, recvStatus, faxStatus, fTif, documents list
+     * @return Fax details including id, docId, fromFax, fromCSid, recvTime, recvStatus, faxStatus, documents list;
+     *         the TIFF image is not fetched, see {@link #readFaxImage}
      */
     Map<String, Object> loadFax(String id, String docId);
 
+    /**
+     * Read the TIFF image of a fax while the call is open, so it can be streamed
+     *
+     * @param id Fax ID
+     * @param docId Optional document ID filter
+     * @param handler Gets the image BLOB, or null when the fax has no image
+     * @return Result of the handler
+     */
+    <R> R readFaxImage(String id, String docId, BlobHandler<R> handler) throws IOException;
+
     /**
      * Initialize/get basic info for fax document
      *
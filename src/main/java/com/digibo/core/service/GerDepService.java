@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.CursorStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -32,6 +33,17 @@ public interface GerDepService {
                                             String idDocNo, String login, String status,
                                             Date orderDateFrom, Date orderDateTo);
 
+    /**
+     * Stream the rows of {@link #findByFilter} without buffering the whole result.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFindByFilter(String docId, String custId, String custName, String idDocNo,
+                                            String login, String status, Date orderDateFrom,
+                                            Date orderDateTo) {
+        return CursorStream.of(findByFilter(docId, custId, custName, idDocNo, login, status, orderDateFrom,
+                orderDateTo));
+    }
+
     /**
      * Select customer for German deposit
      * @param custId Customer ID
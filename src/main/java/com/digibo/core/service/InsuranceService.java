@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.CursorStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +31,17 @@ public interface InsuranceService {
                                     String channels, String statuses,
                                     Date createdFrom, Date createdTill, String fromLocation);
 
+    /**
+     * Stream the rows of {@link #find} without buffering the whole result.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFind(String custId, String custName, String userLogin, Long officerId,
+                                    String docClass, String docId, String channels, String statuses,
+                                    Date createdFrom, Date createdTill, String fromLocation) {
+        return CursorStream.of(find(custId, custName, userLogin, officerId, docClass, docId, channels,
+                statuses, createdFrom, createdTill, fromLocation));
+    }
+
     /**
      * Get user's insurance orders
      * @return List of insurance orders
@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.CursorStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +29,17 @@ public interface MLoanService {
                                     Date createdFrom, Date createdTill,
                                     String docClass, String fromLocation);
 
+    /**
+     * Stream the rows of {@link #find} without buffering the whole result.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFind(String custId, String custName, String userLogin, String docId,
+                                    String statuses, Date createdFrom, Date createdTill, String docClass,
+                                    String fromLocation) {
+        return CursorStream.of(find(custId, custName, userLogin, docId, statuses, createdFrom, createdTill,
+                docClass, fromLocation));
+    }
+
     /**
      * Get mortgage loan orders for a specific officer
      * @param officerId Officer ID (0 for new/unassigned orders)
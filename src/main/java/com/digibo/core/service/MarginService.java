@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.CursorStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +37,18 @@ public interface MarginService {
                                     String docId, String statuses,
                                     Date createdFrom, Date createdTill);
 
+    /**
+     * Stream the rows of {@link #find} without buffering the whole result.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFind(String custId, String custName, String userLogin, String userPassword,
+                                    String docClass, Double rateFrom, Double rateTill, String orderCCY,
+                                    String contraryCCY, Date expiryFrom, Date expiryTill, String docId,
+                                    String statuses, Date createdFrom, Date createdTill) {
+        return CursorStream.of(find(custId, custName, userLogin, userPassword, docClass, rateFrom, rateTill,
+                orderCCY, contraryCCY, expiryFrom, expiryTill, docId, statuses, createdFrom, createdTill));
+    }
+
     /**
      * Get user's margin orders
      * @param docClass Document class
@@ -36,5 +36,14 @@ public interface NotifyService {
      * Update BO permissions
      * @return Result map with success status and message
      */
-    Map<String, Object> updateBoPermissions();
+    default Map<String, Object> updateBoPermissions() {
+        return updateBoPermissions(null);
+    }
+
+    /**
+     * Update BO permissions and drop cached permissions
+     * @param username Only drop this user's cached permissions; null drops all
+     * @return Result map with success status and message
+     */
+    Map<String, Object> updateBoPermissions(String username);
 }
@@ -2,13 +2,13 @@ package com.digibo.core.service;
 
 /**
  * Service for managing officer sessions in the officers_online table.
- * Creates dedicated Oracle connections with officer credentials and registers sessions
+ * Opens Oracle sessions with officer credentials and registers sessions
  * that a 3rd party system uses to verify officer permissions.
  */
 public interface OfficerSessionService {
 
     /**
-     * Create a new officer session by opening a dedicated Oracle connection
+     * Create a new officer session by opening an Oracle session
      * with the officer's credentials and registering the session.
      *
      * @param username Officer's Oracle username
@@ -20,9 +20,17 @@ public interface OfficerSessionService {
 
     /**
      * Close an officer session by removing it from officers_online
-     * and closing the dedicated Oracle connection.
+     * and closing its Oracle session.
      *
      * @param sessionId The session ID to close
      */
     void closeSession(String sessionId);
+
+    /**
+     * Mark a session as in use so it is not closed as idle.
+     *
+     * @param sessionId The session ID (may be null)
+     */
+    default void touchSession(String sessionId) {
+    }
 }
@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.CursorStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,17 @@ public interface PamoService {
                                     String docClass, String pIsin, String docId,
                                     String statuses, Date createdFrom, Date createdTill);
 
+    /**
+     * Stream the rows of {@link #find} without buffering the whole result.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFind(String custId, String custName, String userLogin, String docClass,
+                                    String pIsin, String docId, String statuses, Date createdFrom,
+                                    Date createdTill) {
+        return CursorStream.of(find(custId, custName, userLogin, docClass, pIsin, docId, statuses,
+                createdFrom, createdTill));
+    }
+
     /**
      * Get user's PAMO documents
      * @param docClass Document class filter
@@ -3,6 +3,10 @@ package com.digibo.core.service;
 import com.digibo.core.dto.request.PaymentSearchRequest;
 import com.digibo.core.dto.response.PaymentDetailsResponse;
 import com.digibo.core.dto.response.PaymentSearchResponse;
+import com.digibo.core.service.base.CursorStream;
+
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * PaymentService - Service interface for BOPayment Oracle package
@@ -17,6 +21,18 @@ public interface PaymentService {
      */
     PaymentSearchResponse find(PaymentSearchRequest filters);
 
+    /**
+     * Stream the rows of {@link #find} without buffering the whole result.
+     * The pmtClass OUT value is passed to the sink as P_PMT_CLASS_OUT before the rows.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFind(PaymentSearchRequest filters) {
+        PaymentSearchResponse result = find(filters);
+        Map<String, Object> outputs = new HashMap<>();
+        outputs.put("P_PMT_CLASS_OUT", result.getPmtClass());
+        return CursorStream.of(result.getPayments(), outputs);
+    }
+
     /**
      * Get detailed payment information by ID
      * @param paymentId Payment ID
@@ -1,5 +1,6 @@
 package com.digibo.core.service;
 
+import com.digibo.core.service.base.CursorStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,17 @@ public interface STOService {
                                     String pType, String docId, String statuses,
                                     Date createdFrom, Date createdTill);
 
+    /**
+     * Stream the rows of {@link #find} without buffering the whole result.
+     * The default implementation adapts the buffered result.
+     */
+    default CursorStream streamFind(String custId, String custName, String userLogin, Long officerId,
+                                    String pType, String docId, String statuses, Date createdFrom,
+                                    Date createdTill) {
+        return CursorStream.of(find(custId, custName, userLogin, officerId, pType, docId, statuses,
+                createdFrom, createdTill));
+    }
+
     /**
      * Get detailed STO document information
      * @param stoId STO document ID
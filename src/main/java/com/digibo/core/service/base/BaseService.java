@@ -1,6 +1,10 @@
 package com.digibo.core.service.base;
 
 import com.digibo.core.exception.DatabaseException;
+import com.digibo.core.mapper.ColumnPlan;
+import com.digibo.core.mapper.GenericRowMapper;
+import io.micrometer.core.instrument.Timer;
+import oracle.jdbc.OracleStatement;
 import oracle.jdbc.OracleTypes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,13 +14,15 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SqlOutParameter;
 import org.springframework.jdbc.core.SqlParameter;
-import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
-import org.springframework.jdbc.core.simple.SimpleJdbcCall;
 
 import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Base service class providing Oracle PL/SQL procedure execution capabilities.
@@ -25,6 +31,15 @@ import java.util.*;
  * - executeCursorProcedure: Execute procedure returning cursor results
  * - executeScalarFunction: Execute function returning single value
  * - executeVoidProcedure: Execute procedure with no return value
+ *
+ * Every method has two forms:
+ * - ProcedureSpec + positional arguments: the spec is built once per procedure
+ *   (see {@link #procedure(String)}) and arguments are bound without any map
+ * - parameter lists + input map: kept for existing callers; the lists are resolved
+ *   to a cached ProcedureSpec, so the call SQL is not rebuilt per call
+ *
+ * Searches are paged through the stream: streamCursorProcedure(spec, args).page(page)
+ * reads only the requested window and closes (or keeps) the cursor after it.
  */
 public abstract class BaseService {
 
@@ -37,10 +52,61 @@ public abstract class BaseService {
     @Autowired
     protected JdbcTemplate jdbcTemplate;
 
+    @Autowired(required = false)
+    private StatementCacheMonitor statementCache;
+
+    @Autowired(required = false)
+    private OpenCursors openCursors;
+
+    @Autowired(required = false)
+    private FetchSizeAdvisor fetchSizeAdvisor;
+
+    @Autowired(required = false)
+    private ConnectionGate connectionGate;
+
+    @Autowired(required = false)
+    private Bulkheads bulkheads;
+
+    @Autowired(required = false)
+    private SlowCallJournal slowCalls;
+
+    @Autowired(required = false)
+    private SingleFlight singleFlight;
+
+    private ProcedureMetrics procedureMetrics;
+    private Timer acquireTimer;
+
+    private final Map<String, ProcedureSpec> procedureSpecs = new ConcurrentHashMap<>();
+    private final Map<String, ProcedureSpec> functionSpecs = new ConcurrentHashMap<>();
+
     protected BaseService(String packageName) {
         this.packageName = packageName;
     }
 
+    /**
+     * Call metrics; the package's connection acquire timer is registered here, the
+     * procedure meters on each procedure's first call.
+     */
+    @Autowired(required = false)
+    void setProcedureMetrics(ProcedureMetrics procedureMetrics) {
+        this.procedureMetrics = procedureMetrics;
+        this.acquireTimer = procedureMetrics.acquireTimer(packageName);
+    }
+
+    /**
+     * Start describing a procedure of this service's package.
+     */
+    protected ProcedureSpec.Builder procedure(String procedureName) {
+        return ProcedureSpec.procedure(packageName, procedureName);
+    }
+
+    /**
+     * Start describing a function of this service's package.
+     */
+    protected ProcedureSpec.Builder function(String functionName, int returnType) {
+        return ProcedureSpec.function(packageName, functionName, returnType);
+    }
+
     /**
      * Execute a procedure with input and output parameters.
      * Returns the output parameters as a Map.
@@ -48,25 +114,12 @@ public abstract class BaseService {
     protected Map<String, Object> executeProcedure(String procedureName,
                                                     List<SqlParameter> parameters,
                                                     Map<String, Object> inputParams) {
-        try {
-            SimpleJdbcCall call = new SimpleJdbcCall(dataSource)
-                    .withCatalogName(packageName)
-                    .withProcedureName(procedureName)
-                    .withoutProcedureColumnMetaDataAccess()
-                    .declareParameters(parameters.toArray(new SqlParameter[0]));
-
-            MapSqlParameterSource paramSource = new MapSqlParameterSource(inputParams);
-            return call.execute(paramSource);
-
-        } catch (DataAccessException e) {
-            logger.error("Database error executing {}.{}: {}", packageName, procedureName, e.getMessage());
-            throw new DatabaseException(
-                    "Database error: " + e.getMessage(),
-                    packageName,
-                    procedureName,
-                    e
-            );
+        ProcedureSpec spec = procedureSpecs.get(procedureName);
+        if (spec == null || !spec.matches(parameters)) {
+            spec = ProcedureSpec.of(packageName, procedureName, parameters);
+            procedureSpecs.put(procedureName, spec);
         }
+        return executeProcedureWithOutputs(spec, spec.argsFrom(inputParams));
     }
 
     /**
@@ -78,45 +131,20 @@ public abstract class BaseService {
                                                   Map<String, Object> inputParams,
                                                   String cursorParamName,
                                                   RowMapper<T> rowMapper) {
-        String sql = buildProcedureCall(procedureName, inParameters.size() + 1);
-
-        try (Connection conn = dataSource.getConnection();
-             CallableStatement cs = conn.prepareCall(sql)) {
-
-            int paramIndex = 1;
-
-            // Set input parameters
-            for (SqlParameter param : inParameters) {
-                Object value = inputParams.get(param.getName());
-                setParameter(cs, paramIndex++, value, param.getSqlType());
-            }
-
-            // Register cursor output parameter
-            cs.registerOutParameter(paramIndex, OracleTypes.CURSOR);
-
-            cs.execute();
-
-            // Process cursor results
-            List<T> results = new ArrayList<>();
-            try (ResultSet rs = (ResultSet) cs.getObject(paramIndex)) {
-                if (rs != null) {
-                    while (rs.next()) {
-                        results.add(rowMapper.mapRow(rs, results.size()));
-                    }
-                }
-            }
-
-            return results;
+        ProcedureSpec spec = procedureSpec(procedureName, inParameters, cursorParamName, List.of());
+        return executeCursorProcedure(spec, rowMapper, spec.argsFrom(inputParams));
+    }
 
-        } catch (SQLException e) {
-            logger.error("Database error executing {}.{}: {}", packageName, procedureName, e.getMessage());
-            throw new DatabaseException(
-                    "Database error: " + e.getMessage(),
-                    packageName,
-                    procedureName,
-                    e
-            );
+    /**
+     * Execute a procedure that returns results via a cursor output parameter.
+     * Returns a list of mapped objects.
+     */
+    protected <T> List<T> executeCursorProcedure(ProcedureSpec spec, RowMapper<T> rowMapper, Object... args) {
+        if (spec.isCoalesced() && singleFlight != null) {
+            return singleFlight.execute(spec, args, () -> Collections.unmodifiableList(
+                    execute(spec, args, (cs, call) -> readCursor(spec, cs, rowMapper, call))));
         }
+        return execute(spec, args, (cs, call) -> readCursor(spec, cs, rowMapper, call));
     }
 
     /**
@@ -129,100 +157,80 @@ public abstract class BaseService {
                                                                      Map<String, Object> inputParams,
                                                                      String cursorParamName,
                                                                      RowMapper<T> rowMapper) {
-        int totalParams = inParameters.size() + outParameters.size() + 1; // +1 for cursor
-        String sql = buildProcedureCall(procedureName, totalParams);
-
-        try (Connection conn = dataSource.getConnection();
-             CallableStatement cs = conn.prepareCall(sql)) {
-
-            int paramIndex = 1;
-
-            // Set input parameters
-            for (SqlParameter param : inParameters) {
-                Object value = inputParams.get(param.getName());
-                setParameter(cs, paramIndex++, value, param.getSqlType());
-            }
-
-            // Register cursor output parameter
-            int cursorIndex = paramIndex++;
-            cs.registerOutParameter(cursorIndex, OracleTypes.CURSOR);
-
-            // Register other output parameters
-            Map<String, Integer> outParamIndexes = new HashMap<>();
-            for (SqlOutParameter outParam : outParameters) {
-                outParamIndexes.put(outParam.getName(), paramIndex);
-                cs.registerOutParameter(paramIndex++, outParam.getSqlType());
-            }
-
-            cs.execute();
+        ProcedureSpec spec = procedureSpec(procedureName, inParameters, cursorParamName, outParameters);
+        return executeCursorProcedureWithOutputs(spec, rowMapper, spec.argsFrom(inputParams));
+    }
 
-            // Process cursor results
-            List<T> results = new ArrayList<>();
-            try (ResultSet rs = (ResultSet) cs.getObject(cursorIndex)) {
-                if (rs != null) {
-                    while (rs.next()) {
-                        results.add(rowMapper.mapRow(rs, results.size()));
-                    }
-                }
-            }
+    /**
+     * Execute a procedure with cursor and additional output parameters.
+     * Returns both the cursor results and other output values.
+     */
+    protected <T> CursorResult<T> executeCursorProcedureWithOutputs(ProcedureSpec spec,
+                                                                     RowMapper<T> rowMapper,
+                                                                     Object... args) {
+        return execute(spec, args, (cs, call) -> {
+            List<T> rows = readCursor(spec, cs, rowMapper, call);
+            return new CursorResult<>(rows, spec.readOutputs(cs));
+        });
+    }
 
-            // Get other output values
-            Map<String, Object> outputValues = new HashMap<>();
-            for (SqlOutParameter outParam : outParameters) {
-                int idx = outParamIndexes.get(outParam.getName());
-                outputValues.put(outParam.getName(), cs.getObject(idx));
-            }
+    /**
+     * Prepare a cursor procedure for streaming.
+     * The procedure is executed only when the returned stream is consumed.
+     */
+    protected CursorStream streamCursorProcedure(String procedureName,
+                                                 List<SqlParameter> inParameters,
+                                                 Map<String, Object> inputParams,
+                                                 String cursorParamName) {
+        return streamCursorProcedureWithOutputs(procedureName, inParameters, List.of(), inputParams, cursorParamName);
+    }
 
-            return new CursorResult<>(results, outputValues);
+    /**
+     * Prepare a cursor procedure with additional output parameters for streaming.
+     */
+    protected CursorStream streamCursorProcedureWithOutputs(String procedureName,
+                                                            List<SqlParameter> inParameters,
+                                                            List<SqlOutParameter> outParameters,
+                                                            Map<String, Object> inputParams,
+                                                            String cursorParamName) {
+        ProcedureSpec spec = procedureSpec(procedureName, inParameters, cursorParamName, outParameters);
+        return streamCursorProcedure(spec, spec.argsFrom(inputParams));
+    }
 
-        } catch (SQLException e) {
-            logger.error("Database error executing {}.{}: {}", packageName, procedureName, e.getMessage());
-            throw new DatabaseException(
-                    "Database error: " + e.getMessage(),
-                    packageName,
-                    procedureName,
-                    e
-            );
-        }
+    /**
+     * Prepare a cursor procedure (with or without OUT parameters) for streaming.
+     * OUT values are handed to the sink before the first row. Rows are read straight
+     * from the open ResultSet and the connection is released after the sink has finished.
+     */
+    protected CursorStream streamCursorProcedure(ProcedureSpec spec, Object... args) {
+        return new ProcedureCursorStream(spec, args);
     }
 
     /**
      * Execute a scalar function that returns a single value.
      */
-    @SuppressWarnings("unchecked")
     protected <T> T executeScalarFunction(String functionName,
                                            List<SqlParameter> parameters,
                                            Map<String, Object> inputParams,
                                            int returnType) {
-        String sql = buildFunctionCall(functionName, parameters.size());
-
-        try (Connection conn = dataSource.getConnection();
-             CallableStatement cs = conn.prepareCall(sql)) {
-
-            // Register return value
-            cs.registerOutParameter(1, returnType);
-
-            // Set input parameters
-            int paramIndex = 2;
+        ProcedureSpec spec = functionSpecs.get(functionName);
+        if (spec == null || !spec.matchesFunction(parameters, returnType)) {
+            ProcedureSpec.Builder builder = function(functionName, returnType);
             for (SqlParameter param : parameters) {
-                Object value = inputParams.get(param.getName());
-                setParameter(cs, paramIndex++, value, param.getSqlType());
+                builder.in(param.getName(), param.getSqlType());
             }
-
-            cs.execute();
-
-            Object result = cs.getObject(1);
-            return (T) convertResult(result, returnType);
-
-        } catch (SQLException e) {
-            logger.error("Database error executing {}.{}: {}", packageName, functionName, e.getMessage());
-            throw new DatabaseException(
-                    "Database error: " + e.getMessage(),
-                    packageName,
-                    functionName,
-                    e
-            );
+            spec = builder.build();
+            functionSpecs.put(functionName, spec);
         }
+        return executeScalarFunction(spec, spec.argsFrom(inputParams));
+    }
+
+    /**
+     * Execute a scalar function that returns a single value.
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> T executeScalarFunction(ProcedureSpec spec, Object... args) {
+        return execute(spec, args, (cs, call) -> (T) convertResult(cs.getObject(1), spec.getReturnType()));
     }
 
     /**
@@ -232,28 +240,16 @@ public abstract class BaseService {
     protected void executeVoidProcedure(String procedureName,
                                          List<SqlParameter> parameters,
                                          Map<String, Object> inputParams) {
-        String sql = buildProcedureCall(procedureName, parameters.size());
-
-        try (Connection conn = dataSource.getConnection();
-             CallableStatement cs = conn.prepareCall(sql)) {
-
-            int paramIndex = 1;
-            for (SqlParameter param : parameters) {
-                Object value = inputParams.get(param.getName());
-                setParameter(cs, paramIndex++, value, param.getSqlType());
-            }
-
-            cs.execute();
+        ProcedureSpec spec = procedureSpec(procedureName, parameters, null, List.of());
+        executeVoidProcedure(spec, spec.argsFrom(inputParams));
+    }
 
-        } catch (SQLException e) {
-            logger.error("Database error executing {}.{}: {}", packageName, procedureName, e.getMessage());
-            throw new DatabaseException(
-                    "Database error: " + e.getMessage(),
-                    packageName,
-                    procedureName,
-                    e
-            );
-        }
+    /**
+     * Execute a procedure that doesn't return any value (void procedure).
+     * Typically used for INSERT, UPDATE, DELETE operations.
+     */
+    protected void executeVoidProcedure(ProcedureSpec spec, Object... args) {
+        execute(spec, args, (cs, call) -> null);
     }
 
     /**
@@ -264,46 +260,35 @@ public abstract class BaseService {
                                                                List<SqlParameter> inParameters,
                                                                List<SqlOutParameter> outParameters,
                                                                Map<String, Object> inputParams) {
-        int totalParams = inParameters.size() + outParameters.size();
-        String sql = buildProcedureCall(procedureName, totalParams);
-
-        try (Connection conn = dataSource.getConnection();
-             CallableStatement cs = conn.prepareCall(sql)) {
-
-            int paramIndex = 1;
-
-            // Set input parameters
-            for (SqlParameter param : inParameters) {
-                Object value = inputParams.get(param.getName());
-                setParameter(cs, paramIndex++, value, param.getSqlType());
-            }
-
-            // Register output parameters
-            Map<String, Integer> outParamIndexes = new HashMap<>();
-            for (SqlOutParameter outParam : outParameters) {
-                outParamIndexes.put(outParam.getName(), paramIndex);
-                cs.registerOutParameter(paramIndex++, outParam.getSqlType());
-            }
-
-            cs.execute();
-
-            // Get output values
-            Map<String, Object> outputValues = new HashMap<>();
-            for (SqlOutParameter outParam : outParameters) {
-                int idx = outParamIndexes.get(outParam.getName());
-                outputValues.put(outParam.getName(), cs.getObject(idx));
-            }
+        ProcedureSpec spec = procedureSpec(procedureName, inParameters, null, outParameters);
+        return executeProcedureWithOutputs(spec, spec.argsFrom(inputParams));
+    }
 
-            return outputValues;
+    /**
+     * Execute a procedure with multiple output parameters (no cursor).
+     * Returns all output parameter values as a Map.
+     */
+    protected Map<String, Object> executeProcedureWithOutputs(ProcedureSpec spec, Object... args) {
+        return execute(spec, args, (cs, call) -> spec.readOutputs(cs));
+    }
 
-        } catch (SQLException e) {
-            logger.error("Database error executing {}.{}: {}", packageName, procedureName, e.getMessage());
-            throw new DatabaseException(
-                    "Database error: " + e.getMessage(),
-                    packageName,
-                    procedureName,
-                    e
-            );
+    /**
+     * Execute a procedure and hand one of its BLOB outputs to the handler while the
+     * call is still open, so the handler can stream the content instead of loading it.
+     */
+    protected <R> R executeWithBlobOutput(ProcedureSpec spec, String outName, BlobHandler<R> handler,
+                                          Object... args) throws IOException {
+        int position = spec.getOutPosition(outName);
+        try {
+            return execute(spec, args, (cs, call) -> {
+                try {
+                    return handler.handle(cs.getBlob(position));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
     }
 
@@ -326,81 +311,299 @@ public abstract class BaseService {
 
     // Helper methods
 
-    private String buildProcedureCall(String procedureName, int paramCount) {
-        StringBuilder sb = new StringBuilder("{ call ");
-        sb.append(packageName).append(".").append(procedureName).append("(");
-        for (int i = 0; i < paramCount; i++) {
-            if (i > 0) sb.append(", ");
-            sb.append("?");
+    /**
+     * Single execution path for all procedure and function calls:
+     * prepare, bind, execute and read the results while the statement is open.
+     */
+    private <R> R execute(ProcedureSpec spec, Object[] args, CallHandler<R> handler) {
+        CallStats call = new CallStats(System.nanoTime());
+        try (Connection conn = getConnection();
+             CallableStatement cs = prepareCall(conn, spec)) {
+
+            spec.bind(cs, args);
+            cs.execute();
+            R result = handler.handle(cs, call);
+            call.succeeded = true;
+            return result;
+
+        } catch (SQLException e) {
+            throw databaseError(spec, e);
+        } finally {
+            observe(spec, args, call);
         }
-        sb.append(") }");
-        return sb.toString();
     }
 
-    private String buildFunctionCall(String functionName, int paramCount) {
-        StringBuilder sb = new StringBuilder("{ ? = call ");
-        sb.append(packageName).append(".").append(functionName).append("(");
-        for (int i = 0; i < paramCount; i++) {
-            if (i > 0) sb.append(", ");
-            sb.append("?");
+    /**
+     * Connection for a procedure call, admitted through the package's bulkhead and
+     * then the connection gate when they are configured. Closing the connection ends
+     * the call's admission.
+     *
+     * @throws com.digibo.core.exception.ServiceUnavailableException when the package is saturated
+     */
+    protected Connection getConnection() throws SQLException {
+        if (acquireTimer == null) {
+            return boundedConnection();
         }
-        sb.append(") }");
-        return sb.toString();
-    }
-
-    private void setParameter(CallableStatement cs, int index, Object value, int sqlType) throws SQLException {
-        if (value == null) {
-            cs.setNull(index, sqlType);
-        } else {
-            switch (sqlType) {
-                case Types.VARCHAR, Types.CHAR, Types.LONGVARCHAR -> cs.setString(index, value.toString());
-                case Types.NUMERIC, Types.DECIMAL -> {
-                    if (value instanceof BigDecimal bd) {
-                        cs.setBigDecimal(index, bd);
-                    } else if (value instanceof Number num) {
-                        cs.setBigDecimal(index, BigDecimal.valueOf(num.doubleValue()));
-                    } else {
-                        cs.setBigDecimal(index, new BigDecimal(value.toString()));
+        long start = System.nanoTime();
+        try {
+            return boundedConnection();
+        } finally {
+            acquireTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Connection boundedConnection() throws SQLException {
+        Bulkheads.Bulkhead bulkhead = bulkheads != null ? bulkheads.forPackage(packageName) : null;
+        if (bulkhead == null) {
+            return admittedConnection();
+        }
+        bulkhead.acquire();
+        try {
+            return ReleasingConnection.wrap(admittedConnection(), bulkhead::release);
+        } catch (SQLException | RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
+
+    private Connection admittedConnection() throws SQLException {
+        return connectionGate != null ? connectionGate.getConnection(dataSource) : dataSource.getConnection();
+    }
+
+    /**
+     * Prepare a call through the statement cache. Callers must pass the same SQL
+     * text for the same call (a ProcedureSpec or a constant) so it is found again.
+     */
+    protected CallableStatement prepareCall(Connection conn, String sql) throws SQLException {
+        return statementCache != null ? statementCache.prepareCall(conn, sql) : conn.prepareCall(sql);
+    }
+
+    /**
+     * Cursor stream of a procedure call. Paging reads the page straight from the
+     * ResultSet and, when more rows follow, keeps the cursor open for the next page
+     * (see {@link OpenCursors}); otherwise the cursor is closed right after the page.
+     */
+    private final class ProcedureCursorStream implements CursorStream {
+
+        private final ProcedureSpec spec;
+        private final Object[] args;
+
+        ProcedureCursorStream(ProcedureSpec spec, Object[] args) {
+            this.spec = spec;
+            this.args = args;
+        }
+
+        @Override
+        public void writeTo(CursorSink sink) throws IOException {
+            CallStats call = new CallStats(System.nanoTime());
+            try (Connection conn = getConnection();
+                 CallableStatement cs = prepareCall(conn, spec)) {
+
+                spec.bind(cs, args);
+                cs.execute();
+
+                sink.begin(spec.readOutputs(cs));
+
+                // Push cursor rows to the sink while the cursor is open
+                int rowCount = 0;
+                try (ResultSet rs = (ResultSet) cs.getObject(spec.getCursorPosition())) {
+                    if (rs != null) {
+                        FetchSizeAdvisor.Tracker tracker = track(spec, rs);
+                        ColumnPlan plan = ColumnPlan.of(rs.getMetaData());
+                        String[] columns = plan.names();
+                        Object[] values = new Object[plan.size()];
+                        while (!sink.isFull() && rs.next()) {
+                            plan.readInto(rs, values);
+                            tracker.row(values);
+                            sink.row(columns, values);
+                            rowCount++;
+                        }
+                        tracker.end();
+                        call.roundTrips = tracker.roundTrips();
                     }
                 }
-                case Types.INTEGER -> {
-                    if (value instanceof Number num) {
-                        cs.setInt(index, num.intValue());
-                    } else {
-                        cs.setInt(index, Integer.parseInt(value.toString()));
-                    }
+
+                sink.end(rowCount);
+                call.rows = rowCount;
+                call.succeeded = true;
+                logger.debug("{} streamed {} rows", spec.getQualifiedName(), rowCount);
+
+            } catch (SQLException e) {
+                throw databaseError(spec, e);
+            } finally {
+                observe(spec, args, call);
+            }
+        }
+
+        @Override
+        public CursorPage page(PageRequest page) {
+            String query = spec.getQualifiedName() + Arrays.deepToString(args);
+            OpenCursors.Cursor cursor = page.cursorId() != null && openCursors != null
+                    ? openCursors.take(page.cursorId(), query, page.offset())
+                    : null;
+            CallStats call = new CallStats(System.nanoTime());
+            boolean kept = false;
+            try {
+                int skipped = 0;
+                if (cursor == null) {
+                    cursor = openCursor(query);
+                    skipped = page.offset();
                 }
-                case Types.BIGINT -> {
-                    if (value instanceof Number num) {
-                        cs.setLong(index, num.longValue());
-                    } else {
-                        cs.setLong(index, Long.parseLong(value.toString()));
-                    }
+                // One round trip per page (plus the look-ahead row)
+                cursor.setFetchSize(page.limit() + 1);
+                cursor.setQueryTimeout(CallDeadline.queryTimeoutSeconds());
+                cursor.skip(page.offset());
+
+                List<Map<String, Object>> rows = new ArrayList<>(Math.min(page.limit(), 256));
+                boolean hasMore = cursor.read(rows, page.limit());
+                String cursorId = null;
+                if (hasMore && openCursors != null) {
+                    cursorId = openCursors.park(cursor);
+                    kept = cursorId != null;
                 }
-                case Types.DOUBLE, Types.FLOAT -> {
-                    if (value instanceof Number num) {
-                        cs.setDouble(index, num.doubleValue());
-                    } else {
-                        cs.setDouble(index, Double.parseDouble(value.toString()));
-                    }
+
+                call.rows = rows.size();
+                // The page and its look-ahead row, after the skipped rows of a reopened cursor
+                call.roundTrips = (skipped + rows.size() + 1) / (page.limit() + 1) + 1;
+                call.succeeded = true;
+                logger.debug("{} page at {} returned {} rows (more: {}, kept open: {})",
+                        spec.getQualifiedName(), page.offset(), rows.size(), hasMore, kept);
+                return new CursorPage(rows, hasMore,
+                        hasMore ? PageRequest.token(page.offset() + rows.size(), cursorId) : null);
+
+            } catch (SQLException e) {
+                throw databaseError(spec, e);
+            } finally {
+                if (cursor != null && !kept) {
+                    cursor.close();
                 }
-                case Types.DATE -> {
-                    if (value instanceof java.sql.Date date) {
-                        cs.setDate(index, date);
-                    } else if (value instanceof java.util.Date date) {
-                        cs.setDate(index, new java.sql.Date(date.getTime()));
-                    }
+                observe(spec, args, call);
+            }
+        }
+
+        private OpenCursors.Cursor openCursor(String query) throws SQLException {
+            Connection conn = getConnection();
+            CallableStatement cs = null;
+            try {
+                cs = prepareCall(conn, spec);
+                spec.bind(cs, args);
+                cs.execute();
+                ResultSet rs = (ResultSet) cs.getObject(spec.getCursorPosition());
+                return new OpenCursors.Cursor(query, conn, cs, rs, rowMapper());
+            } catch (SQLException | RuntimeException e) {
+                if (cs != null) {
+                    cs.close();
                 }
-                case Types.TIMESTAMP -> {
-                    if (value instanceof Timestamp ts) {
-                        cs.setTimestamp(index, ts);
-                    } else if (value instanceof java.util.Date date) {
-                        cs.setTimestamp(index, new Timestamp(date.getTime()));
-                    }
+                conn.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Prepare the call of a spec, applying its LOB prefetch size when it has one and the
+     * query timeout of the thread's {@link CallDeadline}.
+     */
+    private CallableStatement prepareCall(Connection conn, ProcedureSpec spec) throws SQLException {
+        int queryTimeout = CallDeadline.queryTimeoutSeconds();
+        CallableStatement cs = prepareCall(conn, spec.getSql());
+        // Always set: a statement from the cache keeps the timeout of its previous call
+        cs.setQueryTimeout(queryTimeout);
+        if (spec.getLobPrefetchSize() >= 0 && cs.isWrapperFor(OracleStatement.class)) {
+            cs.unwrap(OracleStatement.class).setLobPrefetchSize(spec.getLobPrefetchSize());
+        }
+        return cs;
+    }
+
+    /**
+     * Record a finished call in the procedure meters and, when it was slow, the slow call journal.
+     */
+    private void observe(ProcedureSpec spec, Object[] args, CallStats call) {
+        long nanos = System.nanoTime() - call.start;
+        if (procedureMetrics != null) {
+            ProcedureMetrics.Meters meters = procedureMetrics.forProcedure(spec);
+            meters.call(nanos, call.succeeded);
+            if (spec.hasCursor() && call.succeeded) {
+                meters.rows(call.rows);
+            }
+        }
+        if (slowCalls != null && slowCalls.isSlow(nanos)) {
+            slowCalls.record(spec, args, nanos, call.rows, call.roundTrips, !call.succeeded);
+        }
+    }
+
+    /**
+     * Set the advised fetch size on a cursor and observe its rows.
+     */
+    private FetchSizeAdvisor.Tracker track(ProcedureSpec spec, ResultSet rs) throws SQLException {
+        return fetchSizeAdvisor != null ? fetchSizeAdvisor.track(spec, rs) : FetchSizeAdvisor.Tracker.none();
+    }
+
+    @FunctionalInterface
+    private interface CallHandler<R> {
+        R handle(CallableStatement cs, CallStats call) throws SQLException;
+    }
+
+    /**
+     * What is observed of one call: when it started, the cursor rows and fetch round
+     * trips, and whether it succeeded.
+     */
+    private static final class CallStats {
+
+        final long start;
+        int rows;
+        int roundTrips;
+        boolean succeeded;
+
+        CallStats(long start) {
+            this.start = start;
+        }
+    }
+
+    private <T> List<T> readCursor(ProcedureSpec spec, CallableStatement cs, RowMapper<T> rowMapper, CallStats call)
+            throws SQLException {
+        List<T> results = new ArrayList<>();
+        try (ResultSet rs = (ResultSet) cs.getObject(spec.getCursorPosition())) {
+            if (rs != null) {
+                FetchSizeAdvisor.Tracker tracker = track(spec, rs);
+                while (rs.next()) {
+                    T row = rowMapper.mapRow(rs, results.size());
+                    // Widths are only sampled from map rows, other rows are counted
+                    tracker.row(row instanceof Map<?, ?> map ? map : Map.of());
+                    results.add(row);
                 }
-                default -> cs.setObject(index, value, sqlType);
+                tracker.end();
+                call.roundTrips = tracker.roundTrips();
             }
         }
+        call.rows = results.size();
+        return results;
+    }
+
+    private DatabaseException databaseError(ProcedureSpec spec, SQLException e) {
+        logger.error("Database error executing {}: {}", spec.getQualifiedName(), e.getMessage());
+        return new DatabaseException(
+                "Database error: " + e.getMessage(),
+                spec.getPackageName(),
+                spec.getProcedureName(),
+                e
+        );
+    }
+
+    /**
+     * Spec for the list based methods. The lists are compared with the cached spec
+     * (no allocation) and a new spec is only built when they differ.
+     */
+    private ProcedureSpec procedureSpec(String procedureName,
+                                        List<SqlParameter> inParameters,
+                                        String cursorParamName,
+                                        List<SqlOutParameter> outParameters) {
+        ProcedureSpec spec = procedureSpecs.get(procedureName);
+        if (spec == null || !spec.matches(inParameters, cursorParamName, outParameters)) {
+            spec = ProcedureSpec.of(packageName, procedureName, inParameters, cursorParamName, outParameters);
+            procedureSpecs.put(procedureName, spec);
+        }
+        return spec;
     }
 
     private Object convertResult(Object result, int sqlType) {
@@ -456,6 +659,15 @@ public abstract class BaseService {
         }
     }
 
+    /**
+     * Row mapper producing one Map per row, keyed by column name.
+     * Reads the cursor metadata once and reuses the column plan for every row,
+     * so a fresh instance is returned for each call.
+     */
+    protected RowMapper<Map<String, Object>> rowMapper() {
+        return new GenericRowMapper();
+    }
+
     // Utility methods for creating parameters
 
     protected SqlParameter inParam(String name, int sqlType) {
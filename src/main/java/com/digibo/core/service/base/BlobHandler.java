@@ -0,0 +1,20 @@
+package com.digibo.core.service.base;
+
+import java.io.IOException;
+import java.sql.Blob;
+import java.sql.SQLException;
+
+/**
+ * Reads a BLOB output while its call is still open; the Blob is not readable
+ * once the handler returns.
+ *
+ * @param <R> result of the handler
+ */
+@FunctionalInterface
+public interface BlobHandler<R> {
+
+    /**
+     * @param blob the BLOB output, or null when it is NULL
+     */
+    R handle(Blob blob) throws SQLException, IOException;
+}
@@ -0,0 +1,164 @@
+package com.digibo.core.service.base;
+
+import com.digibo.core.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.env.Environment;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limits per Oracle package, so slow calls of one back-office module
+ * cannot take every pool connection.
+ *
+ * Each package (BaseService.packageName, upper case) gets at most max-concurrent calls
+ * in flight; up to max-queued more wait at most max-wait for a slot. Anything beyond
+ * that is rejected at once with {@link ServiceUnavailableException} (503 with
+ * Retry-After). Settings are read per package with fallback to the defaults:
+ *
+ * app.bulkheads.default.{max-concurrent,max-queued,max-wait,retry-after}
+ * app.bulkheads.packages.BOAUDITLOG.max-concurrent
+ *
+ * max-concurrent 0 leaves a package unlimited.
+ *
+ * Meters (tag package):
+ * - digibo.bulkhead.inflight: calls in flight
+ * - digibo.bulkhead.queued: calls waiting for a slot
+ * - digibo.bulkhead.rejected{reason=queue-full|timeout}: calls shed
+ */
+public class Bulkheads {
+
+    private static final String PREFIX = "app.bulkheads.";
+
+    private final Environment environment;
+    private final MeterRegistry registry;
+    private final Map<String, Optional<Bulkhead>> bulkheads = new ConcurrentHashMap<>();
+
+    public Bulkheads(Environment environment, MeterRegistry registry) {
+        this.environment = environment;
+        this.registry = registry;
+    }
+
+    /**
+     * Bulkhead of a package, or null when the package is unlimited.
+     */
+    public Bulkhead forPackage(String packageName) {
+        String name = packageName.toUpperCase(Locale.ROOT);
+        Optional<Bulkhead> bulkhead = bulkheads.get(name);
+        if (bulkhead == null) {
+            bulkhead = bulkheads.computeIfAbsent(name, this::create);
+        }
+        return bulkhead.orElse(null);
+    }
+
+    private Optional<Bulkhead> create(String name) {
+        int maxConcurrent = setting(name, "max-concurrent", Integer.class, 0);
+        if (maxConcurrent <= 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new Bulkhead(name, maxConcurrent,
+                setting(name, "max-queued", Integer.class, 0),
+                setting(name, "max-wait", Long.class, 0L),
+                setting(name, "retry-after", Long.class, 1L)));
+    }
+
+    private <T> T setting(String name, String key, Class<T> type, T defaultValue) {
+        T value = environment.getProperty(PREFIX + "packages." + name + "." + key, type);
+        return value != null ? value : environment.getProperty(PREFIX + "default." + key, type, defaultValue);
+    }
+
+    public final class Bulkhead {
+
+        private final String name;
+        private final int maxConcurrent;
+        private final int maxQueued;
+        private final long maxWait;
+        private final long retryAfter;
+        private final Semaphore permits;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Counter queueFull;
+        private final Counter timedOut;
+
+        /**
+         * @param maxWait    longest wait for a slot, in milliseconds
+         * @param retryAfter Retry-After of rejected calls, in seconds
+         */
+        Bulkhead(String name, int maxConcurrent, int maxQueued, long maxWait, long retryAfter) {
+            this.name = name;
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueued = maxQueued;
+            this.maxWait = maxWait;
+            this.retryAfter = retryAfter;
+            this.permits = new Semaphore(maxConcurrent, true);
+            Gauge.builder("digibo.bulkhead.inflight", this, Bulkhead::inFlight)
+                    .description("Calls in flight per package")
+                    .tag("package", name)
+                    .register(registry);
+            Gauge.builder("digibo.bulkhead.queued", queued, AtomicInteger::get)
+                    .description("Calls waiting for a slot per package")
+                    .tag("package", name)
+                    .register(registry);
+            this.queueFull = rejected(name, "queue-full");
+            this.timedOut = rejected(name, "timeout");
+        }
+
+        private Counter rejected(String name, String reason) {
+            return Counter.builder("digibo.bulkhead.rejected")
+                    .description("Calls shed because the package was saturated")
+                    .tag("package", name)
+                    .tag("reason", reason)
+                    .register(registry);
+        }
+
+        /**
+         * Take a slot, waiting in the queue when all are taken.
+         *
+         * @throws ServiceUnavailableException when the queue is full or no slot
+         *                                     frees up within max-wait
+         */
+        public void acquire() {
+            // Always the timed tryAcquire: it honours the fair queue and returns at once when
+            // a slot is free and nobody is waiting, whereas tryAcquire() would barge ahead
+            if (queued.incrementAndGet() > maxQueued && permits.availablePermits() == 0) {
+                queued.decrementAndGet();
+                queueFull.increment();
+                throw saturated();
+            }
+            try {
+                if (!permits.tryAcquire(maxWait, TimeUnit.MILLISECONDS)) {
+                    timedOut.increment();
+                    throw saturated();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw saturated();
+            } finally {
+                queued.decrementAndGet();
+            }
+        }
+
+        public void release() {
+            permits.release();
+        }
+
+        public int inFlight() {
+            return maxConcurrent - permits.availablePermits();
+        }
+
+        public int queued() {
+            return queued.get();
+        }
+
+        private ServiceUnavailableException saturated() {
+            return new ServiceUnavailableException(
+                    name + " is saturated (" + maxConcurrent + " calls in flight)", name, retryAfter);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.digibo.core.service.base;
+
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline of the work running on the current thread, applied to its procedure calls.
+ *
+ * Within {@link #within(long, Callable)} every call made through BaseService gets a
+ * statement query timeout of the time left (rounded up to whole seconds, as JDBC takes
+ * it), so Oracle cancels a call that runs past the deadline and the connection is given
+ * back in a usable state. A call that would start after the deadline is not run.
+ */
+public final class CallDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private CallDeadline() {
+    }
+
+    /**
+     * Run the work with calls bounded by deadline (a System.nanoTime() value).
+     */
+    public static <T> T within(long deadline, Callable<T> work) throws Exception {
+        Long outer = DEADLINE.get();
+        DEADLINE.set(outer != null ? Math.min(outer, deadline) : deadline);
+        try {
+            return work.call();
+        } finally {
+            if (outer != null) {
+                DEADLINE.set(outer);
+            } else {
+                DEADLINE.remove();
+            }
+        }
+    }
+
+    /**
+     * Query timeout for a call starting now: 0 (none) outside a deadline.
+     *
+     * @throws SQLTimeoutException when the deadline has already passed
+     */
+    static int queryTimeoutSeconds() throws SQLTimeoutException {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return 0;
+        }
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new SQLTimeoutException("Deadline passed before the call started");
+        }
+        return (int) Math.max(1, (remaining + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,87 @@
+package com.digibo.core.service.base;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits procedure calls to the connection pool, at most as many at a time as the pool
+ * has connections.
+ *
+ * With virtual threads a burst of requests is no longer held back by the size of the
+ * request thread pool, and every request would wait inside the pool for a connection.
+ * The gate queues them first, in arrival order (fair semaphore), so the wait is measured
+ * and bounded and the pool only ever sees callers it can serve. A permit is held until
+ * the connection is closed, also for cursors kept open between pages.
+ *
+ * Meters:
+ * - digibo.db.admission.wait: time spent waiting for a permit
+ * - digibo.db.admission.queued: callers currently waiting
+ * - digibo.db.admission.timeouts: callers that gave up waiting
+ */
+public class ConnectionGate {
+
+    private final Semaphore permits;
+    private final long timeout;
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    /**
+     * @param permits connections handed out at a time, normally the pool size
+     * @param timeout longest wait for a permit, in milliseconds
+     */
+    public ConnectionGate(int permits, long timeout, MeterRegistry registry) {
+        this.permits = new Semaphore(permits, true);
+        this.timeout = timeout;
+        this.waitTimer = Timer.builder("digibo.db.admission.wait")
+                .description("Time waiting to be admitted to the connection pool")
+                .register(registry);
+        this.timeouts = Counter.builder("digibo.db.admission.timeouts")
+                .description("Calls that timed out waiting for the connection pool")
+                .register(registry);
+        Gauge.builder("digibo.db.admission.queued", this.permits, Semaphore::getQueueLength)
+                .description("Calls waiting to be admitted to the connection pool")
+                .register(registry);
+    }
+
+    /**
+     * Wait for a permit and take a connection from the data source. The permit is
+     * returned when the connection is closed.
+     *
+     * @throws SQLTransientConnectionException when no permit is free within the timeout
+     */
+    public Connection getConnection(DataSource dataSource) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException(
+                        "No database connection available within " + timeout + " ms ("
+                                + permits.getQueueLength() + " calls waiting)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a database connection", e);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        try {
+            return ReleasingConnection.wrap(dataSource.getConnection(), permits::release);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int available() {
+        return permits.availablePermits();
+    }
+}
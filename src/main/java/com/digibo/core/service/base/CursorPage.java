@@ -0,0 +1,68 @@
+package com.digibo.core.service.base;
+
+import com.digibo.core.mapper.CompactRow;
+import com.digibo.core.mapper.RowSchema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a paged search.
+ *
+ * @param rows          rows of this page
+ * @param hasMore       true when the cursor had at least one more row
+ * @param nextPageToken token for the next page, null on the last page
+ */
+public record CursorPage(List<Map<String, Object>> rows, boolean hasMore, String nextPageToken) {
+
+    /**
+     * Sink that skips the rows before the page, keeps the page and reports itself
+     * full after one look-ahead row, so the producer stops reading there.
+     */
+    static final class Collector implements CursorSink {
+
+        private final PageRequest page;
+        private final List<Map<String, Object>> rows = new ArrayList<>();
+        private RowSchema schema;
+        private int skipped;
+        private boolean hasMore;
+
+        Collector(PageRequest page) {
+            this.page = page;
+        }
+
+        @Override
+        public void begin(Map<String, Object> outputs) {
+        }
+
+        @Override
+        public void row(String[] columns, Object[] values) {
+            if (skipped < page.offset()) {
+                skipped++;
+            } else if (rows.size() < page.limit()) {
+                if (schema == null || !Arrays.equals(schema.names(), columns)) {
+                    schema = new RowSchema(columns.clone());
+                }
+                rows.add(new CompactRow(schema, values.clone()));
+            } else {
+                hasMore = true;
+            }
+        }
+
+        @Override
+        public void end(int rowCount) {
+        }
+
+        @Override
+        public boolean isFull() {
+            return hasMore;
+        }
+
+        CursorPage toPage() {
+            return new CursorPage(rows, hasMore,
+                    hasMore ? PageRequest.token(page.offset() + rows.size(), null) : null);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.digibo.core.service.base;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Receiver for rows produced by a {@link CursorStream}.
+ *
+ * Callbacks are invoked while the cursor (and its connection) is still open:
+ * - begin: once, with the procedure OUT values (empty map when there are none)
+ * - row: once per cursor row
+ * - end: once, after the last row; implementations should flush here
+ * - isFull: checked before each row; a full sink ends the stream early
+ *
+ * The column and value arrays passed to {@link #row} are reused between rows,
+ * so implementations must not keep references to them.
+ */
+public interface CursorSink {
+
+    void begin(Map<String, Object> outputs) throws IOException;
+
+    void row(String[] columns, Object[] values) throws IOException;
+
+    void end(int rowCount) throws IOException;
+
+    /**
+     * True once the sink has all rows it needs (a page of a paged search).
+     * Producers then stop reading and close the cursor before calling {@link #end}.
+     */
+    default boolean isFull() {
+        return false;
+    }
+}
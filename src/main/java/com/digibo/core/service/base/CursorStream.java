@@ -0,0 +1,75 @@
+package com.digibo.core.service.base;
+
+import com.digibo.core.mapper.CompactRow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deferred cursor procedure result that is consumed row by row.
+ *
+ * Nothing is executed until {@link #writeTo(CursorSink)} is called. Database backed
+ * streams open the connection on demand, push every row straight from the open
+ * ResultSet to the sink and release the connection only after the sink has finished,
+ * so memory per request stays constant regardless of the number of rows.
+ */
+@FunctionalInterface
+public interface CursorStream {
+
+    /**
+     * Execute the underlying call and push outputs and rows to the sink.
+     */
+    void writeTo(CursorSink sink) throws IOException;
+
+    /**
+     * Read one window of rows. The stream stops reading (and closes the cursor) as soon
+     * as the page plus one look-ahead row has been seen; rows before the page are skipped.
+     * Database backed streams may keep the cursor open for the next page instead.
+     */
+    default CursorPage page(PageRequest page) {
+        CursorPage.Collector collector = new CursorPage.Collector(page);
+        try {
+            writeTo(collector);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return collector.toPage();
+    }
+
+    /**
+     * Adapt already materialized rows (mock services, default implementations).
+     */
+    static CursorStream of(List<Map<String, Object>> rows) {
+        return of(rows, Map.of());
+    }
+
+    /**
+     * Adapt already materialized rows together with procedure OUT values.
+     */
+    static CursorStream of(List<Map<String, Object>> rows, Map<String, Object> outputs) {
+        return sink -> {
+            sink.begin(outputs);
+            int rowCount = 0;
+            if (rows != null) {
+                for (Map<String, Object> row : rows) {
+                    if (sink.isFull()) {
+                        break;
+                    }
+                    if (row instanceof CompactRow compact) {
+                        Object[] values = new Object[compact.size()];
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = compact.value(i);
+                        }
+                        sink.row(compact.schema().names(), values);
+                    } else {
+                        sink.row(row.keySet().toArray(new String[0]), row.values().toArray());
+                    }
+                    rowCount++;
+                }
+            }
+            sink.end(rowCount);
+        };
+    }
+}
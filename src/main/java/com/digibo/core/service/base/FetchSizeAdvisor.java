@@ -0,0 +1,219 @@
+package com.digibo.core.service.base;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Chooses the JDBC fetch size of cursor ResultSets per procedure.
+ *
+ * The Oracle driver fetches 10 rows per round trip unless told otherwise, so a 5,000 row
+ * cursor takes 500 round trips. The advisor learns, per procedure, the typical row count
+ * and row width (moving averages over past calls, widths sampled from the first rows) and
+ * sizes the next fetch to bring a typical result in one round trip, capped by maxFetchSize
+ * rows and maxFetchBytes per round trip.
+ *
+ * Configured sizes win over learned ones, in this order:
+ * - override for "PACKAGE.PROCEDURE", then for "PACKAGE" (upper case)
+ * - {@link ProcedureSpec.Builder#fetchSize(int)} of the spec
+ *
+ * Meters (tag procedure=PACKAGE.PROCEDURE):
+ * - digibo.db.fetch.roundtrips: cursor fetch round trips (rows / fetch size + 1)
+ * - digibo.db.fetch.bytes: estimated bytes of the fetched rows
+ */
+public class FetchSizeAdvisor {
+
+    static final int MIN_FETCH_SIZE = 10;
+    static final int SAMPLED_ROWS = 16;
+    private static final double WEIGHT = 0.3;
+
+    private final int defaultFetchSize;
+    private final int maxFetchSize;
+    private final long maxFetchBytes;
+    private final Function<String, Integer> overrides;
+    private final MeterRegistry registry;
+    private final Map<ProcedureSpec, Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * @param defaultFetchSize fetch size before anything was learned about a procedure
+     * @param maxFetchSize     largest fetch size chosen from observations
+     * @param maxFetchBytes    largest estimated fetch (rows times row width) per round trip
+     * @param overrides        configured fetch size for "PACKAGE.PROCEDURE" or "PACKAGE", or null
+     */
+    public FetchSizeAdvisor(int defaultFetchSize, int maxFetchSize, long maxFetchBytes,
+                            Function<String, Integer> overrides, MeterRegistry registry) {
+        this.defaultFetchSize = defaultFetchSize;
+        this.maxFetchSize = maxFetchSize;
+        this.maxFetchBytes = maxFetchBytes;
+        this.overrides = overrides;
+        this.registry = registry;
+    }
+
+    /**
+     * Fetch size for the next call of the procedure.
+     */
+    public int fetchSizeFor(ProcedureSpec spec) {
+        return stats(spec).fetchSize();
+    }
+
+    /**
+     * Set the fetch size on the cursor of a call and start observing its rows.
+     */
+    public Tracker track(ProcedureSpec spec, ResultSet rs) throws SQLException {
+        Stats procedure = stats(spec);
+        int fetchSize = procedure.fetchSize();
+        rs.setFetchSize(fetchSize);
+        return new Tracker(procedure, fetchSize);
+    }
+
+    private Stats stats(ProcedureSpec spec) {
+        Stats procedure = stats.get(spec);
+        return procedure != null ? procedure : stats.computeIfAbsent(spec, Stats::new);
+    }
+
+    /**
+     * Estimated size of a value on the wire, in bytes.
+     */
+    static long estimateBytes(Object value) {
+        if (value == null) {
+            return 1;
+        }
+        if (value instanceof CharSequence text) {
+            return text.length() + 1L;
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length + 1L;
+        }
+        if (value instanceof Number) {
+            return 22;
+        }
+        if (value instanceof java.util.Date) {
+            return 11;
+        }
+        if (value instanceof Blob || value instanceof Clob) {
+            // Only the locator travels with the row
+            return 86;
+        }
+        return 16;
+    }
+
+    /**
+     * Observes the rows of one cursor read; {@link #end()} records them.
+     */
+    public static final class Tracker {
+
+        private static final Tracker NONE = new Tracker(null, 0);
+
+        private final Stats procedure;
+        private final int fetchSize;
+        private int rows;
+        private long sampledBytes;
+
+        private Tracker(Stats procedure, int fetchSize) {
+            this.procedure = procedure;
+            this.fetchSize = fetchSize;
+        }
+
+        /**
+         * Tracker that records nothing, used when no advisor is configured.
+         */
+        public static Tracker none() {
+            return NONE;
+        }
+
+        public void row(Map<?, ?> row) {
+            if (procedure != null && rows++ < SAMPLED_ROWS) {
+                for (Object value : row.values()) {
+                    sampledBytes += estimateBytes(value);
+                }
+            }
+        }
+
+        public void row(Object[] values) {
+            if (procedure != null && rows++ < SAMPLED_ROWS) {
+                for (Object value : values) {
+                    sampledBytes += estimateBytes(value);
+                }
+            }
+        }
+
+        /**
+         * Fetch round trips of the rows seen so far (0 when nothing is recorded).
+         */
+        public int roundTrips() {
+            return procedure != null ? rows / Math.max(fetchSize, 1) + 1 : 0;
+        }
+
+        public void end() {
+            if (procedure != null) {
+                double rowBytes = rows > 0 ? (double) sampledBytes / Math.min(rows, SAMPLED_ROWS) : 0;
+                procedure.record(fetchSize, rows, rowBytes);
+            }
+        }
+    }
+
+    private final class Stats {
+
+        private final Integer configured;
+        private final Counter roundTrips;
+        private final Counter bytes;
+        private volatile double averageRows = -1;
+        private volatile double averageRowBytes;
+
+        Stats(ProcedureSpec spec) {
+            String name = (spec.getPackageName() + "." + spec.getProcedureName()).toUpperCase();
+            Integer override = overrides.apply(name);
+            if (override == null) {
+                override = overrides.apply(spec.getPackageName().toUpperCase());
+            }
+            if (override == null && spec.getFetchSize() > 0) {
+                override = spec.getFetchSize();
+            }
+            this.configured = override;
+            this.roundTrips = Counter.builder("digibo.db.fetch.roundtrips")
+                    .description("Cursor fetch round trips")
+                    .tag("procedure", name)
+                    .register(registry);
+            this.bytes = Counter.builder("digibo.db.fetch.bytes")
+                    .description("Estimated bytes of fetched cursor rows")
+                    .tag("procedure", name)
+                    .register(registry);
+        }
+
+        int fetchSize() {
+            if (configured != null) {
+                return configured;
+            }
+            double rows = averageRows;
+            if (rows < 0) {
+                return defaultFetchSize;
+            }
+            // Room for a typical result plus a quarter, so it usually ends in one round trip
+            long size = Math.min((long) Math.ceil(rows * 1.25) + 1, maxFetchSize);
+            double rowBytes = averageRowBytes;
+            if (rowBytes > 0) {
+                size = Math.min(size, (long) (maxFetchBytes / rowBytes));
+            }
+            return (int) Math.max(size, MIN_FETCH_SIZE);
+        }
+
+        void record(int fetchSize, int rows, double rowBytes) {
+            roundTrips.increment(rows / Math.max(fetchSize, 1) + 1);
+            bytes.increment(rows * rowBytes);
+            // Racing updates may drop an observation, which an average can afford
+            averageRows = averageRows < 0 ? rows : averageRows + WEIGHT * (rows - averageRows);
+            if (rows > 0) {
+                averageRowBytes = averageRowBytes == 0
+                        ? rowBytes
+                        : averageRowBytes + WEIGHT * (rowBytes - averageRowBytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.digibo.core.service.base;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.security.SecureRandom;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cursors kept open between the pages of a paged search, so the next page continues
+ * reading the same cursor instead of running the procedure again.
+ *
+ * A kept cursor holds a pool connection, so at most maxOpen are kept and each one is
+ * closed when its next page is not requested within ttl. When none can be kept (limit
+ * reached, disabled with maxOpen 0, expired, other node) the next page runs the
+ * procedure again and skips the rows already returned.
+ *
+ * Meter: digibo.db.open.cursors (cursors currently kept open).
+ */
+public class OpenCursors implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenCursors.class);
+
+    private final long ttl;
+    private final int maxOpen;
+    private final Map<String, Cursor> cursors = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final ScheduledExecutorService reaper;
+
+    public OpenCursors(long ttl, int maxOpen, MeterRegistry registry) {
+        this.ttl = ttl;
+        this.maxOpen = maxOpen;
+        this.reaper = maxOpen > 0 ? Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "open-cursor-reaper");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        if (reaper != null) {
+            long period = Math.max(ttl / 2, 1000);
+            reaper.scheduleWithFixedDelay(this::closeExpired, period, period, TimeUnit.MILLISECONDS);
+        }
+        Gauge.builder("digibo.db.open.cursors", cursors, Map::size)
+                .description("Cursors kept open for the next page of a paged search")
+                .register(registry);
+    }
+
+    /**
+     * Keep a cursor for its next page.
+     *
+     * @return id to put in the page token, or null when the cursor could not be kept
+     *         (the caller then closes it)
+     */
+    String park(Cursor cursor) {
+        if (cursors.size() >= maxOpen) {
+            return null;
+        }
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        String id = HexFormat.of().formatHex(bytes);
+        cursor.parkedAt = System.currentTimeMillis();
+        cursors.put(id, cursor);
+        return id;
+    }
+
+    /**
+     * Take back a kept cursor for the page of the given query starting at offset.
+     * A cursor that does not match (other query, page requested twice) or has
+     * expired is closed and null is returned.
+     */
+    Cursor take(String id, String query, int offset) {
+        Cursor cursor = cursors.remove(id);
+        if (cursor == null) {
+            return null;
+        }
+        if (!cursor.query.equals(query) || cursor.position != offset
+                || System.currentTimeMillis() - cursor.parkedAt >= ttl) {
+            cursor.close();
+            return null;
+        }
+        return cursor;
+    }
+
+    public int size() {
+        return cursors.size();
+    }
+
+    private void closeExpired() {
+        long now = System.currentTimeMillis();
+        cursors.forEach((id, cursor) -> {
+            if (now - cursor.parkedAt >= ttl && cursors.remove(id, cursor)) {
+                logger.debug("Closing cursor {} of {} after {} ms unused", id, cursor.query, ttl);
+                cursor.close();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        if (reaper != null) {
+            reaper.shutdownNow();
+        }
+        List.copyOf(cursors.keySet()).forEach(id -> {
+            Cursor cursor = cursors.remove(id);
+            if (cursor != null) {
+                cursor.close();
+            }
+        });
+    }
+
+    /**
+     * An executed cursor procedure positioned in its result set. Owns the connection,
+     * statement and result set and closes them together.
+     */
+    static final class Cursor {
+
+        private final String query;
+        private final Connection connection;
+        private final CallableStatement statement;
+        private final ResultSet resultSet;
+        private final RowMapper<Map<String, Object>> rowMapper;
+        private int position;
+        private boolean onRow;
+        private volatile long parkedAt;
+
+        Cursor(String query, Connection connection, CallableStatement statement, ResultSet resultSet,
+               RowMapper<Map<String, Object>> rowMapper) {
+            this.query = query;
+            this.connection = connection;
+            this.statement = statement;
+            this.resultSet = resultSet;
+            this.rowMapper = rowMapper;
+        }
+
+        void setFetchSize(int rows) throws SQLException {
+            if (resultSet != null) {
+                resultSet.setFetchSize(rows);
+            }
+        }
+
+        /**
+         * Timeout of the fetches of the page being read; a kept cursor is read by later
+         * requests with deadlines of their own.
+         */
+        void setQueryTimeout(int seconds) throws SQLException {
+            statement.setQueryTimeout(seconds);
+        }
+
+        /**
+         * Move past the first rows without mapping them.
+         */
+        void skip(int rows) throws SQLException {
+            while (resultSet != null && position < rows && resultSet.next()) {
+                position++;
+            }
+        }
+
+        /**
+         * Map up to limit rows into the list.
+         *
+         * @return true when the cursor has at least one more row
+         */
+        boolean read(List<Map<String, Object>> rows, int limit) throws SQLException {
+            if (resultSet == null) {
+                return false;
+            }
+            while (rows.size() < limit) {
+                if (!onRow && !resultSet.next()) {
+                    return false;
+                }
+                onRow = false;
+                rows.add(rowMapper.mapRow(resultSet, position++));
+            }
+            onRow = resultSet.next();
+            return onRow;
+        }
+
+        void close() {
+            try (Connection conn = connection; CallableStatement cs = statement; ResultSet rs = resultSet) {
+                // closed in reverse order
+            } catch (SQLException e) {
+                logger.warn("Could not close cursor of {}: {}", query, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.digibo.core.service.base;
+
+import com.digibo.core.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Window of a paged search: up to limit rows starting at offset.
+ *
+ * Clients never see the offset directly, they pass back the opaque page token returned
+ * with the previous page. The token holds the offset and, when the server kept the
+ * cursor open, the id of that cursor ("offset" or "offset:cursorId", base64url).
+ */
+public record PageRequest(int limit, int offset, String cursorId) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 1000;
+
+    /**
+     * True when the client asked for paging at all; searches without limit and
+     * pageToken keep returning the whole result.
+     */
+    public static boolean requested(Integer limit, String pageToken) {
+        return limit != null || (pageToken != null && !pageToken.isEmpty());
+    }
+
+    /**
+     * Parse the limit and pageToken request parameters.
+     *
+     * @throws ValidationException for a limit out of range or a malformed token
+     */
+    public static PageRequest of(Integer limit, String pageToken) {
+        int pageLimit = limit != null ? limit : DEFAULT_LIMIT;
+        if (pageLimit < 1 || pageLimit > MAX_LIMIT) {
+            throw new ValidationException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (pageToken == null || pageToken.isEmpty()) {
+            return new PageRequest(pageLimit, 0, null);
+        }
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+            int separator = token.indexOf(':');
+            int offset = Integer.parseInt(separator < 0 ? token : token.substring(0, separator));
+            if (offset < 0) {
+                throw new IllegalArgumentException("negative offset");
+            }
+            return new PageRequest(pageLimit, offset, separator < 0 ? null : token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid pageToken");
+        }
+    }
+
+    /**
+     * Token for the page starting at offset.
+     *
+     * @param cursorId id of the cursor kept open for that page, or null
+     */
+    public static String token(int offset, String cursorId) {
+        String token = cursorId != null ? offset + ":" + cursorId : String.valueOf(offset);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,128 @@
+package com.digibo.core.service.base;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and row counts of procedure calls, per Oracle package and procedure.
+ *
+ * The meters of a procedure are registered on its first call and kept per spec, so a
+ * call records into them without building tags or looking them up in the registry.
+ * Histograms have a fixed set of buckets (see the constants) to keep the number of
+ * series per procedure small; Prometheus computes quantiles from them.
+ *
+ * Meters (tags package=PACKAGE, procedure=PROCEDURE):
+ * - digibo.db.call{outcome=success|error}: call time, from asking for a connection
+ *   until the results are read and the connection is returned
+ * - digibo.db.call.rows: cursor rows read per call
+ * - digibo.db.connection.acquire (tag package only): time to get a connection, bulkhead
+ *   and admission waits included
+ */
+public class ProcedureMetrics {
+
+    static final Duration[] CALL_BUCKETS = millis(5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000);
+    static final Duration[] ACQUIRE_BUCKETS = millis(1, 5, 10, 50, 100, 500, 1000, 5000);
+    static final double[] ROW_BUCKETS = {1, 10, 100, 1000, 10000, 100000};
+
+    private final MeterRegistry registry;
+    private final Map<ProcedureSpec, Meters> meters = new ConcurrentHashMap<>();
+
+    public ProcedureMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Meters of a procedure, registered on first use.
+     */
+    public Meters forProcedure(ProcedureSpec spec) {
+        Meters procedure = meters.get(spec);
+        return procedure != null ? procedure : meters.computeIfAbsent(spec, s -> new Meters(s, registry));
+    }
+
+    /**
+     * Connection acquire timer of a package, registered once per service.
+     */
+    public Timer acquireTimer(String packageName) {
+        return Timer.builder("digibo.db.connection.acquire")
+                .description("Time to get a database connection, bulkhead and admission waits included")
+                .tag("package", packageName)
+                .serviceLevelObjectives(ACQUIRE_BUCKETS)
+                .register(registry);
+    }
+
+    private static Duration[] millis(long... values) {
+        Duration[] durations = new Duration[values.length];
+        for (int i = 0; i < values.length; i++) {
+            durations[i] = Duration.ofMillis(values[i]);
+        }
+        return durations;
+    }
+
+    /**
+     * Meters of one procedure.
+     */
+    public static final class Meters {
+
+        private static final Meters NONE = new Meters();
+
+        private final Timer success;
+        private final Timer error;
+        private final DistributionSummary rows;
+
+        private Meters() {
+            this.success = null;
+            this.error = null;
+            this.rows = null;
+        }
+
+        private Meters(ProcedureSpec spec, MeterRegistry registry) {
+            this.success = callTimer(spec, "success", registry);
+            this.error = callTimer(spec, "error", registry);
+            this.rows = DistributionSummary.builder("digibo.db.call.rows")
+                    .description("Cursor rows read per procedure call")
+                    .baseUnit("rows")
+                    .tag("package", spec.getPackageName())
+                    .tag("procedure", spec.getProcedureName())
+                    .serviceLevelObjectives(ROW_BUCKETS)
+                    .register(registry);
+        }
+
+        private static Timer callTimer(ProcedureSpec spec, String outcome, MeterRegistry registry) {
+            return Timer.builder("digibo.db.call")
+                    .description("Procedure call time")
+                    .tag("package", spec.getPackageName())
+                    .tag("procedure", spec.getProcedureName())
+                    .tag("outcome", outcome)
+                    .serviceLevelObjectives(CALL_BUCKETS)
+                    .register(registry);
+        }
+
+        /**
+         * Meters that record nothing, used when no metrics are configured.
+         */
+        public static Meters none() {
+            return NONE;
+        }
+
+        /**
+         * Record a call that took nanos.
+         */
+        public void call(long nanos, boolean succeeded) {
+            if (success != null) {
+                (succeeded ? success : error).record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        public void rows(int count) {
+            if (rows != null) {
+                rows.record(count);
+            }
+        }
+    }
+}
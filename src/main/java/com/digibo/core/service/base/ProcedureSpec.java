@@ -0,0 +1,522 @@
+package com.digibo.core.service.base;
+
+import oracle.jdbc.OracleTypes;
+import org.springframework.jdbc.core.SqlOutParameter;
+import org.springframework.jdbc.core.SqlParameter;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ProcedureSpec - Immutable descriptor of one PL/SQL procedure or function call.
+ *
+ * Built once per procedure (typically as a service field) and reused for every call.
+ * It holds the call SQL, the JDBC position and type of each parameter and the OUT
+ * registrations, so a call only binds its arguments:
+ *
+ * <pre>
+ * private final ProcedureSpec findMySpec = procedure("find_my")
+ *         .in("P_DOC_CLASS", Types.VARCHAR)
+ *         .in("P_STATUSES", Types.VARCHAR)
+ *         .cursor("P_CURSOR")
+ *         .build();
+ *
+ * return executeCursorProcedure(findMySpec, rowMapper(), docClass, statuses);
+ * </pre>
+ *
+ * Arguments are passed positionally, in the order the IN parameters were declared.
+ */
+public final class ProcedureSpec {
+
+    private enum Mode { IN, OUT, CURSOR }
+
+    private final String packageName;
+    private final String procedureName;
+    private final String sql;
+    private final boolean function;
+    private final int returnType;
+
+    // Per IN parameter, in declaration order
+    private final String[] inNames;
+    private final int[] inTypes;
+    private final int[] inPositions;
+
+    // Per OUT parameter (cursor excluded), in declaration order
+    private final String[] outNames;
+    private final int[] outTypes;
+    private final int[] outPositions;
+
+    private final String cursorName;
+    private final int cursorPosition;
+
+    private final int fetchSize;
+    private final int lobPrefetchSize;
+    private final boolean coalesced;
+
+    private ProcedureSpec(Builder builder) {
+        this.packageName = builder.packageName;
+        this.procedureName = builder.procedureName;
+        this.function = builder.function;
+        this.returnType = builder.returnType;
+        this.fetchSize = builder.fetchSize;
+        this.lobPrefetchSize = builder.lobPrefetchSize;
+        this.coalesced = builder.coalesced;
+
+        int inCount = 0;
+        int outCount = 0;
+        for (Mode mode : builder.modes) {
+            if (mode == Mode.IN) inCount++;
+            else if (mode == Mode.OUT) outCount++;
+        }
+
+        this.inNames = new String[inCount];
+        this.inTypes = new int[inCount];
+        this.inPositions = new int[inCount];
+        this.outNames = new String[outCount];
+        this.outTypes = new int[outCount];
+        this.outPositions = new int[outCount];
+
+        String cursor = null;
+        int cursorPos = 0;
+        int in = 0;
+        int out = 0;
+        int position = function ? 2 : 1;
+        for (int i = 0; i < builder.modes.size(); i++, position++) {
+            switch (builder.modes.get(i)) {
+                case IN -> {
+                    inNames[in] = builder.names.get(i);
+                    inTypes[in] = builder.types.get(i);
+                    inPositions[in++] = position;
+                }
+                case OUT -> {
+                    outNames[out] = builder.names.get(i);
+                    outTypes[out] = builder.types.get(i);
+                    outPositions[out++] = position;
+                }
+                case CURSOR -> {
+                    cursor = builder.names.get(i);
+                    cursorPos = position;
+                }
+            }
+        }
+        this.cursorName = cursor;
+        this.cursorPosition = cursorPos;
+        this.sql = buildSql(packageName, procedureName, builder.modes.size(), function);
+    }
+
+    /**
+     * Start describing a procedure call: { call PKG.NAME(?, ...) }
+     */
+    public static Builder procedure(String packageName, String procedureName) {
+        return new Builder(packageName, procedureName, false, Types.OTHER);
+    }
+
+    /**
+     * Start describing a function call: { ? = call PKG.NAME(?, ...) }
+     */
+    public static Builder function(String packageName, String functionName, int returnType) {
+        return new Builder(packageName, functionName, true, returnType);
+    }
+
+    /**
+     * Describe a call from the parameter lists used by the map based BaseService methods.
+     * IN parameters come first, then the cursor (if any), then the OUT parameters.
+     */
+    static ProcedureSpec of(String packageName, String procedureName,
+                            List<SqlParameter> inParameters, String cursorName,
+                            List<SqlOutParameter> outParameters) {
+        Builder builder = procedure(packageName, procedureName);
+        for (SqlParameter param : inParameters) {
+            builder.in(param.getName(), param.getSqlType());
+        }
+        if (cursorName != null) {
+            builder.cursor(cursorName);
+        }
+        for (SqlOutParameter param : outParameters) {
+            builder.out(param.getName(), param.getSqlType());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Describe a call from a mixed parameter list in declaration order,
+     * where SqlOutParameter entries are OUT parameters.
+     */
+    static ProcedureSpec of(String packageName, String procedureName, List<SqlParameter> parameters) {
+        Builder builder = procedure(packageName, procedureName);
+        for (SqlParameter param : parameters) {
+            if (param instanceof SqlOutParameter) {
+                builder.out(param.getName(), param.getSqlType());
+            } else {
+                builder.in(param.getName(), param.getSqlType());
+            }
+        }
+        return builder.build();
+    }
+
+    private static String buildSql(String packageName, String procedureName, int paramCount, boolean function) {
+        StringBuilder sb = new StringBuilder(function ? "{ ? = call " : "{ call ");
+        sb.append(packageName).append(".").append(procedureName).append("(");
+        for (int i = 0; i < paramCount; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append("?");
+        }
+        sb.append(") }");
+        return sb.toString();
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getProcedureName() {
+        return procedureName;
+    }
+
+    /**
+     * PKG.NAME, as used in logs and metrics.
+     */
+    public String getQualifiedName() {
+        return packageName + "." + procedureName;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public boolean isFunction() {
+        return function;
+    }
+
+    public int getReturnType() {
+        return returnType;
+    }
+
+    public boolean hasCursor() {
+        return cursorPosition > 0;
+    }
+
+    public String getCursorName() {
+        return cursorName;
+    }
+
+    public int getCursorPosition() {
+        return cursorPosition;
+    }
+
+    /**
+     * JDBC position of an OUT parameter.
+     *
+     * @throws IllegalArgumentException when the spec has no OUT parameter of that name
+     */
+    public int getOutPosition(String name) {
+        for (int i = 0; i < outNames.length; i++) {
+            if (outNames[i].equals(name)) {
+                return outPositions[i];
+            }
+        }
+        throw new IllegalArgumentException(getQualifiedName() + " has no OUT parameter " + name);
+    }
+
+    /**
+     * Cursor fetch size set on the spec, 0 when it is left to {@link FetchSizeAdvisor}.
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * LOB bytes returned together with the locator, 0 for the locator only,
+     * -1 for the connection default.
+     */
+    public int getLobPrefetchSize() {
+        return lobPrefetchSize;
+    }
+
+    /**
+     * Whether identical concurrent calls share one execution, see {@link SingleFlight}.
+     */
+    public boolean isCoalesced() {
+        return coalesced;
+    }
+
+    public int getInCount() {
+        return inNames.length;
+    }
+
+    /**
+     * Name of the IN parameter at index (declaration order, from 0).
+     */
+    public String getInName(int index) {
+        return inNames[index];
+    }
+
+    public int getOutCount() {
+        return outNames.length;
+    }
+
+    /**
+     * Bind IN arguments (positional, declaration order) and register the
+     * return value, cursor and OUT parameters.
+     */
+    public void bind(CallableStatement cs, Object... args) throws SQLException {
+        if (args.length != inNames.length) {
+            throw new IllegalArgumentException(getQualifiedName() + " expects " + inNames.length
+                    + " arguments but got " + args.length);
+        }
+        if (function) {
+            cs.registerOutParameter(1, returnType);
+        }
+        for (int i = 0; i < inNames.length; i++) {
+            setParameter(cs, inPositions[i], args[i], inTypes[i]);
+        }
+        if (cursorPosition > 0) {
+            cs.registerOutParameter(cursorPosition, OracleTypes.CURSOR);
+        }
+        for (int i = 0; i < outNames.length; i++) {
+            cs.registerOutParameter(outPositions[i], outTypes[i]);
+        }
+    }
+
+    /**
+     * Read the OUT parameter values (cursor excluded) of an executed call.
+     */
+    public Map<String, Object> readOutputs(CallableStatement cs) throws SQLException {
+        Map<String, Object> outputs = HashMap.newHashMap(outNames.length);
+        for (int i = 0; i < outNames.length; i++) {
+            outputs.put(outNames[i], cs.getObject(outPositions[i]));
+        }
+        return outputs;
+    }
+
+    /**
+     * Positional arguments from a name keyed map; missing names bind as NULL.
+     */
+    public Object[] argsFrom(Map<String, Object> inputParams) {
+        Object[] args = new Object[inNames.length];
+        for (int i = 0; i < inNames.length; i++) {
+            args[i] = inputParams.get(inNames[i]);
+        }
+        return args;
+    }
+
+    /**
+     * Whether this spec describes the given parameter lists (same order, names and types).
+     */
+    boolean matches(List<SqlParameter> inParameters, String cursorName, List<SqlOutParameter> outParameters) {
+        if (function || inParameters.size() != inNames.length || outParameters.size() != outNames.length
+                || (cursorName == null) != (cursorPosition == 0)) {
+            return false;
+        }
+        if (cursorName != null && cursorPosition != inNames.length + 1) {
+            return false;
+        }
+        for (int i = 0; i < inNames.length; i++) {
+            SqlParameter param = inParameters.get(i);
+            if (inTypes[i] != param.getSqlType() || !inNames[i].equals(param.getName())) {
+                return false;
+            }
+        }
+        for (int i = 0; i < outNames.length; i++) {
+            SqlOutParameter param = outParameters.get(i);
+            if (outTypes[i] != param.getSqlType() || !outNames[i].equals(param.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether this function spec describes the given parameter list and return type.
+     */
+    boolean matchesFunction(List<SqlParameter> parameters, int returnType) {
+        if (!function || this.returnType != returnType || parameters.size() != inNames.length) {
+            return false;
+        }
+        for (int i = 0; i < inNames.length; i++) {
+            SqlParameter param = parameters.get(i);
+            if (inTypes[i] != param.getSqlType() || !inNames[i].equals(param.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether this spec describes the given mixed IN/OUT parameter list.
+     */
+    boolean matches(List<SqlParameter> parameters) {
+        if (function || cursorPosition > 0 || parameters.size() != inNames.length + outNames.length) {
+            return false;
+        }
+        int in = 0;
+        int out = 0;
+        for (int i = 0; i < parameters.size(); i++) {
+            SqlParameter param = parameters.get(i);
+            if (param instanceof SqlOutParameter) {
+                if (out >= outNames.length || outPositions[out] != i + 1 || outTypes[out] != param.getSqlType()
+                        || !outNames[out++].equals(param.getName())) {
+                    return false;
+                }
+            } else if (in >= inNames.length || inPositions[in] != i + 1 || inTypes[in] != param.getSqlType()
+                    || !inNames[in++].equals(param.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void setParameter(CallableStatement cs, int index, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            cs.setNull(index, sqlType);
+        } else {
+            switch (sqlType) {
+                case Types.VARCHAR, Types.CHAR, Types.LONGVARCHAR -> cs.setString(index, value.toString());
+                case Types.NUMERIC, Types.DECIMAL -> {
+                    if (value instanceof BigDecimal bd) {
+                        cs.setBigDecimal(index, bd);
+                    } else if (value instanceof Number num) {
+                        cs.setBigDecimal(index, BigDecimal.valueOf(num.doubleValue()));
+                    } else {
+                        cs.setBigDecimal(index, new BigDecimal(value.toString()));
+                    }
+                }
+                case Types.INTEGER -> {
+                    if (value instanceof Number num) {
+                        cs.setInt(index, num.intValue());
+                    } else {
+                        cs.setInt(index, Integer.parseInt(value.toString()));
+                    }
+                }
+                case Types.BIGINT -> {
+                    if (value instanceof Number num) {
+                        cs.setLong(index, num.longValue());
+                    } else {
+                        cs.setLong(index, Long.parseLong(value.toString()));
+                    }
+                }
+                case Types.DOUBLE, Types.FLOAT -> {
+                    if (value instanceof Number num) {
+                        cs.setDouble(index, num.doubleValue());
+                    } else {
+                        cs.setDouble(index, Double.parseDouble(value.toString()));
+                    }
+                }
+                case Types.DATE -> {
+                    if (value instanceof java.sql.Date date) {
+                        cs.setDate(index, date);
+                    } else if (value instanceof java.util.Date date) {
+                        cs.setDate(index, new java.sql.Date(date.getTime()));
+                    }
+                }
+                case Types.TIMESTAMP -> {
+                    if (value instanceof Timestamp ts) {
+                        cs.setTimestamp(index, ts);
+                    } else if (value instanceof java.util.Date date) {
+                        cs.setTimestamp(index, new Timestamp(date.getTime()));
+                    }
+                }
+                case Types.BLOB -> {
+                    if (value instanceof InputStream stream) {
+                        // Streamed into a temporary LOB, never held in memory as a whole
+                        cs.setBlob(index, stream);
+                    } else {
+                        cs.setObject(index, value, sqlType);
+                    }
+                }
+                default -> cs.setObject(index, value, sqlType);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return sql;
+    }
+
+    /**
+     * Collects parameters in call order. Every parameter takes the next JDBC position.
+     */
+    public static final class Builder {
+
+        private final String packageName;
+        private final String procedureName;
+        private final boolean function;
+        private final int returnType;
+        private final List<Mode> modes = new ArrayList<>();
+        private final List<String> names = new ArrayList<>();
+        private final List<Integer> types = new ArrayList<>();
+        private int fetchSize;
+        private int lobPrefetchSize = -1;
+        private boolean coalesced;
+
+        private Builder(String packageName, String procedureName, boolean function, int returnType) {
+            this.packageName = packageName;
+            this.procedureName = procedureName;
+            this.function = function;
+            this.returnType = returnType;
+        }
+
+        public Builder in(String name, int sqlType) {
+            return add(Mode.IN, name, sqlType);
+        }
+
+        public Builder out(String name, int sqlType) {
+            return add(Mode.OUT, name, sqlType);
+        }
+
+        public Builder cursor(String name) {
+            if (modes.contains(Mode.CURSOR)) {
+                throw new IllegalStateException("Only one cursor parameter is supported");
+            }
+            return add(Mode.CURSOR, name, OracleTypes.CURSOR);
+        }
+
+        /**
+         * Fixed cursor fetch size, for procedures whose result size is known up front.
+         */
+        public Builder fetchSize(int rows) {
+            this.fetchSize = rows;
+            return this;
+        }
+
+        /**
+         * Bytes of each BLOB/CLOB output to return together with its locator, so LOBs
+         * up to this size are read without further round trips. 0 returns the locator
+         * only, for calls that do not read the LOB.
+         */
+        public Builder lobPrefetch(int bytes) {
+            this.lobPrefetchSize = bytes;
+            return this;
+        }
+
+        /**
+         * Let identical concurrent calls share one execution and its result, for reads
+         * whose result does not depend on the calling officer (e.g. shared work queues).
+         * Callers get the same list instance, which is unmodifiable.
+         */
+        public Builder coalesce() {
+            this.coalesced = true;
+            return this;
+        }
+
+        private Builder add(Mode mode, String name, int sqlType) {
+            modes.add(mode);
+            names.add(name);
+            types.add(sqlType);
+            return this;
+        }
+
+        public ProcedureSpec build() {
+            return new ProcedureSpec(this);
+        }
+    }
+}
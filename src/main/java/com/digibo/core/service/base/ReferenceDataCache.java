@@ -0,0 +1,141 @@
+package com.digibo.core.service.base;
+
+import com.digibo.core.util.RefreshingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Cache tier for lookup procedures whose results rarely change (categories, operators,
+ * products, currency rates).
+ *
+ * A service declares each lookup once with {@link #define} and reads it through the
+ * returned {@link Lookup}, passing the procedure arguments as the cache key. The entry
+ * lifetime is app.reference-data.ttl.&lt;name&gt; (app.reference-data.default-ttl when not
+ * set); entries read in the last fifth of their lifetime are reloaded in the background,
+ * so screen loads are served from memory and do not take a pool connection.
+ *
+ * Cached results are immutable snapshots: a reload builds a new list and swaps it in,
+ * callers holding the previous one are not affected. Whoever changes the data drops it
+ * with {@link #invalidate(String)} (NotifyServiceImpl after the matching BONotify call).
+ */
+@Component
+public class ReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    public static final String FFO_CATEGORIES = "ffo-categories";
+    public static final String SMS_OPERATORS = "sms-operators";
+    public static final String NOTE_PRODUCTS = "note-products";
+    public static final String AUDIT_LOG_TREE = "audit-log-tree";
+    public static final String REPLACERS = "replacers";
+    public static final String CURRENCY_RATES = "currency-rates";
+
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    private final long defaultTtl;
+    private final int maxKeys;
+    private final Map<String, RefreshingCache<List<Object>, List<Map<String, Object>>>> caches =
+            new ConcurrentHashMap<>();
+
+    private final ExecutorService refresher = Executors.newFixedThreadPool(2, r -> {
+        Thread thread = new Thread(r, "reference-data-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReferenceDataCache(
+            MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${app.reference-data.default-ttl:900000}") long defaultTtl,
+            @Value("${app.reference-data.max-keys:200}") int maxKeys) {
+        this.meterRegistry = meterRegistry;
+        this.environment = environment;
+        this.defaultTtl = defaultTtl;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Declare a lookup. Services declaring the same name (the same procedure) share
+     * one cache, loaded by whichever declared it first.
+     *
+     * @param name   cache name, also used to configure the lifetime and to invalidate it
+     * @param loader runs the procedure for the given arguments
+     */
+    public Lookup define(String name, Loader loader) {
+        return new Lookup(caches.computeIfAbsent(name, ignored -> {
+            long ttl = environment.getProperty("app.reference-data.ttl." + name, Long.class, defaultTtl);
+            logger.debug("Reference data {} cached for {} ms", name, ttl);
+            return new RefreshingCache<>("reference-data." + name, maxKeys, ttl, ttl / 5,
+                    key -> snapshot(loader.load(key.toArray())), refresher, meterRegistry);
+        }));
+    }
+
+    /**
+     * Drop all cached results of a lookup so the next read runs the procedure again.
+     */
+    public void invalidate(String name) {
+        RefreshingCache<List<Object>, List<Map<String, Object>>> cache = caches.get(name);
+        if (cache != null) {
+            cache.invalidateAll();
+            logger.debug("Reference data {} invalidated", name);
+        }
+    }
+
+    public void invalidateAll() {
+        caches.keySet().forEach(this::invalidate);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private static List<Map<String, Object>> snapshot(List<Map<String, Object>> rows) {
+        List<Map<String, Object>> snapshot = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            snapshot.add(Collections.unmodifiableMap(row));
+        }
+        return Collections.unmodifiableList(snapshot);
+    }
+
+    /**
+     * Runs a lookup procedure with the arguments it is read with.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        List<Map<String, Object>> load(Object... args);
+    }
+
+    /**
+     * Cached view of one lookup procedure.
+     */
+    public static final class Lookup {
+
+        private final RefreshingCache<List<Object>, List<Map<String, Object>>> cache;
+
+        private Lookup(RefreshingCache<List<Object>, List<Map<String, Object>>> cache) {
+            this.cache = cache;
+        }
+
+        /**
+         * Cached rows for the arguments (the same positional arguments the procedure takes).
+         */
+        public List<Map<String, Object>> get(Object... args) {
+            return cache.get(Arrays.asList(args.clone()));
+        }
+    }
+}
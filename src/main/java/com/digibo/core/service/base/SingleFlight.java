@@ -0,0 +1,192 @@
+package com.digibo.core.service.base;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent calls of procedures marked with
+ * {@link ProcedureSpec.Builder#coalesce()}: while a call with the same arguments is
+ * running, later callers wait for it and get its result instead of calling again.
+ *
+ * With a share window, a completed result is also handed to identical calls that start
+ * within that many milliseconds after it, for polled queues where a few seconds of
+ * staleness are acceptable. Failures are passed to the callers waiting at the time but
+ * never shared afterwards.
+ *
+ * Arguments are compared normalized: numbers by value (10 and 10.00 are the same),
+ * dates by instant, and an empty string as NULL, as Oracle binds it.
+ *
+ * Share windows (ms) per procedure: override for "PACKAGE.PROCEDURE", then "PACKAGE"
+ * (upper case), then the default.
+ *
+ * Meter: digibo.db.coalescing{package, procedure, result=executed|joined|shared}; the
+ * fan-in ratio is all calls divided by the executed ones.
+ */
+public class SingleFlight {
+
+    private final long defaultShareWindow;
+    private final Function<String, Long> overrides;
+    private final MeterRegistry registry;
+    private final LongSupplier clock;
+    private final Map<ProcedureSpec, Procedure> procedures = new ConcurrentHashMap<>();
+    private final Map<Key, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * @param defaultShareWindow ms a completed result is shared with later identical calls
+     * @param overrides          share window for "PACKAGE.PROCEDURE" or "PACKAGE", or null
+     */
+    public SingleFlight(long defaultShareWindow, Function<String, Long> overrides, MeterRegistry registry) {
+        this(defaultShareWindow, overrides, registry, System::currentTimeMillis);
+    }
+
+    SingleFlight(long defaultShareWindow, Function<String, Long> overrides, MeterRegistry registry,
+                 LongSupplier clock) {
+        this.defaultShareWindow = defaultShareWindow;
+        this.overrides = overrides;
+        this.registry = registry;
+        this.clock = clock;
+    }
+
+    private record Key(ProcedureSpec spec, Object[] args) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && key.spec == spec && Arrays.equals(key.args, args);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(spec) + Arrays.hashCode(args);
+        }
+    }
+
+    /**
+     * A running or completed call; completedAt is set once the result may be shared.
+     */
+    private static final class Flight {
+
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        volatile long completedAt = -1;
+    }
+
+    /**
+     * Run the call, or join an identical one that is running or was completed within the
+     * share window.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(ProcedureSpec spec, Object[] args, Supplier<T> call) {
+        Procedure procedure = procedure(spec);
+        Key key = new Key(spec, normalize(args));
+        Flight own = new Flight();
+        while (true) {
+            Flight running = flights.putIfAbsent(key, own);
+            if (running == null) {
+                break;
+            }
+            long completedAt = running.completedAt;
+            if (completedAt < 0) {
+                procedure.joined.increment();
+                return (T) join(running);
+            }
+            if (clock.getAsLong() - completedAt < procedure.shareWindow) {
+                procedure.shared.increment();
+                return (T) join(running);
+            }
+            // Shared too long ago: replace it, unless another caller already did
+            flights.remove(key, running);
+        }
+
+        procedure.executed.increment();
+        try {
+            T value = call.get();
+            own.result.complete(value);
+            if (procedure.shareWindow > 0) {
+                own.completedAt = clock.getAsLong();
+                CompletableFuture.delayedExecutor(procedure.shareWindow, TimeUnit.MILLISECONDS)
+                        .execute(() -> flights.remove(key, own));
+            } else {
+                flights.remove(key, own);
+            }
+            return value;
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, own);
+            own.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Object join(Flight running) {
+        try {
+            return running.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    static Object[] normalize(Object[] args) {
+        Object[] normalized = new Object[args.length];
+        for (int i = 0; i < args.length; i++) {
+            normalized[i] = switch (args[i]) {
+                case null -> null;
+                case CharSequence text when text.isEmpty() -> null;
+                case CharSequence text -> text.toString();
+                case BigDecimal number -> number.stripTrailingZeros();
+                case Number number -> new BigDecimal(number.toString()).stripTrailingZeros();
+                case java.util.Date date -> date.getTime();
+                default -> args[i];
+            };
+        }
+        return normalized;
+    }
+
+    private Procedure procedure(ProcedureSpec spec) {
+        Procedure procedure = procedures.get(spec);
+        return procedure != null ? procedure : procedures.computeIfAbsent(spec, Procedure::new);
+    }
+
+    /**
+     * Share window and meters of one procedure.
+     */
+    private final class Procedure {
+
+        private final long shareWindow;
+        private final Counter executed;
+        private final Counter joined;
+        private final Counter shared;
+
+        Procedure(ProcedureSpec spec) {
+            String name = (spec.getPackageName() + "." + spec.getProcedureName()).toUpperCase();
+            Long window = overrides.apply(name);
+            if (window == null) {
+                window = overrides.apply(spec.getPackageName().toUpperCase());
+            }
+            this.shareWindow = window != null ? window : defaultShareWindow;
+            this.executed = counter(spec, "executed");
+            this.joined = counter(spec, "joined");
+            this.shared = counter(spec, "shared");
+        }
+
+        private Counter counter(ProcedureSpec spec, String result) {
+            return Counter.builder("digibo.db.coalescing")
+                    .description("Calls of coalesced procedures by how they were served")
+                    .tag("package", spec.getPackageName())
+                    .tag("procedure", spec.getProcedureName())
+                    .tag("result", result)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.digibo.core.service.base;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * The slowest procedure calls per package, kept in memory for the slowcalls actuator
+ * endpoint.
+ *
+ * Time is cut into windows of windowMillis; each package keeps the slowest maxEntries
+ * calls of each of its last windowCount windows, so a burst of slow calls an hour ago
+ * does not hide the slowest calls of the last minutes. Only calls taking at least
+ * thresholdMillis are considered: a faster call costs one comparison.
+ *
+ * An entry holds the procedure, its time, the cursor rows and fetch round trips, the
+ * officer and a fingerprint of the IN arguments: their names and the shape of their
+ * values (null, str(8), str(3)% for a LIKE pattern, num, date...), never the values.
+ * The fingerprint shows which filters a slow search was given without recording
+ * customer data.
+ */
+public class SlowCallJournal {
+
+    private static final Comparator<Entry> FASTEST_FIRST = Comparator.comparingDouble(Entry::millis);
+
+    private final long thresholdNanos;
+    private final int maxEntries;
+    private final long windowMillis;
+    private final int windowCount;
+    private final LongSupplier clock;
+    private final Map<String, Windows> packages = new ConcurrentHashMap<>();
+
+    /**
+     * @param thresholdMillis calls faster than this are not recorded
+     * @param maxEntries      slowest calls kept per package and window (0 disables the journal)
+     * @param windowMillis    length of a window
+     * @param windowCount     windows kept per package
+     */
+    public SlowCallJournal(long thresholdMillis, int maxEntries, long windowMillis, int windowCount) {
+        this(thresholdMillis, maxEntries, windowMillis, windowCount, System::currentTimeMillis);
+    }
+
+    SlowCallJournal(long thresholdMillis, int maxEntries, long windowMillis, int windowCount, LongSupplier clock) {
+        this.thresholdNanos = maxEntries > 0 ? TimeUnit.MILLISECONDS.toNanos(thresholdMillis) : Long.MAX_VALUE;
+        this.maxEntries = maxEntries;
+        this.windowMillis = Math.max(windowMillis, 1);
+        this.windowCount = Math.max(windowCount, 1);
+        this.clock = clock;
+    }
+
+    /**
+     * A recorded call.
+     *
+     * @param at         when the call ended
+     * @param procedure  procedure name (without package)
+     * @param millis     call time
+     * @param rows       cursor rows read
+     * @param roundTrips cursor fetch round trips (0 when unknown or no cursor)
+     * @param officer    user the call was made for, or "-"
+     * @param parameters fingerprint of the IN arguments
+     * @param failed     whether the call ended with a database error
+     */
+    public record Entry(Instant at, String procedure, double millis, int rows, int roundTrips,
+                        String officer, String parameters, boolean failed) {
+    }
+
+    public boolean isSlow(long nanos) {
+        return nanos >= thresholdNanos;
+    }
+
+    /**
+     * Record a call that took at least the threshold ({@link #isSlow(long)}).
+     */
+    public void record(ProcedureSpec spec, Object[] args, long nanos, int rows, int roundTrips, boolean failed) {
+        long now = clock.getAsLong();
+        Windows windows = packages.computeIfAbsent(spec.getPackageName(), name -> new Windows());
+        double millis = nanos / 1_000_000.0;
+        if (!windows.accepts(now / windowMillis, millis)) {
+            return;
+        }
+        Entry entry = new Entry(Instant.ofEpochMilli(now), spec.getProcedureName(), millis, rows, roundTrips,
+                officer(), fingerprint(spec, args), failed);
+        windows.add(now / windowMillis, entry);
+    }
+
+    /**
+     * Slowest calls per package over the kept windows, slowest first.
+     */
+    public Map<String, List<Entry>> slowest() {
+        Map<String, List<Entry>> result = new TreeMap<>();
+        packages.forEach((name, windows) -> {
+            List<Entry> entries = windows.slowest(clock.getAsLong() / windowMillis);
+            if (!entries.isEmpty()) {
+                result.put(name, entries);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Slowest calls of one package over the kept windows, slowest first.
+     */
+    public List<Entry> slowest(String packageName) {
+        Windows windows = packages.get(packageName);
+        return windows != null ? windows.slowest(clock.getAsLong() / windowMillis) : List.of();
+    }
+
+    /**
+     * Names and value shapes of the IN arguments, e.g. "P_CUST_ID=str(8), P_FROM=date, P_STATUS=null".
+     */
+    static String fingerprint(ProcedureSpec spec, Object[] args) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(i < spec.getInCount() ? spec.getInName(i) : "#" + (i + 1)).append('=').append(shape(args[i]));
+        }
+        return text.toString();
+    }
+
+    private static String shape(Object value) {
+        return switch (value) {
+            case null -> "null";
+            case CharSequence text when text.isEmpty() -> "''";
+            case CharSequence text -> "str(" + text.length() + ")"
+                    + (text.toString().indexOf('%') >= 0 || text.toString().indexOf('*') >= 0 ? "%" : "");
+            case Number number -> "num";
+            case java.util.Date date -> "date";
+            case java.time.temporal.Temporal temporal -> "date";
+            case Boolean flag -> "bool";
+            case byte[] bytes -> "bin(" + bytes.length + ")";
+            case InputStream stream -> "bin";
+            case Reader reader -> "text";
+            default -> value.getClass().getSimpleName();
+        };
+    }
+
+    private static String officer() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "-";
+    }
+
+    /**
+     * The kept windows of one package, indexed by window number modulo the window count.
+     */
+    private final class Windows {
+
+        private final long[] numbers = new long[windowCount];
+        private final List<PriorityQueue<Entry>> entries = new ArrayList<>(windowCount);
+
+        Windows() {
+            for (int i = 0; i < windowCount; i++) {
+                numbers[i] = -1;
+                entries.add(new PriorityQueue<>(FASTEST_FIRST));
+            }
+        }
+
+        /**
+         * Whether a call of this time would be kept, checked before building its entry.
+         */
+        synchronized boolean accepts(long window, double millis) {
+            int slot = (int) (window % windowCount);
+            PriorityQueue<Entry> slowest = entries.get(slot);
+            return numbers[slot] != window || slowest.size() < maxEntries || slowest.peek().millis() < millis;
+        }
+
+        synchronized void add(long window, Entry entry) {
+            int slot = (int) (window % windowCount);
+            PriorityQueue<Entry> slowest = entries.get(slot);
+            if (numbers[slot] != window) {
+                numbers[slot] = window;
+                slowest.clear();
+            }
+            slowest.add(entry);
+            if (slowest.size() > maxEntries) {
+                slowest.poll();
+            }
+        }
+
+        synchronized List<Entry> slowest(long current) {
+            List<Entry> result = new ArrayList<>();
+            for (int slot = 0; slot < windowCount; slot++) {
+                if (numbers[slot] > current - windowCount) {
+                    result.addAll(entries.get(slot));
+                }
+            }
+            result.sort(FASTEST_FIRST.reversed());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.digibo.core.service.base;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/slowcalls: the {@link SlowCallJournal}, all packages or one package
+ * (/actuator/slowcalls/{package}), slowest calls first.
+ */
+@Endpoint(id = "slowcalls")
+public class SlowCallsEndpoint {
+
+    private final SlowCallJournal journal;
+
+    public SlowCallsEndpoint(SlowCallJournal journal) {
+        this.journal = journal;
+    }
+
+    @ReadOperation
+    public Map<String, List<SlowCallJournal.Entry>> slowCalls() {
+        return journal.slowest();
+    }
+
+    @ReadOperation
+    public List<SlowCallJournal.Entry> slowCalls(@Selector String packageName) {
+        return journal.slowest(packageName);
+    }
+}
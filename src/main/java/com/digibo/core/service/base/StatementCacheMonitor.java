@@ -0,0 +1,76 @@
+package com.digibo.core.service.base;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import oracle.jdbc.OracleStatement;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Prepares calls through the Oracle implicit statement cache and counts hits and misses.
+ *
+ * The driver marks every statement it hands out with how it was created: taken from the
+ * implicit cache or parsed anew. That mark is what gets counted, so statements the driver
+ * dropped from its cache on its own (after an error, a reset) count as misses too.
+ * Statements that are not Oracle ones are not counted.
+ *
+ * Meters:
+ * - digibo.db.statement.cache{result=hit|miss}: prepareCall calls
+ * - digibo.db.statement.cache.size: app.db.statement-cache-size (a size set in the data
+ *   source properties takes precedence on the connections)
+ */
+public class StatementCacheMonitor {
+
+    private final int cacheSize;
+    private final Counter hits;
+    private final Counter misses;
+
+    public StatementCacheMonitor(int cacheSize, MeterRegistry registry) {
+        this.cacheSize = cacheSize;
+        this.hits = Counter.builder("digibo.db.statement.cache")
+                .description("prepareCall calls served from the implicit statement cache")
+                .tag("result", "hit")
+                .register(registry);
+        this.misses = Counter.builder("digibo.db.statement.cache")
+                .description("prepareCall calls that had to parse a new statement")
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("digibo.db.statement.cache.size", () -> this.cacheSize)
+                .description("Implicit statement cache size per connection")
+                .register(registry);
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public double getHitCount() {
+        return hits.count();
+    }
+
+    public double getMissCount() {
+        return misses.count();
+    }
+
+    /**
+     * conn.prepareCall(sql), recording whether the statement came from the cache.
+     */
+    // creationState() is deprecated in ojdbc 23 without a replacement; it is the only
+    // way the driver tells whether a statement came from the implicit cache
+    @SuppressWarnings("deprecation")
+    public CallableStatement prepareCall(Connection conn, String sql) throws SQLException {
+        CallableStatement cs = conn.prepareCall(sql);
+        if (cs.isWrapperFor(OracleStatement.class)) {
+            int state = cs.unwrap(OracleStatement.class).creationState();
+            if (state == OracleStatement.IMPLICIT) {
+                hits.increment();
+            } else if (state == OracleStatement.NEW) {
+                misses.increment();
+            }
+        }
+        return cs;
+    }
+}
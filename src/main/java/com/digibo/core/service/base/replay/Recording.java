@@ -0,0 +1,349 @@
+package com.digibo.core.service.base.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Database calls captured by {@link RecordingDataSource} and served again by
+ * {@link ReplayDataSource}.
+ *
+ * A call is its SQL text, the bound IN values, the execution time, the OUT values and
+ * the rows read from each cursor with the time spent fetching them. Calls are stored
+ * in a gzip compressed binary file; each call is flushed as it completes, so a file of
+ * an application that was killed is readable up to its last complete call.
+ *
+ * Values are kept as String, BigDecimal, Integer, Long, Double, Boolean, Timestamp,
+ * java.sql.Date or byte[]; other values are stored as their toString(). Streams and
+ * LOBs bound as IN values are stored as a {@link #STREAM} marker.
+ */
+public final class Recording {
+
+    /** Stored in place of an InputStream, Reader or LOB bound as IN value. */
+    public static final String STREAM = "\u0000stream";
+
+    private static final int MAGIC = 0x44474252; // "DGBR"
+    private static final int VERSION = 1;
+
+    private Recording() {
+    }
+
+    /**
+     * One executed call.
+     *
+     * @param sql          SQL text as prepared
+     * @param args         bound IN values by parameter index
+     * @param executeNanos time spent in execute
+     * @param outputs      OUT values read by parameter index (cursors excluded)
+     * @param cursors      cursors read, by parameter index (0 for the ResultSet of a query)
+     * @param error        error raised by execute, or null
+     */
+    public record Call(String sql, SortedMap<Integer, Object> args, long executeNanos,
+                       Map<Integer, Object> outputs, Map<Integer, Cursor> cursors, SQLException error) {
+
+        public String key() {
+            return Recording.key(sql, args);
+        }
+    }
+
+    /**
+     * Rows read from a cursor.
+     *
+     * @param columns    column names
+     * @param types      JDBC column types
+     * @param rows       rows as read by the application, in order
+     * @param fetchNanos time spent in ResultSet.next() for those rows
+     */
+    public record Cursor(String[] columns, int[] types, List<Object[]> rows, long fetchNanos) {
+    }
+
+    /**
+     * Lookup key of a call: the SQL text and its IN values.
+     */
+    public static String key(String sql, SortedMap<Integer, Object> args) {
+        StringBuilder key = new StringBuilder(sql);
+        args.forEach((index, value) -> key.append('\u0001').append(index).append('=').append(keyOf(value)));
+        return key.toString();
+    }
+
+    private static String keyOf(Object value) {
+        if (value == null) {
+            return "\u0000";
+        }
+        if (value instanceof Number number) {
+            return new BigDecimal(number.toString()).stripTrailingZeros().toPlainString();
+        }
+        if (value instanceof java.util.Date date) {
+            return "t" + date.getTime();
+        }
+        if (value instanceof byte[] bytes) {
+            return "b" + Arrays.hashCode(bytes);
+        }
+        return value.toString();
+    }
+
+    /**
+     * An IN value in the form it is stored and compared in.
+     */
+    public static Object capture(Object value) {
+        if (value instanceof InputStream || value instanceof Reader || value instanceof Blob || value instanceof Clob) {
+            return STREAM;
+        }
+        return value;
+    }
+
+    /**
+     * All calls of a recording file.
+     */
+    public static List<Call> read(Path file) throws IOException {
+        List<Call> calls = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(file + " is not a recording of this version");
+            }
+            // 1 precedes each call, 0 marks a closed file
+            while (in.read() == 1) {
+                calls.add(readCall(in));
+            }
+        } catch (EOFException e) {
+            // Not closed cleanly: keep the calls before the incomplete one
+        }
+        return calls;
+    }
+
+    private static Call readCall(DataInputStream in) throws IOException {
+        String sql = readString(in);
+        SortedMap<Integer, Object> args = new TreeMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            args.put(in.readInt(), readValue(in));
+        }
+        long executeNanos = in.readLong();
+        Map<Integer, Object> outputs = new TreeMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            outputs.put(in.readInt(), readValue(in));
+        }
+        Map<Integer, Cursor> cursors = new TreeMap<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            int index = in.readInt();
+            int columnCount = in.readInt();
+            String[] columns = new String[columnCount];
+            int[] types = new int[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                columns[c] = readString(in);
+                types[c] = in.readInt();
+            }
+            long fetchNanos = in.readLong();
+            int rowCount = in.readInt();
+            List<Object[]> rows = new ArrayList<>(rowCount);
+            for (int r = 0; r < rowCount; r++) {
+                Object[] row = new Object[columnCount];
+                for (int c = 0; c < columnCount; c++) {
+                    row[c] = readValue(in);
+                }
+                rows.add(row);
+            }
+            cursors.put(index, new Cursor(columns, types, rows, fetchNanos));
+        }
+        SQLException error = null;
+        if (in.readBoolean()) {
+            String message = readString(in);
+            String state = in.readBoolean() ? readString(in) : null;
+            error = new SQLException(message, state, in.readInt());
+        }
+        return new Call(sql, args, executeNanos, outputs, cursors, error);
+    }
+
+    /**
+     * Appends calls to a recording file.
+     */
+    public static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+
+        public Writer(Path file) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(
+                    Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING), true)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.flush();
+        }
+
+        public synchronized void write(Call call) throws IOException {
+            out.write(1);
+            writeString(out, call.sql());
+            out.writeInt(call.args().size());
+            for (Map.Entry<Integer, Object> arg : call.args().entrySet()) {
+                out.writeInt(arg.getKey());
+                writeValue(out, arg.getValue());
+            }
+            out.writeLong(call.executeNanos());
+            out.writeInt(call.outputs().size());
+            for (Map.Entry<Integer, Object> output : call.outputs().entrySet()) {
+                out.writeInt(output.getKey());
+                writeValue(out, output.getValue());
+            }
+            out.writeInt(call.cursors().size());
+            for (Map.Entry<Integer, Cursor> entry : call.cursors().entrySet()) {
+                Cursor cursor = entry.getValue();
+                out.writeInt(entry.getKey());
+                out.writeInt(cursor.columns().length);
+                for (int c = 0; c < cursor.columns().length; c++) {
+                    writeString(out, cursor.columns()[c]);
+                    out.writeInt(cursor.types()[c]);
+                }
+                out.writeLong(cursor.fetchNanos());
+                out.writeInt(cursor.rows().size());
+                for (Object[] row : cursor.rows()) {
+                    for (Object value : row) {
+                        writeValue(out, value);
+                    }
+                }
+            }
+            SQLException error = call.error();
+            out.writeBoolean(error != null);
+            if (error != null) {
+                writeString(out, String.valueOf(error.getMessage()));
+                out.writeBoolean(error.getSQLState() != null);
+                if (error.getSQLState() != null) {
+                    writeString(out, error.getSQLState());
+                }
+                out.writeInt(error.getErrorCode());
+            }
+            out.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.write(0);
+            out.close();
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        switch (value) {
+            case null -> out.write(0);
+            case String text -> {
+                out.write(1);
+                writeString(out, text);
+            }
+            case BigDecimal decimal -> {
+                out.write(2);
+                byte[] unscaled = decimal.unscaledValue().toByteArray();
+                out.writeInt(decimal.scale());
+                out.writeShort(unscaled.length);
+                out.write(unscaled);
+            }
+            case Integer number -> {
+                out.write(3);
+                out.writeInt(number);
+            }
+            case Long number -> {
+                out.write(4);
+                out.writeLong(number);
+            }
+            case Double number -> {
+                out.write(5);
+                out.writeDouble(number);
+            }
+            case Float number -> {
+                out.write(5);
+                out.writeDouble(number);
+            }
+            case Timestamp timestamp -> {
+                out.write(6);
+                out.writeLong(timestamp.getTime());
+                out.writeInt(timestamp.getNanos());
+            }
+            case java.sql.Date date -> {
+                out.write(7);
+                out.writeLong(date.getTime());
+            }
+            case java.util.Date date -> {
+                out.write(6);
+                out.writeLong(date.getTime());
+                out.writeInt((int) Math.floorMod(date.getTime(), 1000L) * 1_000_000);
+            }
+            case byte[] bytes -> {
+                out.write(8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            case Boolean flag -> {
+                out.write(9);
+                out.writeBoolean(flag);
+            }
+            default -> {
+                out.write(1);
+                writeString(out, value.toString());
+            }
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        int tag = in.read();
+        return switch (tag) {
+            case 0 -> null;
+            case 1 -> readString(in);
+            case 2 -> {
+                int scale = in.readInt();
+                byte[] unscaled = new byte[in.readUnsignedShort()];
+                in.readFully(unscaled);
+                yield new BigDecimal(new BigInteger(unscaled), scale);
+            }
+            case 3 -> in.readInt();
+            case 4 -> in.readLong();
+            case 5 -> in.readDouble();
+            case 6 -> {
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                yield timestamp;
+            }
+            case 7 -> new java.sql.Date(in.readLong());
+            case 8 -> {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                yield bytes;
+            }
+            case 9 -> in.readBoolean();
+            case -1 -> throw new EOFException();
+            default -> throw new IOException("Unknown value tag " + tag);
+        };
+    }
+
+    private static void writeString(DataOutputStream out, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,277 @@
+package com.digibo.core.service.base.replay;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * DataSource that records every call made through it to a {@link Recording} file, for
+ * later replay with {@link ReplayDataSource}.
+ *
+ * Prepared and callable statements are recorded when they are closed: the SQL, the
+ * bound IN values, the execute time, every OUT value and cursor row the application
+ * read, and the time spent fetching those rows. Rows the application did not read
+ * (e.g. after the last page of a paged search) are not recorded. Recording reads each
+ * row once more through its typed getter, which adds a little to the fetch time.
+ *
+ * Closing the data source finishes the file and closes the wrapped data source.
+ */
+public class RecordingDataSource extends DelegatingDataSource implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordingDataSource.class);
+
+    /** CallableStatement getters whose values are recorded as OUT values. */
+    static final Set<String> OUTPUT_GETTERS = Set.of("getObject", "getString", "getBigDecimal", "getInt",
+            "getLong", "getDouble", "getBoolean", "getTimestamp", "getDate", "getBytes", "getBlob", "getClob");
+
+    private final Recording.Writer writer;
+    private final Path file;
+
+    public RecordingDataSource(DataSource target, Path file) throws IOException {
+        super(target);
+        this.file = file;
+        this.writer = new Recording.Writer(file);
+        logger.info("Recording database calls to {}", file);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+        logger.info("Recording {} closed", file);
+        if (getTargetDataSource() instanceof Closeable target) {
+            target.close();
+        }
+    }
+
+    private void write(Recording.Call call) {
+        try {
+            writer.write(call);
+        } catch (IOException e) {
+            logger.warn("Could not record call {}: {}", call.sql(), e.getMessage());
+        }
+    }
+
+    private Connection connection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof PreparedStatement statement
+                            && (method.getName().equals("prepareCall") || method.getName().equals("prepareStatement"))) {
+                        return new RecordedStatement((String) args[0], statement).proxy();
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * A statement being recorded; written when it is closed.
+     */
+    private final class RecordedStatement {
+
+        private final String sql;
+        private final PreparedStatement statement;
+        private final SortedMap<Integer, Object> args = new TreeMap<>();
+        private final Map<Integer, Object> outputs = new TreeMap<>();
+        private final Map<Integer, RecordedCursor> cursors = new TreeMap<>();
+        private long executeNanos;
+        private SQLException error;
+        private boolean executed;
+        private boolean written;
+
+        RecordedStatement(String sql, PreparedStatement statement) {
+            this.sql = sql;
+            this.statement = statement;
+        }
+
+        Object proxy() {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class : PreparedStatement.class;
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    this.args.put(index, name.equals("setNull") ? null : Recording.capture(args[1]));
+                    return invoke(statement, method, args);
+                }
+                switch (name) {
+                    case "execute", "executeQuery", "executeUpdate" -> {
+                        return execute(method, args);
+                    }
+                    case "getResultSet" -> {
+                        return cursor(0, invoke(statement, method, args));
+                    }
+                    case "close" -> {
+                        try {
+                            return invoke(statement, method, args);
+                        } finally {
+                            finish();
+                        }
+                    }
+                    case "clearParameters" -> this.args.clear();
+                    default -> {
+                        // fall through to the output getters below
+                    }
+                }
+                Object result = invoke(statement, method, args);
+                if (OUTPUT_GETTERS.contains(name) && args != null && args.length == 1 && args[0] instanceof Integer index
+                        && statement instanceof CallableStatement) {
+                    if (result instanceof ResultSet) {
+                        return cursor(index, result);
+                    }
+                    outputs.put(index, stored(result));
+                }
+                return result;
+            });
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            executed = true;
+            long start = System.nanoTime();
+            try {
+                Object result = invoke(statement, method, args);
+                return method.getName().equals("executeQuery") ? cursor(0, result) : result;
+            } catch (SQLException e) {
+                error = e;
+                throw e;
+            } finally {
+                executeNanos += System.nanoTime() - start;
+            }
+        }
+
+        private Object cursor(int index, Object result) {
+            if (!(result instanceof ResultSet rs)) {
+                return result;
+            }
+            RecordedCursor cursor = new RecordedCursor(rs);
+            cursors.put(index, cursor);
+            return cursor.proxy();
+        }
+
+        private void finish() {
+            if (written || !executed) {
+                return;
+            }
+            written = true;
+            Map<Integer, Recording.Cursor> read = new TreeMap<>();
+            cursors.forEach((index, cursor) -> read.put(index, cursor.toCursor()));
+            write(new Recording.Call(sql, args, executeNanos, outputs, read, error));
+        }
+    }
+
+    /**
+     * A cursor being recorded row by row as the application reads it.
+     */
+    private static final class RecordedCursor {
+
+        private final ResultSet resultSet;
+        private final List<Object[]> rows = new ArrayList<>();
+        private String[] columns = new String[0];
+        private int[] types = new int[0];
+        private long fetchNanos;
+
+        RecordedCursor(ResultSet resultSet) {
+            this.resultSet = resultSet;
+        }
+
+        Object proxy() {
+            return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> {
+                        if (!method.getName().equals("next")) {
+                            return invoke(resultSet, method, args);
+                        }
+                        long start = System.nanoTime();
+                        boolean hasRow = resultSet.next();
+                        fetchNanos += System.nanoTime() - start;
+                        if (hasRow) {
+                            capture();
+                        }
+                        return hasRow;
+                    });
+        }
+
+        private void capture() throws SQLException {
+            if (rows.isEmpty()) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                columns = new String[metaData.getColumnCount()];
+                types = new int[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = metaData.getColumnName(i + 1);
+                    types[i] = metaData.getColumnType(i + 1);
+                }
+            }
+            Object[] row = new Object[columns.length];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = read(i + 1, types[i]);
+            }
+            rows.add(row);
+        }
+
+        private Object read(int column, int type) throws SQLException {
+            return switch (type) {
+                case Types.VARCHAR, Types.CHAR, Types.NVARCHAR, Types.NCHAR, Types.LONGVARCHAR,
+                     Types.CLOB, Types.NCLOB -> resultSet.getString(column);
+                case Types.NUMERIC, Types.DECIMAL, Types.INTEGER, Types.BIGINT, Types.SMALLINT,
+                     Types.FLOAT, Types.DOUBLE, Types.REAL -> resultSet.getBigDecimal(column);
+                case Types.DATE, Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> resultSet.getTimestamp(column);
+                case Types.BLOB, Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY -> resultSet.getBytes(column);
+                default -> stored(resultSet.getObject(column));
+            };
+        }
+
+        Recording.Cursor toCursor() {
+            return new Recording.Cursor(columns, types, rows, fetchNanos);
+        }
+    }
+
+    /**
+     * A value as it can be stored; LOBs are read into memory.
+     */
+    private static Object stored(Object value) throws SQLException {
+        if (value instanceof Blob blob) {
+            return blob.getBytes(1, (int) blob.length());
+        }
+        if (value instanceof Clob clob) {
+            return clob.getSubString(1, (int) clob.length());
+        }
+        return value;
+    }
+}
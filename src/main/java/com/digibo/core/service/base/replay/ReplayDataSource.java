@@ -0,0 +1,424 @@
+package com.digibo.core.service.base.replay;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.rowset.serial.SerialBlob;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * DataSource that serves the calls of a {@link Recording} instead of a database, so the
+ * service implementations, row mappers and controllers run without Oracle.
+ *
+ * A call is answered by the recorded call with the same SQL and IN values; when there is
+ * none, by a recorded call of the same SQL (the values then do not match the arguments),
+ * and a call whose SQL was never recorded fails with an SQLException. Calls recorded
+ * more than once are served in turn. Recorded errors are raised again.
+ *
+ * Timing follows the recording, scaled by speed (1 = as recorded, 0 = no delays): execute
+ * takes the recorded execute time and the cursor rows take the recorded fetch time,
+ * spread over the rows.
+ */
+public class ReplayDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplayDataSource.class);
+
+    private final double speed;
+    private final Map<String, Calls> byKey = new ConcurrentHashMap<>();
+    private final Map<String, Calls> bySql = new ConcurrentHashMap<>();
+
+    public ReplayDataSource(List<Recording.Call> calls, double speed) {
+        this.speed = speed;
+        for (Recording.Call call : calls) {
+            byKey.computeIfAbsent(call.key(), k -> new Calls()).add(call);
+            bySql.computeIfAbsent(call.sql(), k -> new Calls()).add(call);
+        }
+    }
+
+    public static ReplayDataSource of(Path file, double speed) throws IOException {
+        List<Recording.Call> calls = Recording.read(file);
+        logger.info("Replaying {} recorded database calls from {}", calls.size(), file);
+        return new ReplayDataSource(calls, speed);
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) {
+        return connection();
+    }
+
+    /**
+     * Calls recorded with the same key, served in turn.
+     */
+    private static final class Calls {
+
+        private final List<Recording.Call> calls = new ArrayList<>();
+        private final AtomicInteger next = new AtomicInteger();
+
+        void add(Recording.Call call) {
+            calls.add(call);
+        }
+
+        Recording.Call next() {
+            return calls.get(Math.floorMod(next.getAndIncrement(), calls.size()));
+        }
+    }
+
+    private Recording.Call find(String sql, SortedMap<Integer, Object> args) throws SQLException {
+        Calls calls = byKey.get(Recording.key(sql, args));
+        if (calls == null) {
+            calls = bySql.get(sql);
+        }
+        if (calls == null) {
+            throw new SQLException("No recorded call for " + sql);
+        }
+        return calls.next();
+    }
+
+    private void pause(long recordedNanos) {
+        long nanos = (long) (recordedNanos * speed);
+        if (nanos > 0) {
+            LockSupport.parkNanos(nanos);
+        }
+    }
+
+    private Connection connection() {
+        boolean[] closed = {false};
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "prepareCall" -> new ReplayedStatement((String) args[0], (Connection) proxy)
+                            .proxy(CallableStatement.class);
+                    case "prepareStatement" -> new ReplayedStatement((String) args[0], (Connection) proxy)
+                            .proxy(PreparedStatement.class);
+                    case "close" -> {
+                        closed[0] = true;
+                        yield null;
+                    }
+                    case "isClosed" -> closed[0];
+                    case "isValid", "getAutoCommit" -> true;
+                    case "isReadOnly" -> false;
+                    case "getMetaData" -> metaData((Connection) proxy);
+                    default -> unsupported(proxy, method, args);
+                });
+    }
+
+    /**
+     * Database metadata naming no known database, so health checks validate the
+     * connection with isValid() instead of a query.
+     */
+    private static DatabaseMetaData metaData(Connection connection) {
+        return (DatabaseMetaData) Proxy.newProxyInstance(DatabaseMetaData.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "getDatabaseProductName", "getDriverName" -> "Replay";
+                    case "getDatabaseProductVersion", "getDriverVersion" -> "1";
+                    case "getURL" -> "replay:";
+                    case "getConnection" -> connection;
+                    default -> unsupported(proxy, method, args);
+                });
+    }
+
+    /**
+     * Common answers of a stand-in JDBC object: identity, no wrapping, setters ignored;
+     * anything else is not supported.
+     */
+    private static Object unsupported(Object proxy, Method method, Object[] args) throws SQLException {
+        String name = method.getName();
+        switch (name) {
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            case "toString" -> {
+                return "Replay" + method.getDeclaringClass().getSimpleName() + "@"
+                        + Integer.toHexString(System.identityHashCode(proxy));
+            }
+            case "isWrapperFor" -> {
+                return false;
+            }
+            case "unwrap" -> throw new SQLException("Replayed JDBC objects wrap nothing");
+            case "getWarnings" -> {
+                return null;
+            }
+            default -> {
+                if (method.getReturnType() == void.class) {
+                    // setAutoCommit, setFetchSize, registerOutParameter, clearWarnings, commit...
+                    return null;
+                }
+                throw new SQLFeatureNotSupportedException(name + " is not supported by replayed connections");
+            }
+        }
+    }
+
+    /**
+     * A statement answered from the recording when it is executed.
+     */
+    private final class ReplayedStatement {
+
+        private final String sql;
+        private final Connection connection;
+        private final SortedMap<Integer, Object> args = new TreeMap<>();
+        private Recording.Call call;
+        private boolean closed;
+        private boolean wasNull;
+
+        ReplayedStatement(String sql, Connection connection) {
+            this.sql = sql;
+            this.connection = connection;
+        }
+
+        Object proxy(Class<?> type) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    this.args.put(index, name.equals("setNull") ? null : Recording.capture(args[1]));
+                    return null;
+                }
+                switch (name) {
+                    case "execute" -> {
+                        execute();
+                        return call.cursors().containsKey(0);
+                    }
+                    case "executeQuery" -> {
+                        execute();
+                        return cursor(0);
+                    }
+                    case "executeUpdate" -> {
+                        execute();
+                        return 0;
+                    }
+                    case "getResultSet" -> {
+                        return cursor(0);
+                    }
+                    case "getUpdateCount" -> {
+                        return -1;
+                    }
+                    case "getMoreResults" -> {
+                        return false;
+                    }
+                    case "getConnection" -> {
+                        return connection;
+                    }
+                    case "clearParameters" -> {
+                        this.args.clear();
+                        return null;
+                    }
+                    case "close" -> {
+                        closed = true;
+                        return null;
+                    }
+                    case "isClosed" -> {
+                        return closed;
+                    }
+                    case "wasNull" -> {
+                        return wasNull;
+                    }
+                    default -> {
+                        if (RecordingDataSource.OUTPUT_GETTERS.contains(name) && args != null && args.length == 1
+                                && args[0] instanceof Integer index) {
+                            return output(index, method.getReturnType());
+                        }
+                        return unsupported(proxy, method, args);
+                    }
+                }
+            });
+        }
+
+        private void execute() throws SQLException {
+            call = find(sql, args);
+            pause(call.executeNanos());
+            if (call.error() != null) {
+                SQLException error = call.error();
+                throw new SQLException(error.getMessage(), error.getSQLState(), error.getErrorCode());
+            }
+        }
+
+        private Object output(int index, Class<?> type) throws SQLException {
+            if (call == null) {
+                throw new SQLException("Statement not executed");
+            }
+            if (call.cursors().containsKey(index)) {
+                return cursor(index);
+            }
+            Object value = call.outputs().get(index);
+            wasNull = value == null;
+            return convert(value, type);
+        }
+
+        private ResultSet cursor(int index) {
+            Recording.Cursor cursor = call != null ? call.cursors().get(index) : null;
+            return cursor != null ? new ReplayedCursor(cursor).proxy() : null;
+        }
+    }
+
+    /**
+     * Recorded rows served through a forward-only ResultSet.
+     */
+    private final class ReplayedCursor {
+
+        private final Recording.Cursor cursor;
+        private final long nanosPerRow;
+        private int row = -1;
+        private long debt;
+        private boolean wasNull;
+        private boolean closed;
+        private int fetchSize;
+
+        ReplayedCursor(Recording.Cursor cursor) {
+            this.cursor = cursor;
+            this.nanosPerRow = cursor.rows().isEmpty() ? 0 : cursor.fetchNanos() / cursor.rows().size();
+        }
+
+        ResultSet proxy() {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "next" -> next();
+                        case "getMetaData" -> metaData();
+                        case "findColumn" -> findColumn((String) args[0]);
+                        case "wasNull" -> wasNull;
+                        case "close" -> {
+                            closed = true;
+                            yield null;
+                        }
+                        case "isClosed" -> closed;
+                        case "setFetchSize" -> {
+                            fetchSize = (Integer) args[0];
+                            yield null;
+                        }
+                        case "getFetchSize" -> fetchSize;
+                        case "getRow" -> row + 1;
+                        default -> {
+                            if (method.getName().startsWith("get") && args != null && args.length >= 1
+                                    && (args[0] instanceof Integer || args[0] instanceof String)) {
+                                int column = args[0] instanceof Integer index ? index : findColumn((String) args[0]);
+                                yield value(column, method.getReturnType());
+                            }
+                            yield unsupported(proxy, method, args);
+                        }
+                    });
+        }
+
+        private boolean next() {
+            if (row + 1 >= cursor.rows().size()) {
+                row = cursor.rows().size();
+                return false;
+            }
+            row++;
+            // Recorded fetch time, spread over the rows and paid in steps of at least 1 ms
+            debt += (long) (nanosPerRow * speed);
+            if (debt >= 1_000_000) {
+                LockSupport.parkNanos(debt);
+                debt = 0;
+            }
+            return true;
+        }
+
+        private Object value(int column, Class<?> type) throws SQLException {
+            if (row < 0 || row >= cursor.rows().size()) {
+                throw new SQLException("ResultSet not positioned on a row");
+            }
+            Object value = cursor.rows().get(row)[column - 1];
+            wasNull = value == null;
+            return convert(value, type);
+        }
+
+        private int findColumn(String label) throws SQLException {
+            for (int i = 0; i < cursor.columns().length; i++) {
+                if (cursor.columns()[i].equalsIgnoreCase(label)) {
+                    return i + 1;
+                }
+            }
+            throw new SQLException("No column " + label);
+        }
+
+        private ResultSetMetaData metaData() {
+            return (ResultSetMetaData) Proxy.newProxyInstance(ResultSetMetaData.class.getClassLoader(),
+                    new Class<?>[]{ResultSetMetaData.class}, (proxy, method, args) -> switch (method.getName()) {
+                        case "getColumnCount" -> cursor.columns().length;
+                        case "getColumnName", "getColumnLabel" -> cursor.columns()[(Integer) args[0] - 1];
+                        case "getColumnType" -> cursor.types()[(Integer) args[0] - 1];
+                        default -> unsupported(proxy, method, args);
+                    });
+        }
+    }
+
+    /**
+     * A recorded value as the type the getter returns.
+     */
+    private static Object convert(Object value, Class<?> type) throws SQLException {
+        if (value == null) {
+            return type.isPrimitive() ? (type == boolean.class ? Boolean.FALSE : defaultNumber(type)) : null;
+        }
+        if (type == Object.class || type.isInstance(value)) {
+            return value;
+        }
+        if (type == String.class) {
+            return value instanceof byte[] bytes ? new String(bytes) : value.toString();
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimal(value.toString());
+        }
+        if (type == int.class || type == Integer.class) {
+            return new BigDecimal(value.toString()).intValue();
+        }
+        if (type == long.class || type == Long.class) {
+            return new BigDecimal(value.toString()).longValue();
+        }
+        if (type == double.class || type == Double.class) {
+            return Double.parseDouble(value.toString());
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return value instanceof Number number ? number.intValue() != 0 : Boolean.parseBoolean(value.toString());
+        }
+        if (type == Timestamp.class && value instanceof java.util.Date date) {
+            return new Timestamp(date.getTime());
+        }
+        if (type == java.sql.Date.class && value instanceof java.util.Date date) {
+            return new java.sql.Date(date.getTime());
+        }
+        if (type == java.sql.Blob.class && value instanceof byte[] bytes) {
+            return new SerialBlob(bytes);
+        }
+        throw new SQLException("Recorded " + value.getClass().getSimpleName() + " cannot be read as " + type.getSimpleName());
+    }
+
+    private static Object defaultNumber(Class<?> type) {
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0.0;
+        }
+        return 0;
+    }
+}
@@ -2,13 +2,14 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.AuditLogService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.CursorStream;
+import com.digibo.core.service.base.ProcedureSpec;
+import com.digibo.core.service.base.ReferenceDataCache;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -20,8 +21,29 @@ import java.util.Map;
 @Profile("!mock")
 public class AuditLogServiceImpl extends BaseService implements AuditLogService {
 
-    public AuditLogServiceImpl() {
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_DFROM", Types.DATE)
+            .in("P_DTO", Types.DATE)
+            .in("P_EVENTS", Types.VARCHAR)
+            .in("P_OBJECT", Types.VARCHAR)
+            .in("P_ORIGINATOR", Types.VARCHAR)
+            .in("P_CHANNELS", Types.VARCHAR)
+            .in("P_RESULT_SET_SIZE", Types.NUMERIC)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec findSessionSpec = procedure("findSession")
+            .in("P_SESSION", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec getTreeSpec = procedure("get_tree").cursor("P_CURSOR").build();
+
+    private final ReferenceDataCache.Lookup tree;
+
+    public AuditLogServiceImpl(ReferenceDataCache referenceData) {
         super("BOAuditLog");
+        this.tree = referenceData.define(ReferenceDataCache.AUDIT_LOG_TREE, args -> loadTree());
     }
 
     @Override
@@ -30,76 +52,34 @@ public class AuditLogServiceImpl extends BaseService implements AuditLogService
         logger.debug("Calling BOAuditLog.find({}, {}, {}, {}, {}, {}, {})",
                 dfrom, dto, events, pObject, pOriginator, pChannels, pResultSetSize);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_DFROM", Types.DATE),
-                inParam("P_DTO", Types.DATE),
-                inParam("P_EVENTS", Types.VARCHAR),
-                inParam("P_OBJECT", Types.VARCHAR),
-                inParam("P_ORIGINATOR", Types.VARCHAR),
-                inParam("P_CHANNELS", Types.VARCHAR),
-                inParam("P_RESULT_SET_SIZE", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_DFROM", dfrom);
-        inputParams.put("P_DTO", dto);
-        inputParams.put("P_EVENTS", events);
-        inputParams.put("P_OBJECT", pObject);
-        inputParams.put("P_ORIGINATOR", pOriginator);
-        inputParams.put("P_CHANNELS", pChannels);
-        inputParams.put("P_RESULT_SET_SIZE", pResultSetSize);
-
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findSpec, rowMapper(), dfrom, dto, events, pObject, pOriginator,
+                pChannels, pResultSetSize);
+    }
+
+    @Override
+    public CursorStream streamFind(Date dfrom, Date dto, String events, String pObject,
+                                   String pOriginator, String pChannels, Integer pResultSetSize) {
+        logger.debug("Streaming BOAuditLog.find()");
+
+        return streamCursorProcedure(findSpec, dfrom, dto, events, pObject, pOriginator, pChannels,
+                pResultSetSize);
     }
 
     @Override
     public List<Map<String, Object>> findSession(String pSession) {
         logger.debug("Calling BOAuditLog.findSession({})", pSession);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_SESSION", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_SESSION", pSession);
-
-        return executeCursorProcedure("findSession", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findSessionSpec, rowMapper(), pSession);
     }
 
     @Override
     public List<Map<String, Object>> getTree() {
-        logger.debug("Calling BOAuditLog.get_tree()");
-
-        List<SqlParameter> params = List.of();
+        return tree.get();
+    }
 
-        Map<String, Object> inputParams = Map.of();
+    private List<Map<String, Object>> loadTree() {
+        logger.debug("Calling BOAuditLog.get_tree()");
 
-        return executeCursorProcedure("get_tree", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getTreeSpec, rowMapper());
     }
 }
@@ -2,79 +2,68 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.AuthPermissionService;
 import com.digibo.core.service.base.BaseService;
-import oracle.jdbc.OracleTypes;
+import com.digibo.core.service.base.ProcedureSpec;
+import com.digibo.core.util.RefreshingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Types;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Implementation of AuthPermissionService that fetches permissions from Oracle.
- * Calls BO_AUTH.GET_USER_PERMISSIONS to retrieve the list of allowed operations.
+ * Calls BO_AUTH.GET_USER_PERMISSIONS to retrieve the list of allowed operations
+ * and BO_AUTH.GET_PERMISSION_CATALOG for the list of all grantable ones.
+ *
+ * Results are kept in a bounded cache (app.permissions.cache-max-size entries,
+ * app.permissions.cache-ttl lifetime). Concurrent logins of the same user share one
+ * query, and users that stay active are refreshed in the background within
+ * app.permissions.refresh-ahead of expiry so they never wait for the query.
  */
 @Service
 @Profile("!mock")
 public class AuthPermissionServiceImpl extends BaseService implements AuthPermissionService {
 
-    // Simple cache to avoid repeated DB calls during a session
-    // In production, consider using Spring Cache or Redis
-    private final Map<String, CachedPermissions> permissionCache = new ConcurrentHashMap<>();
-    private static final long CACHE_TTL_MS = 5 * 60 * 1000; // 5 minutes
+    private final ProcedureSpec getUserPermissionsSpec = procedure("GET_USER_PERMISSIONS")
+            .in("P_USERNAME", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
 
-    public AuthPermissionServiceImpl() {
+    private final ProcedureSpec getPermissionCatalogSpec = procedure("GET_PERMISSION_CATALOG")
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ExecutorService refresher = Executors.newFixedThreadPool(2, r -> {
+        Thread thread = new Thread(r, "permission-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final RefreshingCache<String, Set<String>> permissionCache;
+
+    public AuthPermissionServiceImpl(
+            MeterRegistry meterRegistry,
+            @Value("${app.permissions.cache-max-size:1000}") int cacheMaxSize,
+            @Value("${app.permissions.cache-ttl:300000}") long cacheTtl,
+            @Value("${app.permissions.refresh-ahead:60000}") long refreshAhead) {
         super("BO_AUTH");
+        this.permissionCache = new RefreshingCache<>("permissions", cacheMaxSize, cacheTtl, refreshAhead,
+                this::loadUserPermissions, refresher, meterRegistry);
     }
 
     @Override
     public Set<String> getUserPermissions(String username) {
-        // Check cache first
-        CachedPermissions cached = permissionCache.get(username.toUpperCase());
-        if (cached != null && !cached.isExpired()) {
-            logger.debug("Returning cached permissions for user: {}", username);
-            return cached.permissions;
-        }
-
-        logger.debug("Fetching permissions from Oracle for user: {}", username);
-
-        List<SqlParameter> params = List.of(
-                inParam("P_USERNAME", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_USERNAME", username.toUpperCase());
-
-        List<Map<String, Object>> results = executeCursorProcedure(
-                "GET_USER_PERMISSIONS",
-                params,
-                inputParams,
-                "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new java.util.HashMap<>();
-                    row.put("PACKAGE_NAME", rs.getString("PACKAGE_NAME"));
-                    row.put("PROCEDURE_NAME", rs.getString("PROCEDURE_NAME"));
-                    return row;
-                }
-        );
-
-        Set<String> permissions = new HashSet<>();
-        for (Map<String, Object> row : results) {
-            String packageName = (String) row.get("PACKAGE_NAME");
-            String procedureName = (String) row.get("PROCEDURE_NAME");
-            if (packageName != null && procedureName != null) {
-                permissions.add(packageName.toUpperCase() + "." + procedureName.toUpperCase());
-            }
-        }
-
-        // Cache the permissions
-        permissionCache.put(username.toUpperCase(), new CachedPermissions(permissions));
-        logger.debug("Cached {} permissions for user: {}", permissions.size(), username);
-
-        return permissions;
+        return permissionCache.get(username.toUpperCase());
     }
 
     @Override
@@ -87,28 +76,56 @@ public class AuthPermissionServiceImpl extends BaseService implements AuthPermis
     /**
      * Clear cached permissions for a user (e.g., on logout or permission change)
      */
+    @Override
     public void clearCache(String username) {
-        permissionCache.remove(username.toUpperCase());
+        permissionCache.invalidate(username.toUpperCase());
     }
 
     /**
      * Clear all cached permissions
      */
+    @Override
     public void clearAllCache() {
-        permissionCache.clear();
+        permissionCache.invalidateAll();
     }
 
-    private static class CachedPermissions {
-        final Set<String> permissions;
-        final long timestamp;
+    @Override
+    public List<String> getPermissionCatalog() {
+        List<String> catalog = executeCursorProcedure(getPermissionCatalogSpec, AuthPermissionServiceImpl::permissionKey)
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+        logger.debug("Loaded permission catalog with {} entries", catalog.size());
+        return catalog;
+    }
 
-        CachedPermissions(Set<String> permissions) {
-            this.permissions = permissions;
-            this.timestamp = System.currentTimeMillis();
-        }
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private Set<String> loadUserPermissions(String username) {
+        logger.debug("Fetching permissions from Oracle for user: {}", username);
 
-        boolean isExpired() {
-            return System.currentTimeMillis() - timestamp > CACHE_TTL_MS;
+        List<String> results = executeCursorProcedure(getUserPermissionsSpec,
+                AuthPermissionServiceImpl::permissionKey, username);
+
+        Set<String> permissions = new HashSet<>();
+        for (String permission : results) {
+            if (permission != null) {
+                permissions.add(permission);
+            }
         }
+
+        logger.debug("Cached {} permissions for user: {}", permissions.size(), username);
+        return Set.copyOf(permissions);
+    }
+
+    private static String permissionKey(ResultSet rs, int rowNum) throws SQLException {
+        String packageName = rs.getString("PACKAGE_NAME");
+        String procedureName = rs.getString("PROCEDURE_NAME");
+        return packageName != null && procedureName != null
+                ? packageName.toUpperCase() + "." + procedureName.toUpperCase()
+                : null;
     }
 }
@@ -2,9 +2,9 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.CQService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.CursorStream;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -18,6 +18,67 @@ import java.util.*;
 @Profile("!mock")
 public class CQServiceImpl extends BaseService implements CQService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_DOC_CLASS", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec findMySpec = procedure("find_my")
+            .in("P_DOC_CLASS", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec cqSpec = procedure("cq")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_DOC_NO", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_USER_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_CUST_NAME", Types.VARCHAR)
+            .out("P_CUST_ACCOUNT", Types.VARCHAR)
+            .out("P_GLOBUS_NO", Types.VARCHAR)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_ITB", Types.VARCHAR)
+            .out("P_AUTH_NAME", Types.VARCHAR)
+            .out("P_AUTH_SURNAME", Types.VARCHAR)
+            .out("P_AUTH_LEGAL_ID", Types.VARCHAR)
+            .out("P_AUTH_PASSPORT_NO", Types.VARCHAR)
+            .out("P_AUTH_PASSPORT_COUNTRY", Types.VARCHAR)
+            .out("P_AUTH_PASSPORT_INST", Types.VARCHAR)
+            .out("P_AUTH_PHONE", Types.VARCHAR)
+            .out("P_AUTH_FAX", Types.VARCHAR)
+            .out("P_AUTH_EMAIL", Types.VARCHAR)
+            .out("P_CONTACT_PERSON_NAME", Types.VARCHAR)
+            .out("P_CONTACT_PERSON_SURNAME", Types.VARCHAR)
+            .out("P_CONTACT_PERSON_PHONE", Types.VARCHAR)
+            .out("P_CONTACT_PERSON_EMAIL", Types.VARCHAR)
+            .out("P_ECONIMIC_ACTIVITY", Types.VARCHAR)
+            .out("P_RECIPIENTS", Types.VARCHAR)
+            .out("P_SUPPLIERS", Types.VARCHAR)
+            .out("P_INCOMING_PAYMENTS", Types.VARCHAR)
+            .out("P_OUTGOING_PAYMENTS", Types.VARCHAR)
+            .out("P_FINANCE_CLIENTS", Types.VARCHAR)
+            .out("P_LOCATION", Types.VARCHAR)
+            .out("P_SIGN_TIME", Types.TIMESTAMP)
+            .out("P_SIGN_DEV_TYPE", Types.NUMERIC)
+            .out("P_SIGN_DEV_ID", Types.VARCHAR)
+            .out("P_SIGN_KEY1", Types.VARCHAR)
+            .out("P_SIGN_KEY2", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec getExtensionsSpec = procedure("get_extensions")
+            .in("P_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
     public CQServiceImpl() {
         super("BOCQ");
     }
@@ -28,111 +89,32 @@ public class CQServiceImpl extends BaseService implements CQService {
                                            String statuses, Date createdFrom, Date createdTill) {
         logger.debug("Calling BOCQ.find() with filters");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_DOC_CLASS", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_DOC_CLASS", docClass);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
-
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, userLogin, officerId, docClass,
+                docId, statuses, createdFrom, createdTill);
+    }
+
+    @Override
+    public CursorStream streamFind(String custId, String custName, String userLogin, Long officerId,
+                                   String docClass, String docId, String statuses, Date createdFrom,
+                                   Date createdTill) {
+        logger.debug("Streaming BOCQ.find()");
+
+        return streamCursorProcedure(findSpec, custId, custName, userLogin, officerId, docClass, docId,
+                statuses, createdFrom, createdTill);
     }
 
     @Override
     public List<Map<String, Object>> findMy(String docClass) {
         logger.debug("Calling BOCQ.find_my({})", docClass);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_DOC_CLASS", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_DOC_CLASS", docClass != null ? docClass : "");
-
-        return executeCursorProcedure("find_my", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findMySpec, rowMapper(), docClass != null ? docClass : "");
     }
 
     @Override
     public Map<String, Object> cq(String docId) {
         logger.debug("Calling BOCQ.cq({})", docId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_DOC_NO", Types.VARCHAR),
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_USER_ID", Types.VARCHAR),
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_CUST_NAME", Types.VARCHAR),
-                outParam("P_CUST_ACCOUNT", Types.VARCHAR),
-                outParam("P_GLOBUS_NO", Types.VARCHAR),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_ITB", Types.VARCHAR),
-                outParam("P_AUTH_NAME", Types.VARCHAR),
-                outParam("P_AUTH_SURNAME", Types.VARCHAR),
-                outParam("P_AUTH_LEGAL_ID", Types.VARCHAR),
-                outParam("P_AUTH_PASSPORT_NO", Types.VARCHAR),
-                outParam("P_AUTH_PASSPORT_COUNTRY", Types.VARCHAR),
-                outParam("P_AUTH_PASSPORT_INST", Types.VARCHAR),
-                outParam("P_AUTH_PHONE", Types.VARCHAR),
-                outParam("P_AUTH_FAX", Types.VARCHAR),
-                outParam("P_AUTH_EMAIL", Types.VARCHAR),
-                outParam("P_CONTACT_PERSON_NAME", Types.VARCHAR),
-                outParam("P_CONTACT_PERSON_SURNAME", Types.VARCHAR),
-                outParam("P_CONTACT_PERSON_PHONE", Types.VARCHAR),
-                outParam("P_CONTACT_PERSON_EMAIL", Types.VARCHAR),
-                outParam("P_ECONIMIC_ACTIVITY", Types.VARCHAR),
-                outParam("P_RECIPIENTS", Types.VARCHAR),
-                outParam("P_SUPPLIERS", Types.VARCHAR),
-                outParam("P_INCOMING_PAYMENTS", Types.VARCHAR),
-                outParam("P_OUTGOING_PAYMENTS", Types.VARCHAR),
-                outParam("P_FINANCE_CLIENTS", Types.VARCHAR),
-                outParam("P_LOCATION", Types.VARCHAR),
-                outParam("P_SIGN_TIME", Types.TIMESTAMP),
-                outParam("P_SIGN_DEV_TYPE", Types.NUMERIC),
-                outParam("P_SIGN_DEV_ID", Types.VARCHAR),
-                outParam("P_SIGN_KEY1", Types.VARCHAR),
-                outParam("P_SIGN_KEY2", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", docId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("cq", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(cqSpec, docId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("id", docId);
@@ -178,21 +160,6 @@ public class CQServiceImpl extends BaseService implements CQService {
     public List<Map<String, Object>> getExtensions(String docId) {
         logger.debug("Calling BOCQ.get_extensions({})", docId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", docId);
-
-        return executeCursorProcedure("get_extensions", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getExtensionsSpec, rowMapper(), docId);
     }
 }
@@ -2,9 +2,9 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.CRUService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.CursorStream;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -18,6 +18,32 @@ import java.util.*;
 @Profile("!mock")
 public class CRUServiceImpl extends BaseService implements CRUService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec cruSpec = procedure("cru")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_DOC_NO", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_USER_ID", Types.VARCHAR)
+            .out("P_CUST_NAME", Types.VARCHAR)
+            .out("P_GLOBUS_NO", Types.VARCHAR)
+            .out("P_LOCATION", Types.VARCHAR)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_ITB", Types.VARCHAR)
+            .out("P_SIGN_TIME", Types.TIMESTAMP)
+            .out("P_SIGN_DEV_TYPE", Types.NUMERIC)
+            .out("P_SIGN_DEV_ID", Types.VARCHAR)
+            .out("P_SIGN_KEY1", Types.VARCHAR)
+            .out("P_SIGN_KEY2", Types.VARCHAR)
+            .build();
+
     public CRUServiceImpl() {
         super("BOCRU");
     }
@@ -27,60 +53,23 @@ public class CRUServiceImpl extends BaseService implements CRUService {
                                            Date createdFrom, Date createdTill) {
         logger.debug("Calling BOCRU.find() with filters");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE)
-        );
+        return executeCursorProcedure(findSpec, rowMapper(), custId, docId, statuses, createdFrom,
+                createdTill);
+    }
 
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
+    @Override
+    public CursorStream streamFind(String custId, String docId, String statuses, Date createdFrom,
+                                   Date createdTill) {
+        logger.debug("Streaming BOCRU.find()");
 
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return streamCursorProcedure(findSpec, custId, docId, statuses, createdFrom, createdTill);
     }
 
     @Override
     public Map<String, Object> cru(String docId) {
         logger.debug("Calling BOCRU.cru({})", docId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_DOC_NO", Types.VARCHAR),
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_USER_ID", Types.VARCHAR),
-                outParam("P_CUST_NAME", Types.VARCHAR),
-                outParam("P_GLOBUS_NO", Types.VARCHAR),
-                outParam("P_LOCATION", Types.VARCHAR),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_ITB", Types.VARCHAR),
-                outParam("P_SIGN_TIME", Types.TIMESTAMP),
-                outParam("P_SIGN_DEV_TYPE", Types.NUMERIC),
-                outParam("P_SIGN_DEV_ID", Types.VARCHAR),
-                outParam("P_SIGN_KEY1", Types.VARCHAR),
-                outParam("P_SIGN_KEY2", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", docId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("cru", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(cruSpec, docId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("id", docId);
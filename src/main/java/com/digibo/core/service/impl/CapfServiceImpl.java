@@ -2,9 +2,9 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.CapfService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.CursorStream;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -21,6 +21,60 @@ import java.util.Map;
 @Profile("!mock")
 public class CapfServiceImpl extends BaseService implements CapfService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_DOC_CLASS", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .in("P_CUSTOMER_NAME", Types.VARCHAR)
+            .in("P_LEGAL_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec findMySpec = procedure("find_my")
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec capforderSpec = procedure("capforder")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_LEGAL_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_CUST_NAME", Types.VARCHAR)
+            .out("P_GLOBUS_NO", Types.VARCHAR)
+            .out("P_LOCATION", Types.VARCHAR)
+            .out("P_FROM_ACCOUNT", Types.VARCHAR)
+            .out("P_UT_PHONE_NUMBER", Types.VARCHAR)
+            .out("P_PHONE_MOBILE", Types.VARCHAR)
+            .out("P_AUTH_NAME", Types.VARCHAR)
+            .out("P_AUTH_SURNAME", Types.VARCHAR)
+            .out("P_AUTH_LEGAL_ID", Types.VARCHAR)
+            .out("P_AUTH_PASSPORT_NO", Types.VARCHAR)
+            .out("P_AUTH_PASSPORT_COUNTRY", Types.VARCHAR)
+            .out("P_AUTH_PASSPORT_INST", Types.VARCHAR)
+            .out("P_AUTH_PHONE", Types.VARCHAR)
+            .out("P_AUTH_FAX", Types.VARCHAR)
+            .out("P_AUTH_EMAIL", Types.VARCHAR)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_ITB", Types.VARCHAR)
+            .out("P_CHANNEL_ID", Types.NUMERIC)
+            .out("P_SIGN_TIME", Types.TIMESTAMP)
+            .out("P_SIGN_DEV_TYPE", Types.NUMERIC)
+            .out("P_SIGN_DEV_ID", Types.VARCHAR)
+            .out("P_SIGN_KEY1", Types.VARCHAR)
+            .out("P_SIGN_KEY2", Types.VARCHAR)
+            .out("P_SIGN_RSA", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec setProcessingSpec = function("set_processing", Types.INTEGER)
+            .in("P_ID", Types.VARCHAR)
+            .build();
+
     public CapfServiceImpl() {
         super("BOCapf");
     }
@@ -34,106 +88,32 @@ public class CapfServiceImpl extends BaseService implements CapfService {
                 custId, custName, userLogin, docId, statuses, docClass,
                 createdFrom, createdTill, customerName, legalId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_DOC_CLASS", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE),
-                inParam("P_CUSTOMER_NAME", Types.VARCHAR),
-                inParam("P_LEGAL_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_DOC_CLASS", docClass);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
-        inputParams.put("P_CUSTOMER_NAME", customerName);
-        inputParams.put("P_LEGAL_ID", legalId);
-
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, userLogin, docId, statuses,
+                docClass, createdFrom, createdTill, customerName, legalId);
+    }
+
+    @Override
+    public CursorStream streamFind(String custId, String custName, String userLogin, String docId,
+                                   String statuses, String docClass, Date createdFrom, Date createdTill,
+                                   String customerName, String legalId) {
+        logger.debug("Streaming BOCapf.find()");
+
+        return streamCursorProcedure(findSpec, custId, custName, userLogin, docId, statuses, docClass,
+                createdFrom, createdTill, customerName, legalId);
     }
 
     @Override
     public List<Map<String, Object>> findMy(Long officerId) {
         logger.debug("Calling BOCapf.find_my({})", officerId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_OFFICER_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_OFFICER_ID", officerId != null ? officerId : 0L);
-
-        return executeCursorProcedure("find_my", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findMySpec, rowMapper(), officerId != null ? officerId : 0L);
     }
 
     @Override
     public Map<String, Object> capforder(String orderId) {
         logger.debug("Calling BOCapf.capforder({})", orderId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_LEGAL_ID", Types.VARCHAR),
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_CUST_NAME", Types.VARCHAR),
-                outParam("P_GLOBUS_NO", Types.VARCHAR),
-                outParam("P_LOCATION", Types.VARCHAR),
-                outParam("P_FROM_ACCOUNT", Types.VARCHAR),
-                outParam("P_UT_PHONE_NUMBER", Types.VARCHAR),
-                outParam("P_PHONE_MOBILE", Types.VARCHAR),
-                outParam("P_AUTH_NAME", Types.VARCHAR),
-                outParam("P_AUTH_SURNAME", Types.VARCHAR),
-                outParam("P_AUTH_LEGAL_ID", Types.VARCHAR),
-                outParam("P_AUTH_PASSPORT_NO", Types.VARCHAR),
-                outParam("P_AUTH_PASSPORT_COUNTRY", Types.VARCHAR),
-                outParam("P_AUTH_PASSPORT_INST", Types.VARCHAR),
-                outParam("P_AUTH_PHONE", Types.VARCHAR),
-                outParam("P_AUTH_FAX", Types.VARCHAR),
-                outParam("P_AUTH_EMAIL", Types.VARCHAR),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_ITB", Types.VARCHAR),
-                outParam("P_CHANNEL_ID", Types.NUMERIC),
-                outParam("P_SIGN_TIME", Types.TIMESTAMP),
-                outParam("P_SIGN_DEV_TYPE", Types.NUMERIC),
-                outParam("P_SIGN_DEV_ID", Types.VARCHAR),
-                outParam("P_SIGN_KEY1", Types.VARCHAR),
-                outParam("P_SIGN_KEY2", Types.VARCHAR),
-                outParam("P_SIGN_RSA", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", orderId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("capforder", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(capforderSpec, orderId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("id", orderId);
@@ -172,13 +152,7 @@ public class CapfServiceImpl extends BaseService implements CapfService {
     public int setProcessing(String orderId) {
         logger.debug("Calling BOCapf.set_processing({})", orderId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", orderId);
-
-        Integer result = executeScalarFunction("set_processing", params, inputParams, Types.INTEGER);
+        Integer result = executeScalarFunction(setProcessingSpec, orderId);
         return result != null ? result : 0;
     }
 }
@@ -2,9 +2,8 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.CardsService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -21,6 +20,89 @@ import java.util.Map;
 @Profile("!mock")
 public class CardsServiceImpl extends BaseService implements CardsService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_DOC_CLASS", Types.VARCHAR)
+            .in("P_FROM_LOCATION", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .in("P_CHANNELS", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec findMySpec = procedure("find_my")
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_DOC_CLASS", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec getExtensionsSpec = procedure("get_extensions")
+            .in("P_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec setProcessingSpec = function("set_processing", Types.INTEGER)
+            .in("P_ID", Types.VARCHAR)
+            .in("P_STATUS_ID_FROM", Types.NUMERIC)
+            .build();
+
+    private final ProcedureSpec cardSpec = procedure("card")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_USER_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_CUST_NAME", Types.VARCHAR)
+            .out("P_CUST_COUNTRY", Types.VARCHAR)
+            .out("P_CUST_ACCOUNT", Types.VARCHAR)
+            .out("P_GRP_ID", Types.VARCHAR)
+            .out("P_GRP_NAME", Types.VARCHAR)
+            .out("P_PROD_NAME", Types.VARCHAR)
+            .out("P_PROD_CCY", Types.VARCHAR)
+            .out("P_PAN", Types.VARCHAR)
+            .out("P_EMAIL", Types.VARCHAR)
+            .out("P_PHONE", Types.VARCHAR)
+            .out("P_MOBILE", Types.VARCHAR)
+            .out("P_CHARGES_ACSD_ID", Types.VARCHAR)
+            .out("P_INTEREST_IBAN", Types.VARCHAR)
+            .out("P_ISSUE_FOR_ACCOUNT", Types.VARCHAR)
+            .out("P_ISSUE_FOR_CUSTOMER", Types.VARCHAR)
+            .out("P_CARD_STAN", Types.VARCHAR)
+            .out("P_CARD_STATUS_FROM", Types.VARCHAR)
+            .out("P_CARD_STATUS_TO", Types.VARCHAR)
+            .out("P_CORTEX_STATUS", Types.NUMERIC)
+            .out("P_CORTEX_DETAILS", Types.VARCHAR)
+            .out("P_LOST_TYPE", Types.NUMERIC)
+            .out("P_LOST_DATE", Types.DATE)
+            .out("P_FF_TEXT", Types.VARCHAR)
+            .out("P_LOCATION", Types.VARCHAR)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_ITB", Types.VARCHAR)
+            .out("P_SIGN_TIME", Types.TIMESTAMP)
+            .out("P_SIGN_DEV_TYPE", Types.NUMERIC)
+            .out("P_SIGN_DEV_ID", Types.VARCHAR)
+            .out("P_SIGN_KEY1", Types.VARCHAR)
+            .out("P_SIGN_KEY2", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec getLostAddrSpec = procedure("get_lost_addr")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_LOST_COUNTRY", Types.VARCHAR)
+            .out("P_LOST_CITY", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec getIssueAddrSpec = procedure("get_issue_addr")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_RECEIVING_TYPE", Types.NUMERIC)
+            .out("P_OFFICE", Types.VARCHAR)
+            .out("P_COUNTRY", Types.VARCHAR)
+            .out("P_ADDRESS", Types.VARCHAR)
+            .build();
+
     public CardsServiceImpl() {
         super("BOCards");
     }
@@ -34,106 +116,29 @@ public class CardsServiceImpl extends BaseService implements CardsService {
                 custId, custName, userLogin, officerId, docClass, fromLocation,
                 docId, statuses, createdFrom, createdTill, channels);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_DOC_CLASS", Types.VARCHAR),
-                inParam("P_FROM_LOCATION", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE),
-                inParam("P_CHANNELS", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_DOC_CLASS", docClass);
-        inputParams.put("P_FROM_LOCATION", fromLocation);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
-        inputParams.put("P_CHANNELS", channels);
-
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, userLogin, officerId, docClass,
+                fromLocation, docId, statuses, createdFrom, createdTill, channels);
     }
 
     @Override
     public List<Map<String, Object>> findMy(Long officerId, String docClass) {
         logger.debug("Calling BOCards.find_my({}, {})", officerId, docClass);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_DOC_CLASS", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_DOC_CLASS", docClass);
-
-        return executeCursorProcedure("find_my", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findMySpec, rowMapper(), officerId, docClass);
     }
 
     @Override
     public List<Map<String, Object>> getExtensions(String docId) {
         logger.debug("Calling BOCards.get_extensions({})", docId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", docId);
-
-        return executeCursorProcedure("get_extensions", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getExtensionsSpec, rowMapper(), docId);
     }
 
     @Override
     public int setProcessing(String docId, Integer statusIdFrom) {
         logger.debug("Calling BOCards.set_processing({}, {})", docId, statusIdFrom);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR),
-                inParam("P_STATUS_ID_FROM", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", docId);
-        inputParams.put("P_STATUS_ID_FROM", statusIdFrom);
-
-        Integer result = executeScalarFunction("set_processing", params, inputParams, Types.INTEGER);
+        Integer result = executeScalarFunction(setProcessingSpec, docId, statusIdFrom);
         return result != null ? result : -1;
     }
 
@@ -141,50 +146,7 @@ public class CardsServiceImpl extends BaseService implements CardsService {
     public Map<String, Object> card(String docId) {
         logger.debug("Calling BOCards.card({})", docId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_USER_ID", Types.VARCHAR),
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_CUST_NAME", Types.VARCHAR),
-                outParam("P_CUST_COUNTRY", Types.VARCHAR),
-                outParam("P_CUST_ACCOUNT", Types.VARCHAR),
-                outParam("P_GRP_ID", Types.VARCHAR),
-                outParam("P_GRP_NAME", Types.VARCHAR),
-                outParam("P_PROD_NAME", Types.VARCHAR),
-                outParam("P_PROD_CCY", Types.VARCHAR),
-                outParam("P_PAN", Types.VARCHAR),
-                outParam("P_EMAIL", Types.VARCHAR),
-                outParam("P_PHONE", Types.VARCHAR),
-                outParam("P_MOBILE", Types.VARCHAR),
-                outParam("P_CHARGES_ACSD_ID", Types.VARCHAR),
-                outParam("P_INTEREST_IBAN", Types.VARCHAR),
-                outParam("P_ISSUE_FOR_ACCOUNT", Types.VARCHAR),
-                outParam("P_ISSUE_FOR_CUSTOMER", Types.VARCHAR),
-                outParam("P_CARD_STAN", Types.VARCHAR),
-                outParam("P_CARD_STATUS_FROM", Types.VARCHAR),
-                outParam("P_CARD_STATUS_TO", Types.VARCHAR),
-                outParam("P_CORTEX_STATUS", Types.NUMERIC),
-                outParam("P_CORTEX_DETAILS", Types.VARCHAR),
-                outParam("P_LOST_TYPE", Types.NUMERIC),
-                outParam("P_LOST_DATE", Types.DATE),
-                outParam("P_FF_TEXT", Types.VARCHAR),
-                outParam("P_LOCATION", Types.VARCHAR),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_ITB", Types.VARCHAR),
-                outParam("P_SIGN_TIME", Types.TIMESTAMP),
-                outParam("P_SIGN_DEV_TYPE", Types.NUMERIC),
-                outParam("P_SIGN_DEV_ID", Types.VARCHAR),
-                outParam("P_SIGN_KEY1", Types.VARCHAR),
-                outParam("P_SIGN_KEY2", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", docId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("card", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(cardSpec, docId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("id", docId);
@@ -230,18 +192,7 @@ public class CardsServiceImpl extends BaseService implements CardsService {
     public Map<String, Object> getLostAddr(String docId) {
         logger.debug("Calling BOCards.get_lost_addr({})", docId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_LOST_COUNTRY", Types.VARCHAR),
-                outParam("P_LOST_CITY", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", docId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("get_lost_addr", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(getLostAddrSpec, docId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("documentId", docId);
@@ -255,20 +206,7 @@ public class CardsServiceImpl extends BaseService implements CardsService {
     public Map<String, Object> getIssueAddr(String docId) {
         logger.debug("Calling BOCards.get_issue_addr({})", docId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_RECEIVING_TYPE", Types.NUMERIC),
-                outParam("P_OFFICE", Types.VARCHAR),
-                outParam("P_COUNTRY", Types.VARCHAR),
-                outParam("P_ADDRESS", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", docId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("get_issue_addr", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(getIssueAddrSpec, docId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("documentId", docId);
@@ -2,9 +2,9 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.CustodyService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.CursorStream;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -18,6 +18,58 @@ import java.util.*;
 @Profile("!mock")
 public class CustodyServiceImpl extends BaseService implements CustodyService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_DOC_CLASS", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec findMySpec = procedure("findMy")
+            .in("P_OFFICER_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec setProcessingSpec = function("setProcessing", Types.INTEGER)
+            .in("P_ID", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec custodySpec = procedure("custody")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_LEGAL_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_CUST_NAME", Types.VARCHAR)
+            .out("P_GLOBUS_NO", Types.VARCHAR)
+            .out("P_LOCATION", Types.VARCHAR)
+            .out("P_FROM_ACCOUNT", Types.VARCHAR)
+            .out("P_UT_PHONE_NUMBER", Types.VARCHAR)
+            .out("P_PHONE_MOBILE", Types.VARCHAR)
+            .out("P_AUTH_NAME", Types.VARCHAR)
+            .out("P_AUTH_SURNAME", Types.VARCHAR)
+            .out("P_AUTH_LEGAL_ID", Types.VARCHAR)
+            .out("P_AUTH_PASSPORT_NO", Types.VARCHAR)
+            .out("P_AUTH_PASSPORT_COUNTRY", Types.VARCHAR)
+            .out("P_AUTH_PASSPORT_INST", Types.VARCHAR)
+            .out("P_AUTH_PHONE", Types.VARCHAR)
+            .out("P_AUTH_FAX", Types.VARCHAR)
+            .out("P_AUTH_EMAIL", Types.VARCHAR)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_ITB", Types.VARCHAR)
+            .out("P_CHANNEL_ID", Types.NUMERIC)
+            .out("P_SIGN_TIME", Types.TIMESTAMP)
+            .out("P_SIGN_DEV_TYPE", Types.NUMERIC)
+            .out("P_SIGN_DEV_ID", Types.VARCHAR)
+            .out("P_SIGN_KEY1", Types.VARCHAR)
+            .out("P_SIGN_KEY2", Types.VARCHAR)
+            .out("P_SIGN_RSA", Types.VARCHAR)
+            .build();
+
     public CustodyServiceImpl() {
         super("BOCustody");
     }
@@ -28,73 +80,31 @@ public class CustodyServiceImpl extends BaseService implements CustodyService {
                                            Date createdFrom, Date createdTill) {
         logger.debug("Calling BOCustody.find() with filters");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_DOC_CLASS", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_DOC_CLASS", docClass);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
-
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, userLogin, docId, statuses,
+                docClass, createdFrom, createdTill);
+    }
+
+    @Override
+    public CursorStream streamFind(String custId, String custName, String userLogin, String docId,
+                                   String statuses, String docClass, Date createdFrom, Date createdTill) {
+        logger.debug("Streaming BOCustody.find()");
+
+        return streamCursorProcedure(findSpec, custId, custName, userLogin, docId, statuses, docClass,
+                createdFrom, createdTill);
     }
 
     @Override
     public List<Map<String, Object>> findMy(String officerId) {
         logger.debug("Calling BOCustody.findMy({})", officerId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_OFFICER_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_OFFICER_ID", officerId);
-
-        return executeCursorProcedure("findMy", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findMySpec, rowMapper(), officerId);
     }
 
     @Override
     public Map<String, Object> setProcessing(String orderId) {
         logger.debug("Setting processing status for order {}", orderId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", orderId);
-
-        Integer result = executeScalarFunction("setProcessing", params, inputParams, Types.INTEGER);
+        Integer result = executeScalarFunction(setProcessingSpec, orderId);
         int resultValue = result != null ? result : -1;
 
         Map<String, Object> response = new HashMap<>();
@@ -109,43 +119,7 @@ public class CustodyServiceImpl extends BaseService implements CustodyService {
     public Map<String, Object> custody(String orderId) {
         logger.debug("Calling BOCustody.custody({})", orderId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_LEGAL_ID", Types.VARCHAR),
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_CUST_NAME", Types.VARCHAR),
-                outParam("P_GLOBUS_NO", Types.VARCHAR),
-                outParam("P_LOCATION", Types.VARCHAR),
-                outParam("P_FROM_ACCOUNT", Types.VARCHAR),
-                outParam("P_UT_PHONE_NUMBER", Types.VARCHAR),
-                outParam("P_PHONE_MOBILE", Types.VARCHAR),
-                outParam("P_AUTH_NAME", Types.VARCHAR),
-                outParam("P_AUTH_SURNAME", Types.VARCHAR),
-                outParam("P_AUTH_LEGAL_ID", Types.VARCHAR),
-                outParam("P_AUTH_PASSPORT_NO", Types.VARCHAR),
-                outParam("P_AUTH_PASSPORT_COUNTRY", Types.VARCHAR),
-                outParam("P_AUTH_PASSPORT_INST", Types.VARCHAR),
-                outParam("P_AUTH_PHONE", Types.VARCHAR),
-                outParam("P_AUTH_FAX", Types.VARCHAR),
-                outParam("P_AUTH_EMAIL", Types.VARCHAR),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_ITB", Types.VARCHAR),
-                outParam("P_CHANNEL_ID", Types.NUMERIC),
-                outParam("P_SIGN_TIME", Types.TIMESTAMP),
-                outParam("P_SIGN_DEV_TYPE", Types.NUMERIC),
-                outParam("P_SIGN_DEV_ID", Types.VARCHAR),
-                outParam("P_SIGN_KEY1", Types.VARCHAR),
-                outParam("P_SIGN_KEY2", Types.VARCHAR),
-                outParam("P_SIGN_RSA", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", orderId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("custody", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(custodySpec, orderId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("id", orderId);
@@ -4,14 +4,12 @@ import com.digibo.core.dto.response.ChannelResponse;
 import com.digibo.core.dto.response.UserResponse;
 import com.digibo.core.service.CustomerService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +21,98 @@ import java.util.Map;
 @Profile("!mock")
 public class CustomerServiceImpl extends BaseService implements CustomerService {
 
+    private final ProcedureSpec customerExistsSpec = function("customer_exists", Types.INTEGER)
+            .in("P_ID", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec loadUserChannelsSpec = procedure("load_user_channels")
+            .in("P_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec loadUserInfoSpec = procedure("load_user_info")
+            .in("P_ID", Types.NUMERIC)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec loadUserHistorySpec = procedure("load_user_history")
+            .in("P_ID", Types.NUMERIC)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec loadCustomerTreeSpec = procedure("load_customer_tree")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_LOCATION", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec loadLicensesSpec = procedure("load_licenses")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec checkLicenseSpec = function("check_license", Types.INTEGER)
+            .in("P_ID", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec checkLoginSpec = function("check_login", Types.INTEGER)
+            .in("P_USER_ID", Types.NUMERIC)
+            .in("P_LOGIN", Types.VARCHAR)
+            .in("P_LICENSE", Types.VARCHAR)
+            .in("P_CHANNEL_ID", Types.NUMERIC)
+            .build();
+
+    private final ProcedureSpec loadUsersSpec = procedure("load_users")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CHANNEL", Types.NUMERIC)
+            .in("P_LICENSE", Types.VARCHAR)
+            .in("P_LOCATION", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec loadUserSpec = procedure("load_user")
+            .in("P_ID", Types.NUMERIC)
+            .out("P_NAME", Types.VARCHAR)
+            .out("P_ISSUER_COUNTRY", Types.VARCHAR)
+            .out("P_PERSONAL_ID", Types.VARCHAR)
+            .out("P_PASSPORT_NO", Types.VARCHAR)
+            .out("P_STREET", Types.VARCHAR)
+            .out("P_CITY", Types.VARCHAR)
+            .out("P_COUNTRY", Types.VARCHAR)
+            .out("P_ZIP", Types.VARCHAR)
+            .out("P_PHONE", Types.VARCHAR)
+            .out("P_MOBILE", Types.VARCHAR)
+            .out("P_FAX", Types.VARCHAR)
+            .out("P_EMAIL", Types.VARCHAR)
+            .out("P_APART", Types.VARCHAR)
+            .out("P_HOUSE", Types.VARCHAR)
+            .out("P_STD_Q", Types.NUMERIC)
+            .out("P_SPEC_Q", Types.VARCHAR)
+            .out("P_ANSWER", Types.VARCHAR)
+            .out("P_REG_DATE", Types.DATE)
+            .out("P_CHANGE_DATE", Types.DATE)
+            .out("P_CHANGE_OFFICER_ID", Types.VARCHAR)
+            .out("P_CHANGE_LOGIN", Types.VARCHAR)
+            .out("P_CUSTOMER_ID", Types.NUMERIC)
+            .out("P_MIGR_STATUS", Types.NUMERIC)
+            .out("P_HAS_AGREEMENT_IN_GLOBUS", Types.NUMERIC)
+            .build();
+
+    private final ProcedureSpec loadChannelSpec = procedure("load_channel")
+            .in("P_WOC_ID", Types.VARCHAR)
+            .in("P_CUST_ID", Types.VARCHAR)
+            .out("P_CDEV_TYPE", Types.NUMERIC)
+            .out("P_CDEV_NUM", Types.VARCHAR)
+            .out("P_SELLER_ID", Types.NUMERIC)
+            .out("P_DISTRIB_CENTER_ID", Types.NUMERIC)
+            .out("P_LEVEL", Types.NUMERIC)
+            .out("P_TMP_LEVEL", Types.NUMERIC)
+            .out("P_CHANGE_OFFICER", Types.VARCHAR)
+            .out("P_SPEC_RATE", Types.NUMERIC)
+            .out("P_INFO2BANK", Types.NUMERIC)
+            .out("P_DF_ACCESS_RIGHT", Types.NUMERIC)
+            .build();
+
     public CustomerServiceImpl() {
         super("BOCustomer");
     }
@@ -31,13 +121,7 @@ public class CustomerServiceImpl extends BaseService implements CustomerService
     public int customerExists(String id) {
         logger.debug("Calling BOCustomer.customer_exists({})", id);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", id);
-
-        Integer result = executeScalarFunction("customer_exists", params, inputParams, Types.INTEGER);
+        Integer result = executeScalarFunction(customerExistsSpec, id);
         return result != null ? result : 0;
     }
 
@@ -45,126 +129,42 @@ public class CustomerServiceImpl extends BaseService implements CustomerService
     public List<Map<String, Object>> loadUserChannels(String id) {
         logger.debug("Calling BOCustomer.load_user_channels({})", id);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", id);
-
-        return executeCursorProcedure("load_user_channels", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(loadUserChannelsSpec, rowMapper(), id);
     }
 
     @Override
     public List<Map<String, Object>> loadUserInfo(Long id) {
         logger.debug("Calling BOCustomer.load_user_info({})", id);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", id);
-
-        return executeCursorProcedure("load_user_info", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(loadUserInfoSpec, rowMapper(), id);
     }
 
     @Override
     public List<Map<String, Object>> loadUserHistory(Long id) {
         logger.debug("Calling BOCustomer.load_user_history({})", id);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", id);
-
-        return executeCursorProcedure("load_user_history", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(loadUserHistorySpec, rowMapper(), id);
     }
 
     @Override
     public List<Map<String, Object>> loadCustomerTree(String custId, String location) {
         logger.debug("Calling BOCustomer.load_customer_tree({}, {})", custId, location);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_LOCATION", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_LOCATION", location);
-
-        return executeCursorProcedure("load_customer_tree", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(loadCustomerTreeSpec, rowMapper(), custId, location);
     }
 
     @Override
     public List<Map<String, Object>> loadLicenses(String custId) {
         logger.debug("Calling BOCustomer.load_licenses({})", custId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_CUST_ID", custId);
-
-        return executeCursorProcedure("load_licenses", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(loadLicensesSpec, rowMapper(), custId);
     }
 
     @Override
     public int checkLicense(String id) {
         logger.debug("Calling BOCustomer.check_license({})", id);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", id);
-
-        Integer result = executeScalarFunction("check_license", params, inputParams, Types.INTEGER);
+        Integer result = executeScalarFunction(checkLicenseSpec, id);
         return result != null ? result : 0;
     }
 
@@ -172,20 +172,7 @@ public class CustomerServiceImpl extends BaseService implements CustomerService
     public int checkLogin(Long userId, String login, String license, Long channelId) {
         logger.debug("Calling BOCustomer.check_login({}, {}, {}, {})", userId, login, license, channelId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_USER_ID", Types.NUMERIC),
-                inParam("P_LOGIN", Types.VARCHAR),
-                inParam("P_LICENSE", Types.VARCHAR),
-                inParam("P_CHANNEL_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_USER_ID", userId);
-        inputParams.put("P_LOGIN", login);
-        inputParams.put("P_LICENSE", license);
-        inputParams.put("P_CHANNEL_ID", channelId);
-
-        Integer result = executeScalarFunction("check_login", params, inputParams, Types.INTEGER);
+        Integer result = executeScalarFunction(checkLoginSpec, userId, login, license, channelId);
         return result != null ? result : -1;
     }
 
@@ -193,69 +180,14 @@ public class CustomerServiceImpl extends BaseService implements CustomerService
     public List<Map<String, Object>> loadUsers(String custId, Long channel, String license, String location) {
         logger.debug("Calling BOCustomer.load_users({}, {}, {}, {})", custId, channel, license, location);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CHANNEL", Types.NUMERIC),
-                inParam("P_LICENSE", Types.VARCHAR),
-                inParam("P_LOCATION", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CHANNEL", channel);
-        inputParams.put("P_LICENSE", license);
-        inputParams.put("P_LOCATION", location);
-
-        return executeCursorProcedure("load_users", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(loadUsersSpec, rowMapper(), custId, channel, license, location);
     }
 
     @Override
     public UserResponse loadUser(Long id) {
         logger.debug("Calling BOCustomer.load_user({})", id);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.NUMERIC)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_NAME", Types.VARCHAR),
-                outParam("P_ISSUER_COUNTRY", Types.VARCHAR),
-                outParam("P_PERSONAL_ID", Types.VARCHAR),
-                outParam("P_PASSPORT_NO", Types.VARCHAR),
-                outParam("P_STREET", Types.VARCHAR),
-                outParam("P_CITY", Types.VARCHAR),
-                outParam("P_COUNTRY", Types.VARCHAR),
-                outParam("P_ZIP", Types.VARCHAR),
-                outParam("P_PHONE", Types.VARCHAR),
-                outParam("P_MOBILE", Types.VARCHAR),
-                outParam("P_FAX", Types.VARCHAR),
-                outParam("P_EMAIL", Types.VARCHAR),
-                outParam("P_APART", Types.VARCHAR),
-                outParam("P_HOUSE", Types.VARCHAR),
-                outParam("P_STD_Q", Types.NUMERIC),
-                outParam("P_SPEC_Q", Types.VARCHAR),
-                outParam("P_ANSWER", Types.VARCHAR),
-                outParam("P_REG_DATE", Types.DATE),
-                outParam("P_CHANGE_DATE", Types.DATE),
-                outParam("P_CHANGE_OFFICER_ID", Types.VARCHAR),
-                outParam("P_CHANGE_LOGIN", Types.VARCHAR),
-                outParam("P_CUSTOMER_ID", Types.NUMERIC),
-                outParam("P_MIGR_STATUS", Types.NUMERIC),
-                outParam("P_HAS_AGREEMENT_IN_GLOBUS", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", id);
-
-        Map<String, Object> result = executeProcedureWithOutputs("load_user", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(loadUserSpec, id);
 
         return UserResponse.builder()
                 .id(id)
@@ -290,29 +222,7 @@ public class CustomerServiceImpl extends BaseService implements CustomerService
     public ChannelResponse loadChannel(String wocId, String custId) {
         logger.debug("Calling BOCustomer.load_channel({}, {})", wocId, custId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_WOC_ID", Types.VARCHAR),
-                inParam("P_CUST_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_CDEV_TYPE", Types.NUMERIC),
-                outParam("P_CDEV_NUM", Types.VARCHAR),
-                outParam("P_SELLER_ID", Types.NUMERIC),
-                outParam("P_DISTRIB_CENTER_ID", Types.NUMERIC),
-                outParam("P_LEVEL", Types.NUMERIC),
-                outParam("P_TMP_LEVEL", Types.NUMERIC),
-                outParam("P_CHANGE_OFFICER", Types.VARCHAR),
-                outParam("P_SPEC_RATE", Types.NUMERIC),
-                outParam("P_INFO2BANK", Types.NUMERIC),
-                outParam("P_DF_ACCESS_RIGHT", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_WOC_ID", wocId);
-        inputParams.put("P_CUST_ID", custId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("load_channel", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(loadChannelSpec, wocId, custId);
 
         return ChannelResponse.builder()
                 .wocId(wocId)
@@ -2,9 +2,9 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.DDService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.CursorStream;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -18,6 +18,50 @@ import java.util.*;
 @Profile("!mock")
 public class DDServiceImpl extends BaseService implements DDService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_TYPE", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec ddSpec = procedure("dd")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_USER_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_CUST_NAME", Types.VARCHAR)
+            .out("P_CUST_ACCOUNT", Types.VARCHAR)
+            .out("P_GLOBUS_NO", Types.VARCHAR)
+            .out("P_AGREEMENT", Types.VARCHAR)
+            .out("P_CONTRACT_ID", Types.VARCHAR)
+            .out("P_FIRST_DATE", Types.DATE)
+            .out("P_LAST_DATE", Types.DATE)
+            .out("P_BEN_NAME", Types.VARCHAR)
+            .out("P_UT_PHONE_NO", Types.VARCHAR)
+            .out("P_AMOUNT_LIMIT", Types.VARCHAR)
+            .out("P_AB_CODE", Types.VARCHAR)
+            .out("P_AB_NAME", Types.VARCHAR)
+            .out("P_AB_SURNAME", Types.VARCHAR)
+            .out("P_AB_ACNT", Types.VARCHAR)
+            .out("P_AB_ID", Types.VARCHAR)
+            .out("P_GIRO_NR", Types.VARCHAR)
+            .out("P_LEGAL_ADDR", Types.VARCHAR)
+            .out("P_CONTACT_ADDR", Types.VARCHAR)
+            .out("P_EMAIL", Types.VARCHAR)
+            .out("P_LOCATION", Types.VARCHAR)
+            .out("P_REJECTOR", Types.VARCHAR)
+            .out("P_REJECT_DATE", Types.DATE)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_ITB", Types.VARCHAR)
+            .build();
+
     public DDServiceImpl() {
         super("BODD");
     }
@@ -28,82 +72,25 @@ public class DDServiceImpl extends BaseService implements DDService {
                                            String statuses, Date createdFrom, Date createdTill) {
         logger.debug("Calling BODD.find() with filters");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_TYPE", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE)
-        );
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, userLogin, officerId, pType,
+                docId, statuses, createdFrom, createdTill);
+    }
 
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_TYPE", pType);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
+    @Override
+    public CursorStream streamFind(String custId, String custName, String userLogin, Long officerId,
+                                   String pType, String docId, String statuses, Date createdFrom,
+                                   Date createdTill) {
+        logger.debug("Streaming BODD.find()");
 
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return streamCursorProcedure(findSpec, custId, custName, userLogin, officerId, pType, docId, statuses,
+                createdFrom, createdTill);
     }
 
     @Override
     public Map<String, Object> dd(String ddId) {
         logger.debug("Calling BODD.dd({})", ddId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_USER_ID", Types.VARCHAR),
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_CUST_NAME", Types.VARCHAR),
-                outParam("P_CUST_ACCOUNT", Types.VARCHAR),
-                outParam("P_GLOBUS_NO", Types.VARCHAR),
-                outParam("P_AGREEMENT", Types.VARCHAR),
-                outParam("P_CONTRACT_ID", Types.VARCHAR),
-                outParam("P_FIRST_DATE", Types.DATE),
-                outParam("P_LAST_DATE", Types.DATE),
-                outParam("P_BEN_NAME", Types.VARCHAR),
-                outParam("P_UT_PHONE_NO", Types.VARCHAR),
-                outParam("P_AMOUNT_LIMIT", Types.VARCHAR),
-                outParam("P_AB_CODE", Types.VARCHAR),
-                outParam("P_AB_NAME", Types.VARCHAR),
-                outParam("P_AB_SURNAME", Types.VARCHAR),
-                outParam("P_AB_ACNT", Types.VARCHAR),
-                outParam("P_AB_ID", Types.VARCHAR),
-                outParam("P_GIRO_NR", Types.VARCHAR),
-                outParam("P_LEGAL_ADDR", Types.VARCHAR),
-                outParam("P_CONTACT_ADDR", Types.VARCHAR),
-                outParam("P_EMAIL", Types.VARCHAR),
-                outParam("P_LOCATION", Types.VARCHAR),
-                outParam("P_REJECTOR", Types.VARCHAR),
-                outParam("P_REJECT_DATE", Types.DATE),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_ITB", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", ddId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("dd", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(ddSpec, ddId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("id", ddId);
@@ -2,8 +2,8 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.DFLicenceService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -19,6 +19,17 @@ import java.util.Map;
 @Profile("!mock")
 public class DFLicenceServiceImpl extends BaseService implements DFLicenceService {
 
+    private final ProcedureSpec getLicencesSpec = procedure("get_licences")
+            .in("P_COUNT", Types.NUMERIC)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec newLicenseSpec = procedure("new_license").in("P_ID", Types.VARCHAR).build();
+
+    private final ProcedureSpec printLicenceSpec = procedure("print_licence")
+            .in("P_ID", Types.VARCHAR)
+            .build();
+
     public DFLicenceServiceImpl() {
         super("BODFLicence");
     }
@@ -27,35 +38,14 @@ public class DFLicenceServiceImpl extends BaseService implements DFLicenceServic
     public List<Map<String, Object>> getLicences(Integer pCount) {
         logger.debug("Calling BODFLicence.get_licences({})", pCount);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_COUNT", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_COUNT", pCount != null ? pCount : 10);
-
-        return executeCursorProcedure("get_licences", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getLicencesSpec, rowMapper(), pCount != null ? pCount : 10);
     }
 
     @Override
     public Map<String, Object> newLicense(String pId) {
         logger.debug("Calling BODFLicence.new_license({})", pId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", pId);
-
-        executeVoidProcedure("new_license", params, inputParams);
+        executeVoidProcedure(newLicenseSpec, pId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -69,13 +59,7 @@ public class DFLicenceServiceImpl extends BaseService implements DFLicenceServic
     public Map<String, Object> printLicence(String pId) {
         logger.debug("Calling BODFLicence.print_licence({})", pId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", pId);
-
-        executeVoidProcedure("print_licence", params, inputParams);
+        executeVoidProcedure(printLicenceSpec, pId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -2,9 +2,8 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.DRService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -18,6 +17,57 @@ import java.util.*;
 @Profile("!mock")
 public class DRServiceImpl extends BaseService implements DRService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_CLASS_ID", Types.NUMERIC)
+            .in("P_TERM", Types.VARCHAR)
+            .in("P_AMOUNT_FROM", Types.VARCHAR)
+            .in("P_AMOUNT_TILL", Types.VARCHAR)
+            .in("P_CURRENCIES", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec drSpec = procedure("dr")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_CLASS_ID", Types.NUMERIC)
+            .out("P_GLOBUS_NO", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_USER_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_CUST_NAME", Types.VARCHAR)
+            .out("P_CUST_ACCOUNT", Types.VARCHAR)
+            .out("P_RATE", Types.VARCHAR)
+            .out("P_PRODUCT", Types.VARCHAR)
+            .out("P_FREQUENCY", Types.VARCHAR)
+            .out("P_BEN_NAME", Types.VARCHAR)
+            .out("P_BEN_IBAN", Types.VARCHAR)
+            .out("P_AGREEMENT", Types.VARCHAR)
+            .out("P_LOCATION", Types.VARCHAR)
+            .out("P_VALUE_DATE", Types.DATE)
+            .out("P_FROM_CONTRACT", Types.VARCHAR)
+            .out("P_LOYALTY_BONUS", Types.VARCHAR)
+            .out("P_START_AMOUNT", Types.VARCHAR)
+            .out("P_START_CCY", Types.VARCHAR)
+            .out("P_CURRENT_AMOUNT", Types.VARCHAR)
+            .out("P_CURRENT_CCY", Types.VARCHAR)
+            .out("P_REPLENISHMENT_AMOUNT", Types.VARCHAR)
+            .out("P_REPLENISHMENT_CCY", Types.VARCHAR)
+            .out("P_START_DATE", Types.DATE)
+            .out("P_TERM_DATE", Types.DATE)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_ITB", Types.VARCHAR)
+            .out("P_REJECTOR", Types.VARCHAR)
+            .out("P_REJECT_DATE", Types.DATE)
+            .out("P_TYPE_ID", Types.NUMERIC)
+            .build();
+
     public DRServiceImpl() {
         super("BODR");
     }
@@ -30,93 +80,15 @@ public class DRServiceImpl extends BaseService implements DRService {
                                            Date createdFrom, Date createdTill) {
         logger.debug("Calling BODR.find() with filters");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_CLASS_ID", Types.NUMERIC),
-                inParam("P_TERM", Types.VARCHAR),
-                inParam("P_AMOUNT_FROM", Types.VARCHAR),
-                inParam("P_AMOUNT_TILL", Types.VARCHAR),
-                inParam("P_CURRENCIES", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_CLASS_ID", pClassId);
-        inputParams.put("P_TERM", pTerm);
-        inputParams.put("P_AMOUNT_FROM", amountFrom);
-        inputParams.put("P_AMOUNT_TILL", amountTill);
-        inputParams.put("P_CURRENCIES", currencies);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
-
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, userLogin, officerId, pClassId,
+                pTerm, amountFrom, amountTill, currencies, docId, statuses, createdFrom, createdTill);
     }
 
     @Override
     public Map<String, Object> dr(String docId) {
         logger.debug("Calling BODR.dr({})", docId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_CLASS_ID", Types.NUMERIC),
-                outParam("P_GLOBUS_NO", Types.VARCHAR),
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_USER_ID", Types.VARCHAR),
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_CUST_NAME", Types.VARCHAR),
-                outParam("P_CUST_ACCOUNT", Types.VARCHAR),
-                outParam("P_RATE", Types.VARCHAR),
-                outParam("P_PRODUCT", Types.VARCHAR),
-                outParam("P_FREQUENCY", Types.VARCHAR),
-                outParam("P_BEN_NAME", Types.VARCHAR),
-                outParam("P_BEN_IBAN", Types.VARCHAR),
-                outParam("P_AGREEMENT", Types.VARCHAR),
-                outParam("P_LOCATION", Types.VARCHAR),
-                outParam("P_VALUE_DATE", Types.DATE),
-                outParam("P_FROM_CONTRACT", Types.VARCHAR),
-                outParam("P_LOYALTY_BONUS", Types.VARCHAR),
-                outParam("P_START_AMOUNT", Types.VARCHAR),
-                outParam("P_START_CCY", Types.VARCHAR),
-                outParam("P_CURRENT_AMOUNT", Types.VARCHAR),
-                outParam("P_CURRENT_CCY", Types.VARCHAR),
-                outParam("P_REPLENISHMENT_AMOUNT", Types.VARCHAR),
-                outParam("P_REPLENISHMENT_CCY", Types.VARCHAR),
-                outParam("P_START_DATE", Types.DATE),
-                outParam("P_TERM_DATE", Types.DATE),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_ITB", Types.VARCHAR),
-                outParam("P_REJECTOR", Types.VARCHAR),
-                outParam("P_REJECT_DATE", Types.DATE),
-                outParam("P_TYPE_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", docId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("dr", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(drSpec, docId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("id", docId);
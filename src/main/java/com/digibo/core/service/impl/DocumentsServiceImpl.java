@@ -2,9 +2,8 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.DocumentsService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -18,6 +17,77 @@ import java.util.*;
 @Profile("!mock")
 public class DocumentsServiceImpl extends BaseService implements DocumentsService {
 
+    private final ProcedureSpec historySpec = procedure("history")
+            .in("P_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec messageHistorySpec = procedure("messageHistory")
+            .in("P_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec setLockSpec = procedure("set_lock")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_STATUS", Types.NUMERIC)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_OFFICER_PHONE", Types.VARCHAR)
+            .out("P_RESULT", Types.NUMERIC)
+            .build();
+
+    private final ProcedureSpec setManualStatusSpec = procedure("set_manual_status")
+            .in("P_ID", Types.VARCHAR)
+            .in("P_REASON", Types.VARCHAR)
+            .in("P_NEW_STATUS", Types.NUMERIC)
+            .in("P_MESSAGE_ID", Types.NUMERIC)
+            .build();
+
+    private final ProcedureSpec setManualStatus1Spec = procedure("set_manual_status_1")
+            .in("P_ID", Types.VARCHAR)
+            .in("P_REASON", Types.VARCHAR)
+            .in("P_NEW_STATUS", Types.NUMERIC)
+            .in("P_MESSAGE_ID", Types.NUMERIC)
+            .in("P_BANK_REF", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec signOwnerSpec = procedure("signOwner")
+            .in("P_CERT_ID", Types.VARCHAR)
+            .in("P_SIGN_DATE", Types.DATE)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_LEGAL_ID", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec getAddrSpec = procedure("get_addr")
+            .in("P_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec getExtensionsSpec = procedure("get_extensions")
+            .in("P_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec getIbSignaturesSpec = procedure("get_ib_signatures")
+            .in("P_DOC_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec setManualProcessingSpec = function("set_ManualProcessing", Types.INTEGER)
+            .in("P_ID", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec getChangeOfficerIdSpec = function("getChangeOfficerId", Types.INTEGER)
+            .in("P_ID", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec getByIdSpec = procedure("get_by_id")
+            .in("P_ID", Types.NUMERIC)
+            .out("P_STATUS", Types.NUMERIC)
+            .out("P_OFFICER_ID", Types.NUMERIC)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_RESULT", Types.NUMERIC)
+            .build();
+
     public DocumentsServiceImpl() {
         super("BODocuments");
     }
@@ -26,64 +96,21 @@ public class DocumentsServiceImpl extends BaseService implements DocumentsServic
     public List<Map<String, Object>> getHistory(String documentId) {
         logger.debug("Calling BODocuments.history({})", documentId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", documentId);
-
-        return executeCursorProcedure("history", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(historySpec, rowMapper(), documentId);
     }
 
     @Override
     public List<Map<String, Object>> getMessageHistory(String documentId) {
         logger.debug("Calling BODocuments.messageHistory({})", documentId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", documentId);
-
-        return executeCursorProcedure("messageHistory", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(messageHistorySpec, rowMapper(), documentId);
     }
 
     @Override
     public Map<String, Object> setLock(String documentId) {
         logger.debug("Calling BODocuments.set_lock({})", documentId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_STATUS", Types.NUMERIC),
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_OFFICER_PHONE", Types.VARCHAR),
-                outParam("P_RESULT", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", documentId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("set_lock", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(setLockSpec, documentId);
 
         Integer resultCode = toInteger(result.get("P_RESULT"));
         boolean lockAcquired = resultCode != null && resultCode == 0;
@@ -110,20 +137,7 @@ public class DocumentsServiceImpl extends BaseService implements DocumentsServic
         logger.debug("Calling BODocuments.set_manual_status({}, {}, {}, {})",
                 documentId, reason, newStatus, messageId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR),
-                inParam("P_REASON", Types.VARCHAR),
-                inParam("P_NEW_STATUS", Types.NUMERIC),
-                inParam("P_MESSAGE_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", documentId);
-        inputParams.put("P_REASON", reason);
-        inputParams.put("P_NEW_STATUS", newStatus);
-        inputParams.put("P_MESSAGE_ID", messageId);
-
-        executeVoidProcedure("set_manual_status", params, inputParams);
+        executeVoidProcedure(setManualStatusSpec, documentId, reason, newStatus, messageId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -140,22 +154,7 @@ public class DocumentsServiceImpl extends BaseService implements DocumentsServic
         logger.debug("Calling BODocuments.set_manual_status_1({}, {}, {}, {}, {})",
                 documentId, reason, newStatus, messageId, bankReference);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR),
-                inParam("P_REASON", Types.VARCHAR),
-                inParam("P_NEW_STATUS", Types.NUMERIC),
-                inParam("P_MESSAGE_ID", Types.NUMERIC),
-                inParam("P_BANK_REF", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", documentId);
-        inputParams.put("P_REASON", reason);
-        inputParams.put("P_NEW_STATUS", newStatus);
-        inputParams.put("P_MESSAGE_ID", messageId);
-        inputParams.put("P_BANK_REF", bankReference);
-
-        executeVoidProcedure("set_manual_status_1", params, inputParams);
+        executeVoidProcedure(setManualStatus1Spec, documentId, reason, newStatus, messageId, bankReference);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -170,21 +169,7 @@ public class DocumentsServiceImpl extends BaseService implements DocumentsServic
     public Map<String, Object> getSignOwner(String certId, Date signDate) {
         logger.debug("Calling BODocuments.signOwner({}, {})", certId, signDate);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_CERT_ID", Types.VARCHAR),
-                inParam("P_SIGN_DATE", Types.DATE)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_LEGAL_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CERT_ID", certId);
-        inputParams.put("P_SIGN_DATE", signDate);
-
-        Map<String, Object> result = executeProcedureWithOutputs("signOwner", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(signOwnerSpec, certId, signDate);
 
         Map<String, Object> response = new HashMap<>();
         response.put("userName", result.get("P_USER_NAME"));
@@ -199,79 +184,28 @@ public class DocumentsServiceImpl extends BaseService implements DocumentsServic
     public List<Map<String, Object>> getAddresses(String documentId) {
         logger.debug("Calling BODocuments.get_addr({})", documentId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", documentId);
-
-        return executeCursorProcedure("get_addr", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getAddrSpec, rowMapper(), documentId);
     }
 
     @Override
     public List<Map<String, Object>> getExtensions(String documentId) {
         logger.debug("Calling BODocuments.get_extensions({})", documentId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", documentId);
-
-        return executeCursorProcedure("get_extensions", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getExtensionsSpec, rowMapper(), documentId);
     }
 
     @Override
     public List<Map<String, Object>> getIBSignatures(String documentId) {
         logger.debug("Calling BODocuments.get_ib_signatures({})", documentId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_DOC_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_DOC_ID", documentId);
-
-        return executeCursorProcedure("get_ib_signatures", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getIbSignaturesSpec, rowMapper(), documentId);
     }
 
     @Override
     public Map<String, Object> setManualProcessing(String documentId) {
         logger.debug("Calling BODocuments.set_ManualProcessing({})", documentId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", documentId);
-
-        Integer result = executeScalarFunction("set_ManualProcessing", params, inputParams, Types.INTEGER);
+        Integer result = executeScalarFunction(setManualProcessingSpec, documentId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", result != null && result == 0);
@@ -285,13 +219,7 @@ public class DocumentsServiceImpl extends BaseService implements DocumentsServic
     public Map<String, Object> getChangeOfficerId(String documentId) {
         logger.debug("Calling BODocuments.getChangeOfficerId({})", documentId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", documentId);
-
-        Integer result = executeScalarFunction("getChangeOfficerId", params, inputParams, Types.INTEGER);
+        Integer result = executeScalarFunction(getChangeOfficerIdSpec, documentId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("documentId", documentId);
@@ -304,20 +232,7 @@ public class DocumentsServiceImpl extends BaseService implements DocumentsServic
     public Map<String, Object> getById(Integer documentId) {
         logger.debug("Calling BODocuments.get_by_id({})", documentId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.NUMERIC)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_STATUS", Types.NUMERIC),
-                outParam("P_OFFICER_ID", Types.NUMERIC),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_RESULT", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", documentId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("get_by_id", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(getByIdSpec, documentId);
 
         Integer resultCode = toInteger(result.get("P_RESULT"));
 
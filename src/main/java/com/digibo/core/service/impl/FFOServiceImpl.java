@@ -2,9 +2,9 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.FFOService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
+import com.digibo.core.service.base.ReferenceDataCache;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -18,27 +18,74 @@ import java.util.*;
 @Profile("!mock")
 public class FFOServiceImpl extends BaseService implements FFOService {
 
-    public FFOServiceImpl() {
+    private final ProcedureSpec findMySpec = procedure("find_my").cursor("P_CURSOR").coalesce().build();
+
+    private final ProcedureSpec getCategoriesSpec = procedure("get_categories").cursor("P_CURSOR").build();
+
+    private final ProcedureSpec categorizeSpec = function("categorize", Types.INTEGER)
+            .in("P_DOC_ID", Types.NUMERIC)
+            .in("P_CATEGORY_ID", Types.NUMERIC)
+            .in("P_SUBCATEGORY_ID", Types.NUMERIC)
+            .in("P_ASSIGNEE", Types.NUMERIC)
+            .build();
+
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_DOC_CLASS", Types.VARCHAR)
+            .in("P_SUBJECT", Types.VARCHAR)
+            .in("P_TEXT", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_CHANNELS", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .in("P_ASSIGNEE", Types.NUMERIC)
+            .in("P_CATEGORY_ID", Types.NUMERIC)
+            .in("P_SUBCATEGORY_ID", Types.NUMERIC)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec ffoSpec = procedure("ffo")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_USER_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_GOLD_MANAGER", Types.VARCHAR)
+            .out("P_CUST_NAME", Types.VARCHAR)
+            .out("P_CUST_ACCOUNT", Types.VARCHAR)
+            .out("P_GLOBUS_NO", Types.VARCHAR)
+            .out("P_LOCATION", Types.VARCHAR)
+            .out("P_F_TEXT", Types.VARCHAR)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_ITB", Types.VARCHAR)
+            .out("P_SIGN_TIME", Types.DATE)
+            .out("P_SIGN_RSA", Types.VARCHAR)
+            .out("P_SECTOR", Types.NUMERIC)
+            .out("P_SEGMENT", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec setProcessingSpec = function("set_processing", Types.INTEGER)
+            .in("P_ID", Types.VARCHAR)
+            .in("P_REASON", Types.VARCHAR)
+            .in("P_NEW_STATUS", Types.NUMERIC)
+            .in("P_MESSAGE_ID", Types.NUMERIC)
+            .build();
+
+    private final ReferenceDataCache.Lookup categories;
+
+    public FFOServiceImpl(ReferenceDataCache referenceData) {
         super("BOFFO");
+        this.categories = referenceData.define(ReferenceDataCache.FFO_CATEGORIES, args -> loadCategories());
     }
 
     @Override
     public List<Map<String, Object>> findMy() {
         logger.debug("Calling BOFFO.find_my()");
 
-        List<SqlParameter> params = List.of();
-        Map<String, Object> inputParams = Map.of();
-
-        List<Map<String, Object>> rows = executeCursorProcedure("find_my", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        List<Map<String, Object>> rows = executeCursorProcedure(findMySpec, rowMapper());
 
         logger.debug("find_my returned {} rows", rows.size());
         return rows;
@@ -58,21 +105,13 @@ public class FFOServiceImpl extends BaseService implements FFOService {
 
     @Override
     public List<Map<String, Object>> getCategories() {
-        logger.debug("Calling BOFFO.get_categories()");
+        return categories.get();
+    }
 
-        List<SqlParameter> params = List.of();
-        Map<String, Object> inputParams = Map.of();
+    private List<Map<String, Object>> loadCategories() {
+        logger.debug("Calling BOFFO.get_categories()");
 
-        List<Map<String, Object>> rows = executeCursorProcedure("get_categories", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        List<Map<String, Object>> rows = executeCursorProcedure(getCategoriesSpec, rowMapper());
 
         logger.debug("get_categories returned {} rows", rows.size());
         return rows;
@@ -82,20 +121,8 @@ public class FFOServiceImpl extends BaseService implements FFOService {
     public Map<String, Object> categorize(Long docId, Long categoryId, Long subCategoryId, Long assignee) {
         logger.debug("Categorizing document {}", docId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_DOC_ID", Types.NUMERIC),
-                inParam("P_CATEGORY_ID", Types.NUMERIC),
-                inParam("P_SUBCATEGORY_ID", Types.NUMERIC),
-                inParam("P_ASSIGNEE", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_CATEGORY_ID", categoryId);
-        inputParams.put("P_SUBCATEGORY_ID", subCategoryId);
-        inputParams.put("P_ASSIGNEE", assignee);
-
-        Integer resultCode = executeScalarFunction("categorize", params, inputParams, Types.INTEGER);
+        Integer resultCode = executeScalarFunction(categorizeSpec, docId, categoryId, subCategoryId,
+                assignee);
 
         Map<String, Object> result = new HashMap<>();
         result.put("success", resultCode != null && resultCode == 0);
@@ -127,51 +154,9 @@ public class FFOServiceImpl extends BaseService implements FFOService {
     ) {
         logger.debug("Calling BOFFO.find() with filters");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_DOC_CLASS", Types.VARCHAR),
-                inParam("P_SUBJECT", Types.VARCHAR),
-                inParam("P_TEXT", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_CHANNELS", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE),
-                inParam("P_ASSIGNEE", Types.NUMERIC),
-                inParam("P_CATEGORY_ID", Types.NUMERIC),
-                inParam("P_SUBCATEGORY_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_DOC_CLASS", docClass);
-        inputParams.put("P_SUBJECT", subject);
-        inputParams.put("P_TEXT", text);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_CHANNELS", channels);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
-        inputParams.put("P_ASSIGNEE", assignee);
-        inputParams.put("P_CATEGORY_ID", categoryId);
-        inputParams.put("P_SUBCATEGORY_ID", subcategoryId);
-
-        List<Map<String, Object>> rows = executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        List<Map<String, Object>> rows = executeCursorProcedure(findSpec, rowMapper(), custId, custName,
+                userLogin, officerId, docClass, subject, text, docId, channels, statuses, createdFrom,
+                createdTill, assignee, categoryId, subcategoryId);
 
         logger.debug("find returned {} rows", rows.size());
         return rows;
@@ -181,31 +166,7 @@ public class FFOServiceImpl extends BaseService implements FFOService {
     public Map<String, Object> ffo(String docId) {
         logger.debug("Calling BOFFO.ffo({})", docId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_USER_ID", Types.VARCHAR),
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_GOLD_MANAGER", Types.VARCHAR),
-                outParam("P_CUST_NAME", Types.VARCHAR),
-                outParam("P_CUST_ACCOUNT", Types.VARCHAR),
-                outParam("P_GLOBUS_NO", Types.VARCHAR),
-                outParam("P_LOCATION", Types.VARCHAR),
-                outParam("P_F_TEXT", Types.VARCHAR),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_ITB", Types.VARCHAR),
-                outParam("P_SIGN_TIME", Types.DATE),
-                outParam("P_SIGN_RSA", Types.VARCHAR),
-                outParam("P_SECTOR", Types.NUMERIC),
-                outParam("P_SEGMENT", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", docId);
-
-        Map<String, Object> outputs = executeProcedureWithOutputs("ffo", inParams, outParams, inputParams);
+        Map<String, Object> outputs = executeProcedureWithOutputs(ffoSpec, docId);
 
         Map<String, Object> result = new HashMap<>();
         result.put("id", docId);
@@ -231,20 +192,7 @@ public class FFOServiceImpl extends BaseService implements FFOService {
     public Map<String, Object> setProcessing(String docId, String reason, Integer newStatus, Long messageId) {
         logger.debug("Setting processing status for document {}", docId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR),
-                inParam("P_REASON", Types.VARCHAR),
-                inParam("P_NEW_STATUS", Types.NUMERIC),
-                inParam("P_MESSAGE_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", docId);
-        inputParams.put("P_REASON", reason);
-        inputParams.put("P_NEW_STATUS", newStatus);
-        inputParams.put("P_MESSAGE_ID", messageId);
-
-        Integer resultCode = executeScalarFunction("set_processing", params, inputParams, Types.INTEGER);
+        Integer resultCode = executeScalarFunction(setProcessingSpec, docId, reason, newStatus, messageId);
 
         Map<String, Object> result = new HashMap<>();
         result.put("success", resultCode != null && resultCode == 0);
@@ -2,14 +2,13 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.FaxDocEditService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.sql.Types;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,6 +19,19 @@ import java.util.Map;
 @Profile("!mock")
 public class FaxDocEditServiceImpl extends BaseService implements FaxDocEditService {
 
+    private final ProcedureSpec saveDocumentSpec = procedure("save_document")
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_FROM_ACCOUNT", Types.VARCHAR)
+            .in("P_AMNT", Types.NUMERIC)
+            .in("P_CCY", Types.VARCHAR)
+            .in("P_PARTNER", Types.VARCHAR)
+            .in("P_NOTE", Types.VARCHAR)
+            .in("P_SUBJ", Types.VARCHAR)
+            .in("P_DOC_STATUS", Types.NUMERIC)
+            .build();
+
     public FaxDocEditServiceImpl() {
         super("BOFaxDocEdit");
     }
@@ -39,32 +51,8 @@ public class FaxDocEditServiceImpl extends BaseService implements FaxDocEditServ
     ) {
         logger.debug("Calling BOFaxDocEdit.save_document({})", docId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_FROM_ACCOUNT", Types.VARCHAR),
-                inParam("P_AMNT", Types.NUMERIC),
-                inParam("P_CCY", Types.VARCHAR),
-                inParam("P_PARTNER", Types.VARCHAR),
-                inParam("P_NOTE", Types.VARCHAR),
-                inParam("P_SUBJ", Types.VARCHAR),
-                inParam("P_DOC_STATUS", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_FROM_ACCOUNT", fromAccount);
-        inputParams.put("P_AMNT", amnt);
-        inputParams.put("P_CCY", ccy);
-        inputParams.put("P_PARTNER", partner);
-        inputParams.put("P_NOTE", note);
-        inputParams.put("P_SUBJ", subj);
-        inputParams.put("P_DOC_STATUS", docStatus);
-
-        executeVoidProcedure("save_document", params, inputParams);
+        executeVoidProcedure(saveDocumentSpec, docId, officerId, custId, fromAccount, amnt, ccy, partner,
+                note, subj, docStatus);
 
         logger.debug("Document {} saved successfully", docId);
 
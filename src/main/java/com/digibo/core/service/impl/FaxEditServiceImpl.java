@@ -2,14 +2,14 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.FaxEditService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.sql.Types;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,6 +20,21 @@ import java.util.Map;
 @Profile("!mock")
 public class FaxEditServiceImpl extends BaseService implements FaxEditService {
 
+    private final ProcedureSpec addDocumentSpec = procedure("add_document")
+            .in("P_FAX_ID", Types.VARCHAR)
+            .in("P_DOC_CLASS", Types.NUMERIC)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_FROM_ACCOUNT", Types.VARCHAR)
+            .in("P_AMNT", Types.NUMERIC)
+            .in("P_CCY", Types.VARCHAR)
+            .in("P_PARTNER", Types.VARCHAR)
+            .in("P_NOTE", Types.VARCHAR)
+            .in("P_SUBJ", Types.VARCHAR)
+            .in("P_DOC_STATUS", Types.NUMERIC)
+            .in("P_DTIF", Types.BLOB)
+            .build();
+
     public FaxEditServiceImpl() {
         super("BOFaxEdit");
     }
@@ -37,40 +52,12 @@ public class FaxEditServiceImpl extends BaseService implements FaxEditService {
             String note,
             String subj,
             Integer docStatus,
-            byte[] dTif
+            InputStream dTif
     ) {
         logger.debug("Calling BOFaxEdit.add_document({})", faxId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_FAX_ID", Types.VARCHAR),
-                inParam("P_DOC_CLASS", Types.NUMERIC),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_FROM_ACCOUNT", Types.VARCHAR),
-                inParam("P_AMNT", Types.NUMERIC),
-                inParam("P_CCY", Types.VARCHAR),
-                inParam("P_PARTNER", Types.VARCHAR),
-                inParam("P_NOTE", Types.VARCHAR),
-                inParam("P_SUBJ", Types.VARCHAR),
-                inParam("P_DOC_STATUS", Types.NUMERIC),
-                inParam("P_DTIF", Types.BLOB)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_FAX_ID", faxId);
-        inputParams.put("P_DOC_CLASS", docClass);
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_FROM_ACCOUNT", fromAccount);
-        inputParams.put("P_AMNT", amnt);
-        inputParams.put("P_CCY", ccy);
-        inputParams.put("P_PARTNER", partner);
-        inputParams.put("P_NOTE", note);
-        inputParams.put("P_SUBJ", subj);
-        inputParams.put("P_DOC_STATUS", docStatus);
-        inputParams.put("P_DTIF", dTif);
-
-        executeVoidProcedure("add_document", params, inputParams);
+        executeVoidProcedure(addDocumentSpec, faxId, docClass, officerId, custId, fromAccount, amnt, ccy,
+                partner, note, subj, docStatus, dTif);
 
         logger.debug("add_document completed successfully");
 
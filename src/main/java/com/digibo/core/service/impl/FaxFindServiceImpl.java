@@ -2,12 +2,11 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.FaxFindService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +18,18 @@ import java.util.Map;
 @Profile("!mock")
 public class FaxFindServiceImpl extends BaseService implements FaxFindService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_FAX_ID", Types.VARCHAR)
+            .in("P_FROM_FAX", Types.VARCHAR)
+            .in("P_FROM_CSID", Types.VARCHAR)
+            .in("P_FAX_STATUS", Types.NUMERIC)
+            .in("P_RECV_TIME_FROM", Types.NUMERIC)
+            .in("P_RECV_TIME_TO", Types.NUMERIC)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec findNewSpec = procedure("find_new").cursor("P_CURSOR").build();
+
     public FaxFindServiceImpl() {
         super("BOFaxFind");
     }
@@ -34,33 +45,9 @@ public class FaxFindServiceImpl extends BaseService implements FaxFindService {
     ) {
         logger.debug("Calling BOFaxFind.find() with filters");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_FAX_ID", Types.VARCHAR),
-                inParam("P_FROM_FAX", Types.VARCHAR),
-                inParam("P_FROM_CSID", Types.VARCHAR),
-                inParam("P_FAX_STATUS", Types.NUMERIC),
-                inParam("P_RECV_TIME_FROM", Types.NUMERIC),
-                inParam("P_RECV_TIME_TO", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_FAX_ID", faxId);
-        inputParams.put("P_FROM_FAX", fromFax);
-        inputParams.put("P_FROM_CSID", fromCSid);
-        inputParams.put("P_FAX_STATUS", faxStatus != null ? faxStatus : 0);
-        inputParams.put("P_RECV_TIME_FROM", recvTimeFrom != null ? recvTimeFrom : 0L);
-        inputParams.put("P_RECV_TIME_TO", recvTimeTo != null ? recvTimeTo : 0L);
-
-        List<Map<String, Object>> rows = executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        List<Map<String, Object>> rows = executeCursorProcedure(findSpec, rowMapper(), faxId, fromFax,
+                fromCSid, faxStatus != null ? faxStatus : 0, recvTimeFrom != null ? recvTimeFrom : 0L,
+                recvTimeTo != null ? recvTimeTo : 0L);
 
         logger.debug("find returned {} rows", rows.size());
         return rows;
@@ -70,19 +57,7 @@ public class FaxFindServiceImpl extends BaseService implements FaxFindService {
     public List<Map<String, Object>> findNew() {
         logger.debug("Calling BOFaxFind.find_new()");
 
-        List<SqlParameter> params = List.of();
-        Map<String, Object> inputParams = Map.of();
-
-        List<Map<String, Object>> rows = executeCursorProcedure("find_new", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        List<Map<String, Object>> rows = executeCursorProcedure(findNewSpec, rowMapper());
 
         logger.debug("find_new returned {} rows", rows.size());
         return rows;
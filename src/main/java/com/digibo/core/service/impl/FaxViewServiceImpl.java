@@ -2,13 +2,13 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.FaxViewService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.BlobHandler;
+import com.digibo.core.service.base.ProcedureSpec;
 import oracle.jdbc.OracleTypes;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
-import java.sql.ResultSet;
+import java.io.IOException;
 import java.sql.Types;
 import java.util.*;
 
@@ -20,30 +20,85 @@ import java.util.*;
 @Profile("!mock")
 public class FaxViewServiceImpl extends BaseService implements FaxViewService {
 
+    private final ProcedureSpec findMyDocumentsSpec = procedure("find_my_documents")
+            .in("P_CLASSES", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec setLockSpec = procedure("set_lock")
+            .in("P_ID", Types.VARCHAR)
+            .in("P_DOC", Types.NUMERIC)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_OFFICER_PHONE", Types.VARCHAR)
+            .out("P_RESULT", Types.NUMERIC)
+            .build();
+
+    private final ProcedureSpec loadHistorySpec = procedure("load_history")
+            .in("P_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec loadActualSpec = procedure("load_actual")
+            .in("P_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec lastOfficerSpec = function("last_officer", Types.NUMERIC)
+            .in("P_CUST_ID", Types.NUMERIC)
+            .in("P_FROM_ACCOUNT", Types.VARCHAR)
+            .in("P_CLASS_ID", Types.NUMERIC)
+            .in("P_OFFICERS", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec nextFaxIdSpec = function("next_fax_id", Types.NUMERIC).build();
+
+    private final ProcedureSpec nextDocumentIdSpec = procedure("next_document_id")
+            .in("P_DOC_ID", Types.NUMERIC)
+            .in("P_CLASSES", Types.VARCHAR)
+            .out("P_DOC_ID_OUT", Types.NUMERIC)
+            .out("P_RESULT", Types.NUMERIC)
+            .build();
+
+    private final ProcedureSpec initSpec = procedure("init")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_CLASS_ID", Types.NUMERIC)
+            .out("P_STATUS_ID", Types.NUMERIC)
+            .build();
+
+    // Fax details only: the image BLOB comes back as a bare locator and is never read
+    private final ProcedureSpec loadFaxSpec = loadFaxCall()
+            .lobPrefetch(0)
+            .build();
+
+    // Fax image: most TIFFs arrive together with the locator, larger ones are streamed
+    private final ProcedureSpec loadFaxImageSpec = loadFaxCall()
+            .lobPrefetch(256 * 1024)
+            .build();
+
     public FaxViewServiceImpl() {
         super("BOFaxView");
     }
 
+    private ProcedureSpec.Builder loadFaxCall() {
+        return procedure("load_fax")
+                .in("P_ID", Types.VARCHAR)
+                .in("P_DOC_ID", Types.VARCHAR)
+                .cursor("P_DOCUMENTS")
+                .out("P_ID_OUT", Types.VARCHAR)
+                .out("P_DOC_ID_OUT", Types.VARCHAR)
+                .out("P_FROM_FAX", Types.VARCHAR)
+                .out("P_FROM_CSID", Types.VARCHAR)
+                .out("P_RECV_TIME", Types.NUMERIC)
+                .out("P_RECV_STATUS", Types.NUMERIC)
+                .out("P_FAX_STATUS", Types.NUMERIC)
+                .out("P_FTIF", Types.BLOB);
+    }
+
     @Override
     public List<Map<String, Object>> findMyDocuments(String classes) {
         logger.debug("Calling BOFaxView.find_my_documents({})", classes);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CLASSES", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_CLASSES", classes);
-
-        List<Map<String, Object>> rows = executeCursorProcedure("find_my_documents", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        List<Map<String, Object>> rows = executeCursorProcedure(findMyDocumentsSpec, rowMapper(), classes);
 
         logger.debug("find_my_documents returned {} rows", rows.size());
         return rows;
@@ -53,22 +108,7 @@ public class FaxViewServiceImpl extends BaseService implements FaxViewService {
     public Map<String, Object> setLock(String id, Integer doc) {
         logger.debug("Calling BOFaxView.set_lock({}, {})", id, doc);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR),
-                inParam("P_DOC", Types.NUMERIC)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_OFFICER_PHONE", Types.VARCHAR),
-                outParam("P_RESULT", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", id);
-        inputParams.put("P_DOC", doc);
-
-        Map<String, Object> outputs = executeProcedureWithOutputs("set_lock", inParams, outParams, inputParams);
+        Map<String, Object> outputs = executeProcedureWithOutputs(setLockSpec, id, doc);
 
         Map<String, Object> result = new HashMap<>();
         result.put("lockStatus", toInteger(outputs.get("P_RESULT")));
@@ -82,22 +122,7 @@ public class FaxViewServiceImpl extends BaseService implements FaxViewService {
     public List<Map<String, Object>> loadHistory(String id) {
         logger.debug("Calling BOFaxView.load_history({})", id);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", id);
-
-        List<Map<String, Object>> rows = executeCursorProcedure("load_history", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        List<Map<String, Object>> rows = executeCursorProcedure(loadHistorySpec, rowMapper(), id);
 
         logger.debug("load_history returned {} rows", rows.size());
         return rows;
@@ -107,22 +132,7 @@ public class FaxViewServiceImpl extends BaseService implements FaxViewService {
     public List<Map<String, Object>> loadActual(String id) {
         logger.debug("Calling BOFaxView.load_actual({})", id);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", id);
-
-        List<Map<String, Object>> rows = executeCursorProcedure("load_actual", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        List<Map<String, Object>> rows = executeCursorProcedure(loadActualSpec, rowMapper(), id);
 
         logger.debug("load_actual returned {} rows", rows.size());
         return rows;
@@ -132,20 +142,8 @@ public class FaxViewServiceImpl extends BaseService implements FaxViewService {
     public Long lastOfficer(Long custId, String fromAccount, Integer classId, String officers) {
         logger.debug("Calling BOFaxView.last_officer({}, {}, {}, {})", custId, fromAccount, classId, officers);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.NUMERIC),
-                inParam("P_FROM_ACCOUNT", Types.VARCHAR),
-                inParam("P_CLASS_ID", Types.NUMERIC),
-                inParam("P_OFFICERS", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_FROM_ACCOUNT", fromAccount);
-        inputParams.put("P_CLASS_ID", classId != null ? classId : 0);
-        inputParams.put("P_OFFICERS", officers);
-
-        Long result = executeScalarFunction("last_officer", params, inputParams, Types.NUMERIC);
+        Long result = executeScalarFunction(lastOfficerSpec, custId, fromAccount,
+                classId != null ? classId : 0, officers);
         return result;
     }
 
@@ -153,10 +151,7 @@ public class FaxViewServiceImpl extends BaseService implements FaxViewService {
     public Long nextFaxId() {
         logger.debug("Calling BOFaxView.next_fax_id()");
 
-        List<SqlParameter> params = List.of();
-        Map<String, Object> inputParams = Map.of();
-
-        Long result = executeScalarFunction("next_fax_id", params, inputParams, Types.NUMERIC);
+        Long result = executeScalarFunction(nextFaxIdSpec);
         return result;
     }
 
@@ -164,21 +159,7 @@ public class FaxViewServiceImpl extends BaseService implements FaxViewService {
     public Map<String, Object> nextDocumentId(Long docId, String classes) {
         logger.debug("Calling BOFaxView.next_document_id({}, {})", docId, classes);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_DOC_ID", Types.NUMERIC),
-                inParam("P_CLASSES", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_DOC_ID_OUT", Types.NUMERIC),
-                outParam("P_RESULT", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_CLASSES", classes);
-
-        Map<String, Object> outputs = executeProcedureWithOutputs("next_document_id", inParams, outParams, inputParams);
+        Map<String, Object> outputs = executeProcedureWithOutputs(nextDocumentIdSpec, docId, classes);
 
         Map<String, Object> result = new HashMap<>();
         result.put("faxId", toLong(outputs.get("P_RESULT")));
@@ -190,43 +171,8 @@ public class FaxViewServiceImpl extends BaseService implements FaxViewService {
     public Map<String, Object> loadFax(String id, String docId) {
         logger.debug("Calling BOFaxView.load_fax({}, {})", id, docId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_ID_OUT", Types.VARCHAR),
-                outParam("P_DOC_ID_OUT", Types.VARCHAR),
-                outParam("P_FROM_FAX", Types.VARCHAR),
-                outParam("P_FROM_CSID", Types.VARCHAR),
-                outParam("P_RECV_TIME", Types.NUMERIC),
-                outParam("P_RECV_STATUS", Types.NUMERIC),
-                outParam("P_FAX_STATUS", Types.NUMERIC),
-                outParam("P_FTIF", Types.BLOB)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", id);
-        inputParams.put("P_DOC_ID", docId);
-
-        // For load_fax, we need cursor + outputs, use custom execution
-        CursorResult<Map<String, Object>> cursorResult = executeCursorProcedureWithOutputs(
-                "load_fax",
-                inParams,
-                outParams,
-                inputParams,
-                "P_DOCUMENTS",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                }
-        );
+        CursorResult<Map<String, Object>> cursorResult =
+                executeCursorProcedureWithOutputs(loadFaxSpec, rowMapper(), id, docId);
 
         Map<String, Object> outputs = cursorResult.getOutputs();
         Map<String, Object> result = new HashMap<>();
@@ -237,28 +183,23 @@ public class FaxViewServiceImpl extends BaseService implements FaxViewService {
         result.put("recvTime", toLong(outputs.get("P_RECV_TIME")));
         result.put("recvStatus", toInteger(outputs.get("P_RECV_STATUS")));
         result.put("faxStatus", toInteger(outputs.get("P_FAX_STATUS")));
-        result.put("fTif", outputs.get("P_FTIF"));
         result.put("documents", cursorResult.getRows());
 
         return result;
     }
 
     @Override
-    public Map<String, Object> init(String id) {
-        logger.debug("Calling BOFaxView.init({})", id);
-
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
+    public <R> R readFaxImage(String id, String docId, BlobHandler<R> handler) throws IOException {
+        logger.debug("Calling BOFaxView.load_fax({}, {}) for the image", id, docId);
 
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_CLASS_ID", Types.NUMERIC),
-                outParam("P_STATUS_ID", Types.NUMERIC)
-        );
+        return executeWithBlobOutput(loadFaxImageSpec, "P_FTIF", handler, id, docId);
+    }
 
-        Map<String, Object> inputParams = Map.of("P_ID", id);
+    @Override
+    public Map<String, Object> init(String id) {
+        logger.debug("Calling BOFaxView.init({})", id);
 
-        Map<String, Object> outputs = executeProcedureWithOutputs("init", inParams, outParams, inputParams);
+        Map<String, Object> outputs = executeProcedureWithOutputs(initSpec, id);
 
         Map<String, Object> result = new HashMap<>();
         result.put("classId", toInteger(outputs.get("P_CLASS_ID")));
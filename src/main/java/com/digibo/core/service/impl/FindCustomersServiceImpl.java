@@ -2,9 +2,8 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.FindCustomersService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -21,6 +20,41 @@ import java.util.Map;
 @Profile("!mock")
 public class FindCustomersServiceImpl extends BaseService implements FindCustomersService {
 
+    private final ProcedureSpec findCustomersSpec = procedure("find_customers")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_LEGAL_ID", Types.VARCHAR)
+            .in("P_LICENCE", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec loadCustomerByIdSpec = procedure("load_customer_by_id")
+            .in("P_ID", Types.NUMERIC)
+            .out("P_NAME", Types.VARCHAR)
+            .out("P_ISSUER_COUNTRY", Types.VARCHAR)
+            .out("P_PERSONAL_ID", Types.VARCHAR)
+            .out("P_PASSPORT_NO", Types.VARCHAR)
+            .out("P_STREET", Types.VARCHAR)
+            .out("P_CITY", Types.VARCHAR)
+            .out("P_COUNTRY", Types.VARCHAR)
+            .out("P_ZIP", Types.VARCHAR)
+            .out("P_PHONE", Types.VARCHAR)
+            .out("P_MOBILE", Types.VARCHAR)
+            .out("P_FAX", Types.VARCHAR)
+            .out("P_EMAIL", Types.VARCHAR)
+            .out("P_APART", Types.VARCHAR)
+            .out("P_HOUSE", Types.VARCHAR)
+            .out("P_STD_Q", Types.NUMERIC)
+            .out("P_SPEC_Q", Types.VARCHAR)
+            .out("P_ANSWER", Types.VARCHAR)
+            .out("P_REG_DATE", Types.DATE)
+            .out("P_CHANGE_DATE", Types.DATE)
+            .out("P_CHANGE_OFFICER_ID", Types.VARCHAR)
+            .out("P_CHANGE_LOGIN", Types.VARCHAR)
+            .out("P_TYPE", Types.VARCHAR)
+            .out("P_HAS_AGREEMENT_IN_GLOBUS", Types.NUMERIC)
+            .build();
+
     public FindCustomersServiceImpl() {
         super("BOFindCustomers");
     }
@@ -29,29 +63,8 @@ public class FindCustomersServiceImpl extends BaseService implements FindCustome
     public List<Map<String, Object>> findCustomers(String custId, String custName, String legalId, String licence) {
         logger.debug("Calling BOFindCustomers.find_customers()");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_LEGAL_ID", Types.VARCHAR),
-                inParam("P_LICENCE", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_LEGAL_ID", legalId);
-        inputParams.put("P_LICENCE", licence);
-
-        List<Map<String, Object>> rows = executeCursorProcedure("find_customers", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        List<Map<String, Object>> rows = executeCursorProcedure(findCustomersSpec, rowMapper(), custId,
+                custName, legalId, licence);
 
         logger.debug("find_customers returned {} rows", rows.size());
         return rows;
@@ -61,39 +74,7 @@ public class FindCustomersServiceImpl extends BaseService implements FindCustome
     public Map<String, Object> loadCustomerById(Long customerId) {
         logger.debug("Calling BOFindCustomers.load_customer_by_id({})", customerId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.NUMERIC)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_NAME", Types.VARCHAR),
-                outParam("P_ISSUER_COUNTRY", Types.VARCHAR),
-                outParam("P_PERSONAL_ID", Types.VARCHAR),
-                outParam("P_PASSPORT_NO", Types.VARCHAR),
-                outParam("P_STREET", Types.VARCHAR),
-                outParam("P_CITY", Types.VARCHAR),
-                outParam("P_COUNTRY", Types.VARCHAR),
-                outParam("P_ZIP", Types.VARCHAR),
-                outParam("P_PHONE", Types.VARCHAR),
-                outParam("P_MOBILE", Types.VARCHAR),
-                outParam("P_FAX", Types.VARCHAR),
-                outParam("P_EMAIL", Types.VARCHAR),
-                outParam("P_APART", Types.VARCHAR),
-                outParam("P_HOUSE", Types.VARCHAR),
-                outParam("P_STD_Q", Types.NUMERIC),
-                outParam("P_SPEC_Q", Types.VARCHAR),
-                outParam("P_ANSWER", Types.VARCHAR),
-                outParam("P_REG_DATE", Types.DATE),
-                outParam("P_CHANGE_DATE", Types.DATE),
-                outParam("P_CHANGE_OFFICER_ID", Types.VARCHAR),
-                outParam("P_CHANGE_LOGIN", Types.VARCHAR),
-                outParam("P_TYPE", Types.VARCHAR),
-                outParam("P_HAS_AGREEMENT_IN_GLOBUS", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", customerId);
-
-        Map<String, Object> outputs = executeProcedureWithOutputs("load_customer_by_id", inParams, outParams, inputParams);
+        Map<String, Object> outputs = executeProcedureWithOutputs(loadCustomerByIdSpec, customerId);
 
         Map<String, Object> result = new HashMap<>();
         result.put("id", customerId);
@@ -2,9 +2,9 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.GerDepService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.CursorStream;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -18,6 +18,46 @@ import java.util.*;
 @Profile("!mock")
 public class GerDepServiceImpl extends BaseService implements GerDepService {
 
+    private final ProcedureSpec findNewSpec = procedure("find_new").cursor("P_CURSOR").coalesce().build();
+
+    private final ProcedureSpec findByFilterSpec = procedure("find_by_filter")
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_ID_DOC_NO", Types.VARCHAR)
+            .in("P_LOGIN", Types.VARCHAR)
+            .in("P_STATUS", Types.VARCHAR)
+            .in("P_ORDER_DATE_FROM", Types.DATE)
+            .in("P_ORDER_DATE_TO", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec selectCustomerSpec = procedure("select_customer")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .out("P_RV", Types.NUMERIC)
+            .build();
+
+    private final ProcedureSpec bindToCustomerSpec = procedure("bind_to_customer")
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_CUST_ID", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec accountExistsSpec = procedure("account_exists")
+            .in("P_DOC_ID", Types.VARCHAR)
+            .out("P_ACC_EXISTS", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec createUserSpec = procedure("create_user")
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_TAN_CARD_ID", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec rejectSpec = procedure("reject")
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_REASON", Types.VARCHAR)
+            .build();
+
     public GerDepServiceImpl() {
         super("BOGERDEP");
     }
@@ -26,19 +66,7 @@ public class GerDepServiceImpl extends BaseService implements GerDepService {
     public List<Map<String, Object>> findNew() {
         logger.debug("Calling BOGERDEP.find_new()");
 
-        List<SqlParameter> params = List.of();
-        Map<String, Object> inputParams = Map.of();
-
-        return executeCursorProcedure("find_new", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findNewSpec, rowMapper());
     }
 
     @Override
@@ -47,64 +75,25 @@ public class GerDepServiceImpl extends BaseService implements GerDepService {
                                                    Date orderDateFrom, Date orderDateTo) {
         logger.debug("Calling BOGERDEP.find_by_filter()");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_ID_DOC_NO", Types.VARCHAR),
-                inParam("P_LOGIN", Types.VARCHAR),
-                inParam("P_STATUS", Types.VARCHAR),
-                inParam("P_ORDER_DATE_FROM", Types.DATE),
-                inParam("P_ORDER_DATE_TO", Types.DATE)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_ID_DOC_NO", idDocNo);
-        inputParams.put("P_LOGIN", login);
-        inputParams.put("P_STATUS", status);
-        inputParams.put("P_ORDER_DATE_FROM", orderDateFrom);
-        inputParams.put("P_ORDER_DATE_TO", orderDateTo);
-
-        return executeCursorProcedure("find_by_filter", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findByFilterSpec, rowMapper(), docId, custId, custName, idDocNo, login,
+                status, orderDateFrom, orderDateTo);
     }
 
     @Override
-    public Map<String, Object> selectCustomer(String custId) {
-        logger.debug("Calling BOGERDEP.select_customer({})", custId);
+    public CursorStream streamFindByFilter(String docId, String custId, String custName, String idDocNo,
+                                           String login, String status, Date orderDateFrom, Date orderDateTo) {
+        logger.debug("Streaming BOGERDEP.find_by_filter()");
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_RV", Types.NUMERIC)
-        );
+        return streamCursorProcedure(findByFilterSpec, docId, custId, custName, idDocNo, login, status,
+                orderDateFrom, orderDateTo);
+    }
 
-        Map<String, Object> inputParams = Map.of("P_CUST_ID", custId);
+    @Override
+    public Map<String, Object> selectCustomer(String custId) {
+        logger.debug("Calling BOGERDEP.select_customer({})", custId);
 
-        CursorResult<Map<String, Object>> result = executeCursorProcedureWithOutputs(
-                "select_customer", inParams, outParams, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        CursorResult<Map<String, Object>> result = executeCursorProcedureWithOutputs(selectCustomerSpec,
+                rowMapper(), custId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("rv", toInteger(result.getOutputs().get("P_RV")));
@@ -116,16 +105,7 @@ public class GerDepServiceImpl extends BaseService implements GerDepService {
     public Map<String, Object> bindToCustomer(String docId, String custId) {
         logger.debug("Calling BOGERDEP.bind_to_customer({}, {})", docId, custId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_CUST_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_CUST_ID", custId);
-
-        executeVoidProcedure("bind_to_customer", params, inputParams);
+        executeVoidProcedure(bindToCustomerSpec, docId, custId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -138,17 +118,7 @@ public class GerDepServiceImpl extends BaseService implements GerDepService {
     public Map<String, Object> accountExists(String docId) {
         logger.debug("Calling BOGERDEP.account_exists({})", docId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_DOC_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_ACC_EXISTS", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_DOC_ID", docId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("account_exists", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(accountExistsSpec, docId);
 
         String accExists = (String) result.get("P_ACC_EXISTS");
 
@@ -163,16 +133,7 @@ public class GerDepServiceImpl extends BaseService implements GerDepService {
     public Map<String, Object> createUser(String docId, String tanCardId) {
         logger.debug("Calling BOGERDEP.create_user({}, {})", docId, tanCardId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_TAN_CARD_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_TAN_CARD_ID", tanCardId);
-
-        executeVoidProcedure("create_user", params, inputParams);
+        executeVoidProcedure(createUserSpec, docId, tanCardId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -185,16 +146,7 @@ public class GerDepServiceImpl extends BaseService implements GerDepService {
     public Map<String, Object> reject(String docId, String reason) {
         logger.debug("Calling BOGERDEP.reject({}, {})", docId, reason);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_REASON", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_REASON", reason);
-
-        executeVoidProcedure("reject", params, inputParams);
+        executeVoidProcedure(rejectSpec, docId, reason);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
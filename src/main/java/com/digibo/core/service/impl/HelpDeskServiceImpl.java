@@ -2,9 +2,8 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.HelpDeskService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -18,6 +17,68 @@ import java.util.*;
 @Profile("!mock")
 public class HelpDeskServiceImpl extends BaseService implements HelpDeskService {
 
+    private final ProcedureSpec findUserChannelSpec = procedure("find_user_channel")
+            .in("P_LOGIN", Types.VARCHAR)
+            .in("P_AUTH_DEV", Types.VARCHAR)
+            .in("P_USER_NAME", Types.VARCHAR)
+            .in("P_PERSONAL_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec loadLogSpec = procedure("load_log")
+            .in("P_USER_ID", Types.VARCHAR)
+            .in("P_WOC_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec setPasswordSpec = function("set_password", Types.INTEGER)
+            .in("P_CHANNEL_ID", Types.VARCHAR)
+            .in("P_USER_ID", Types.VARCHAR)
+            .in("P_PASSWORD", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec loadUserChannelSpec = procedure("load_user_channel")
+            .in("P_ID", Types.NUMERIC)
+            .cursor("P_CURSOR")
+            .out("P_LOGIN", Types.VARCHAR)
+            .out("P_AUTH_DEV", Types.VARCHAR)
+            .out("P_STATUS", Types.NUMERIC)
+            .out("P_SUB_STATUS", Types.NUMERIC)
+            .out("P_USER_ID", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_PERSONAL_ID", Types.VARCHAR)
+            .out("P_PHONE", Types.VARCHAR)
+            .out("P_MOBILE", Types.VARCHAR)
+            .out("P_FAX", Types.VARCHAR)
+            .out("P_EMAIL", Types.VARCHAR)
+            .out("P_STREET", Types.VARCHAR)
+            .out("P_CITY", Types.VARCHAR)
+            .out("P_COUNTRY", Types.VARCHAR)
+            .out("P_ZIP", Types.VARCHAR)
+            .out("P_REG_DATE", Types.DATE)
+            .out("P_PASSWORD_CHANGE_ALLOWED", Types.NUMERIC)
+            .out("P_HAS_CRONTO", Types.NUMERIC)
+            .out("P_PASSWORD", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec loadAuthInfoSpec = procedure("load_auth_info")
+            .in("P_ID", Types.NUMERIC)
+            .out("P_STD_Q", Types.NUMERIC)
+            .out("P_SPEC_Q", Types.VARCHAR)
+            .out("P_ANSWER", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec setLockSpec = procedure("set_lock")
+            .in("P_CHANNEL_ID", Types.VARCHAR)
+            .in("P_USER_ID", Types.VARCHAR)
+            .in("P_STATUS", Types.NUMERIC)
+            .in("P_SUB_STATUS", Types.NUMERIC)
+            .build();
+
+    private final ProcedureSpec resetStolenSpec = procedure("reset_stolen")
+            .in("P_CHANNEL_ID", Types.VARCHAR)
+            .build();
+
     public HelpDeskServiceImpl() {
         super("BOHelpDesk");
     }
@@ -26,72 +87,21 @@ public class HelpDeskServiceImpl extends BaseService implements HelpDeskService
     public List<Map<String, Object>> findUserChannel(String login, String authDev, String userName, String personalId) {
         logger.debug("Calling BOHelpDesk.find_user_channel()");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_LOGIN", Types.VARCHAR),
-                inParam("P_AUTH_DEV", Types.VARCHAR),
-                inParam("P_USER_NAME", Types.VARCHAR),
-                inParam("P_PERSONAL_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_LOGIN", login);
-        inputParams.put("P_AUTH_DEV", authDev);
-        inputParams.put("P_USER_NAME", userName);
-        inputParams.put("P_PERSONAL_ID", personalId);
-
-        return executeCursorProcedure("find_user_channel", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findUserChannelSpec, rowMapper(), login, authDev, userName, personalId);
     }
 
     @Override
     public List<Map<String, Object>> loadLog(String userId, String wocId) {
         logger.debug("Calling BOHelpDesk.load_log({}, {})", userId, wocId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_USER_ID", Types.VARCHAR),
-                inParam("P_WOC_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_USER_ID", userId);
-        inputParams.put("P_WOC_ID", wocId);
-
-        return executeCursorProcedure("load_log", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(loadLogSpec, rowMapper(), userId, wocId);
     }
 
     @Override
     public int setPassword(String channelId, String userId, String password) {
         logger.debug("Calling BOHelpDesk.set_password({}, {})", channelId, userId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CHANNEL_ID", Types.VARCHAR),
-                inParam("P_USER_ID", Types.VARCHAR),
-                inParam("P_PASSWORD", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CHANNEL_ID", channelId);
-        inputParams.put("P_USER_ID", userId);
-        inputParams.put("P_PASSWORD", password);
-
-        Integer result = executeScalarFunction("set_password", params, inputParams, Types.INTEGER);
+        Integer result = executeScalarFunction(setPasswordSpec, channelId, userId, password);
         return result != null ? result : -1;
     }
 
@@ -99,45 +109,8 @@ public class HelpDeskServiceImpl extends BaseService implements HelpDeskService
     public Map<String, Object> loadUserChannel(Long id) {
         logger.debug("Calling BOHelpDesk.load_user_channel({})", id);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.NUMERIC)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_LOGIN", Types.VARCHAR),
-                outParam("P_AUTH_DEV", Types.VARCHAR),
-                outParam("P_STATUS", Types.NUMERIC),
-                outParam("P_SUB_STATUS", Types.NUMERIC),
-                outParam("P_USER_ID", Types.VARCHAR),
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_PERSONAL_ID", Types.VARCHAR),
-                outParam("P_PHONE", Types.VARCHAR),
-                outParam("P_MOBILE", Types.VARCHAR),
-                outParam("P_FAX", Types.VARCHAR),
-                outParam("P_EMAIL", Types.VARCHAR),
-                outParam("P_STREET", Types.VARCHAR),
-                outParam("P_CITY", Types.VARCHAR),
-                outParam("P_COUNTRY", Types.VARCHAR),
-                outParam("P_ZIP", Types.VARCHAR),
-                outParam("P_REG_DATE", Types.DATE),
-                outParam("P_PASSWORD_CHANGE_ALLOWED", Types.NUMERIC),
-                outParam("P_HAS_CRONTO", Types.NUMERIC),
-                outParam("P_PASSWORD", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", id);
-
-        CursorResult<Map<String, Object>> result = executeCursorProcedureWithOutputs(
-                "load_user_channel", inParams, outParams, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        CursorResult<Map<String, Object>> result = executeCursorProcedureWithOutputs(loadUserChannelSpec,
+                rowMapper(), id);
 
         Map<String, Object> outputs = result.getOutputs();
         Map<String, Object> userInfo = new HashMap<>();
@@ -172,19 +145,7 @@ public class HelpDeskServiceImpl extends BaseService implements HelpDeskService
     public Map<String, Object> loadAuthInfo(Long id) {
         logger.debug("Calling BOHelpDesk.load_auth_info({})", id);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.NUMERIC)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_STD_Q", Types.NUMERIC),
-                outParam("P_SPEC_Q", Types.VARCHAR),
-                outParam("P_ANSWER", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", id);
-
-        Map<String, Object> result = executeProcedureWithOutputs("load_auth_info", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(loadAuthInfoSpec, id);
 
         Map<String, Object> response = new HashMap<>();
         response.put("id", id);
@@ -198,20 +159,7 @@ public class HelpDeskServiceImpl extends BaseService implements HelpDeskService
     public boolean setLock(String channelId, String userId, Integer status, Integer subStatus) {
         logger.debug("Calling BOHelpDesk.set_lock({}, {}, {}, {})", channelId, userId, status, subStatus);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CHANNEL_ID", Types.VARCHAR),
-                inParam("P_USER_ID", Types.VARCHAR),
-                inParam("P_STATUS", Types.NUMERIC),
-                inParam("P_SUB_STATUS", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CHANNEL_ID", channelId);
-        inputParams.put("P_USER_ID", userId);
-        inputParams.put("P_STATUS", status);
-        inputParams.put("P_SUB_STATUS", subStatus);
-
-        executeVoidProcedure("set_lock", params, inputParams);
+        executeVoidProcedure(setLockSpec, channelId, userId, status, subStatus);
         return true;
     }
 
@@ -219,13 +167,7 @@ public class HelpDeskServiceImpl extends BaseService implements HelpDeskService
     public boolean resetStolen(String channelId) {
         logger.debug("Calling BOHelpDesk.reset_stolen({})", channelId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CHANNEL_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_CHANNEL_ID", channelId);
-
-        executeVoidProcedure("reset_stolen", params, inputParams);
+        executeVoidProcedure(resetStolenSpec, channelId);
         return true;
     }
 
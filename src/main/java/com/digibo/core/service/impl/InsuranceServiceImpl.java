@@ -2,8 +2,9 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.InsuranceService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.CursorStream;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -17,6 +18,23 @@ import java.util.*;
 @Profile("!mock")
 public class InsuranceServiceImpl extends BaseService implements InsuranceService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_DOC_CLASS", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_CHANNELS", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .in("P_FROM_LOCATION", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec findMySpec = procedure("findMy").cursor("P_CURSOR").build();
+
     public InsuranceServiceImpl() {
         super("BOInsurance");
     }
@@ -28,61 +46,24 @@ public class InsuranceServiceImpl extends BaseService implements InsuranceServic
                                            Date createdFrom, Date createdTill, String fromLocation) {
         logger.debug("Calling BOInsurance.find()");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_DOC_CLASS", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_CHANNELS", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE),
-                inParam("P_FROM_LOCATION", Types.VARCHAR)
-        );
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, userLogin, officerId, docClass,
+                docId, channels, statuses, createdFrom, createdTill, fromLocation);
+    }
 
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_DOC_CLASS", docClass);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_CHANNELS", channels);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
-        inputParams.put("P_FROM_LOCATION", fromLocation);
+    @Override
+    public CursorStream streamFind(String custId, String custName, String userLogin, Long officerId,
+                                   String docClass, String docId, String channels, String statuses,
+                                   Date createdFrom, Date createdTill, String fromLocation) {
+        logger.debug("Streaming BOInsurance.find()");
 
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return streamCursorProcedure(findSpec, custId, custName, userLogin, officerId, docClass, docId,
+                channels, statuses, createdFrom, createdTill, fromLocation);
     }
 
     @Override
     public List<Map<String, Object>> findMy() {
         logger.debug("Calling BOInsurance.findMy()");
 
-        List<SqlParameter> params = List.of();
-        Map<String, Object> inputParams = Map.of();
-
-        return executeCursorProcedure("findMy", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findMySpec, rowMapper());
     }
 }
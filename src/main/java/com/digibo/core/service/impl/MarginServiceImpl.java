@@ -2,9 +2,9 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.MarginService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.CursorStream;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -18,6 +18,54 @@ import java.util.*;
 @Profile("!mock")
 public class MarginServiceImpl extends BaseService implements MarginService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_USER_PASSWORD", Types.VARCHAR)
+            .in("P_DOC_CLASS", Types.VARCHAR)
+            .in("P_RATE_FROM", Types.NUMERIC)
+            .in("P_RATE_TILL", Types.NUMERIC)
+            .in("P_ORDER_CCY", Types.VARCHAR)
+            .in("P_CONTRARY_CCY", Types.VARCHAR)
+            .in("P_EXPIRY_FROM", Types.DATE)
+            .in("P_EXPIRY_TILL", Types.DATE)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec findMySpec = procedure("findMy")
+            .in("P_DOC_CLASS", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec marginSpec = procedure("margin")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_DOC_NO", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_USER_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_CUST_NAME", Types.VARCHAR)
+            .out("P_CUST_ACCOUNT", Types.VARCHAR)
+            .out("P_GLOBUS_NO", Types.VARCHAR)
+            .out("P_OPERATION", Types.VARCHAR)
+            .out("P_INVEST_VOLUME", Types.VARCHAR)
+            .out("P_IDENT_CODE", Types.VARCHAR)
+            .out("P_ORDER_TYPE", Types.VARCHAR)
+            .out("P_GOOD_TILL", Types.DATE)
+            .out("P_CREDIT_CCY", Types.VARCHAR)
+            .out("P_DEBIT_CCY", Types.VARCHAR)
+            .out("P_EXCHANGE_RATE", Types.NUMERIC)
+            .out("P_VALUE_DATE", Types.DATE)
+            .out("P_TEXT", Types.VARCHAR)
+            .out("P_LOCATION", Types.VARCHAR)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_ITB", Types.VARCHAR)
+            .build();
+
     public MarginServiceImpl() {
         super("BOMargin");
     }
@@ -31,110 +79,35 @@ public class MarginServiceImpl extends BaseService implements MarginService {
                                            Date createdFrom, Date createdTill) {
         logger.debug("Calling BOMargin.find()");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_USER_PASSWORD", Types.VARCHAR),
-                inParam("P_DOC_CLASS", Types.VARCHAR),
-                inParam("P_RATE_FROM", Types.NUMERIC),
-                inParam("P_RATE_TILL", Types.NUMERIC),
-                inParam("P_ORDER_CCY", Types.VARCHAR),
-                inParam("P_CONTRARY_CCY", Types.VARCHAR),
-                inParam("P_EXPIRY_FROM", Types.DATE),
-                inParam("P_EXPIRY_TILL", Types.DATE),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_USER_PASSWORD", userPassword);
-        inputParams.put("P_DOC_CLASS", docClass);
-        inputParams.put("P_RATE_FROM", rateFrom);
-        inputParams.put("P_RATE_TILL", rateTill);
-        inputParams.put("P_ORDER_CCY", orderCCY);
-        inputParams.put("P_CONTRARY_CCY", contraryCCY);
-        inputParams.put("P_EXPIRY_FROM", expiryFrom);
-        inputParams.put("P_EXPIRY_TILL", expiryTill);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
-
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, userLogin, userPassword,
+                docClass, rateFrom, rateTill, orderCCY, contraryCCY, expiryFrom, expiryTill, docId, statuses,
+                createdFrom, createdTill);
+    }
+
+    @Override
+    public CursorStream streamFind(String custId, String custName, String userLogin, String userPassword,
+                                   String docClass, Double rateFrom, Double rateTill, String orderCCY,
+                                   String contraryCCY, Date expiryFrom, Date expiryTill, String docId,
+                                   String statuses, Date createdFrom, Date createdTill) {
+        logger.debug("Streaming BOMargin.find()");
+
+        return streamCursorProcedure(findSpec, custId, custName, userLogin, userPassword, docClass, rateFrom,
+                rateTill, orderCCY, contraryCCY, expiryFrom, expiryTill, docId, statuses, createdFrom,
+                createdTill);
     }
 
     @Override
     public List<Map<String, Object>> findMy(String docClass) {
         logger.debug("Calling BOMargin.findMy({})", docClass);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_DOC_CLASS", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_DOC_CLASS", docClass);
-
-        return executeCursorProcedure("findMy", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findMySpec, rowMapper(), docClass);
     }
 
     @Override
     public Map<String, Object> margin(String orderId) {
         logger.debug("Calling BOMargin.margin({})", orderId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_DOC_NO", Types.VARCHAR),
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_USER_ID", Types.VARCHAR),
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_CUST_NAME", Types.VARCHAR),
-                outParam("P_CUST_ACCOUNT", Types.VARCHAR),
-                outParam("P_GLOBUS_NO", Types.VARCHAR),
-                outParam("P_OPERATION", Types.VARCHAR),
-                outParam("P_INVEST_VOLUME", Types.VARCHAR),
-                outParam("P_IDENT_CODE", Types.VARCHAR),
-                outParam("P_ORDER_TYPE", Types.VARCHAR),
-                outParam("P_GOOD_TILL", Types.DATE),
-                outParam("P_CREDIT_CCY", Types.VARCHAR),
-                outParam("P_DEBIT_CCY", Types.VARCHAR),
-                outParam("P_EXCHANGE_RATE", Types.NUMERIC),
-                outParam("P_VALUE_DATE", Types.DATE),
-                outParam("P_TEXT", Types.VARCHAR),
-                outParam("P_LOCATION", Types.VARCHAR),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_ITB", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", orderId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("margin", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(marginSpec, orderId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("id", orderId);
@@ -2,9 +2,8 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.MessageService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -18,6 +17,68 @@ import java.util.*;
 @Profile("!mock")
 public class MessageServiceImpl extends BaseService implements MessageService {
 
+    private final ProcedureSpec findMessagesSpec = procedure("find_messages")
+            .in("P_USER_ID", Types.VARCHAR)
+            .in("P_USER_NAME", Types.VARCHAR)
+            .in("P_LOGIN", Types.VARCHAR)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_MSG_ID", Types.VARCHAR)
+            .in("P_MESSAGE", Types.VARCHAR)
+            .in("P_TYPE", Types.VARCHAR)
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CLASS_ID", Types.NUMERIC)
+            .in("P_DATE_FROM", Types.DATE)
+            .in("P_DATE_TILL", Types.DATE)
+            .in("P_CHANNEL_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec findCurrentSpec = procedure("find_current")
+            .in("P_CLASSES", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .coalesce()
+            .build();
+
+    private final ProcedureSpec loadUserDataSpec = procedure("load_user_data")
+            .in("P_WOC_ID", Types.NUMERIC)
+            .in("P_MSG_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_LOGIN", Types.VARCHAR)
+            .out("P_FROM_CUST", Types.VARCHAR)
+            .out("P_CUST_ID", Types.NUMERIC)
+            .build();
+
+    private final ProcedureSpec loadCommunicationSpec = procedure("load_communication")
+            .in("P_WOC_ID", Types.NUMERIC)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec setLockSpec = procedure("set_lock")
+            .in("P_LOCK_NAME", Types.VARCHAR)
+            .in("P_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_OFFICER_PHONE", Types.VARCHAR)
+            .out("P_RESULT", Types.NUMERIC)
+            .build();
+
+    private final ProcedureSpec setSeenSpec = procedure("set_seen").in("P_ID", Types.NUMERIC).build();
+
+    private final ProcedureSpec answerSpec = procedure("answer")
+            .in("P_ID", Types.NUMERIC)
+            .in("P_WOC_ID", Types.NUMERIC)
+            .in("P_STATUS", Types.NUMERIC)
+            .in("P_CLASS_ID", Types.NUMERIC)
+            .in("P_MESSAGE", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec forwardSpec = procedure("forward")
+            .in("P_ID", Types.NUMERIC)
+            .in("P_CLASS_ID", Types.NUMERIC)
+            .build();
+
     public MessageServiceImpl() {
         super("BOMessage");
     }
@@ -30,105 +91,23 @@ public class MessageServiceImpl extends BaseService implements MessageService {
                                                    Date dateFrom, Date dateTill, String channelId) {
         logger.debug("Calling BOMessage.find_messages()");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_USER_ID", Types.VARCHAR),
-                inParam("P_USER_NAME", Types.VARCHAR),
-                inParam("P_LOGIN", Types.VARCHAR),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_MSG_ID", Types.VARCHAR),
-                inParam("P_MESSAGE", Types.VARCHAR),
-                inParam("P_TYPE", Types.VARCHAR),
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CLASS_ID", Types.NUMERIC),
-                inParam("P_DATE_FROM", Types.DATE),
-                inParam("P_DATE_TILL", Types.DATE),
-                inParam("P_CHANNEL_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_USER_ID", userId);
-        inputParams.put("P_USER_NAME", userName);
-        inputParams.put("P_LOGIN", login);
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_MSG_ID", msgId);
-        inputParams.put("P_MESSAGE", message);
-        inputParams.put("P_TYPE", type);
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CLASS_ID", classId);
-        inputParams.put("P_DATE_FROM", dateFrom);
-        inputParams.put("P_DATE_TILL", dateTill);
-        inputParams.put("P_CHANNEL_ID", channelId);
-
-        return executeCursorProcedure("find_messages", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findMessagesSpec, rowMapper(), userId, userName, login, officerId,
+                msgId, message, type, custId, custName, statuses, classId, dateFrom, dateTill, channelId);
     }
 
     @Override
     public List<Map<String, Object>> findCurrent(String classes) {
         logger.debug("Calling BOMessage.find_current({})", classes);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CLASSES", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CLASSES", classes);
-
-        return executeCursorProcedure("find_current", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findCurrentSpec, rowMapper(), classes);
     }
 
     @Override
     public Map<String, Object> loadUserData(Long wocId, String msgId) {
         logger.debug("Calling BOMessage.load_user_data({}, {})", wocId, msgId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_WOC_ID", Types.NUMERIC),
-                inParam("P_MSG_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_LOGIN", Types.VARCHAR),
-                outParam("P_FROM_CUST", Types.VARCHAR),
-                outParam("P_CUST_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_WOC_ID", wocId);
-        inputParams.put("P_MSG_ID", msgId);
-
-        CursorResult<Map<String, Object>> result = executeCursorProcedureWithOutputs(
-                "load_user_data", inParams, outParams, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        CursorResult<Map<String, Object>> result = executeCursorProcedureWithOutputs(loadUserDataSpec,
+                rowMapper(), wocId, msgId);
 
         Map<String, Object> outputs = result.getOutputs();
         Map<String, Object> response = new HashMap<>();
@@ -144,44 +123,14 @@ public class MessageServiceImpl extends BaseService implements MessageService {
     public List<Map<String, Object>> loadCommunication(Long wocId) {
         logger.debug("Calling BOMessage.load_communication({})", wocId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_WOC_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_WOC_ID", wocId);
-
-        return executeCursorProcedure("load_communication", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(loadCommunicationSpec, rowMapper(), wocId);
     }
 
     @Override
     public Map<String, Object> setLock(String lockName, String id) {
         logger.debug("Calling BOMessage.set_lock({}, {})", lockName, id);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_LOCK_NAME", Types.VARCHAR),
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_OFFICER_PHONE", Types.VARCHAR),
-                outParam("P_RESULT", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_LOCK_NAME", lockName);
-        inputParams.put("P_ID", id);
-
-        Map<String, Object> result = executeProcedureWithOutputs("set_lock", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(setLockSpec, lockName, id);
 
         Integer lockStatus = toInteger(result.get("P_RESULT"));
         boolean success = lockStatus != null && lockStatus == 0;
@@ -203,13 +152,7 @@ public class MessageServiceImpl extends BaseService implements MessageService {
     public Map<String, Object> setSeen(Long id) {
         logger.debug("Calling BOMessage.set_seen({})", id);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", id);
-
-        executeVoidProcedure("set_seen", params, inputParams);
+        executeVoidProcedure(setSeenSpec, id);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -222,22 +165,7 @@ public class MessageServiceImpl extends BaseService implements MessageService {
     public Map<String, Object> answer(Long id, Long wocId, Integer status, Long classId, String message) {
         logger.debug("Calling BOMessage.answer({}, {}, {}, {})", id, wocId, status, classId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.NUMERIC),
-                inParam("P_WOC_ID", Types.NUMERIC),
-                inParam("P_STATUS", Types.NUMERIC),
-                inParam("P_CLASS_ID", Types.NUMERIC),
-                inParam("P_MESSAGE", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", id);
-        inputParams.put("P_WOC_ID", wocId);
-        inputParams.put("P_STATUS", status);
-        inputParams.put("P_CLASS_ID", classId);
-        inputParams.put("P_MESSAGE", message);
-
-        executeVoidProcedure("answer", params, inputParams);
+        executeVoidProcedure(answerSpec, id, wocId, status, classId, message);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -250,16 +178,7 @@ public class MessageServiceImpl extends BaseService implements MessageService {
     public Map<String, Object> forward(Long id, Long classId) {
         logger.debug("Calling BOMessage.forward({}, {})", id, classId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.NUMERIC),
-                inParam("P_CLASS_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", id);
-        inputParams.put("P_CLASS_ID", classId);
-
-        executeVoidProcedure("forward", params, inputParams);
+        executeVoidProcedure(forwardSpec, id, classId);
 
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -1,7 +1,10 @@
 package com.digibo.core.service.impl;
 
+import com.digibo.core.mapper.ColumnPlan;
 import com.digibo.core.service.NoteService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
+import com.digibo.core.service.base.ReferenceDataCache;
 import oracle.jdbc.OracleTypes;
 import org.springframework.context.annotation.Profile;
 import org.springframework.jdbc.core.SqlOutParameter;
@@ -9,6 +12,7 @@ import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Types;
 import java.util.*;
 
@@ -20,19 +24,68 @@ import java.util.*;
 @Profile("!mock")
 public class NoteServiceImpl extends BaseService implements NoteService {
 
-    public NoteServiceImpl() {
+    private static final String LOAD_NOTE_SQL = "{ call BONote.loadNote(?, ?, ?, ?, ?, ?, ?) }";
+
+    private final ProcedureSpec productsSpec = procedure("products").cursor("P_CURSOR").build();
+
+    private final ProcedureSpec findNotesSpec = procedure("findNotes")
+            .in("P_SUBJ", Types.VARCHAR)
+            .in("P_TEXT", Types.VARCHAR)
+            .in("P_CDEV_TYPES", Types.VARCHAR)
+            .in("P_CORP_TYPES", Types.VARCHAR)
+            .in("P_RESID_TYPES", Types.VARCHAR)
+            .in("P_CAT_INC", Types.VARCHAR)
+            .in("P_CAT_EXC", Types.VARCHAR)
+            .in("P_DATE_FROM", Types.DATE)
+            .in("P_DATE_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec loadNoteHistorySpec = procedure("loadNoteHistory")
+            .in("P_ID", Types.NUMERIC)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec setNoteSpec = procedure("setNote")
+            .in("P_ID", Types.NUMERIC)
+            .in("P_SUBJ", Types.VARCHAR)
+            .in("P_TEXT", Types.VARCHAR)
+            .in("P_ACTIVE_FROM", Types.DATE)
+            .in("P_ACTIVE_TILL", Types.DATE)
+            .in("P_CDEV_TYPES", Types.VARCHAR)
+            .in("P_CORP_TYPES", Types.VARCHAR)
+            .in("P_RESID_TYPES", Types.VARCHAR)
+            .in("P_CAT_INC", Types.VARCHAR)
+            .in("P_CAT_EXC", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec setProductSpec = procedure("setProduct")
+            .in("P_ID", Types.NUMERIC)
+            .in("P_CAT_ID", Types.NUMERIC)
+            .in("P_VAL", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec setChannelSpec = procedure("setChannel")
+            .in("P_ID", Types.NUMERIC)
+            .in("P_CHANNEL", Types.VARCHAR)
+            .build();
+
+    private final ReferenceDataCache.Lookup products;
+
+    public NoteServiceImpl(ReferenceDataCache referenceData) {
         super("BONote");
+        this.products = referenceData.define(ReferenceDataCache.NOTE_PRODUCTS, args -> loadProducts());
     }
 
     @Override
     public List<Map<String, Object>> products() {
-        logger.debug("Calling BONote.products()");
+        return products.get();
+    }
 
-        List<SqlParameter> params = List.of();
-        Map<String, Object> inputParams = Map.of();
+    private List<Map<String, Object>> loadProducts() {
+        logger.debug("Calling BONote.products()");
 
-        return executeCursorProcedure("products", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> mapRow(rs));
+        return executeCursorProcedure(productsSpec, rowMapper());
     }
 
     @Override
@@ -41,31 +94,8 @@ public class NoteServiceImpl extends BaseService implements NoteService {
                                                 Date dateFrom, Date dateTill) {
         logger.debug("Calling BONote.findNotes()");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_SUBJ", Types.VARCHAR),
-                inParam("P_TEXT", Types.VARCHAR),
-                inParam("P_CDEV_TYPES", Types.VARCHAR),
-                inParam("P_CORP_TYPES", Types.VARCHAR),
-                inParam("P_RESID_TYPES", Types.VARCHAR),
-                inParam("P_CAT_INC", Types.VARCHAR),
-                inParam("P_CAT_EXC", Types.VARCHAR),
-                inParam("P_DATE_FROM", Types.DATE),
-                inParam("P_DATE_TILL", Types.DATE)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_SUBJ", subj);
-        inputParams.put("P_TEXT", text);
-        inputParams.put("P_CDEV_TYPES", cDevTypes);
-        inputParams.put("P_CORP_TYPES", corpTypes);
-        inputParams.put("P_RESID_TYPES", residTypes);
-        inputParams.put("P_CAT_INC", catInc);
-        inputParams.put("P_CAT_EXC", catExc);
-        inputParams.put("P_DATE_FROM", dateFrom);
-        inputParams.put("P_DATE_TILL", dateTill);
-
-        return executeCursorProcedure("findNotes", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> mapRow(rs));
+        return executeCursorProcedure(findNotesSpec, rowMapper(), subj, text, cDevTypes, corpTypes,
+                residTypes, catInc, catExc, dateFrom, dateTill);
     }
 
     @Override
@@ -86,10 +116,8 @@ public class NoteServiceImpl extends BaseService implements NoteService {
         Map<String, Object> inputParams = Map.of("P_ID", noteId);
 
         // This procedure has multiple cursors, we need custom handling
-        String sql = "{ call " + packageName + ".loadNote(?, ?, ?, ?, ?, ?, ?) }";
-
-        try (var conn = dataSource.getConnection();
-             var cs = conn.prepareCall(sql)) {
+        try (var conn = getConnection();
+             var cs = prepareCall(conn, LOAD_NOTE_SQL)) {
 
             cs.setLong(1, noteId);
             cs.registerOutParameter(2, Types.VARCHAR); // P_SUBJ
@@ -112,8 +140,9 @@ public class NoteServiceImpl extends BaseService implements NoteService {
             List<Map<String, Object>> products = new ArrayList<>();
             try (ResultSet rs = (ResultSet) cs.getObject(6)) {
                 if (rs != null) {
+                    ColumnPlan plan = ColumnPlan.of(rs.getMetaData());
                     while (rs.next()) {
-                        products.add(mapRow(rs));
+                        products.add(plan.readRow(rs));
                     }
                 }
             }
@@ -123,8 +152,9 @@ public class NoteServiceImpl extends BaseService implements NoteService {
             List<Map<String, Object>> channels = new ArrayList<>();
             try (ResultSet rs = (ResultSet) cs.getObject(7)) {
                 if (rs != null) {
+                    ColumnPlan plan = ColumnPlan.of(rs.getMetaData());
                     while (rs.next()) {
-                        channels.add(mapRow(rs));
+                        channels.add(plan.readRow(rs));
                     }
                 }
             }
@@ -132,7 +162,7 @@ public class NoteServiceImpl extends BaseService implements NoteService {
 
             return result;
 
-        } catch (Exception e) {
+        } catch (SQLException e) {
             logger.error("Error calling BONote.loadNote: {}", e.getMessage());
             throw new RuntimeException("Database error: " + e.getMessage(), e);
         }
@@ -142,14 +172,7 @@ public class NoteServiceImpl extends BaseService implements NoteService {
     public List<Map<String, Object>> loadNoteHistory(Long noteId) {
         logger.debug("Calling BONote.loadNoteHistory({})", noteId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", noteId);
-
-        return executeCursorProcedure("loadNoteHistory", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> mapRow(rs));
+        return executeCursorProcedure(loadNoteHistorySpec, rowMapper(), noteId);
     }
 
     @Override
@@ -158,32 +181,8 @@ public class NoteServiceImpl extends BaseService implements NoteService {
                                         String catInc, String catExc) {
         logger.debug("Calling BONote.setNote()");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.NUMERIC),
-                inParam("P_SUBJ", Types.VARCHAR),
-                inParam("P_TEXT", Types.VARCHAR),
-                inParam("P_ACTIVE_FROM", Types.DATE),
-                inParam("P_ACTIVE_TILL", Types.DATE),
-                inParam("P_CDEV_TYPES", Types.VARCHAR),
-                inParam("P_CORP_TYPES", Types.VARCHAR),
-                inParam("P_RESID_TYPES", Types.VARCHAR),
-                inParam("P_CAT_INC", Types.VARCHAR),
-                inParam("P_CAT_EXC", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", id);
-        inputParams.put("P_SUBJ", subject);
-        inputParams.put("P_TEXT", text);
-        inputParams.put("P_ACTIVE_FROM", activeFrom);
-        inputParams.put("P_ACTIVE_TILL", activeTill);
-        inputParams.put("P_CDEV_TYPES", cDevTypes);
-        inputParams.put("P_CORP_TYPES", corpTypes);
-        inputParams.put("P_RESID_TYPES", residTypes);
-        inputParams.put("P_CAT_INC", catInc);
-        inputParams.put("P_CAT_EXC", catExc);
-
-        executeVoidProcedure("setNote", params, inputParams);
+        executeVoidProcedure(setNoteSpec, id, subject, text, activeFrom, activeTill, cDevTypes, corpTypes,
+                residTypes, catInc, catExc);
 
         Map<String, Object> result = new HashMap<>();
         result.put("success", true);
@@ -195,18 +194,7 @@ public class NoteServiceImpl extends BaseService implements NoteService {
     public Map<String, Object> setProduct(Long noteId, Long categoryId, String value) {
         logger.debug("Calling BONote.setProduct({}, {}, {})", noteId, categoryId, value);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.NUMERIC),
-                inParam("P_CAT_ID", Types.NUMERIC),
-                inParam("P_VAL", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", noteId);
-        inputParams.put("P_CAT_ID", categoryId);
-        inputParams.put("P_VAL", value);
-
-        executeVoidProcedure("setProduct", params, inputParams);
+        executeVoidProcedure(setProductSpec, noteId, categoryId, value);
 
         Map<String, Object> result = new HashMap<>();
         result.put("success", true);
@@ -220,16 +208,7 @@ public class NoteServiceImpl extends BaseService implements NoteService {
     public Map<String, Object> setChannel(Long noteId, String channel) {
         logger.debug("Calling BONote.setChannel({}, {})", noteId, channel);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.NUMERIC),
-                inParam("P_CHANNEL", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", noteId);
-        inputParams.put("P_CHANNEL", channel);
-
-        executeVoidProcedure("setChannel", params, inputParams);
+        executeVoidProcedure(setChannelSpec, noteId, channel);
 
         Map<String, Object> result = new HashMap<>();
         result.put("success", true);
@@ -237,14 +216,4 @@ public class NoteServiceImpl extends BaseService implements NoteService {
         result.put("channel", channel);
         return result;
     }
-
-    private Map<String, Object> mapRow(ResultSet rs) throws java.sql.SQLException {
-        Map<String, Object> row = new HashMap<>();
-        int colCount = rs.getMetaData().getColumnCount();
-        for (int i = 1; i <= colCount; i++) {
-            String colName = rs.getMetaData().getColumnName(i);
-            row.put(colName, rs.getObject(i));
-        }
-        return row;
-    }
 }
@@ -1,35 +1,54 @@
 package com.digibo.core.service.impl;
 
+import com.digibo.core.service.AuthPermissionService;
 import com.digibo.core.service.NotifyService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
+import com.digibo.core.service.base.ReferenceDataCache;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
  * NotifyServiceImpl - Real implementation of NotifyService
  * Calls BONotify Oracle package procedures
+ *
+ * Each notification also drops the reference data it makes stale:
+ * notifyRatesBoard the currency rates, notifyFfo the FFO categories and
+ * updateBoPermissions the replacers (besides cached permissions).
  */
 @Service
 @Profile("!mock")
 public class NotifyServiceImpl extends BaseService implements NotifyService {
 
-    public NotifyServiceImpl() {
+    private final ProcedureSpec notifyRatesBoardSpec = procedure("notifyRatesBoard").build();
+
+    private final ProcedureSpec notifyFfoSpec = procedure("notifyFfo").build();
+
+    private final ProcedureSpec notifyInvestmentSpec = procedure("notifyInvestment").build();
+
+    private final ProcedureSpec notifyMortgageLoansSpec = procedure("notifyMortgageLoans").build();
+
+    private final ProcedureSpec updateBoPermissionsSpec = procedure("updateBoPermissions").build();
+
+    private final AuthPermissionService authPermissionService;
+
+    private final ReferenceDataCache referenceData;
+
+    public NotifyServiceImpl(AuthPermissionService authPermissionService, ReferenceDataCache referenceData) {
         super("BONotify");
+        this.authPermissionService = authPermissionService;
+        this.referenceData = referenceData;
     }
 
     @Override
     public Map<String, Object> notifyRatesBoard() {
         logger.debug("Calling BONotify.notifyRatesBoard()");
 
-        List<SqlParameter> params = List.of();
-        Map<String, Object> inputParams = Map.of();
-
-        executeVoidProcedure("notifyRatesBoard", params, inputParams);
+        executeVoidProcedure(notifyRatesBoardSpec);
+        referenceData.invalidate(ReferenceDataCache.CURRENCY_RATES);
 
         Map<String, Object> result = new HashMap<>();
         result.put("success", true);
@@ -41,10 +60,8 @@ public class NotifyServiceImpl extends BaseService implements NotifyService {
     public Map<String, Object> notifyFfo() {
         logger.debug("Calling BONotify.notifyFfo()");
 
-        List<SqlParameter> params = List.of();
-        Map<String, Object> inputParams = Map.of();
-
-        executeVoidProcedure("notifyFfo", params, inputParams);
+        executeVoidProcedure(notifyFfoSpec);
+        referenceData.invalidate(ReferenceDataCache.FFO_CATEGORIES);
 
         Map<String, Object> result = new HashMap<>();
         result.put("success", true);
@@ -56,10 +73,7 @@ public class NotifyServiceImpl extends BaseService implements NotifyService {
     public Map<String, Object> notifyInvestment() {
         logger.debug("Calling BONotify.notifyInvestment()");
 
-        List<SqlParameter> params = List.of();
-        Map<String, Object> inputParams = Map.of();
-
-        executeVoidProcedure("notifyInvestment", params, inputParams);
+        executeVoidProcedure(notifyInvestmentSpec);
 
         Map<String, Object> result = new HashMap<>();
         result.put("success", true);
@@ -71,10 +85,7 @@ public class NotifyServiceImpl extends BaseService implements NotifyService {
     public Map<String, Object> notifyMortgageLoans() {
         logger.debug("Calling BONotify.notifyMortgageLoans()");
 
-        List<SqlParameter> params = List.of();
-        Map<String, Object> inputParams = Map.of();
-
-        executeVoidProcedure("notifyMortgageLoans", params, inputParams);
+        executeVoidProcedure(notifyMortgageLoansSpec);
 
         Map<String, Object> result = new HashMap<>();
         result.put("success", true);
@@ -83,13 +94,17 @@ public class NotifyServiceImpl extends BaseService implements NotifyService {
     }
 
     @Override
-    public Map<String, Object> updateBoPermissions() {
+    public Map<String, Object> updateBoPermissions(String username) {
         logger.debug("Calling BONotify.updateBoPermissions()");
 
-        List<SqlParameter> params = List.of();
-        Map<String, Object> inputParams = Map.of();
+        executeVoidProcedure(updateBoPermissionsSpec);
 
-        executeVoidProcedure("updateBoPermissions", params, inputParams);
+        if (username != null) {
+            authPermissionService.clearCache(username);
+        } else {
+            authPermissionService.clearAllCache();
+        }
+        referenceData.invalidate(ReferenceDataCache.REPLACERS);
 
         Map<String, Object> result = new HashMap<>();
         result.put("success", true);
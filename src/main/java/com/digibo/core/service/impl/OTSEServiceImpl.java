@@ -1,14 +1,15 @@
 package com.digibo.core.service.impl;
 
+import com.digibo.core.mapper.ColumnPlan;
 import com.digibo.core.service.OTSEService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import oracle.jdbc.OracleTypes;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Types;
 import java.util.*;
 
@@ -20,6 +21,32 @@ import java.util.*;
 @Profile("!mock")
 public class OTSEServiceImpl extends BaseService implements OTSEService {
 
+    private static final String GET_CUSTOMER_SQL = "{ ? = call BOOTSE.get_customer(?, ?) }";
+
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_PERSONAL_ID", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec findNewSpec = procedure("find_new").cursor("P_CURSOR").coalesce().build();
+
+    private final ProcedureSpec bindSpec = procedure("bind")
+            .in("P_WOC_ID", Types.VARCHAR)
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_USER_ID", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec setWocStatusSpec = procedure("set_woc_status")
+            .in("P_WOC_ID", Types.VARCHAR)
+            .in("P_STATUS", Types.NUMERIC)
+            .in("P_SUB_STATUS", Types.NUMERIC)
+            .build();
+
     public OTSEServiceImpl() {
         super("BOOTSE");
     }
@@ -29,34 +56,14 @@ public class OTSEServiceImpl extends BaseService implements OTSEService {
                                            String personalId, String docId) {
         logger.debug("Calling BOOTSE.find()");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_PERSONAL_ID", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_PERSONAL_ID", personalId);
-        inputParams.put("P_DOC_ID", docId);
-
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> mapRow(rs));
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, userLogin, personalId, docId);
     }
 
     @Override
     public List<Map<String, Object>> findNew() {
         logger.debug("Calling BOOTSE.find_new()");
 
-        List<SqlParameter> params = List.of();
-        Map<String, Object> inputParams = Map.of();
-
-        return executeCursorProcedure("find_new", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> mapRow(rs));
+        return executeCursorProcedure(findNewSpec, rowMapper());
     }
 
     @Override
@@ -64,10 +71,8 @@ public class OTSEServiceImpl extends BaseService implements OTSEService {
         logger.debug("Calling BOOTSE.get_customer({})", customerId);
 
         // This function returns a cursor and has an output parameter
-        String sql = "{ ? = call " + packageName + ".get_customer(?, ?) }";
-
-        try (var conn = dataSource.getConnection();
-             var cs = conn.prepareCall(sql)) {
+        try (var conn = getConnection();
+             var cs = prepareCall(conn, GET_CUSTOMER_SQL)) {
 
             cs.registerOutParameter(1, OracleTypes.CURSOR);
             cs.setString(2, customerId);
@@ -80,8 +85,9 @@ public class OTSEServiceImpl extends BaseService implements OTSEService {
             List<Map<String, Object>> rows = new ArrayList<>();
             try (ResultSet rs = (ResultSet) cs.getObject(1)) {
                 if (rs != null) {
+                    ColumnPlan plan = ColumnPlan.of(rs.getMetaData());
                     while (rs.next()) {
-                        rows.add(mapRow(rs));
+                        rows.add(plan.readRow(rs));
                     }
                 }
             }
@@ -92,7 +98,7 @@ public class OTSEServiceImpl extends BaseService implements OTSEService {
 
             return result;
 
-        } catch (Exception e) {
+        } catch (SQLException e) {
             logger.error("Error calling BOOTSE.get_customer: {}", e.getMessage());
             throw new RuntimeException("Database error: " + e.getMessage(), e);
         }
@@ -102,20 +108,7 @@ public class OTSEServiceImpl extends BaseService implements OTSEService {
     public Map<String, Object> bind(String wocId, String custId, String userId, String docId) {
         logger.debug("Calling BOOTSE.bind({}, {}, {}, {})", wocId, custId, userId, docId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_WOC_ID", Types.VARCHAR),
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_USER_ID", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_WOC_ID", wocId);
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_USER_ID", userId);
-        inputParams.put("P_DOC_ID", docId);
-
-        executeVoidProcedure("bind", params, inputParams);
+        executeVoidProcedure(bindSpec, wocId, custId, userId, docId);
 
         Map<String, Object> result = new HashMap<>();
         result.put("success", true);
@@ -130,18 +123,7 @@ public class OTSEServiceImpl extends BaseService implements OTSEService {
     public Map<String, Object> setWocStatus(String wocId, Integer status, Integer subStatus) {
         logger.debug("Calling BOOTSE.set_woc_status({}, {}, {})", wocId, status, subStatus);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_WOC_ID", Types.VARCHAR),
-                inParam("P_STATUS", Types.NUMERIC),
-                inParam("P_SUB_STATUS", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_WOC_ID", wocId);
-        inputParams.put("P_STATUS", status);
-        inputParams.put("P_SUB_STATUS", subStatus);
-
-        executeVoidProcedure("set_woc_status", params, inputParams);
+        executeVoidProcedure(setWocStatusSpec, wocId, status, subStatus);
 
         Map<String, Object> result = new HashMap<>();
         result.put("success", true);
@@ -150,14 +132,4 @@ public class OTSEServiceImpl extends BaseService implements OTSEService {
         result.put("subStatus", subStatus);
         return result;
     }
-
-    private Map<String, Object> mapRow(ResultSet rs) throws java.sql.SQLException {
-        Map<String, Object> row = new HashMap<>();
-        int colCount = rs.getMetaData().getColumnCount();
-        for (int i = 1; i <= colCount; i++) {
-            String colName = rs.getMetaData().getColumnName(i);
-            row.put(colName, rs.getObject(i));
-        }
-        return row;
-    }
 }
@@ -2,54 +2,158 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.OfficerSessionService;
 import jakarta.annotation.PreDestroy;
+import oracle.jdbc.OracleConnection;
+import oracle.ucp.UniversalConnectionPoolException;
+import oracle.ucp.admin.UniversalConnectionPoolManagerImpl;
+import oracle.ucp.jdbc.PoolDataSource;
+import oracle.ucp.jdbc.PoolDataSourceFactory;
+import oracle.ucp.jdbc.ValidConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import javax.sql.DataSource;
 import java.sql.CallableStatement;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
 
+/**
+ * Officer sessions registered through Oracle proxy sessions on a small shared UCP pool.
+ *
+ * The pool connects as the application user. A login borrows a pooled connection, opens
+ * a proxy session for the officer on it (the officer's password is checked by Oracle),
+ * registers the session, then closes the proxy session and returns the connection. No
+ * connection is held between calls, so the number of Oracle sessions is bounded by the
+ * pool size, not by the number of logged-in officers. Ending a session (logout, idle,
+ * shutdown) calls BO_AUTH.REMOVE_SESSION as the application user, as the other BO_AUTH
+ * calls are. No Oracle session stays open for the officer: the officers_online row is
+ * what backs the session id. The database needs
+ * ALTER USER officer GRANT CONNECT THROUGH app_user AUTHENTICATED USING PASSWORD,
+ * and REMOVE_SESSION must delete the row by session id although the officer wrote it.
+ *
+ * - app.officer-sessions.max-sessions: registered sessions per node
+ * - app.officer-sessions.pool-size: pooled connections shared by all officers
+ * - app.officer-sessions.idle-timeout: sessions not used for this long are ended
+ *   (a token refresh counts as use)
+ * - app.officer-sessions.shutdown-timeout: time allowed to end all sessions on shutdown
+ */
 @Service
 @Profile("!mock")
 public class OfficerSessionServiceImpl implements OfficerSessionService {
 
     private static final Logger logger = LoggerFactory.getLogger(OfficerSessionServiceImpl.class);
 
-    private final String jdbcUrl;
-    private final ConcurrentHashMap<String, Connection> activeSessions = new ConcurrentHashMap<>();
+    private static final String POOL_NAME = "DigiboOfficerSessionPool";
+    private static final String REGISTER_SESSION_SQL = "{call BO_AUTH.REGISTER_SESSION(?, ?)}";
+    private static final String REMOVE_SESSION_SQL = "{call BO_AUTH.REMOVE_SESSION(?)}";
+    private static final long REAP_INTERVAL_MS = 60_000;
 
-    public OfficerSessionServiceImpl(@Value("${spring.datasource.url}") String jdbcUrl) {
-        this.jdbcUrl = jdbcUrl;
+    private final DataSource pool;
+    private final int maxSessions;
+    private final long idleTimeout;
+    private final long shutdownTimeout;
+    private final LongSupplier clock;
+    private final Semaphore sessionSlots;
+    private final ConcurrentHashMap<String, OfficerSession> activeSessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService reaper;
+
+    @Autowired
+    public OfficerSessionServiceImpl(
+            @Value("${spring.datasource.url}") String jdbcUrl,
+            @Value("${spring.datasource.username}") String poolUser,
+            @Value("${spring.datasource.password}") String poolPassword,
+            @Value("${app.officer-sessions.max-sessions:200}") int maxSessions,
+            @Value("${app.officer-sessions.pool-size:4}") int poolSize,
+            @Value("${app.officer-sessions.idle-timeout:${jwt.expiration:86400000}}") long idleTimeout,
+            @Value("${app.officer-sessions.shutdown-timeout:10000}") long shutdownTimeout) throws SQLException {
+        this(pool(jdbcUrl, poolUser, poolPassword, poolSize), maxSessions, idleTimeout, shutdownTimeout,
+                System::currentTimeMillis);
+    }
+
+    OfficerSessionServiceImpl(DataSource pool, int maxSessions, long idleTimeout, long shutdownTimeout,
+                              LongSupplier clock) {
+        this.pool = pool;
+        this.maxSessions = maxSessions;
+        this.idleTimeout = idleTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.clock = clock;
+        this.sessionSlots = new Semaphore(maxSessions);
+
+        this.reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "officer-session-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reaper.scheduleWithFixedDelay(this::reapIdleSessions, REAP_INTERVAL_MS, REAP_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private static PoolDataSource pool(String jdbcUrl, String poolUser, String poolPassword, int poolSize)
+            throws SQLException {
+        PoolDataSource pool = PoolDataSourceFactory.getPoolDataSource();
+        pool.setConnectionPoolName(POOL_NAME);
+        pool.setConnectionFactoryClassName("oracle.jdbc.pool.OracleDataSource");
+        pool.setURL(jdbcUrl);
+        pool.setUser(poolUser);
+        pool.setPassword(poolPassword);
+        pool.setInitialPoolSize(0);
+        pool.setMinPoolSize(0);
+        pool.setMaxPoolSize(poolSize);
+        pool.setValidateConnectionOnBorrow(true);
+        return pool;
     }
 
     @Override
     public String createSession(String username, String password, String ipAddress) {
-        String sessionId = UUID.randomUUID().toString();
-
-        try {
-            Connection connection = DriverManager.getConnection(jdbcUrl, username, password);
+        if (!sessionSlots.tryAcquire()) {
+            reapIdleSessions();
+            if (!sessionSlots.tryAcquire()) {
+                logger.warn("Officer session limit of {} reached, no session for user {}", maxSessions, username);
+                throw new RuntimeException("Officer session limit reached");
+            }
+        }
 
-            try (CallableStatement cs = connection.prepareCall("{call BO_AUTH.REGISTER_SESSION(?, ?)}")) {
+        String sessionId = UUID.randomUUID().toString();
+        try (Connection connection = pool.getConnection()) {
+            OracleConnection oracleConnection = connection.unwrap(OracleConnection.class);
+            Properties proxyProperties = new Properties();
+            proxyProperties.put(OracleConnection.PROXY_USER_NAME, username);
+            proxyProperties.put(OracleConnection.PROXY_USER_PASSWORD, password);
+            oracleConnection.openProxySession(OracleConnection.PROXYTYPE_USER_NAME, proxyProperties);
+            try (CallableStatement cs = connection.prepareCall(REGISTER_SESSION_SQL)) {
                 cs.setString(1, sessionId);
                 cs.setString(2, ipAddress);
                 cs.execute();
+            } finally {
+                closeProxySession(connection, oracleConnection, sessionId);
             }
-
-            activeSessions.put(sessionId, connection);
-            logger.info("Created officer session {} for user {}", sessionId, username);
-            return sessionId;
-
         } catch (SQLException e) {
+            sessionSlots.release();
             logger.error("Failed to create officer session for user {}: {}", username, e.getMessage());
             throw new RuntimeException("Failed to create officer session", e);
         }
+
+        activeSessions.put(sessionId, new OfficerSession(username, clock.getAsLong()));
+        logger.info("Created officer session {} for user {}", sessionId, username);
+        return sessionId;
     }
 
     @Override
@@ -58,46 +162,136 @@ public class OfficerSessionServiceImpl implements OfficerSessionService {
             return;
         }
 
-        Connection connection = activeSessions.remove(sessionId);
-        if (connection == null) {
-            logger.warn("No active connection found for session {}", sessionId);
+        OfficerSession session = activeSessions.remove(sessionId);
+        if (session == null) {
+            logger.warn("No active officer session {}", sessionId);
             return;
         }
 
-        try {
-            try (CallableStatement cs = connection.prepareCall("{call BO_AUTH.REMOVE_SESSION(?)}")) {
-                cs.setString(1, sessionId);
-                cs.execute();
-            }
-            logger.info("Removed officer session {}", sessionId);
-        } catch (SQLException e) {
-            logger.error("Failed to remove officer session {}: {}", sessionId, e.getMessage());
-        } finally {
-            try {
-                connection.close();
-            } catch (SQLException e) {
-                logger.error("Failed to close connection for session {}: {}", sessionId, e.getMessage());
+        removeSession(sessionId);
+        logger.info("Removed officer session {}", sessionId);
+    }
+
+    @Override
+    public void touchSession(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        OfficerSession session = activeSessions.get(sessionId);
+        if (session != null) {
+            session.lastUsed = clock.getAsLong();
+        }
+    }
+
+    int activeSessionCount() {
+        return activeSessions.size();
+    }
+
+    /**
+     * End sessions that have not been used within the idle timeout.
+     */
+    void reapIdleSessions() {
+        long idleSince = clock.getAsLong() - idleTimeout;
+        for (Map.Entry<String, OfficerSession> entry : activeSessions.entrySet()) {
+            OfficerSession session = entry.getValue();
+            if (session.lastUsed < idleSince && activeSessions.remove(entry.getKey(), session)) {
+                logger.info("Ending idle officer session {} for user {}", entry.getKey(), session.username);
+                removeSession(entry.getKey());
             }
         }
     }
 
+    /**
+     * End all sessions in parallel, waiting at most the shutdown timeout,
+     * then shut the pool down.
+     */
     @PreDestroy
     public void cleanup() {
-        logger.info("Cleaning up {} active officer sessions", activeSessions.size());
-        for (Map.Entry<String, Connection> entry : activeSessions.entrySet()) {
+        reaper.shutdownNow();
+
+        List<String> sessionIds = new ArrayList<>(activeSessions.keySet());
+        logger.info("Cleaning up {} active officer sessions", sessionIds.size());
+
+        if (!sessionIds.isEmpty()) {
+            ExecutorService closer = Executors.newFixedThreadPool(Math.min(sessionIds.size(), 16));
             try {
-                Connection connection = entry.getValue();
-                if (!connection.isClosed()) {
-                    try (CallableStatement cs = connection.prepareCall("{call BO_AUTH.REMOVE_SESSION(?)}")) {
-                        cs.setString(1, entry.getKey());
-                        cs.execute();
-                    }
-                    connection.close();
-                }
-            } catch (SQLException e) {
-                logger.error("Error cleaning up session {}: {}", entry.getKey(), e.getMessage());
+                CompletableFuture<?>[] closing = sessionIds.stream()
+                        .map(id -> CompletableFuture.runAsync(() -> {
+                            if (activeSessions.remove(id) != null) {
+                                removeSession(id);
+                            }
+                        }, closer))
+                        .toArray(CompletableFuture[]::new);
+                CompletableFuture.allOf(closing).get(shutdownTimeout, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                logger.warn("Officer session cleanup did not finish within {} ms, {} sessions left",
+                        shutdownTimeout, activeSessions.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                logger.error("Error cleaning up officer sessions: {}", e.getMessage());
+            } finally {
+                closer.shutdownNow();
             }
         }
         activeSessions.clear();
+
+        if (pool instanceof PoolDataSource) {
+            try {
+                UniversalConnectionPoolManagerImpl.getUniversalConnectionPoolManager()
+                        .destroyConnectionPool(POOL_NAME);
+            } catch (UniversalConnectionPoolException e) {
+                logger.debug("Officer session pool not destroyed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Unregister a session and give its slot back.
+     */
+    private void removeSession(String sessionId) {
+        try (Connection connection = pool.getConnection();
+             CallableStatement cs = connection.prepareCall(REMOVE_SESSION_SQL)) {
+            cs.setString(1, sessionId);
+            cs.execute();
+        } catch (SQLException e) {
+            logger.error("Failed to remove officer session {}: {}", sessionId, e.getMessage());
+        } finally {
+            sessionSlots.release();
+        }
+    }
+
+    /**
+     * End the proxy session before the connection goes back to the pool. A connection
+     * whose proxy session cannot be closed is marked invalid, so the pool discards it
+     * instead of handing out a connection still acting as the officer.
+     */
+    private static void closeProxySession(Connection connection, OracleConnection oracleConnection,
+                                          String sessionId) {
+        try {
+            if (oracleConnection.isProxySession()) {
+                oracleConnection.close(OracleConnection.PROXY_SESSION);
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to close proxy session for session {}: {}", sessionId, e.getMessage());
+            if (connection instanceof ValidConnection valid) {
+                try {
+                    valid.setInvalid();
+                } catch (SQLException invalid) {
+                    logger.debug("Could not invalidate connection: {}", invalid.getMessage());
+                }
+            }
+        }
+    }
+
+    private static final class OfficerSession {
+
+        private final String username;
+        private volatile long lastUsed;
+
+        private OfficerSession(String username, long lastUsed) {
+            this.username = username;
+            this.lastUsed = lastUsed;
+        }
     }
 }
@@ -2,12 +2,11 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.PamoService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.CursorStream;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
-import java.sql.ResultSet;
 import java.sql.Types;
 import java.util.*;
 
@@ -19,6 +18,45 @@ import java.util.*;
 @Profile("!mock")
 public class PamoServiceImpl extends BaseService implements PamoService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_DOC_CLASS", Types.VARCHAR)
+            .in("P_ISIN", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec findMySpec = procedure("find_my")
+            .in("P_DOC_CLASS", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec pamoSpec = procedure("pamo")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_DOC_NO", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_USER_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_CUST_NAME", Types.VARCHAR)
+            .out("P_CUST_ACCOUNT", Types.VARCHAR)
+            .out("P_GLOBUS_NO", Types.VARCHAR)
+            .out("P_PORTFOLIO_ID", Types.VARCHAR)
+            .out("P_OPERATION", Types.VARCHAR)
+            .out("P_ISIN_CODE", Types.VARCHAR)
+            .out("P_FUND_NAME", Types.VARCHAR)
+            .out("P_INVEST_VOLUME", Types.VARCHAR)
+            .out("P_CREDIT_AMNT", Types.VARCHAR)
+            .out("P_TEXT", Types.VARCHAR)
+            .out("P_LOCATION", Types.VARCHAR)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_ITB", Types.VARCHAR)
+            .build();
+
     public PamoServiceImpl() {
         super("BOPAMO");
     }
@@ -29,79 +67,32 @@ public class PamoServiceImpl extends BaseService implements PamoService {
                                            String statuses, Date createdFrom, Date createdTill) {
         logger.debug("Calling BOPAMO.find()");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_DOC_CLASS", Types.VARCHAR),
-                inParam("P_ISIN", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_DOC_CLASS", docClass);
-        inputParams.put("P_ISIN", pIsin);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
-
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> mapRow(rs));
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, userLogin, docClass, pIsin,
+                docId, statuses, createdFrom, createdTill);
     }
 
     @Override
-    public List<Map<String, Object>> findMy(String docClass) {
-        logger.debug("Calling BOPAMO.find_my({})", docClass);
+    public CursorStream streamFind(String custId, String custName, String userLogin, String docClass,
+                                   String pIsin, String docId, String statuses, Date createdFrom,
+                                   Date createdTill) {
+        logger.debug("Streaming BOPAMO.find()");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_DOC_CLASS", Types.VARCHAR)
-        );
+        return streamCursorProcedure(findSpec, custId, custName, userLogin, docClass, pIsin, docId, statuses,
+                createdFrom, createdTill);
+    }
 
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_DOC_CLASS", docClass);
+    @Override
+    public List<Map<String, Object>> findMy(String docClass) {
+        logger.debug("Calling BOPAMO.find_my({})", docClass);
 
-        return executeCursorProcedure("find_my", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> mapRow(rs));
+        return executeCursorProcedure(findMySpec, rowMapper(), docClass);
     }
 
     @Override
     public Map<String, Object> pamo(String pamoId) {
         logger.debug("Calling BOPAMO.pamo({})", pamoId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_DOC_NO", Types.VARCHAR),
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_USER_ID", Types.VARCHAR),
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_CUST_NAME", Types.VARCHAR),
-                outParam("P_CUST_ACCOUNT", Types.VARCHAR),
-                outParam("P_GLOBUS_NO", Types.VARCHAR),
-                outParam("P_PORTFOLIO_ID", Types.VARCHAR),
-                outParam("P_OPERATION", Types.VARCHAR),
-                outParam("P_ISIN_CODE", Types.VARCHAR),
-                outParam("P_FUND_NAME", Types.VARCHAR),
-                outParam("P_INVEST_VOLUME", Types.VARCHAR),
-                outParam("P_CREDIT_AMNT", Types.VARCHAR),
-                outParam("P_TEXT", Types.VARCHAR),
-                outParam("P_LOCATION", Types.VARCHAR),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_ITB", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", pamoId);
-
-        Map<String, Object> outputs = executeProcedureWithOutputs("pamo", inParams, outParams, inputParams);
+        Map<String, Object> outputs = executeProcedureWithOutputs(pamoSpec, pamoId);
 
         Map<String, Object> result = new HashMap<>();
         result.put("id", pamoId);
@@ -125,14 +116,4 @@ public class PamoServiceImpl extends BaseService implements PamoService {
 
         return result;
     }
-
-    private Map<String, Object> mapRow(ResultSet rs) throws java.sql.SQLException {
-        Map<String, Object> row = new HashMap<>();
-        int colCount = rs.getMetaData().getColumnCount();
-        for (int i = 1; i <= colCount; i++) {
-            String colName = rs.getMetaData().getColumnName(i);
-            row.put(colName, rs.getObject(i));
-        }
-        return row;
-    }
 }
@@ -2,12 +2,10 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.Pay4Service;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
-import java.sql.ResultSet;
 import java.sql.Types;
 import java.util.*;
 
@@ -19,6 +17,82 @@ import java.util.*;
 @Profile("!mock")
 public class Pay4ServiceImpl extends BaseService implements Pay4Service {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_BEN_NAME", Types.VARCHAR)
+            .in("P_PMT_DETAILS", Types.VARCHAR)
+            .in("P_FROM_CONTRACT", Types.VARCHAR)
+            .in("P_AMOUNT_FROM", Types.VARCHAR)
+            .in("P_AMOUNT_TILL", Types.VARCHAR)
+            .in("P_CURRENCIES", Types.VARCHAR)
+            .in("P_PMT_CLASS", Types.VARCHAR)
+            .in("P_EFFECT_FROM", Types.DATE)
+            .in("P_EFFECT_TILL", Types.DATE)
+            .in("P_PAYMENT_ID", Types.VARCHAR)
+            .in("P_CHANNELS", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec paymentSpec = procedure("payment")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_USER_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_CUST_NAME", Types.VARCHAR)
+            .out("P_CUST_ACCOUNT", Types.VARCHAR)
+            .out("P_BEN_NAME", Types.VARCHAR)
+            .out("P_BEN_ID", Types.VARCHAR)
+            .out("P_BEN_RES", Types.VARCHAR)
+            .out("P_BEN_CITY", Types.VARCHAR)
+            .out("P_BEN_STREET", Types.VARCHAR)
+            .out("P_BEN_ACNT", Types.VARCHAR)
+            .out("P_BEN_TYPE", Types.VARCHAR)
+            .out("P_ORD_NAME", Types.VARCHAR)
+            .out("P_ORD_ID", Types.VARCHAR)
+            .out("P_ORD_RES", Types.VARCHAR)
+            .out("P_ORD_ACNT", Types.VARCHAR)
+            .out("P_BEN_BANK_NAME", Types.VARCHAR)
+            .out("P_BEN_BANK_BRANCH", Types.VARCHAR)
+            .out("P_BEN_BANK_SWIFT_CODE", Types.VARCHAR)
+            .out("P_BEN_BANK_OTHER_CODE", Types.VARCHAR)
+            .out("P_BEN_BANK_ADDR", Types.VARCHAR)
+            .out("P_IM_BANK_NAME", Types.VARCHAR)
+            .out("P_IM_BANK_ACNT", Types.VARCHAR)
+            .out("P_IM_BANK_SWIFT_CODE", Types.VARCHAR)
+            .out("P_IM_BANK_OTHER_CODE", Types.VARCHAR)
+            .out("P_IM_BANK_ADDR", Types.VARCHAR)
+            .out("P_PAYMENT_DETAILS", Types.VARCHAR)
+            .out("P_ITB", Types.VARCHAR)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_EPC", Types.VARCHAR)
+            .out("P_ITD", Types.VARCHAR)
+            .out("P_EXCHANGE_RATE", Types.VARCHAR)
+            .out("P_COM_TYPE", Types.VARCHAR)
+            .out("P_TYPE_ID", Types.NUMERIC)
+            .out("P_E_CHEQUE", Types.VARCHAR)
+            .out("P_E_EXPIRY", Types.DATE)
+            .out("P_SIGN_TIME", Types.DATE)
+            .out("P_SIGN_DEV_TYPE", Types.NUMERIC)
+            .out("P_SIGN_DEV_ID", Types.VARCHAR)
+            .out("P_SIGN_KEY1", Types.VARCHAR)
+            .out("P_SIGN_KEY2", Types.VARCHAR)
+            .out("P_SIGN_RSA", Types.VARCHAR)
+            .out("P_TEMPLATE_NAME", Types.VARCHAR)
+            .out("P_GLOBUS_FT", Types.VARCHAR)
+            .out("P_BOOKING_DATE", Types.DATE)
+            .out("P_EXEC_DATE", Types.DATE)
+            .out("P_TAX_PAYER_ID", Types.VARCHAR)
+            .out("P_IS_TAX_DOC", Types.NUMERIC)
+            .out("P_IS_UT_PAYMENT", Types.NUMERIC)
+            .out("P_LOCATION", Types.VARCHAR)
+            .build();
+
     public Pay4ServiceImpl() {
         super("BOPayment");
     }
@@ -32,115 +106,16 @@ public class Pay4ServiceImpl extends BaseService implements Pay4Service {
                                            Date createdFrom, Date createdTill) {
         logger.debug("Calling BOPayment.find()");
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_BEN_NAME", Types.VARCHAR),
-                inParam("P_PMT_DETAILS", Types.VARCHAR),
-                inParam("P_FROM_CONTRACT", Types.VARCHAR),
-                inParam("P_AMOUNT_FROM", Types.VARCHAR),
-                inParam("P_AMOUNT_TILL", Types.VARCHAR),
-                inParam("P_CURRENCIES", Types.VARCHAR),
-                inParam("P_PMT_CLASS", Types.VARCHAR),
-                inParam("P_EFFECT_FROM", Types.DATE),
-                inParam("P_EFFECT_TILL", Types.DATE),
-                inParam("P_PAYMENT_ID", Types.VARCHAR),
-                inParam("P_CHANNELS", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_BEN_NAME", benName);
-        inputParams.put("P_PMT_DETAILS", pmtDetails);
-        inputParams.put("P_FROM_CONTRACT", fromContract);
-        inputParams.put("P_AMOUNT_FROM", amountFrom);
-        inputParams.put("P_AMOUNT_TILL", amountTill);
-        inputParams.put("P_CURRENCIES", currencies);
-        inputParams.put("P_PMT_CLASS", pmtClass);
-        inputParams.put("P_EFFECT_FROM", effectFrom);
-        inputParams.put("P_EFFECT_TILL", effectTill);
-        inputParams.put("P_PAYMENT_ID", paymentId);
-        inputParams.put("P_CHANNELS", channels);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
-
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> mapRow(rs));
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, userLogin, officerId, benName,
+                pmtDetails, fromContract, amountFrom, amountTill, currencies, pmtClass, effectFrom,
+                effectTill, paymentId, channels, statuses, createdFrom, createdTill);
     }
 
     @Override
     public Map<String, Object> payment(String paymentId) {
         logger.debug("Calling BOPayment.payment({})", paymentId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_USER_ID", Types.VARCHAR),
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_CUST_NAME", Types.VARCHAR),
-                outParam("P_CUST_ACCOUNT", Types.VARCHAR),
-                outParam("P_BEN_NAME", Types.VARCHAR),
-                outParam("P_BEN_ID", Types.VARCHAR),
-                outParam("P_BEN_RES", Types.VARCHAR),
-                outParam("P_BEN_CITY", Types.VARCHAR),
-                outParam("P_BEN_STREET", Types.VARCHAR),
-                outParam("P_BEN_ACNT", Types.VARCHAR),
-                outParam("P_BEN_TYPE", Types.VARCHAR),
-                outParam("P_ORD_NAME", Types.VARCHAR),
-                outParam("P_ORD_ID", Types.VARCHAR),
-                outParam("P_ORD_RES", Types.VARCHAR),
-                outParam("P_ORD_ACNT", Types.VARCHAR),
-                outParam("P_BEN_BANK_NAME", Types.VARCHAR),
-                outParam("P_BEN_BANK_BRANCH", Types.VARCHAR),
-                outParam("P_BEN_BANK_SWIFT_CODE", Types.VARCHAR),
-                outParam("P_BEN_BANK_OTHER_CODE", Types.VARCHAR),
-                outParam("P_BEN_BANK_ADDR", Types.VARCHAR),
-                outParam("P_IM_BANK_NAME", Types.VARCHAR),
-                outParam("P_IM_BANK_ACNT", Types.VARCHAR),
-                outParam("P_IM_BANK_SWIFT_CODE", Types.VARCHAR),
-                outParam("P_IM_BANK_OTHER_CODE", Types.VARCHAR),
-                outParam("P_IM_BANK_ADDR", Types.VARCHAR),
-                outParam("P_PAYMENT_DETAILS", Types.VARCHAR),
-                outParam("P_ITB", Types.VARCHAR),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_EPC", Types.VARCHAR),
-                outParam("P_ITD", Types.VARCHAR),
-                outParam("P_EXCHANGE_RATE", Types.VARCHAR),
-                outParam("P_COM_TYPE", Types.VARCHAR),
-                outParam("P_TYPE_ID", Types.NUMERIC),
-                outParam("P_E_CHEQUE", Types.VARCHAR),
-                outParam("P_E_EXPIRY", Types.DATE),
-                outParam("P_SIGN_TIME", Types.DATE),
-                outParam("P_SIGN_DEV_TYPE", Types.NUMERIC),
-                outParam("P_SIGN_DEV_ID", Types.VARCHAR),
-                outParam("P_SIGN_KEY1", Types.VARCHAR),
-                outParam("P_SIGN_KEY2", Types.VARCHAR),
-                outParam("P_SIGN_RSA", Types.VARCHAR),
-                outParam("P_TEMPLATE_NAME", Types.VARCHAR),
-                outParam("P_GLOBUS_FT", Types.VARCHAR),
-                outParam("P_BOOKING_DATE", Types.DATE),
-                outParam("P_EXEC_DATE", Types.DATE),
-                outParam("P_TAX_PAYER_ID", Types.VARCHAR),
-                outParam("P_IS_TAX_DOC", Types.NUMERIC),
-                outParam("P_IS_UT_PAYMENT", Types.NUMERIC),
-                outParam("P_LOCATION", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", paymentId);
-
-        Map<String, Object> outputs = executeProcedureWithOutputs("payment", inParams, outParams, inputParams);
+        Map<String, Object> outputs = executeProcedureWithOutputs(paymentSpec, paymentId);
 
         Map<String, Object> result = new HashMap<>();
         result.put("id", paymentId);
@@ -197,14 +172,4 @@ public class Pay4ServiceImpl extends BaseService implements Pay4Service {
 
         return result;
     }
-
-    private Map<String, Object> mapRow(ResultSet rs) throws java.sql.SQLException {
-        Map<String, Object> row = new HashMap<>();
-        int colCount = rs.getMetaData().getColumnCount();
-        for (int i = 1; i <= colCount; i++) {
-            String colName = rs.getMetaData().getColumnName(i);
-            row.put(colName, rs.getObject(i));
-        }
-        return row;
-    }
 }
@@ -5,9 +5,9 @@ import com.digibo.core.dto.response.PaymentDetailsResponse;
 import com.digibo.core.dto.response.PaymentSearchResponse;
 import com.digibo.core.service.PaymentService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.CursorStream;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -21,6 +21,116 @@ import java.util.*;
 @Profile("!mock")
 public class PaymentServiceImpl extends BaseService implements PaymentService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_BEN_NAME", Types.VARCHAR)
+            .in("P_FROM_CONTRACT", Types.VARCHAR)
+            .in("P_FROM_LOCATION", Types.VARCHAR)
+            .in("P_PMT_DETAILS", Types.VARCHAR)
+            .in("P_AMOUNT_FROM", Types.VARCHAR)
+            .in("P_AMOUNT_TILL", Types.VARCHAR)
+            .in("P_CURRENCIES", Types.VARCHAR)
+            .in("P_PMT_CLASS", Types.VARCHAR)
+            .in("P_EFFECT_FROM", Types.DATE)
+            .in("P_EFFECT_TILL", Types.DATE)
+            .in("P_PAYMENT_ID", Types.VARCHAR)
+            .in("P_CHANNELS", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .out("P_PMT_CLASS_OUT", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec paymentSpec = procedure("payment")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_USER_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_GOLD_MANAGER", Types.VARCHAR)
+            .out("P_CUST_NAME", Types.VARCHAR)
+            .out("P_CUST_ACCOUNT", Types.VARCHAR)
+            .out("P_BEN_NAME", Types.VARCHAR)
+            .out("P_BEN_ID", Types.VARCHAR)
+            .out("P_BEN_RES", Types.VARCHAR)
+            .out("P_BEN_CITY", Types.VARCHAR)
+            .out("P_BEN_STREET", Types.VARCHAR)
+            .out("P_BEN_ACNT", Types.VARCHAR)
+            .out("P_BEN_TYPE", Types.VARCHAR)
+            .out("P_ORD_NAME", Types.VARCHAR)
+            .out("P_ORD_ID", Types.VARCHAR)
+            .out("P_ORD_RES", Types.VARCHAR)
+            .out("P_ORD_ACNT", Types.VARCHAR)
+            .out("P_BEN_BANK_NAME", Types.VARCHAR)
+            .out("P_BEN_BANK_BRANCH", Types.VARCHAR)
+            .out("P_BEN_BANK_SWIFT_CODE", Types.VARCHAR)
+            .out("P_BEN_BANK_OTHER_CODE", Types.VARCHAR)
+            .out("P_BEN_BANK_ADDR", Types.VARCHAR)
+            .out("P_IM_BANK_NAME", Types.VARCHAR)
+            .out("P_IM_BANK_ACNT", Types.VARCHAR)
+            .out("P_IM_BANK_SWIFT_CODE", Types.VARCHAR)
+            .out("P_IM_BANK_OTHER_CODE", Types.VARCHAR)
+            .out("P_IM_BANK_ADDR", Types.VARCHAR)
+            .out("P_PAYMENT_DETAILS", Types.VARCHAR)
+            .out("P_ITB", Types.VARCHAR)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_EPC", Types.VARCHAR)
+            .out("P_ITD", Types.VARCHAR)
+            .out("P_EXCHANGE_RATE", Types.VARCHAR)
+            .out("P_COM_TYPE", Types.VARCHAR)
+            .out("P_TYPE_ID", Types.NUMERIC)
+            .out("P_E_CHEQUE", Types.VARCHAR)
+            .out("P_E_EXPIRY", Types.DATE)
+            .out("P_SIGN_TIME", Types.DATE)
+            .out("P_SIGN_RSA", Types.VARCHAR)
+            .out("P_TEMPLATE_NAME", Types.VARCHAR)
+            .out("P_GLOBUS_FT", Types.VARCHAR)
+            .out("P_BOOKING_DATE", Types.DATE)
+            .out("P_EXEC_DATE", Types.DATE)
+            .out("P_TAX_PAYER_ID", Types.VARCHAR)
+            .out("P_IS_TAX_DOC", Types.NUMERIC)
+            .out("P_IS_UT_PAYMENT", Types.NUMERIC)
+            .out("P_UT_TARIF_TYPE", Types.VARCHAR)
+            .out("P_UT_TARIF_PRICE", Types.VARCHAR)
+            .out("P_UT_TARIF_AMOUNT", Types.VARCHAR)
+            .out("P_UT_OVER_AMOUNT", Types.VARCHAR)
+            .out("P_UT_PENALTY_TYPE", Types.VARCHAR)
+            .out("P_UT_PENALTY_DAYS", Types.NUMERIC)
+            .out("P_UT_PENALTY_AMNT", Types.VARCHAR)
+            .out("P_UT_BOOKING_DATE", Types.DATE)
+            .out("P_UT_DATE_START", Types.DATE)
+            .out("P_UT_DATE_END", Types.DATE)
+            .out("P_UT_VOLUME_START", Types.VARCHAR)
+            .out("P_UT_VOLUME_END", Types.VARCHAR)
+            .out("P_UT_QUANTITY", Types.VARCHAR)
+            .out("P_UT_CORP_CUST_CODE", Types.VARCHAR)
+            .out("P_UT_CORP_CUST_BRANCH", Types.VARCHAR)
+            .out("P_UT_BILL_NUMBER", Types.VARCHAR)
+            .out("P_UT_PHONE_NUMBER", Types.VARCHAR)
+            .out("P_ABONENT_CODE", Types.VARCHAR)
+            .out("P_ABONENT_NAME", Types.VARCHAR)
+            .out("P_ABONENT_SURNAME", Types.VARCHAR)
+            .out("P_ABONENT_ACCOUNT", Types.VARCHAR)
+            .out("P_ABONENT_LEGAL_ID", Types.VARCHAR)
+            .out("P_LOCATION", Types.VARCHAR)
+            .out("P_SAVING_ACC_CHARGE_ID", Types.NUMERIC)
+            .out("P_REJECTOR", Types.VARCHAR)
+            .out("P_REJECT_DATE", Types.DATE)
+            .out("P_CHARGES_ACCOUNT", Types.VARCHAR)
+            .out("P_SALARY_PAYMENT_DATE", Types.DATE)
+            .out("P_SECTOR", Types.NUMERIC)
+            .out("P_SEGMENT", Types.VARCHAR)
+            .out("P_BEN_MOBILE", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec changeTemplateGroupSpec = procedure("change_template_group")
+            .in("P_ID", Types.VARCHAR)
+            .in("P_GROUP", Types.VARCHAR)
+            .build();
+
     public PaymentServiceImpl() {
         super("BOPayment");
     }
@@ -29,69 +139,8 @@ public class PaymentServiceImpl extends BaseService implements PaymentService {
     public PaymentSearchResponse find(PaymentSearchRequest filters) {
         logger.debug("Calling BOPayment.find()");
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_BEN_NAME", Types.VARCHAR),
-                inParam("P_FROM_CONTRACT", Types.VARCHAR),
-                inParam("P_FROM_LOCATION", Types.VARCHAR),
-                inParam("P_PMT_DETAILS", Types.VARCHAR),
-                inParam("P_AMOUNT_FROM", Types.VARCHAR),
-                inParam("P_AMOUNT_TILL", Types.VARCHAR),
-                inParam("P_CURRENCIES", Types.VARCHAR),
-                inParam("P_PMT_CLASS", Types.VARCHAR),
-                inParam("P_EFFECT_FROM", Types.DATE),
-                inParam("P_EFFECT_TILL", Types.DATE),
-                inParam("P_PAYMENT_ID", Types.VARCHAR),
-                inParam("P_CHANNELS", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_PMT_CLASS_OUT", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", filters.getCustId());
-        inputParams.put("P_CUST_NAME", filters.getCustName());
-        inputParams.put("P_USER_LOGIN", filters.getUserLogin());
-        inputParams.put("P_OFFICER_ID", filters.getOfficerId());
-        inputParams.put("P_BEN_NAME", filters.getBenName());
-        inputParams.put("P_FROM_CONTRACT", filters.getFromContract());
-        inputParams.put("P_FROM_LOCATION", filters.getFromLocation());
-        inputParams.put("P_PMT_DETAILS", filters.getPmtDetails());
-        inputParams.put("P_AMOUNT_FROM", filters.getAmountFrom());
-        inputParams.put("P_AMOUNT_TILL", filters.getAmountTill());
-        inputParams.put("P_CURRENCIES", filters.getCurrencies());
-        inputParams.put("P_PMT_CLASS", filters.getPmtClass());
-        inputParams.put("P_EFFECT_FROM", filters.getEffectFrom());
-        inputParams.put("P_EFFECT_TILL", filters.getEffectTill());
-        inputParams.put("P_PAYMENT_ID", filters.getPaymentId());
-        inputParams.put("P_CHANNELS", filters.getChannels());
-        inputParams.put("P_STATUSES", filters.getStatuses());
-        inputParams.put("P_CREATED_FROM", filters.getCreatedFrom());
-        inputParams.put("P_CREATED_TILL", filters.getCreatedTill());
-
-        CursorResult<Map<String, Object>> result = executeCursorProcedureWithOutputs(
-                "find",
-                inParams,
-                outParams,
-                inputParams,
-                "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                }
-        );
+        CursorResult<Map<String, Object>> result =
+                executeCursorProcedureWithOutputs(findSpec, rowMapper(), findArgs(filters));
 
         logger.debug("find returned {} rows", result.getRows().size());
 
@@ -102,96 +151,28 @@ public class PaymentServiceImpl extends BaseService implements PaymentService {
     }
 
     @Override
-    public PaymentDetailsResponse getPaymentDetails(String paymentId) {
-        logger.debug("Getting payment details for: {}", paymentId);
+    public CursorStream streamFind(PaymentSearchRequest filters) {
+        logger.debug("Streaming BOPayment.find()");
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
+        return streamCursorProcedure(findSpec, findArgs(filters));
+    }
 
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_USER_ID", Types.VARCHAR),
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_GOLD_MANAGER", Types.VARCHAR),
-                outParam("P_CUST_NAME", Types.VARCHAR),
-                outParam("P_CUST_ACCOUNT", Types.VARCHAR),
-                outParam("P_BEN_NAME", Types.VARCHAR),
-                outParam("P_BEN_ID", Types.VARCHAR),
-                outParam("P_BEN_RES", Types.VARCHAR),
-                outParam("P_BEN_CITY", Types.VARCHAR),
-                outParam("P_BEN_STREET", Types.VARCHAR),
-                outParam("P_BEN_ACNT", Types.VARCHAR),
-                outParam("P_BEN_TYPE", Types.VARCHAR),
-                outParam("P_ORD_NAME", Types.VARCHAR),
-                outParam("P_ORD_ID", Types.VARCHAR),
-                outParam("P_ORD_RES", Types.VARCHAR),
-                outParam("P_ORD_ACNT", Types.VARCHAR),
-                outParam("P_BEN_BANK_NAME", Types.VARCHAR),
-                outParam("P_BEN_BANK_BRANCH", Types.VARCHAR),
-                outParam("P_BEN_BANK_SWIFT_CODE", Types.VARCHAR),
-                outParam("P_BEN_BANK_OTHER_CODE", Types.VARCHAR),
-                outParam("P_BEN_BANK_ADDR", Types.VARCHAR),
-                outParam("P_IM_BANK_NAME", Types.VARCHAR),
-                outParam("P_IM_BANK_ACNT", Types.VARCHAR),
-                outParam("P_IM_BANK_SWIFT_CODE", Types.VARCHAR),
-                outParam("P_IM_BANK_OTHER_CODE", Types.VARCHAR),
-                outParam("P_IM_BANK_ADDR", Types.VARCHAR),
-                outParam("P_PAYMENT_DETAILS", Types.VARCHAR),
-                outParam("P_ITB", Types.VARCHAR),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_EPC", Types.VARCHAR),
-                outParam("P_ITD", Types.VARCHAR),
-                outParam("P_EXCHANGE_RATE", Types.VARCHAR),
-                outParam("P_COM_TYPE", Types.VARCHAR),
-                outParam("P_TYPE_ID", Types.NUMERIC),
-                outParam("P_E_CHEQUE", Types.VARCHAR),
-                outParam("P_E_EXPIRY", Types.DATE),
-                outParam("P_SIGN_TIME", Types.DATE),
-                outParam("P_SIGN_RSA", Types.VARCHAR),
-                outParam("P_TEMPLATE_NAME", Types.VARCHAR),
-                outParam("P_GLOBUS_FT", Types.VARCHAR),
-                outParam("P_BOOKING_DATE", Types.DATE),
-                outParam("P_EXEC_DATE", Types.DATE),
-                outParam("P_TAX_PAYER_ID", Types.VARCHAR),
-                outParam("P_IS_TAX_DOC", Types.NUMERIC),
-                outParam("P_IS_UT_PAYMENT", Types.NUMERIC),
-                outParam("P_UT_TARIF_TYPE", Types.VARCHAR),
-                outParam("P_UT_TARIF_PRICE", Types.VARCHAR),
-                outParam("P_UT_TARIF_AMOUNT", Types.VARCHAR),
-                outParam("P_UT_OVER_AMOUNT", Types.VARCHAR),
-                outParam("P_UT_PENALTY_TYPE", Types.VARCHAR),
-                outParam("P_UT_PENALTY_DAYS", Types.NUMERIC),
-                outParam("P_UT_PENALTY_AMNT", Types.VARCHAR),
-                outParam("P_UT_BOOKING_DATE", Types.DATE),
-                outParam("P_UT_DATE_START", Types.DATE),
-                outParam("P_UT_DATE_END", Types.DATE),
-                outParam("P_UT_VOLUME_START", Types.VARCHAR),
-                outParam("P_UT_VOLUME_END", Types.VARCHAR),
-                outParam("P_UT_QUANTITY", Types.VARCHAR),
-                outParam("P_UT_CORP_CUST_CODE", Types.VARCHAR),
-                outParam("P_UT_CORP_CUST_BRANCH", Types.VARCHAR),
-                outParam("P_UT_BILL_NUMBER", Types.VARCHAR),
-                outParam("P_UT_PHONE_NUMBER", Types.VARCHAR),
-                outParam("P_ABONENT_CODE", Types.VARCHAR),
-                outParam("P_ABONENT_NAME", Types.VARCHAR),
-                outParam("P_ABONENT_SURNAME", Types.VARCHAR),
-                outParam("P_ABONENT_ACCOUNT", Types.VARCHAR),
-                outParam("P_ABONENT_LEGAL_ID", Types.VARCHAR),
-                outParam("P_LOCATION", Types.VARCHAR),
-                outParam("P_SAVING_ACC_CHARGE_ID", Types.NUMERIC),
-                outParam("P_REJECTOR", Types.VARCHAR),
-                outParam("P_REJECT_DATE", Types.DATE),
-                outParam("P_CHARGES_ACCOUNT", Types.VARCHAR),
-                outParam("P_SALARY_PAYMENT_DATE", Types.DATE),
-                outParam("P_SECTOR", Types.NUMERIC),
-                outParam("P_SEGMENT", Types.VARCHAR),
-                outParam("P_BEN_MOBILE", Types.VARCHAR)
-        );
+    private Object[] findArgs(PaymentSearchRequest filters) {
+        return new Object[]{
+                filters.getCustId(), filters.getCustName(), filters.getUserLogin(), filters.getOfficerId(),
+                filters.getBenName(), filters.getFromContract(), filters.getFromLocation(),
+                filters.getPmtDetails(), filters.getAmountFrom(), filters.getAmountTill(),
+                filters.getCurrencies(), filters.getPmtClass(), filters.getEffectFrom(),
+                filters.getEffectTill(), filters.getPaymentId(), filters.getChannels(), filters.getStatuses(),
+                filters.getCreatedFrom(), filters.getCreatedTill()
+        };
+    }
 
-        Map<String, Object> inputParams = Map.of("P_ID", paymentId);
+    @Override
+    public PaymentDetailsResponse getPaymentDetails(String paymentId) {
+        logger.debug("Getting payment details for: {}", paymentId);
 
-        Map<String, Object> result = executeProcedureWithOutputs("payment", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(paymentSpec, paymentId);
 
         return PaymentDetailsResponse.builder()
                 .userName((String) result.get("P_USER_NAME"))
@@ -278,16 +259,7 @@ public class PaymentServiceImpl extends BaseService implements PaymentService {
     public void changeTemplateGroup(String paymentId, String groupId) {
         logger.debug("Changing template group for payment: {}", paymentId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.VARCHAR),
-                inParam("P_GROUP", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", paymentId);
-        inputParams.put("P_GROUP", groupId);
-
-        executeVoidProcedure("change_template_group", params, inputParams);
+        executeVoidProcedure(changeTemplateGroupSpec, paymentId, groupId);
     }
 
     private Integer toInteger(Object value) {
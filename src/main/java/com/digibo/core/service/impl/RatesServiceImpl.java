@@ -2,11 +2,11 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.RatesService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
+import com.digibo.core.service.base.ReferenceDataCache;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
-import java.sql.ResultSet;
 import java.sql.Types;
 import java.util.*;
 
@@ -18,34 +18,28 @@ import java.util.*;
 @Profile("!mock")
 public class RatesServiceImpl extends BaseService implements RatesService {
 
-    public RatesServiceImpl() {
+    private final ProcedureSpec loadCurrencyRatesSpec = procedure("loadCurrencyRates")
+            .in("P_FILTER", Types.VARCHAR)
+            .in("P_DAO", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ReferenceDataCache.Lookup currencyRates;
+
+    public RatesServiceImpl(ReferenceDataCache referenceData) {
         super("BOrates");
+        this.currencyRates = referenceData.define(ReferenceDataCache.CURRENCY_RATES,
+                args -> queryCurrencyRates((String) args[0], (String) args[1]));
     }
 
     @Override
     public List<Map<String, Object>> loadCurrencyRates(String filter, String dao) {
-        logger.debug("Calling BOrates.loadCurrencyRates({}, {})", filter, dao);
-
-        List<SqlParameter> params = List.of(
-                inParam("P_FILTER", Types.VARCHAR),
-                inParam("P_DAO", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_FILTER", filter);
-        inputParams.put("P_DAO", dao);
-
-        return executeCursorProcedure("loadCurrencyRates", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> mapRow(rs));
+        return currencyRates.get(filter, dao);
     }
 
-    private Map<String, Object> mapRow(ResultSet rs) throws java.sql.SQLException {
-        Map<String, Object> row = new HashMap<>();
-        int colCount = rs.getMetaData().getColumnCount();
-        for (int i = 1; i <= colCount; i++) {
-            String colName = rs.getMetaData().getColumnName(i);
-            row.put(colName, rs.getObject(i));
-        }
-        return row;
+    private List<Map<String, Object>> queryCurrencyRates(String filter, String dao) {
+        logger.debug("Calling BOrates.loadCurrencyRates({}, {})", filter, dao);
+
+        return executeCursorProcedure(loadCurrencyRatesSpec, rowMapper(), filter, dao);
     }
 }
@@ -2,14 +2,12 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.SMSService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -20,6 +18,16 @@ import java.util.Map;
 @Profile("!mock")
 public class SMSServiceImpl extends BaseService implements SMSService {
 
+    private final ProcedureSpec loadUserDataSpec = procedure("loadUserData")
+            .in("P_WOC_ID", Types.NUMERIC)
+            .cursor("P_CURSOR")
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_LOGIN", Types.VARCHAR)
+            .out("P_LANG", Types.VARCHAR)
+            .out("P_ACTIVE", Types.NUMERIC)
+            .out("P_ACCEPT", Types.NUMERIC)
+            .build();
+
     public SMSServiceImpl() {
         super("BOSMS");
     }
@@ -28,31 +36,8 @@ public class SMSServiceImpl extends BaseService implements SMSService {
     public Map<String, Object> loadUserData(Long wocId) {
         logger.debug("Calling BOSMS.loadUserData({})", wocId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_WOC_ID", Types.NUMERIC)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_LOGIN", Types.VARCHAR),
-                outParam("P_LANG", Types.VARCHAR),
-                outParam("P_ACTIVE", Types.NUMERIC),
-                outParam("P_ACCEPT", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_WOC_ID", wocId);
-
-        CursorResult<Map<String, Object>> result = executeCursorProcedureWithOutputs(
-                "loadUserData", inParams, outParams, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        CursorResult<Map<String, Object>> result = executeCursorProcedureWithOutputs(loadUserDataSpec,
+                rowMapper(), wocId);
 
         Map<String, Object> userData = new HashMap<>();
         userData.put("wocId", wocId);
@@ -2,9 +2,9 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.STOService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.CursorStream;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -21,6 +21,55 @@ import java.util.Map;
 @Profile("!mock")
 public class STOServiceImpl extends BaseService implements STOService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_TYPE", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec stoSpec = procedure("sto")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_GLOBUS_NO", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_USER_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_CUST_NAME", Types.VARCHAR)
+            .out("P_CUST_ACCOUNT", Types.VARCHAR)
+            .out("P_BEN_ACNT", Types.VARCHAR)
+            .out("P_BEN_TYPE", Types.VARCHAR)
+            .out("P_BEN_NAME", Types.VARCHAR)
+            .out("P_BEN_ID", Types.VARCHAR)
+            .out("P_BEN_RES", Types.VARCHAR)
+            .out("P_BEN_BANK_NAME", Types.VARCHAR)
+            .out("P_BEN_BANK_BRANCH", Types.VARCHAR)
+            .out("P_BEN_BANK_SWIFT", Types.VARCHAR)
+            .out("P_BEN_BANK_OTHER_CODE", Types.VARCHAR)
+            .out("P_DETAILS", Types.VARCHAR)
+            .out("P_CONTRACT_ID", Types.VARCHAR)
+            .out("P_AGREEMENT", Types.VARCHAR)
+            .out("P_FIRST_DATE", Types.DATE)
+            .out("P_LAST_DATE", Types.DATE)
+            .out("P_NEXT_DATE", Types.DATE)
+            .out("P_FREQUENCY", Types.VARCHAR)
+            .out("P_BAL_MIN", Types.VARCHAR)
+            .out("P_BAL_MAX", Types.VARCHAR)
+            .out("P_CR_MIN", Types.VARCHAR)
+            .out("P_REVOLVING", Types.VARCHAR)
+            .out("P_LOCATION", Types.VARCHAR)
+            .out("P_REJECTOR", Types.VARCHAR)
+            .out("P_REJECT_DATE", Types.DATE)
+            .out("P_ABONENT_CODE", Types.VARCHAR)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_ITB", Types.VARCHAR)
+            .build();
+
     public STOServiceImpl() {
         super("BOSTO");
     }
@@ -32,87 +81,25 @@ public class STOServiceImpl extends BaseService implements STOService {
         logger.debug("Calling BOSTO.find({}, {}, {}, {}, {}, {}, {}, {}, {})",
                 custId, custName, userLogin, officerId, pType, docId, statuses, createdFrom, createdTill);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_TYPE", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE)
-        );
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, userLogin, officerId, pType,
+                docId, statuses, createdFrom, createdTill);
+    }
 
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_TYPE", pType);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
+    @Override
+    public CursorStream streamFind(String custId, String custName, String userLogin, Long officerId,
+                                   String pType, String docId, String statuses, Date createdFrom,
+                                   Date createdTill) {
+        logger.debug("Streaming BOSTO.find()");
 
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return streamCursorProcedure(findSpec, custId, custName, userLogin, officerId, pType, docId, statuses,
+                createdFrom, createdTill);
     }
 
     @Override
     public Map<String, Object> sto(String stoId) {
         logger.debug("Calling BOSTO.sto({})", stoId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_GLOBUS_NO", Types.VARCHAR),
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_USER_ID", Types.VARCHAR),
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_CUST_NAME", Types.VARCHAR),
-                outParam("P_CUST_ACCOUNT", Types.VARCHAR),
-                outParam("P_BEN_ACNT", Types.VARCHAR),
-                outParam("P_BEN_TYPE", Types.VARCHAR),
-                outParam("P_BEN_NAME", Types.VARCHAR),
-                outParam("P_BEN_ID", Types.VARCHAR),
-                outParam("P_BEN_RES", Types.VARCHAR),
-                outParam("P_BEN_BANK_NAME", Types.VARCHAR),
-                outParam("P_BEN_BANK_BRANCH", Types.VARCHAR),
-                outParam("P_BEN_BANK_SWIFT", Types.VARCHAR),
-                outParam("P_BEN_BANK_OTHER_CODE", Types.VARCHAR),
-                outParam("P_DETAILS", Types.VARCHAR),
-                outParam("P_CONTRACT_ID", Types.VARCHAR),
-                outParam("P_AGREEMENT", Types.VARCHAR),
-                outParam("P_FIRST_DATE", Types.DATE),
-                outParam("P_LAST_DATE", Types.DATE),
-                outParam("P_NEXT_DATE", Types.DATE),
-                outParam("P_FREQUENCY", Types.VARCHAR),
-                outParam("P_BAL_MIN", Types.VARCHAR),
-                outParam("P_BAL_MAX", Types.VARCHAR),
-                outParam("P_CR_MIN", Types.VARCHAR),
-                outParam("P_REVOLVING", Types.VARCHAR),
-                outParam("P_LOCATION", Types.VARCHAR),
-                outParam("P_REJECTOR", Types.VARCHAR),
-                outParam("P_REJECT_DATE", Types.DATE),
-                outParam("P_ABONENT_CODE", Types.VARCHAR),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_ITB", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", stoId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("sto", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(stoSpec, stoId);
 
         Map<String, Object> stoDoc = new HashMap<>();
         stoDoc.put("id", stoId);
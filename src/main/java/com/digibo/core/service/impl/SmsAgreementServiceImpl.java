@@ -2,9 +2,9 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.SmsAgreementService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
+import com.digibo.core.service.base.ReferenceDataCache;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -20,170 +20,130 @@ import java.util.Map;
 @Profile("!mock")
 public class SmsAgreementServiceImpl extends BaseService implements SmsAgreementService {
 
-    public SmsAgreementServiceImpl() {
+    private final ProcedureSpec getOperatorsSpec = procedure("get_operators").cursor("P_CURSOR").build();
+
+    private final ProcedureSpec getAccountsSpec = procedure("get_accounts")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_LOCATION", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec getLoginsSpec = procedure("get_logins")
+            .in("P_USER_ID", Types.NUMERIC)
+            .in("P_CUST_ID", Types.NUMERIC)
+            .in("P_LOCATION", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec loadRights1Spec = procedure("load_rights_1")
+            .in("P_WOC_ID", Types.NUMERIC)
+            .in("P_CUST_ID", Types.NUMERIC)
+            .in("P_LOCATION", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec loadRights2Spec = procedure("load_rights_2")
+            .in("P_WOC_ID", Types.NUMERIC)
+            .in("P_CUST_ID", Types.NUMERIC)
+            .in("P_LOCATION", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec loadCardRightsSpec = procedure("load_card_rights")
+            .in("P_WOC_ID", Types.NUMERIC)
+            .in("P_CUST_ID", Types.NUMERIC)
+            .in("P_LOCATION", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec checkLoginSpec = function("check_login", Types.INTEGER)
+            .in("P_LOGIN", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec getLoginCountSpec = function("get_login_count", Types.INTEGER)
+            .in("P_LOGIN", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec loginForCustomerExistsSpec = function("login_for_customer_exists", Types.INTEGER)
+            .in("P_WOC_ID", Types.NUMERIC)
+            .in("P_CUST_ID", Types.NUMERIC)
+            .in("P_LOCATION", Types.VARCHAR)
+            .in("P_LOGIN", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec loadChannelSpec = procedure("load_channel")
+            .in("P_WOC_ID", Types.VARCHAR)
+            .out("P_LOGIN", Types.VARCHAR)
+            .out("P_OPERATOR", Types.NUMERIC)
+            .out("P_CHARGES_ACC", Types.NUMERIC)
+            .out("P_PARENT_ID", Types.VARCHAR)
+            .out("P_LANGUAGE", Types.NUMERIC)
+            .out("P_SELLER_ID", Types.NUMERIC)
+            .out("P_DISTRIB_CENTER_ID", Types.NUMERIC)
+            .out("P_FF_SMS", Types.NUMERIC)
+            .out("P_PASSWORD", Types.VARCHAR)
+            .out("P_HAS_DEFAULT", Types.NUMERIC)
+            .out("P_SMS_TIME", Types.VARCHAR)
+            .build();
+
+    private final ReferenceDataCache.Lookup operators;
+
+    public SmsAgreementServiceImpl(ReferenceDataCache referenceData) {
         super("BOSMSAgreement");
+        this.operators = referenceData.define(ReferenceDataCache.SMS_OPERATORS, args -> loadOperators());
     }
 
     @Override
     public List<Map<String, Object>> getOperators() {
+        return operators.get();
+    }
+
+    private List<Map<String, Object>> loadOperators() {
         logger.debug("Calling BOSMSAgreement.get_operators()");
 
-        return executeCursorProcedure("get_operators", List.of(), Map.of(), "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getOperatorsSpec, rowMapper());
     }
 
     @Override
     public List<Map<String, Object>> getAccounts(String custId, String location) {
         logger.debug("Calling BOSMSAgreement.get_accounts({}, {})", custId, location);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_LOCATION", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_LOCATION", location);
-
-        return executeCursorProcedure("get_accounts", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getAccountsSpec, rowMapper(), custId, location);
     }
 
     @Override
     public List<Map<String, Object>> getLogins(Long userId, Long custId, String location) {
         logger.debug("Calling BOSMSAgreement.get_logins({}, {}, {})", userId, custId, location);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_USER_ID", Types.NUMERIC),
-                inParam("P_CUST_ID", Types.NUMERIC),
-                inParam("P_LOCATION", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_USER_ID", userId);
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_LOCATION", location);
-
-        return executeCursorProcedure("get_logins", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getLoginsSpec, rowMapper(), userId, custId, location);
     }
 
     @Override
     public List<Map<String, Object>> loadRights1(Long wocId, Long custId, String location) {
         logger.debug("Calling BOSMSAgreement.load_rights_1({}, {}, {})", wocId, custId, location);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_WOC_ID", Types.NUMERIC),
-                inParam("P_CUST_ID", Types.NUMERIC),
-                inParam("P_LOCATION", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_WOC_ID", wocId);
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_LOCATION", location);
-
-        return executeCursorProcedure("load_rights_1", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(loadRights1Spec, rowMapper(), wocId, custId, location);
     }
 
     @Override
     public List<Map<String, Object>> loadRights2(Long wocId, Long custId, String location) {
         logger.debug("Calling BOSMSAgreement.load_rights_2({}, {}, {})", wocId, custId, location);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_WOC_ID", Types.NUMERIC),
-                inParam("P_CUST_ID", Types.NUMERIC),
-                inParam("P_LOCATION", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_WOC_ID", wocId);
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_LOCATION", location);
-
-        return executeCursorProcedure("load_rights_2", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(loadRights2Spec, rowMapper(), wocId, custId, location);
     }
 
     @Override
     public List<Map<String, Object>> loadCardRights(Long wocId, Long custId, String location) {
         logger.debug("Calling BOSMSAgreement.load_card_rights({}, {}, {})", wocId, custId, location);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_WOC_ID", Types.NUMERIC),
-                inParam("P_CUST_ID", Types.NUMERIC),
-                inParam("P_LOCATION", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_WOC_ID", wocId);
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_LOCATION", location);
-
-        return executeCursorProcedure("load_card_rights", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(loadCardRightsSpec, rowMapper(), wocId, custId, location);
     }
 
     @Override
     public int checkLogin(String login) {
         logger.debug("Calling BOSMSAgreement.check_login({})", login);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_LOGIN", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_LOGIN", login);
-
-        Integer result = executeScalarFunction("check_login", params, inputParams, Types.INTEGER);
+        Integer result = executeScalarFunction(checkLoginSpec, login);
         return result != null ? result : -1;
     }
 
@@ -191,13 +151,7 @@ public class SmsAgreementServiceImpl extends BaseService implements SmsAgreement
     public int getLoginCount(String login) {
         logger.debug("Calling BOSMSAgreement.get_login_count({})", login);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_LOGIN", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_LOGIN", login);
-
-        Integer result = executeScalarFunction("get_login_count", params, inputParams, Types.INTEGER);
+        Integer result = executeScalarFunction(getLoginCountSpec, login);
         return result != null ? result : 0;
     }
 
@@ -205,20 +159,7 @@ public class SmsAgreementServiceImpl extends BaseService implements SmsAgreement
     public int loginForCustomerExists(Long wocId, Long custId, String location, String login) {
         logger.debug("Calling BOSMSAgreement.login_for_customer_exists({}, {}, {}, {})", wocId, custId, location, login);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_WOC_ID", Types.NUMERIC),
-                inParam("P_CUST_ID", Types.NUMERIC),
-                inParam("P_LOCATION", Types.VARCHAR),
-                inParam("P_LOGIN", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_WOC_ID", wocId);
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_LOCATION", location);
-        inputParams.put("P_LOGIN", login);
-
-        Integer result = executeScalarFunction("login_for_customer_exists", params, inputParams, Types.INTEGER);
+        Integer result = executeScalarFunction(loginForCustomerExistsSpec, wocId, custId, location, login);
         return result != null ? result : 0;
     }
 
@@ -226,27 +167,7 @@ public class SmsAgreementServiceImpl extends BaseService implements SmsAgreement
     public Map<String, Object> loadChannel(String wocId) {
         logger.debug("Calling BOSMSAgreement.load_channel({})", wocId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_WOC_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_LOGIN", Types.VARCHAR),
-                outParam("P_OPERATOR", Types.NUMERIC),
-                outParam("P_CHARGES_ACC", Types.NUMERIC),
-                outParam("P_PARENT_ID", Types.VARCHAR),
-                outParam("P_LANGUAGE", Types.NUMERIC),
-                outParam("P_SELLER_ID", Types.NUMERIC),
-                outParam("P_DISTRIB_CENTER_ID", Types.NUMERIC),
-                outParam("P_FF_SMS", Types.NUMERIC),
-                outParam("P_PASSWORD", Types.VARCHAR),
-                outParam("P_HAS_DEFAULT", Types.NUMERIC),
-                outParam("P_SMS_TIME", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_WOC_ID", wocId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("load_channel", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(loadChannelSpec, wocId);
 
         Map<String, Object> channel = new HashMap<>();
         channel.put("wocId", wocId);
@@ -2,9 +2,8 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.SmsDocService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -21,6 +20,47 @@ import java.util.Map;
 @Profile("!mock")
 public class SmsDocServiceImpl extends BaseService implements SmsDocService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_TYPE", Types.VARCHAR)
+            .in("P_MOBILE", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec smsSpec = procedure("sms")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_USER_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_CUST_NAME", Types.VARCHAR)
+            .out("P_CUST_ACCOUNT", Types.VARCHAR)
+            .out("P_AGREEMENT", Types.VARCHAR)
+            .out("P_CONTRACT_ID", Types.VARCHAR)
+            .out("P_MOBILE_OPERATOR", Types.VARCHAR)
+            .out("P_CONTACT_LANGUAGE", Types.VARCHAR)
+            .out("P_LOCATION", Types.VARCHAR)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_SMS_TIME", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec alreadyExistsSpec = function("already_exists", Types.INTEGER)
+            .in("P_PHONE", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec updateDocumentSpec = procedure("update_document")
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_REASON", Types.VARCHAR)
+            .in("P_NEW_STATUS", Types.NUMERIC)
+            .in("P_MESSAGE_ID", Types.NUMERIC)
+            .build();
+
     public SmsDocServiceImpl() {
         super("BOSMSDocument");
     }
@@ -32,69 +72,15 @@ public class SmsDocServiceImpl extends BaseService implements SmsDocService {
         logger.debug("Calling BOSMSDocument.find({}, {}, {}, {}, {}, {}, {}, {}, {}, {})",
                 custId, custName, userLogin, officerId, pType, mobile, docId, statuses, createdFrom, createdTill);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_TYPE", Types.VARCHAR),
-                inParam("P_MOBILE", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_TYPE", pType);
-        inputParams.put("P_MOBILE", mobile);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
-
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, userLogin, officerId, pType,
+                mobile, docId, statuses, createdFrom, createdTill);
     }
 
     @Override
     public Map<String, Object> sms(String docId) {
         logger.debug("Calling BOSMSDocument.sms({})", docId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_USER_ID", Types.VARCHAR),
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_CUST_NAME", Types.VARCHAR),
-                outParam("P_CUST_ACCOUNT", Types.VARCHAR),
-                outParam("P_AGREEMENT", Types.VARCHAR),
-                outParam("P_CONTRACT_ID", Types.VARCHAR),
-                outParam("P_MOBILE_OPERATOR", Types.VARCHAR),
-                outParam("P_CONTACT_LANGUAGE", Types.VARCHAR),
-                outParam("P_LOCATION", Types.VARCHAR),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_SMS_TIME", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", docId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("sms", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(smsSpec, docId);
 
         Map<String, Object> smsDoc = new HashMap<>();
         smsDoc.put("id", docId);
@@ -118,13 +104,7 @@ public class SmsDocServiceImpl extends BaseService implements SmsDocService {
     public int alreadyExists(String phone) {
         logger.debug("Calling BOSMSDocument.already_exists({})", phone);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_PHONE", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_PHONE", phone);
-
-        Integer result = executeScalarFunction("already_exists", params, inputParams, Types.INTEGER);
+        Integer result = executeScalarFunction(alreadyExistsSpec, phone);
         return result != null ? result : 0;
     }
 
@@ -132,19 +112,6 @@ public class SmsDocServiceImpl extends BaseService implements SmsDocService {
     public void updateDocument(String docId, String reason, Integer newStatus, Long messageId) {
         logger.debug("Calling BOSMSDocument.update_document({}, {}, {}, {})", docId, reason, newStatus, messageId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_REASON", Types.VARCHAR),
-                inParam("P_NEW_STATUS", Types.NUMERIC),
-                inParam("P_MESSAGE_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_REASON", reason);
-        inputParams.put("P_NEW_STATUS", newStatus);
-        inputParams.put("P_MESSAGE_ID", messageId);
-
-        executeVoidProcedure("update_document", params, inputParams);
+        executeVoidProcedure(updateDocumentSpec, docId, reason, newStatus, messageId);
     }
 }
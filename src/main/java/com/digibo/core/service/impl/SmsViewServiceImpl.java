@@ -2,9 +2,8 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.SmsViewService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -21,6 +20,43 @@ import java.util.Map;
 @Profile("!mock")
 public class SmsViewServiceImpl extends BaseService implements SmsViewService {
 
+    private final ProcedureSpec getTypesSpec = procedure("get_types").cursor("P_CURSOR").build();
+
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_USER_LOGIN", Types.VARCHAR)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_TYPE", Types.VARCHAR)
+            .in("P_MOBILE", Types.VARCHAR)
+            .in("P_TEXT", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec smsSpec = procedure("sms")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_TYPE_NAME", Types.VARCHAR)
+            .out("P_PRIORITY", Types.VARCHAR)
+            .out("P_CHANGE_DATE", Types.DATE)
+            .out("P_CHARGE_DATE", Types.DATE)
+            .out("P_TEXT", Types.VARCHAR)
+            .out("P_SRC_ADDR", Types.VARCHAR)
+            .out("P_SRC_PROVIDER", Types.VARCHAR)
+            .out("P_DEST_ADDR", Types.VARCHAR)
+            .out("P_DEST_PROVIDER", Types.VARCHAR)
+            .out("P_WOC_ID", Types.VARCHAR)
+            .out("P_USER_ID", Types.VARCHAR)
+            .out("P_USER_NAME", Types.VARCHAR)
+            .out("P_LOGIN", Types.VARCHAR)
+            .out("P_STMT_ID", Types.VARCHAR)
+            .out("P_BATCH_ID", Types.VARCHAR)
+            .out("P_ERROR_TYPE", Types.VARCHAR)
+            .out("P_ERROR_TEXT", Types.VARCHAR)
+            .build();
+
     public SmsViewServiceImpl() {
         super("bosmsview");
     }
@@ -29,16 +65,7 @@ public class SmsViewServiceImpl extends BaseService implements SmsViewService {
     public List<Map<String, Object>> getTypes() {
         logger.debug("Calling bosmsview.get_types()");
 
-        return executeCursorProcedure("get_types", List.of(), Map.of(), "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getTypesSpec, rowMapper());
     }
 
     @Override
@@ -48,74 +75,15 @@ public class SmsViewServiceImpl extends BaseService implements SmsViewService {
         logger.debug("Calling bosmsview.find({}, {}, {}, {}, {}, {}, {}, {}, {}, {})",
                 custId, custName, userLogin, officerId, pType, mobile, text, statuses, createdFrom, createdTill);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_USER_LOGIN", Types.VARCHAR),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_TYPE", Types.VARCHAR),
-                inParam("P_MOBILE", Types.VARCHAR),
-                inParam("P_TEXT", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_USER_LOGIN", userLogin);
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_TYPE", pType);
-        inputParams.put("P_MOBILE", mobile);
-        inputParams.put("P_TEXT", text);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
-
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, userLogin, officerId, pType,
+                mobile, text, statuses, createdFrom, createdTill);
     }
 
     @Override
     public Map<String, Object> sms(String messageId) {
         logger.debug("Calling bosmsview.sms({})", messageId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_TYPE_NAME", Types.VARCHAR),
-                outParam("P_PRIORITY", Types.VARCHAR),
-                outParam("P_CHANGE_DATE", Types.DATE),
-                outParam("P_CHARGE_DATE", Types.DATE),
-                outParam("P_TEXT", Types.VARCHAR),
-                outParam("P_SRC_ADDR", Types.VARCHAR),
-                outParam("P_SRC_PROVIDER", Types.VARCHAR),
-                outParam("P_DEST_ADDR", Types.VARCHAR),
-                outParam("P_DEST_PROVIDER", Types.VARCHAR),
-                outParam("P_WOC_ID", Types.VARCHAR),
-                outParam("P_USER_ID", Types.VARCHAR),
-                outParam("P_USER_NAME", Types.VARCHAR),
-                outParam("P_LOGIN", Types.VARCHAR),
-                outParam("P_STMT_ID", Types.VARCHAR),
-                outParam("P_BATCH_ID", Types.VARCHAR),
-                outParam("P_ERROR_TYPE", Types.VARCHAR),
-                outParam("P_ERROR_TEXT", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", messageId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("sms", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(smsSpec, messageId);
 
         Map<String, Object> smsMessage = new HashMap<>();
         smsMessage.put("id", messageId);
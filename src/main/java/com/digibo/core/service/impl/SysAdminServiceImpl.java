@@ -2,9 +2,9 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.SysAdminService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
+import com.digibo.core.service.base.ReferenceDataCache;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -20,150 +20,125 @@ import java.util.Map;
 @Profile("!mock")
 public class SysAdminServiceImpl extends BaseService implements SysAdminService {
 
-    public SysAdminServiceImpl() {
+    private final ProcedureSpec getReplacersSpec = procedure("get_replacers").cursor("P_CURSOR").build();
+
+    private final ProcedureSpec getOfficersSpec = procedure("get_officers")
+            .in("P_LOGIN", Types.VARCHAR)
+            .in("P_NAME", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec getDeptListSpec = procedure("get_dept_list")
+            .in("P_OFFICER", Types.NUMERIC)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec officerReplacesSpec = procedure("officer_replaces")
+            .in("P_ID", Types.NUMERIC)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec getLoggedSpec = procedure("get_logged").cursor("P_CURSOR").build();
+
+    private final ProcedureSpec updateOfficerSpec = procedure("update_officer")
+            .in("P_ID", Types.NUMERIC)
+            .in("P_NAME", Types.VARCHAR)
+            .in("P_REP_ID", Types.NUMERIC)
+            .in("P_LOGIN", Types.VARCHAR)
+            .in("P_PERSONAL_ID", Types.VARCHAR)
+            .in("P_DEPT_ID", Types.VARCHAR)
+            .in("P_PHONE", Types.VARCHAR)
+            .in("P_MOBILE", Types.VARCHAR)
+            .in("P_EMAIL", Types.VARCHAR)
+            .in("P_PARENT_DEPT_ID", Types.VARCHAR)
+            .in("P_DEF_FOR_COUNTRY", Types.VARCHAR)
+            .in("P_SKYPE_NAME", Types.VARCHAR)
+            .in("P_IS_LDAP_USER", Types.NUMERIC)
+            .build();
+
+    private final ProcedureSpec replaceOfficerSpec = procedure("replace_officer")
+            .in("P_ID", Types.NUMERIC)
+            .in("P_REP_ID", Types.NUMERIC)
+            .build();
+
+    private final ProcedureSpec updateRolesSpec = procedure("update_roles")
+            .in("P_ID", Types.NUMERIC)
+            .in("P_LOGIN", Types.VARCHAR)
+            .in("P_ROLES", Types.VARCHAR)
+            .build();
+
+    private final ProcedureSpec loadOfficerSpec = procedure("load_officer")
+            .in("P_ID", Types.NUMERIC)
+            .cursor("P_HISTORY")
+            .out("P_NAME", Types.VARCHAR)
+            .out("P_REP_ID", Types.NUMERIC)
+            .out("P_LOGIN", Types.VARCHAR)
+            .out("P_PERSONAL_ID", Types.VARCHAR)
+            .out("P_DEPT_ID", Types.VARCHAR)
+            .out("P_PHONE", Types.VARCHAR)
+            .out("P_MOBILE", Types.VARCHAR)
+            .out("P_EMAIL", Types.VARCHAR)
+            .out("P_REG_DATE", Types.DATE)
+            .out("P_PARENT_DEPT_ID", Types.VARCHAR)
+            .out("P_AVAIL_PKGS", Types.VARCHAR)
+            .out("P_DEF_FOR_COUNTRY", Types.VARCHAR)
+            .out("P_SKYPE_NAME", Types.VARCHAR)
+            .out("P_IS_LDAP_USER", Types.NUMERIC)
+            .build();
+
+    private final ReferenceDataCache.Lookup replacers;
+
+    public SysAdminServiceImpl(ReferenceDataCache referenceData) {
         super("BOSysAdmin");
+        this.replacers = referenceData.define(ReferenceDataCache.REPLACERS, args -> loadReplacers());
     }
 
     @Override
     public List<Map<String, Object>> getReplacers() {
+        return replacers.get();
+    }
+
+    private List<Map<String, Object>> loadReplacers() {
         logger.debug("Calling BOSysAdmin.get_replacers()");
 
-        return executeCursorProcedure("get_replacers", List.of(), Map.of(), "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getReplacersSpec, rowMapper());
     }
 
     @Override
     public List<Map<String, Object>> getOfficers(String login, String name) {
         logger.debug("Calling BOSysAdmin.get_officers({}, {})", login, name);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_LOGIN", Types.VARCHAR),
-                inParam("P_NAME", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_LOGIN", login);
-        inputParams.put("P_NAME", name);
-
-        return executeCursorProcedure("get_officers", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getOfficersSpec, rowMapper(), login, name);
     }
 
     @Override
     public List<Map<String, Object>> getDeptList(Long officerId) {
         logger.debug("Calling BOSysAdmin.get_dept_list({})", officerId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_OFFICER", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_OFFICER", officerId);
-
-        return executeCursorProcedure("get_dept_list", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getDeptListSpec, rowMapper(), officerId);
     }
 
     @Override
     public List<Map<String, Object>> officerReplaces(Long officerId) {
         logger.debug("Calling BOSysAdmin.officer_replaces({})", officerId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", officerId);
-
-        return executeCursorProcedure("officer_replaces", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(officerReplacesSpec, rowMapper(), officerId);
     }
 
     @Override
     public List<Map<String, Object>> getLogged() {
         logger.debug("Calling BOSysAdmin.get_logged()");
 
-        return executeCursorProcedure("get_logged", List.of(), Map.of(), "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(getLoggedSpec, rowMapper());
     }
 
     @Override
     public Map<String, Object> loadOfficer(Long officerId) {
         logger.debug("Calling BOSysAdmin.load_officer({})", officerId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.NUMERIC)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_NAME", Types.VARCHAR),
-                outParam("P_REP_ID", Types.NUMERIC),
-                outParam("P_LOGIN", Types.VARCHAR),
-                outParam("P_PERSONAL_ID", Types.VARCHAR),
-                outParam("P_DEPT_ID", Types.VARCHAR),
-                outParam("P_PHONE", Types.VARCHAR),
-                outParam("P_MOBILE", Types.VARCHAR),
-                outParam("P_EMAIL", Types.VARCHAR),
-                outParam("P_REG_DATE", Types.DATE),
-                outParam("P_PARENT_DEPT_ID", Types.VARCHAR),
-                outParam("P_AVAIL_PKGS", Types.VARCHAR),
-                outParam("P_DEF_FOR_COUNTRY", Types.VARCHAR),
-                outParam("P_SKYPE_NAME", Types.VARCHAR),
-                outParam("P_IS_LDAP_USER", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", officerId);
-
         // Execute with two cursors (P_HISTORY and P_ACTUAL)
-        CursorResult<Map<String, Object>> historyResult = executeCursorProcedureWithOutputs(
-                "load_officer", inParams, outParams, inputParams, "P_HISTORY",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        CursorResult<Map<String, Object>> historyResult =
+                executeCursorProcedureWithOutputs(loadOfficerSpec, rowMapper(), officerId);
 
         Map<String, Object> officer = new HashMap<>();
         officer.put("id", officerId);
@@ -190,72 +165,25 @@ public class SysAdminServiceImpl extends BaseService implements SysAdminService
     public void updateOfficer(Map<String, Object> officerData) {
         logger.debug("Calling BOSysAdmin.update_officer({})", officerData.get("id"));
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.NUMERIC),
-                inParam("P_NAME", Types.VARCHAR),
-                inParam("P_REP_ID", Types.NUMERIC),
-                inParam("P_LOGIN", Types.VARCHAR),
-                inParam("P_PERSONAL_ID", Types.VARCHAR),
-                inParam("P_DEPT_ID", Types.VARCHAR),
-                inParam("P_PHONE", Types.VARCHAR),
-                inParam("P_MOBILE", Types.VARCHAR),
-                inParam("P_EMAIL", Types.VARCHAR),
-                inParam("P_PARENT_DEPT_ID", Types.VARCHAR),
-                inParam("P_DEF_FOR_COUNTRY", Types.VARCHAR),
-                inParam("P_SKYPE_NAME", Types.VARCHAR),
-                inParam("P_IS_LDAP_USER", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", officerData.get("id"));
-        inputParams.put("P_NAME", officerData.get("name"));
-        inputParams.put("P_REP_ID", officerData.get("repId"));
-        inputParams.put("P_LOGIN", officerData.get("login"));
-        inputParams.put("P_PERSONAL_ID", officerData.get("personalId"));
-        inputParams.put("P_DEPT_ID", officerData.get("deptId"));
-        inputParams.put("P_PHONE", officerData.get("phone"));
-        inputParams.put("P_MOBILE", officerData.get("mobile"));
-        inputParams.put("P_EMAIL", officerData.get("email"));
-        inputParams.put("P_PARENT_DEPT_ID", officerData.get("parentDeptId"));
-        inputParams.put("P_DEF_FOR_COUNTRY", officerData.get("defForCountry"));
-        inputParams.put("P_SKYPE_NAME", officerData.get("skypeName"));
-        inputParams.put("P_IS_LDAP_USER", officerData.get("isLdapUser"));
-
-        executeVoidProcedure("update_officer", params, inputParams);
+        executeVoidProcedure(updateOfficerSpec, officerData.get("id"), officerData.get("name"),
+                officerData.get("repId"), officerData.get("login"), officerData.get("personalId"),
+                officerData.get("deptId"), officerData.get("phone"), officerData.get("mobile"),
+                officerData.get("email"), officerData.get("parentDeptId"), officerData.get("defForCountry"),
+                officerData.get("skypeName"), officerData.get("isLdapUser"));
     }
 
     @Override
     public void replaceOfficer(Long officerId, Long repId) {
         logger.debug("Calling BOSysAdmin.replace_officer({}, {})", officerId, repId);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.NUMERIC),
-                inParam("P_REP_ID", Types.NUMERIC)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", officerId);
-        inputParams.put("P_REP_ID", repId);
-
-        executeVoidProcedure("replace_officer", params, inputParams);
+        executeVoidProcedure(replaceOfficerSpec, officerId, repId);
     }
 
     @Override
     public void updateRoles(Long officerId, String login, String roles) {
         logger.debug("Calling BOSysAdmin.update_roles({}, {}, {})", officerId, login, roles);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_ID", Types.NUMERIC),
-                inParam("P_LOGIN", Types.VARCHAR),
-                inParam("P_ROLES", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_ID", officerId);
-        inputParams.put("P_LOGIN", login);
-        inputParams.put("P_ROLES", roles);
-
-        executeVoidProcedure("update_roles", params, inputParams);
+        executeVoidProcedure(updateRolesSpec, officerId, login, roles);
     }
 
     private Integer toInteger(Object value) {
@@ -2,9 +2,8 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.VSAAAdvService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -21,6 +20,23 @@ import java.util.Map;
 @Profile("!mock")
 public class VSAAAdvServiceImpl extends BaseService implements VSAAAdvService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_CUST_NAME", Types.VARCHAR)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec advSpec = procedure("adv")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_OFFICER_NAME", Types.VARCHAR)
+            .out("P_CREATE_SENT_DATE", Types.DATE)
+            .out("P_CLOSE_SENT_DATE", Types.DATE)
+            .build();
+
     public VSAAAdvServiceImpl() {
         super("BOVsaaAdv");
     }
@@ -31,52 +47,15 @@ public class VSAAAdvServiceImpl extends BaseService implements VSAAAdvService {
         logger.debug("Calling BOVsaaAdv.find({}, {}, {}, {}, {}, {})",
                 custId, custName, docId, statuses, createdFrom, createdTill);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_CUST_ID", Types.VARCHAR),
-                inParam("P_CUST_NAME", Types.VARCHAR),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_CUST_ID", custId);
-        inputParams.put("P_CUST_NAME", custName);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
-
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findSpec, rowMapper(), custId, custName, docId, statuses, createdFrom,
+                createdTill);
     }
 
     @Override
     public Map<String, Object> adv(String docId) {
         logger.debug("Calling BOVsaaAdv.adv({})", docId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_OFFICER_NAME", Types.VARCHAR),
-                outParam("P_CREATE_SENT_DATE", Types.DATE),
-                outParam("P_CLOSE_SENT_DATE", Types.DATE)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", docId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("adv", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(advSpec, docId);
 
         Map<String, Object> advDoc = new HashMap<>();
         advDoc.put("id", docId);
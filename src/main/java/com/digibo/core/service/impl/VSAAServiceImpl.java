@@ -2,9 +2,8 @@ package com.digibo.core.service.impl;
 
 import com.digibo.core.service.VSAAService;
 import com.digibo.core.service.base.BaseService;
+import com.digibo.core.service.base.ProcedureSpec;
 import org.springframework.context.annotation.Profile;
-import org.springframework.jdbc.core.SqlOutParameter;
-import org.springframework.jdbc.core.SqlParameter;
 import org.springframework.stereotype.Service;
 
 import java.sql.Types;
@@ -21,6 +20,33 @@ import java.util.Map;
 @Profile("!mock")
 public class VSAAServiceImpl extends BaseService implements VSAAService {
 
+    private final ProcedureSpec findSpec = procedure("find")
+            .in("P_USER_NAME", Types.VARCHAR)
+            .in("P_LEGAL_ID", Types.VARCHAR)
+            .in("P_OFFICER_ID", Types.NUMERIC)
+            .in("P_DOC_ID", Types.VARCHAR)
+            .in("P_STATUSES", Types.VARCHAR)
+            .in("P_CREATED_FROM", Types.DATE)
+            .in("P_CREATED_TILL", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private final ProcedureSpec vsaaSpec = procedure("vsaa")
+            .in("P_ID", Types.VARCHAR)
+            .out("P_PERSONAL_ID", Types.VARCHAR)
+            .out("P_SIGN_DATE", Types.DATE)
+            .out("P_LAST_UPDATE_DATE", Types.DATE)
+            .out("P_ITC", Types.VARCHAR)
+            .out("P_STATE", Types.VARCHAR)
+            .out("P_STREET", Types.VARCHAR)
+            .out("P_EMAIL", Types.VARCHAR)
+            .out("P_POSTAL_CODE", Types.VARCHAR)
+            .out("P_PHONE", Types.VARCHAR)
+            .out("P_RECEIVING_TYPE", Types.VARCHAR)
+            .out("P_OFFICER", Types.VARCHAR)
+            .out("P_LOCATION", Types.VARCHAR)
+            .build();
+
     public VSAAServiceImpl() {
         super("BOVSAA");
     }
@@ -32,63 +58,15 @@ public class VSAAServiceImpl extends BaseService implements VSAAService {
         logger.debug("Calling BOVSAA.find({}, {}, {}, {}, {}, {}, {})",
                 userName, legalId, officerId, docId, statuses, createdFrom, createdTill);
 
-        List<SqlParameter> params = List.of(
-                inParam("P_USER_NAME", Types.VARCHAR),
-                inParam("P_LEGAL_ID", Types.VARCHAR),
-                inParam("P_OFFICER_ID", Types.NUMERIC),
-                inParam("P_DOC_ID", Types.VARCHAR),
-                inParam("P_STATUSES", Types.VARCHAR),
-                inParam("P_CREATED_FROM", Types.DATE),
-                inParam("P_CREATED_TILL", Types.DATE)
-        );
-
-        Map<String, Object> inputParams = new HashMap<>();
-        inputParams.put("P_USER_NAME", userName);
-        inputParams.put("P_LEGAL_ID", legalId);
-        inputParams.put("P_OFFICER_ID", officerId);
-        inputParams.put("P_DOC_ID", docId);
-        inputParams.put("P_STATUSES", statuses);
-        inputParams.put("P_CREATED_FROM", createdFrom);
-        inputParams.put("P_CREATED_TILL", createdTill);
-
-        return executeCursorProcedure("find", params, inputParams, "P_CURSOR",
-                (rs, rowNum) -> {
-                    Map<String, Object> row = new HashMap<>();
-                    int colCount = rs.getMetaData().getColumnCount();
-                    for (int i = 1; i <= colCount; i++) {
-                        String colName = rs.getMetaData().getColumnName(i);
-                        row.put(colName, rs.getObject(i));
-                    }
-                    return row;
-                });
+        return executeCursorProcedure(findSpec, rowMapper(), userName, legalId, officerId, docId, statuses,
+                createdFrom, createdTill);
     }
 
     @Override
     public Map<String, Object> vsaa(String docId) {
         logger.debug("Calling BOVSAA.vsaa({})", docId);
 
-        List<SqlParameter> inParams = List.of(
-                inParam("P_ID", Types.VARCHAR)
-        );
-
-        List<SqlOutParameter> outParams = List.of(
-                outParam("P_PERSONAL_ID", Types.VARCHAR),
-                outParam("P_SIGN_DATE", Types.DATE),
-                outParam("P_LAST_UPDATE_DATE", Types.DATE),
-                outParam("P_ITC", Types.VARCHAR),
-                outParam("P_STATE", Types.VARCHAR),
-                outParam("P_STREET", Types.VARCHAR),
-                outParam("P_EMAIL", Types.VARCHAR),
-                outParam("P_POSTAL_CODE", Types.VARCHAR),
-                outParam("P_PHONE", Types.VARCHAR),
-                outParam("P_RECEIVING_TYPE", Types.VARCHAR),
-                outParam("P_OFFICER", Types.VARCHAR),
-                outParam("P_LOCATION", Types.VARCHAR)
-        );
-
-        Map<String, Object> inputParams = Map.of("P_ID", docId);
-
-        Map<String, Object> result = executeProcedureWithOutputs("vsaa", inParams, outParams, inputParams);
+        Map<String, Object> result = executeProcedureWithOutputs(vsaaSpec, docId);
 
         Map<String, Object> vsaaDoc = new HashMap<>();
         vsaaDoc.put("id", docId);
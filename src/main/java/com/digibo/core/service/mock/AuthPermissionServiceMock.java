@@ -8,8 +8,10 @@ import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Mock implementation of AuthPermissionService for testing without Oracle.
@@ -97,6 +99,13 @@ public class AuthPermissionServiceMock implements AuthPermissionService {
         return hasPermission;
     }
 
+    @Override
+    public List<String> getPermissionCatalog() {
+        Set<String> catalog = new TreeSet<>();
+        MOCK_PERMISSIONS.values().forEach(catalog::addAll);
+        return List.copyOf(catalog);
+    }
+
     /**
      * Add mock permissions for a test user (useful in tests)
      */
@@ -6,6 +6,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.Map;
@@ -33,14 +37,24 @@ public class FaxEditServiceMock implements FaxEditService {
             String note,
             String subj,
             Integer docStatus,
-            byte[] dTif
+            InputStream dTif
     ) {
         logger.debug("[MOCK] addDocument({})", faxId);
 
+        long size = 0;
+        if (dTif != null) {
+            try {
+                size = dTif.transferTo(OutputStream.nullOutputStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
         Map<String, Object> result = new HashMap<>();
         result.put("success", true);
         result.put("faxId", faxId);
         result.put("message", "Document added successfully (mock)");
+        result.put("tifSize", size);
         return result;
     }
 }
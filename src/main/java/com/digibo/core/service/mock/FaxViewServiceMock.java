@@ -1,12 +1,16 @@
 package com.digibo.core.service.mock;
 
 import com.digibo.core.service.FaxViewService;
+import com.digibo.core.service.base.BlobHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import javax.sql.rowset.serial.SerialBlob;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.*;
 
 /**
@@ -19,6 +23,18 @@ public class FaxViewServiceMock implements FaxViewService {
 
     private static final Logger logger = LoggerFactory.getLogger(FaxViewServiceMock.class);
 
+    // Little-endian TIFF header followed by filler, enough to exercise range requests
+    private static final byte[] MOCK_TIFF = new byte[4096];
+
+    static {
+        MOCK_TIFF[0] = 'I';
+        MOCK_TIFF[1] = 'I';
+        MOCK_TIFF[2] = 42;
+        for (int i = 8; i < MOCK_TIFF.length; i++) {
+            MOCK_TIFF[i] = (byte) i;
+        }
+    }
+
     @Override
     public List<Map<String, Object>> findMyDocuments(String classes) {
         logger.debug("[MOCK] findMyDocuments({})", classes);
@@ -162,11 +178,20 @@ public class FaxViewServiceMock implements FaxViewService {
         result.put("recvTime", System.currentTimeMillis() / 1000);
         result.put("recvStatus", 1);
         result.put("faxStatus", 2);
-        result.put("fTif", new byte[0]); // Empty blob for mock
         result.put("documents", documents);
         return result;
     }
 
+    @Override
+    public <R> R readFaxImage(String id, String docId, BlobHandler<R> handler) throws IOException {
+        logger.debug("[MOCK] readFaxImage({}, {})", id, docId);
+        try {
+            return handler.handle(new SerialBlob(MOCK_TIFF));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Override
     public Map<String, Object> init(String id) {
         logger.debug("[MOCK] init({})", id);
@@ -64,7 +64,7 @@ public class NotifyServiceMock implements NotifyService {
     }
 
     @Override
-    public Map<String, Object> updateBoPermissions() {
+    public Map<String, Object> updateBoPermissions(String username) {
         logger.debug("[MOCK] BONotify.updateBoPermissions() called");
         logger.debug("[MOCK] Simulating BO permissions update");
 
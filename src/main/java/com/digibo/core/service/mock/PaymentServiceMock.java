@@ -21,6 +21,12 @@ public class PaymentServiceMock implements PaymentService {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentServiceMock.class);
 
+    private final SyntheticData syntheticData;
+
+    public PaymentServiceMock(SyntheticData syntheticData) {
+        this.syntheticData = syntheticData;
+    }
+
     @Override
     public PaymentSearchResponse find(PaymentSearchRequest filters) {
         logger.debug("[MOCK] find()");
@@ -48,7 +54,7 @@ public class PaymentServiceMock implements PaymentService {
         payments.add(payment2);
 
         return PaymentSearchResponse.builder()
-                .payments(payments)
+                .payments(syntheticData.rows("PaymentService.find", payments, filters))
                 .pmtClass(filters.getPmtClass() != null ? filters.getPmtClass() : "STANDARD")
                 .build();
     }
@@ -0,0 +1,286 @@
+package com.digibo.core.service.mock;
+
+import com.digibo.core.mapper.CompactRow;
+import com.digibo.core.mapper.RowSchema;
+import org.springframework.core.env.Environment;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Synthetic result sets and latency for the mock profile, so the HTTP, security and
+ * serialization stack can be load-tested without Oracle.
+ *
+ * The hand-written rows of a mock method serve as template: their columns and value
+ * types are kept, and the result is regenerated with the configured number of rows,
+ * string width and extra columns. Generated data is deterministic for the same seed,
+ * method and arguments. Rows are {@link CompactRow}s, as read from a real cursor.
+ *
+ * Settings per mock method ("Interface.method", e.g. PaymentService.find) with fallback
+ * to the defaults:
+ *
+ * app.mock.synthetic.default.{rows,columns,width,types,latency,jitter}
+ * app.mock.synthetic.procedures.PaymentService.find.rows
+ *
+ * - rows: rows per result (0 keeps the template row count)
+ * - columns: minimum columns per row, extra ones named EXTRA_nn (0 keeps the template columns)
+ * - width: length of every string value (0 keeps the template values)
+ * - types: mix of the extra columns, e.g. "string:6,number:3,date:1"
+ * - latency, jitter: delay of every call in ms, latency plus up to jitter
+ */
+public class SyntheticData {
+
+    private static final String PREFIX = "app.mock.synthetic.";
+    private static final long BASE_TIME = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+    private static final long YEAR = 365L * 24 * 60 * 60 * 1000;
+    private static final char[] LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+
+    enum Kind { STRING, DECIMAL, INTEGER, LONG, DATE, BOOLEAN, OTHER }
+
+    record Settings(int rows, int columns, int width, Kind[] types, long latency, long jitter) {
+
+        boolean reshapes() {
+            return rows > 0 || columns > 0 || width > 0;
+        }
+    }
+
+    private final Environment environment;
+    private final long seed;
+    private final Map<String, Settings> settings = new ConcurrentHashMap<>();
+
+    public SyntheticData(Environment environment) {
+        this.environment = environment;
+        this.seed = environment.getProperty(PREFIX + "seed", Long.class, 42L);
+    }
+
+    public boolean isEnabled() {
+        return environment.getProperty(PREFIX + "enabled", Boolean.class, false);
+    }
+
+    /**
+     * Rows of a mock method regenerated from its hand-written rows; the template is
+     * returned unchanged when nothing is configured for the method.
+     */
+    public List<Map<String, Object>> rows(String procedure, List<Map<String, Object>> template, Object... args) {
+        Settings config = settings(procedure);
+        if (!config.reshapes()) {
+            return template;
+        }
+        List<String> names = new ArrayList<>();
+        List<Kind> kinds = new ArrayList<>();
+        if (!template.isEmpty()) {
+            for (Map.Entry<String, Object> column : template.get(0).entrySet()) {
+                names.add(column.getKey());
+                kinds.add(kindOf(column.getValue()));
+            }
+        }
+        for (int extra = 1; names.size() < config.columns(); extra++) {
+            names.add(String.format("EXTRA_%02d", extra));
+            kinds.add(config.types()[(extra - 1) % config.types().length]);
+        }
+        if (names.isEmpty()) {
+            return template;
+        }
+
+        RowSchema schema = new RowSchema(names.toArray(String[]::new));
+        int count = config.rows() > 0 ? config.rows() : template.size();
+        SplittableRandom random = new SplittableRandom(seed ^ (31L * procedure.hashCode() + Arrays.deepHashCode(args)));
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> source = template.isEmpty() ? Map.of() : template.get(i % template.size());
+            Object[] values = new Object[names.size()];
+            for (int c = 0; c < values.length; c++) {
+                values[c] = value(kinds.get(c), names.get(c), source.get(names.get(c)), i, config.width(), random);
+            }
+            rows.add(new CompactRow(schema, values));
+        }
+        return rows;
+    }
+
+    /**
+     * Delay a call by the configured latency and jitter of the method.
+     */
+    public void delay(String procedure) {
+        Settings config = settings(procedure);
+        long millis = config.latency() + (config.jitter() > 0 ? ThreadLocalRandom.current().nextLong(config.jitter() + 1) : 0);
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Wrap a mock service so every call is delayed and its row lists (returned directly
+     * or as values of a returned map) are regenerated. Default methods of the interface
+     * run on the wrapper, so e.g. streamFind() sees the regenerated find() rows.
+     */
+    public Object wrap(Object service, Class<?>[] interfaces) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return invoke(service, method, args);
+            }
+            if (method.isDefault() && !overrides(service, method)) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            String procedure = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            delay(procedure);
+            return reshape(procedure, invoke(service, method, args), args != null ? args : new Object[0]);
+        };
+        return Proxy.newProxyInstance(service.getClass().getClassLoader(), interfaces, handler);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object reshape(String procedure, Object result, Object[] args) {
+        if (!settings(procedure).reshapes()) {
+            return result;
+        }
+        if (result instanceof List<?> list && isRows(list)) {
+            return rows(procedure, (List<Map<String, Object>>) list, args);
+        }
+        if (result instanceof Map<?, ?> map && map.values().stream().anyMatch(v -> v instanceof List<?> l && isRows(l))) {
+            Map<String, Object> reshaped = new LinkedHashMap<>();
+            ((Map<String, Object>) map).forEach((key, value) -> reshaped.put(key,
+                    value instanceof List<?> l && isRows(l) ? rows(procedure, (List<Map<String, Object>>) l, args) : value));
+            return reshaped;
+        }
+        return result;
+    }
+
+    private static boolean isRows(List<?> list) {
+        return list.isEmpty() || list.get(0) instanceof Map;
+    }
+
+    private static boolean overrides(Object service, Method method) {
+        try {
+            return !service.getClass().getMethod(method.getName(), method.getParameterTypes())
+                    .getDeclaringClass().isInterface();
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    Settings settings(String procedure) {
+        Settings config = settings.get(procedure);
+        return config != null ? config : settings.computeIfAbsent(procedure, this::load);
+    }
+
+    private Settings load(String procedure) {
+        return new Settings(
+                property(procedure, "rows", 0),
+                property(procedure, "columns", 0),
+                property(procedure, "width", 0),
+                parseTypes(environment.getProperty(PREFIX + "procedures." + procedure + ".types",
+                        environment.getProperty(PREFIX + "default.types", "string:6,number:3,date:1"))),
+                property(procedure, "latency", 0),
+                property(procedure, "jitter", 0));
+    }
+
+    private int property(String procedure, String key, int defaultValue) {
+        Integer value = environment.getProperty(PREFIX + "procedures." + procedure + "." + key, Integer.class);
+        return value != null ? value : environment.getProperty(PREFIX + "default." + key, Integer.class, defaultValue);
+    }
+
+    /**
+     * "string:6,number:3,date:1" as a repeating sequence of column kinds.
+     */
+    static Kind[] parseTypes(String mix) {
+        List<Kind> kinds = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] type = part.trim().split(":");
+            Kind kind = switch (type[0].trim().toLowerCase()) {
+                case "string" -> Kind.STRING;
+                case "number" -> Kind.DECIMAL;
+                case "integer" -> Kind.INTEGER;
+                case "date" -> Kind.DATE;
+                case "boolean" -> Kind.BOOLEAN;
+                default -> throw new IllegalArgumentException("Unknown synthetic column type: " + type[0]);
+            };
+            int weight = type.length > 1 ? Integer.parseInt(type[1].trim()) : 1;
+            for (int i = 0; i < weight; i++) {
+                kinds.add(kind);
+            }
+        }
+        if (kinds.isEmpty()) {
+            throw new IllegalArgumentException("No synthetic column types in: " + mix);
+        }
+        return kinds.toArray(Kind[]::new);
+    }
+
+    private static Kind kindOf(Object value) {
+        if (value == null || value instanceof CharSequence) {
+            return Kind.STRING;
+        }
+        if (value instanceof BigDecimal || value instanceof Double || value instanceof Float) {
+            return Kind.DECIMAL;
+        }
+        if (value instanceof Integer || value instanceof Short) {
+            return Kind.INTEGER;
+        }
+        if (value instanceof Long) {
+            return Kind.LONG;
+        }
+        if (value instanceof java.util.Date) {
+            return Kind.DATE;
+        }
+        if (value instanceof Boolean) {
+            return Kind.BOOLEAN;
+        }
+        return Kind.OTHER;
+    }
+
+    private static Object value(Kind kind, String column, Object template, int row, int width, SplittableRandom random) {
+        return switch (kind) {
+            case STRING -> text(column, template, row, width, random);
+            case DECIMAL -> BigDecimal.valueOf(random.nextLong(100_000_000L), 2);
+            case INTEGER -> random.nextInt(100_000);
+            case LONG -> random.nextLong(1_000_000_000L);
+            case DATE -> new Timestamp(BASE_TIME - random.nextLong(YEAR) / 1000 * 1000);
+            case BOOLEAN -> random.nextBoolean();
+            case OTHER -> template;
+        };
+    }
+
+    /**
+     * Template value (identifiers made unique per row) brought to the configured width.
+     */
+    private static String text(String column, Object template, int row, int width, SplittableRandom random) {
+        String base = template != null ? template.toString() : column;
+        String suffix = column.endsWith("ID") || template == null ? "-" + row : "";
+        int fill = width - base.length() - suffix.length();
+        if (width <= 0 || fill == 0) {
+            return base + suffix;
+        }
+        if (fill < 0) {
+            String text = base + suffix;
+            return text.substring(text.length() - width);
+        }
+        StringBuilder text = new StringBuilder(width).append(base);
+        for (int i = 0; i < fill; i++) {
+            text.append(LETTERS[random.nextInt(LETTERS.length)]);
+        }
+        return text.append(suffix).toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.digibo.core.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread.
+ *
+ * A virtual thread that blocks inside a synchronized block or a native frame keeps its
+ * carrier thread, and with few carriers (one per core) a handful of pinned JDBC calls
+ * stall every request. The monitor streams the JFR jdk.VirtualThreadPinned event for
+ * pins longer than the threshold, counts them by the first application or driver frame
+ * and logs the stack the first time a frame is seen.
+ *
+ * Meter: digibo.vthread.pinned{frame=class.method} (pinned blocking operations)
+ */
+public class PinnedThreadMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final List<String> PLATFORM_PACKAGES = List.of("java.", "jdk.", "sun.");
+
+    private final MeterRegistry registry;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private final RecordingStream stream;
+
+    public PinnedThreadMonitor(Duration threshold, MeterRegistry registry) {
+        this.registry = registry;
+        this.stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::pinned);
+        stream.startAsync();
+    }
+
+    private void pinned(RecordedEvent event) {
+        String frame = frame(event);
+        Counter.builder("digibo.vthread.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .tag("frame", frame)
+                .register(registry)
+                .increment();
+        if (reported.add(frame)) {
+            logger.warn("Virtual thread pinned for {} ms at {}:\n{}",
+                    event.getDuration().toMillis(), frame, stackTrace(event));
+        }
+    }
+
+    /**
+     * The first frame outside the JDK, where the pinning code was entered from.
+     */
+    static String frame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (PLATFORM_PACKAGES.stream().noneMatch(type::startsWith)) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return "jdk";
+    }
+
+    private static String stackTrace(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "";
+        }
+        StringBuilder trace = new StringBuilder();
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            trace.append("\tat ").append(frame.getMethod().getType().getName())
+                    .append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber()).append('\n');
+        }
+        return trace.toString();
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
@@ -0,0 +1,249 @@
+package com.digibo.core.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded loading cache with single-flight loads and refresh-ahead.
+ *
+ * - Concurrent misses for the same key share one load; the other callers wait for it.
+ * - An entry read within refreshAhead of its expiry is reloaded in the background
+ *   while callers keep getting the current value.
+ * - When the cache grows over maxSize, expired entries and then the least recently
+ *   read entries are evicted.
+ * - A load that was running while its key was invalidated is returned to the callers
+ *   that were already waiting for it but not cached; later calls start a new load.
+ *
+ * Meters (tag cache=name): digibo.cache.requests{result=hit|miss}, digibo.cache.loads,
+ * digibo.cache.refreshes, digibo.cache.evictions, digibo.cache.size.
+ */
+public class RefreshingCache<K, V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshingCache.class);
+
+    private final String name;
+    private final int maxSize;
+    private final long ttl;
+    private final long refreshAhead;
+    private final Function<K, V> loader;
+    private final Executor refresher;
+    private final LongSupplier clock;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Map<K, CompletableFuture<V>> loading = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter loads;
+    private final Counter refreshes;
+    private final Counter evictions;
+
+    /**
+     * @param name         cache name, used as the meter tag
+     * @param maxSize      maximum number of entries
+     * @param ttl          entry lifetime in milliseconds
+     * @param refreshAhead reload entries read within this many milliseconds of expiry
+     * @param loader       loads the value for a key; may throw
+     * @param refresher    runs background refreshes
+     */
+    public RefreshingCache(String name, int maxSize, long ttl, long refreshAhead, Function<K, V> loader,
+                           Executor refresher, MeterRegistry registry) {
+        this(name, maxSize, ttl, refreshAhead, loader, refresher, registry, System::currentTimeMillis);
+    }
+
+    RefreshingCache(String name, int maxSize, long ttl, long refreshAhead, Function<K, V> loader,
+                    Executor refresher, MeterRegistry registry, LongSupplier clock) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.refreshAhead = refreshAhead;
+        this.loader = loader;
+        this.refresher = refresher;
+        this.clock = clock;
+
+        this.hits = counter(registry, "digibo.cache.requests", "result", "hit");
+        this.misses = counter(registry, "digibo.cache.requests", "result", "miss");
+        this.loads = counter(registry, "digibo.cache.loads", null, null);
+        this.refreshes = counter(registry, "digibo.cache.refreshes", null, null);
+        this.evictions = counter(registry, "digibo.cache.evictions", null, null);
+        Gauge.builder("digibo.cache.size", entries, Map::size)
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private Counter counter(MeterRegistry registry, String meter, String tag, String value) {
+        Counter.Builder builder = Counter.builder(meter).tag("cache", name);
+        if (tag != null) {
+            builder.tag(tag, value);
+        }
+        return builder.register(registry);
+    }
+
+    public V get(K key) {
+        long now = clock.getAsLong();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && now < entry.expiresAt) {
+            hits.increment();
+            entry.lastRead = now;
+            if (now >= entry.expiresAt - refreshAhead && entry.refreshing.compareAndSet(false, true)) {
+                refreshInBackground(key);
+            }
+            return entry.value;
+        }
+        misses.increment();
+        return load(key);
+    }
+
+    /**
+     * Drop the key's entry and detach a load running for it, so that load is not cached
+     * and is not joined by later calls. The load is detached first: load() caches its
+     * value only while it is still the key's registered load.
+     */
+    public void invalidate(K key) {
+        loading.remove(key);
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        loading.clear();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public double getHitCount() {
+        return hits.count();
+    }
+
+    public double getMissCount() {
+        return misses.count();
+    }
+
+    public double getLoadCount() {
+        return loads.count();
+    }
+
+    private void refreshInBackground(K key) {
+        refreshes.increment();
+        try {
+            refresher.execute(() -> {
+                try {
+                    load(key);
+                } catch (RuntimeException e) {
+                    // Keep serving the current value until it expires
+                    logger.warn("Background refresh of {} cache entry {} failed: {}", name, key, e.getMessage());
+                    Entry<V> entry = entries.get(key);
+                    if (entry != null) {
+                        entry.refreshing.set(false);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Could not schedule refresh of {} cache entry {}: {}", name, key, e.getMessage());
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                entry.refreshing.set(false);
+            }
+        }
+    }
+
+    /**
+     * Load the key, joining a load that is already running for it.
+     */
+    private V load(K key) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> running = loading.putIfAbsent(key, own);
+        if (running != null) {
+            return join(running);
+        }
+
+        try {
+            loads.increment();
+            V value = loader.apply(key);
+            long now = clock.getAsLong();
+            // Checked under the entry's lock: invalidate() detaches the load before it removes the entry
+            entries.compute(key, (k, current) ->
+                    loading.get(k) == own ? new Entry<>(value, now + ttl, now) : current);
+            if (entries.size() > maxSize) {
+                evict(now);
+            }
+            own.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, own);
+        }
+    }
+
+    private V join(CompletableFuture<V> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drop expired entries, then the least recently read ones, down to 90% of maxSize
+     * so eviction does not run again on the next insert.
+     */
+    private synchronized void evict(long now) {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        int before = entries.size();
+        entries.values().removeIf(entry -> now >= entry.expiresAt);
+
+        int target = maxSize - maxSize / 10;
+        if (entries.size() > target) {
+            // Snapshot lastRead so concurrent reads cannot change the order while sorting
+            List<Candidate<K, V>> byLastRead = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) -> byLastRead.add(new Candidate<>(key, entry, entry.lastRead)));
+            byLastRead.sort(Comparator.comparingLong(Candidate::lastRead));
+            for (int i = 0; i < byLastRead.size() - target; i++) {
+                Candidate<K, V> oldest = byLastRead.get(i);
+                entries.remove(oldest.key(), oldest.entry());
+            }
+        }
+        evictions.increment(before - entries.size());
+    }
+
+    private record Candidate<K, V>(K key, Entry<V> entry, long lastRead) {
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long expiresAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile long lastRead;
+
+        private Entry(V value, long expiresAt, long lastRead) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.lastRead = lastRead;
+        }
+    }
+}
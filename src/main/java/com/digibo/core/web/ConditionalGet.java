@@ -0,0 +1,21 @@
+package com.digibo.core.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET endpoint whose JSON body gets a content-hash ETag.
+ *
+ * {@link ConditionalGetFilter} hashes the body while it is serialized and answers a
+ * matching If-None-Match with 304 Not Modified and no body, so polling clients only
+ * download and parse a result when it changed. Meant for endpoints polled for data
+ * that rarely changes; the database call still runs on every request.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalGet {
+}
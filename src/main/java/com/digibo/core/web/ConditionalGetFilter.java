@@ -0,0 +1,279 @@
+package com.digibo.core.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+
+/**
+ * ConditionalGetFilter - ETag and If-None-Match handling for {@link ConditionalGet} endpoints.
+ *
+ * The body of a marked endpoint is hashed as the converter writes it and held back until
+ * the handler is done. A 200 response then gets ETag and "Cache-Control: private, no-cache"
+ * (clients keep the body but revalidate every time); when If-None-Match already names that
+ * ETag the body is dropped and 304 is sent instead. Bodies larger than maxBodySize are
+ * written through without an ETag. Responses of other endpoints pass through untouched.
+ *
+ * Compression (server.compression) is applied by Tomcat after this filter; Tomcat turns the
+ * ETag of a compressed response into a weak one, so If-None-Match is compared weakly.
+ *
+ * Meter: digibo.http.conditional{result=not_modified|modified}
+ */
+@Component
+public class ConditionalGetFilter extends OncePerRequestFilter {
+
+    /** Request attribute set by {@link ConditionalGetAdvice} before the body is written. */
+    static final String HASH_BODY = ConditionalGetFilter.class.getName() + ".HASH_BODY";
+
+    private final int maxBodySize;
+    private final Counter notModified;
+    private final Counter modified;
+
+    public ConditionalGetFilter(@Value("${app.etag.max-body-size:8388608}") int maxBodySize,
+                                MeterRegistry registry) {
+        this.maxBodySize = maxBodySize;
+        this.notModified = Counter.builder("digibo.http.conditional")
+                .description("Conditional GET responses by outcome")
+                .tag("result", "not_modified")
+                .register(registry);
+        this.modified = Counter.builder("digibo.http.conditional")
+                .description("Conditional GET responses by outcome")
+                .tag("result", "modified")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HashingResponse hashing = new HashingResponse(request, response);
+        chain.doFilter(request, hashing);
+        hashing.finish();
+    }
+
+    /**
+     * True when the If-None-Match header values name the ETag (weak comparison).
+     */
+    static boolean matches(Iterable<String> ifNoneMatch, String etag) {
+        for (String header : ifNoneMatch) {
+            for (String tag : header.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private final class HashingResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        private ByteArrayOutputStream buffer;
+        private MessageDigest digest;
+        private ServletOutputStream output;
+        private PrintWriter writer;
+        private boolean decided;
+        private boolean spilled;
+
+        HashingResponse(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        /**
+         * Decide on first access to the body whether it is hashed; the advice has run by then.
+         */
+        private boolean hashing() {
+            if (!decided) {
+                decided = true;
+                if (request.getAttribute(HASH_BODY) != null) {
+                    buffer = new ByteArrayOutputStream(8192);
+                    digest = md5();
+                }
+            }
+            return buffer != null && !spilled;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (!hashing() && output == null) {
+                return super.getOutputStream();
+            }
+            if (output == null) {
+                output = new HashingOutputStream();
+            }
+            return output;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (!hashing() && writer == null) {
+                return super.getWriter();
+            }
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            if (!bufferingLength()) {
+                super.setContentLength(len);
+            }
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (!bufferingLength()) {
+                super.setContentLengthLong(len);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) || !bufferingLength()) {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (!hashing()) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (buffer != null && !spilled) {
+                buffer.reset();
+                digest.reset();
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (buffer != null && !spilled) {
+                buffer.reset();
+                digest.reset();
+            }
+        }
+
+        /**
+         * The length of a held back body is set when it is written.
+         */
+        private boolean bufferingLength() {
+            return request.getAttribute(HASH_BODY) != null && !spilled;
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            if (spilled) {
+                super.getOutputStream().write(bytes, offset, length);
+                return;
+            }
+            if (buffer.size() + length > maxBodySize) {
+                // Too large to hold back: send what is buffered and continue without an ETag
+                spilled = true;
+                ServletOutputStream out = super.getOutputStream();
+                buffer.writeTo(out);
+                buffer = new ByteArrayOutputStream(0);
+                out.write(bytes, offset, length);
+                return;
+            }
+            buffer.write(bytes, offset, length);
+            digest.update(bytes, offset, length);
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (buffer == null || spilled) {
+                return;
+            }
+            byte[] body = buffer.toByteArray();
+            if (getStatus() == HttpServletResponse.SC_OK) {
+                String etag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest()) + "\"";
+                super.setHeader(HttpHeaders.ETAG, etag);
+                if (getHeader(HttpHeaders.CACHE_CONTROL) == null) {
+                    super.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+                }
+                if (matches(Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH)), etag)) {
+                    notModified.increment();
+                    setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                    return;
+                }
+                modified.increment();
+            }
+            super.setContentLength(body.length);
+            super.getOutputStream().write(body);
+        }
+
+        private final class HashingOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                HashingResponse.this.write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                HashingResponse.this.write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (spilled) {
+                    HashingResponse.super.getOutputStream().flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                throw new UnsupportedOperationException("Async writes are not supported");
+            }
+        }
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
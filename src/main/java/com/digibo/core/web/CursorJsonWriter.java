@@ -0,0 +1,150 @@
+package com.digibo.core.web;
+
+import com.digibo.core.mapper.RowSchema;
+import com.digibo.core.service.base.CursorSink;
+import com.digibo.core.service.base.CursorStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * CursorJsonWriter - Turns a {@link CursorStream} into a streaming JSON response body.
+ *
+ * Rows are written to the response as they are read from the cursor, so the body is
+ * produced with constant memory. Values are serialized with the application ObjectMapper,
+ * giving the same JSON as the buffered endpoints.
+ *
+ * When reading the cursor fails part way, the JSON is left unterminated and the
+ * exception is rethrown. If the response is not committed yet, the error handler still
+ * answers with an error status. Once it is committed, the container aborts the response
+ * (the chunked body gets no terminating chunk), so clients see a failed transfer rather
+ * than a short, well-formed array. Such failures are logged as truncated responses.
+ *
+ * Usage in controllers:
+ * <pre>
+ * return cursorJsonWriter.array(service.streamFind(...));                  // [ {...}, ... ]
+ * return cursorJsonWriter.object(service.streamFind(...), "orders", "count"); // { "orders": [...], "count": n }
+ * </pre>
+ */
+@Component
+public class CursorJsonWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CursorJsonWriter.class);
+
+    private final ObjectMapper objectMapper;
+
+    public CursorJsonWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Stream rows as a top-level JSON array.
+     */
+    public ResponseEntity<StreamingResponseBody> array(CursorStream stream) {
+        return object(stream, null, null, Map.of());
+    }
+
+    /**
+     * Stream rows as an array property of a JSON object, optionally followed by a row count property.
+     */
+    public ResponseEntity<StreamingResponseBody> object(CursorStream stream, String rowsField, String countField) {
+        return object(stream, rowsField, countField, Map.of());
+    }
+
+    /**
+     * Stream rows as an array property of a JSON object.
+     *
+     * @param rowsField Property holding the rows (null writes a top-level array)
+     * @param countField Property holding the row count, written after the rows (may be null)
+     * @param outputFields Procedure OUT parameter name to JSON property, written before the rows
+     */
+    public ResponseEntity<StreamingResponseBody> object(CursorStream stream, String rowsField, String countField,
+                                                        Map<String, String> outputFields) {
+        StreamingResponseBody body = out -> {
+            JsonSink sink = new JsonSink(out, rowsField, countField, outputFields);
+            try {
+                stream.writeTo(sink);
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Streamed JSON response truncated after {} rows: {}", sink.rows, e.getMessage());
+                throw e;
+            } finally {
+                // Does not close open arrays and objects, so a failed stream stays invalid JSON
+                sink.generator.close();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private class JsonSink implements CursorSink {
+
+        private final JsonGenerator generator;
+        private final String rowsField;
+        private final String countField;
+        private final Map<String, String> outputFields;
+        private String[] columns;
+        private RowSchema schema;
+        private int rows;
+
+        JsonSink(OutputStream out, String rowsField, String countField, Map<String, String> outputFields) {
+            this.generator = objectMapper.writer()
+                    .without(StreamWriteFeature.AUTO_CLOSE_CONTENT)
+                    .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                    .createGenerator(out);
+            this.rowsField = rowsField;
+            this.countField = countField;
+            this.outputFields = outputFields;
+        }
+
+        @Override
+        public void begin(Map<String, Object> outputs) {
+            if (rowsField != null) {
+                generator.writeStartObject();
+                for (Map.Entry<String, String> field : outputFields.entrySet()) {
+                    generator.writePOJOProperty(field.getValue(), outputs.get(field.getKey()));
+                }
+                generator.writeName(rowsField);
+            }
+            generator.writeStartArray();
+        }
+
+        @Override
+        public void row(String[] columns, Object[] values) {
+            if (columns != this.columns && (schema == null || !Arrays.equals(schema.names(), columns))) {
+                // Duplicate column aliases are written once, with the last column's value
+                schema = new RowSchema(columns);
+            }
+            this.columns = columns;
+            generator.writeStartObject();
+            for (int i = 0; i < schema.size(); i++) {
+                generator.writePOJOProperty(schema.name(i), values[schema.column(i)]);
+            }
+            generator.writeEndObject();
+            rows++;
+        }
+
+        @Override
+        public void end(int rowCount) {
+            generator.writeEndArray();
+            if (rowsField != null) {
+                if (countField != null) {
+                    generator.writeNumberProperty(countField, rowCount);
+                }
+                generator.writeEndObject();
+            }
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,881 @@
+package com.digibo.core.web;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.MappingMatch;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.lang.reflect.Proxy;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * InProcessDispatcher - Runs a GET request through the DispatcherServlet without a network
+ * round trip, on the current thread, and buffers its response.
+ *
+ * The sub-request is built from an {@link Origin}: a copy of the calling request's headers,
+ * cookies, locales and connection details, taken on the request's own thread. Sub-requests
+ * never read the calling request, so they can outlive it (e.g. after a batch deadline) without
+ * seeing a recycled request. Each has its own path, query parameters and attributes, and its
+ * response never touches the real one. Servlet filters are not applied: the caller's
+ * authentication must already be in the SecurityContext of the calling thread. Handlers that
+ * need async processing (streamed bodies) or a session are not supported and fail with 500.
+ */
+@Component
+public class InProcessDispatcher {
+
+    private final DispatcherServlet dispatcherServlet;
+
+    public InProcessDispatcher(DispatcherServlet dispatcherServlet) {
+        this.dispatcherServlet = dispatcherServlet;
+    }
+
+    /**
+     * Copy what sub-requests need from the calling request; call on the request's thread.
+     */
+    public Origin origin(HttpServletRequest request) {
+        return new Origin(request);
+    }
+
+    /**
+     * Dispatch GET pathAndQuery (e.g. "/api/documents/1/history?x=1", without context path).
+     */
+    public Response get(Origin origin, String pathAndQuery) throws IOException, ServletException {
+        SubRequest request = new SubRequest(origin, pathAndQuery);
+        BufferedResponse response = new BufferedResponse();
+        dispatcherServlet.service(request, response);
+        response.flushBuffer();
+        return new Response(response.getStatus(), response.getContentType(), response.buffer.toByteArray());
+    }
+
+    /**
+     * Buffered response of a dispatched request.
+     */
+    public record Response(int status, String contentType, byte[] body) {
+    }
+
+    /**
+     * The parts of a request that its sub-requests inherit, copied when it is created.
+     * Content headers are left out: sub-requests have no body.
+     */
+    public static final class Origin {
+
+        private final ServletContext servletContext;
+        private final String contextPath;
+        private final String scheme;
+        private final String serverName;
+        private final int serverPort;
+        private final String protocol;
+        private final boolean secure;
+        private final String remoteAddr;
+        private final String remoteHost;
+        private final int remotePort;
+        private final String localName;
+        private final String localAddr;
+        private final int localPort;
+        private final String characterEncoding;
+        private final String authType;
+        private final String remoteUser;
+        private final Principal userPrincipal;
+        private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>(Locale.ROOT);
+        private final Cookie[] cookies;
+        private final List<Locale> locales;
+
+        private Origin(HttpServletRequest request) {
+            this.servletContext = request.getServletContext();
+            this.contextPath = request.getContextPath();
+            this.scheme = request.getScheme();
+            this.serverName = request.getServerName();
+            this.serverPort = request.getServerPort();
+            this.protocol = request.getProtocol();
+            this.secure = request.isSecure();
+            this.remoteAddr = request.getRemoteAddr();
+            this.remoteHost = request.getRemoteHost();
+            this.remotePort = request.getRemotePort();
+            this.localName = request.getLocalName();
+            this.localAddr = request.getLocalAddr();
+            this.localPort = request.getLocalPort();
+            this.characterEncoding = request.getCharacterEncoding();
+            this.authType = request.getAuthType();
+            this.remoteUser = request.getRemoteUser();
+            this.userPrincipal = request.getUserPrincipal();
+            for (Enumeration<String> names = request.getHeaderNames(); names.hasMoreElements(); ) {
+                String name = names.nextElement();
+                if (!isBodyHeader(name)) {
+                    headers.put(name, Collections.unmodifiableList(Collections.list(request.getHeaders(name))));
+                }
+            }
+            Cookie[] parentCookies = request.getCookies();
+            if (parentCookies != null) {
+                this.cookies = new Cookie[parentCookies.length];
+                for (int i = 0; i < parentCookies.length; i++) {
+                    cookies[i] = (Cookie) parentCookies[i].clone();
+                }
+            } else {
+                this.cookies = null;
+            }
+            this.locales = List.copyOf(Collections.list(request.getLocales()));
+        }
+
+        private static boolean isBodyHeader(String name) {
+            return "content-type".equalsIgnoreCase(name) || "content-length".equalsIgnoreCase(name);
+        }
+    }
+
+    /**
+     * Request served entirely from its Origin. Extends the wrapper only for its type;
+     * nothing is delegated to the placeholder request it wraps.
+     */
+    private static final class SubRequest extends HttpServletRequestWrapper {
+
+        private static final HttpServletRequest DETACHED = (HttpServletRequest) Proxy.newProxyInstance(
+                HttpServletRequest.class.getClassLoader(), new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        private static final HttpServletMapping MAPPING = new HttpServletMapping() {
+            @Override
+            public String getMatchValue() {
+                return "";
+            }
+
+            @Override
+            public String getPattern() {
+                return "/";
+            }
+
+            @Override
+            public String getServletName() {
+                return "dispatcherServlet";
+            }
+
+            @Override
+            public MappingMatch getMappingMatch() {
+                return MappingMatch.DEFAULT;
+            }
+        };
+
+        private final Origin origin;
+        private final String path;
+        private final String queryString;
+        private final Map<String, String[]> parameters;
+        private final Map<String, Object> attributes = new HashMap<>();
+        private String characterEncoding;
+
+        SubRequest(Origin origin, String pathAndQuery) {
+            super(DETACHED);
+            this.origin = origin;
+            this.characterEncoding = origin.characterEncoding;
+            int query = pathAndQuery.indexOf('?');
+            this.path = query < 0 ? pathAndQuery : pathAndQuery.substring(0, query);
+            this.queryString = query < 0 ? null : pathAndQuery.substring(query + 1);
+            this.parameters = parse(queryString);
+        }
+
+        private static Map<String, String[]> parse(String queryString) {
+            Map<String, List<String>> values = new LinkedHashMap<>();
+            if (queryString != null) {
+                for (String pair : queryString.split("&")) {
+                    if (pair.isEmpty()) {
+                        continue;
+                    }
+                    int eq = pair.indexOf('=');
+                    String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+                    String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                    values.computeIfAbsent(name, n -> new ArrayList<>()).add(value);
+                }
+            }
+            Map<String, String[]> parameters = new LinkedHashMap<>();
+            values.forEach((name, list) -> parameters.put(name, list.toArray(new String[0])));
+            return Collections.unmodifiableMap(parameters);
+        }
+
+        @Override
+        public String getMethod() {
+            return "GET";
+        }
+
+        @Override
+        public String getRequestURI() {
+            return getContextPath() + path;
+        }
+
+        @Override
+        public StringBuffer getRequestURL() {
+            StringBuffer url = new StringBuffer();
+            url.append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort())
+                    .append(getRequestURI());
+            return url;
+        }
+
+        @Override
+        public String getContextPath() {
+            return origin.contextPath;
+        }
+
+        @Override
+        public String getServletPath() {
+            return path;
+        }
+
+        @Override
+        public String getPathInfo() {
+            return null;
+        }
+
+        @Override
+        public String getPathTranslated() {
+            return null;
+        }
+
+        @Override
+        public HttpServletMapping getHttpServletMapping() {
+            return MAPPING;
+        }
+
+        @Override
+        public String getQueryString() {
+            return queryString;
+        }
+
+        @Override
+        public String getParameter(String name) {
+            String[] values = parameters.get(name);
+            return values != null ? values[0] : null;
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            return parameters;
+        }
+
+        @Override
+        public Enumeration<String> getParameterNames() {
+            return Collections.enumeration(parameters.keySet());
+        }
+
+        @Override
+        public String[] getParameterValues(String name) {
+            String[] values = parameters.get(name);
+            return values != null ? values.clone() : null;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            List<String> values = origin.headers.get(name);
+            return values != null && !values.isEmpty() ? values.get(0) : null;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return Collections.enumeration(origin.headers.getOrDefault(name, List.of()));
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(List.copyOf(origin.headers.keySet()));
+        }
+
+        @Override
+        public long getDateHeader(String name) {
+            String value = getHeader(name);
+            if (value == null) {
+                return -1;
+            }
+            try {
+                return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Header " + name + " is not a date: " + value, e);
+            }
+        }
+
+        @Override
+        public int getIntHeader(String name) {
+            String value = getHeader(name);
+            return value != null ? Integer.parseInt(value) : -1;
+        }
+
+        @Override
+        public Cookie[] getCookies() {
+            if (origin.cookies == null) {
+                return null;
+            }
+            Cookie[] cookies = new Cookie[origin.cookies.length];
+            for (int i = 0; i < cookies.length; i++) {
+                cookies[i] = (Cookie) origin.cookies[i].clone();
+            }
+            return cookies;
+        }
+
+        @Override
+        public Locale getLocale() {
+            return origin.locales.isEmpty() ? Locale.getDefault() : origin.locales.get(0);
+        }
+
+        @Override
+        public Enumeration<Locale> getLocales() {
+            return Collections.enumeration(origin.locales.isEmpty() ? List.of(Locale.getDefault()) : origin.locales);
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return characterEncoding;
+        }
+
+        @Override
+        public void setCharacterEncoding(String env) {
+            this.characterEncoding = env;
+        }
+
+        @Override
+        public void setCharacterEncoding(Charset encoding) {
+            this.characterEncoding = encoding.name();
+        }
+
+        @Override
+        public String getContentType() {
+            return null;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return true;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return -1;
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new StringReader(""));
+        }
+
+        @Override
+        public String getScheme() {
+            return origin.scheme;
+        }
+
+        @Override
+        public String getServerName() {
+            return origin.serverName;
+        }
+
+        @Override
+        public int getServerPort() {
+            return origin.serverPort;
+        }
+
+        @Override
+        public String getProtocol() {
+            return origin.protocol;
+        }
+
+        @Override
+        public boolean isSecure() {
+            return origin.secure;
+        }
+
+        @Override
+        public String getRemoteAddr() {
+            return origin.remoteAddr;
+        }
+
+        @Override
+        public String getRemoteHost() {
+            return origin.remoteHost;
+        }
+
+        @Override
+        public int getRemotePort() {
+            return origin.remotePort;
+        }
+
+        @Override
+        public String getLocalName() {
+            return origin.localName;
+        }
+
+        @Override
+        public String getLocalAddr() {
+            return origin.localAddr;
+        }
+
+        @Override
+        public int getLocalPort() {
+            return origin.localPort;
+        }
+
+        @Override
+        public ServletContext getServletContext() {
+            return origin.servletContext;
+        }
+
+        @Override
+        public String getAuthType() {
+            return origin.authType;
+        }
+
+        @Override
+        public String getRemoteUser() {
+            return origin.remoteUser;
+        }
+
+        @Override
+        public Principal getUserPrincipal() {
+            return origin.userPrincipal;
+        }
+
+        /**
+         * Checked against the SecurityContext of the dispatching thread, as the security
+         * filter's request wrapper does for the calling request.
+         */
+        @Override
+        public boolean isUserInRole(String role) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || role == null) {
+                return false;
+            }
+            String authority = role.startsWith("ROLE_") ? role : "ROLE_" + role;
+            for (GrantedAuthority granted : authentication.getAuthorities()) {
+                if (authority.equals(granted.getAuthority())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public HttpSession getSession() {
+            throw new IllegalStateException("Sessions are not available to in-process requests");
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            if (create) {
+                return getSession();
+            }
+            return null;
+        }
+
+        @Override
+        public String getRequestedSessionId() {
+            return null;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdValid() {
+            return false;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdFromCookie() {
+            return false;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdFromURL() {
+            return false;
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public Enumeration<String> getAttributeNames() {
+            return Collections.enumeration(List.copyOf(attributes.keySet()));
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            if (value == null) {
+                attributes.remove(name);
+            } else {
+                attributes.put(name, value);
+            }
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public DispatcherType getDispatcherType() {
+            return DispatcherType.REQUEST;
+        }
+
+        @Override
+        public boolean isAsyncSupported() {
+            return false;
+        }
+
+        @Override
+        public boolean isAsyncStarted() {
+            return false;
+        }
+
+        @Override
+        public AsyncContext startAsync() {
+            throw new IllegalStateException("Async processing is not supported for in-process requests");
+        }
+
+        @Override
+        public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+            throw new IllegalStateException("Async processing is not supported for in-process requests");
+        }
+    }
+
+    /**
+     * Response kept entirely in memory. Extends the wrapper only for its type; nothing is
+     * delegated to the placeholder response it wraps.
+     */
+    private static final class BufferedResponse extends HttpServletResponseWrapper {
+
+        private static final HttpServletResponse DETACHED = (HttpServletResponse) Proxy.newProxyInstance(
+                HttpServletResponse.class.getClassLoader(), new Class<?>[]{HttpServletResponse.class},
+                (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final Map<String, List<String>> headers = new LinkedHashMap<>();
+        private int status = SC_OK;
+        private String contentType;
+        private String characterEncoding = StandardCharsets.UTF_8.name();
+        private Locale locale = Locale.getDefault();
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        BufferedResponse() {
+            super(DETACHED);
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            this.status = sc;
+        }
+
+        @Override
+        public int getStatus() {
+            return status;
+        }
+
+        @Override
+        public void sendError(int sc) {
+            this.status = sc;
+        }
+
+        @Override
+        public void sendError(int sc, String msg) {
+            this.status = sc;
+        }
+
+        @Override
+        public void sendRedirect(String location) {
+            sendRedirect(location, SC_FOUND, true);
+        }
+
+        @Override
+        public void sendRedirect(String location, int sc) {
+            sendRedirect(location, sc, true);
+        }
+
+        @Override
+        public void sendRedirect(String location, boolean clearBuffer) {
+            sendRedirect(location, SC_FOUND, clearBuffer);
+        }
+
+        @Override
+        public void sendRedirect(String location, int sc, boolean clearBuffer) {
+            this.status = sc;
+            setHeader("Location", location);
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return headers.containsKey(name.toLowerCase(Locale.ROOT));
+        }
+
+        @Override
+        public String getHeader(String name) {
+            List<String> values = headers.get(name.toLowerCase(Locale.ROOT));
+            return values != null && !values.isEmpty() ? values.get(0) : null;
+        }
+
+        @Override
+        public Collection<String> getHeaders(String name) {
+            return List.copyOf(headers.getOrDefault(name.toLowerCase(Locale.ROOT), List.of()));
+        }
+
+        @Override
+        public Collection<String> getHeaderNames() {
+            return Set.copyOf(headers.keySet());
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if ("content-type".equalsIgnoreCase(name)) {
+                setContentType(value);
+                return;
+            }
+            if (value == null) {
+                headers.remove(name.toLowerCase(Locale.ROOT));
+                return;
+            }
+            List<String> values = new ArrayList<>();
+            values.add(value);
+            headers.put(name.toLowerCase(Locale.ROOT), values);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if ("content-type".equalsIgnoreCase(name)) {
+                setContentType(value);
+                return;
+            }
+            if (value != null) {
+                headers.computeIfAbsent(name.toLowerCase(Locale.ROOT), n -> new ArrayList<>()).add(value);
+            }
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+            setHeader(name, String.valueOf(date));
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            addHeader(name, String.valueOf(date));
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            setHeader(name, String.valueOf(value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            addHeader(name, String.valueOf(value));
+        }
+
+        @Override
+        public void addCookie(Cookie cookie) {
+            // Cookies of sub-requests are not passed on
+        }
+
+        @Override
+        public String encodeURL(String url) {
+            return url;
+        }
+
+        @Override
+        public String encodeRedirectURL(String url) {
+            return url;
+        }
+
+        @Override
+        public void setContentType(String type) {
+            this.contentType = type;
+            if (type != null) {
+                int charset = type.toLowerCase(Locale.ROOT).indexOf("charset=");
+                if (charset >= 0) {
+                    characterEncoding = type.substring(charset + 8).trim();
+                }
+            }
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public void setCharacterEncoding(String charset) {
+            if (charset != null) {
+                this.characterEncoding = charset;
+            }
+        }
+
+        @Override
+        public void setCharacterEncoding(Charset charset) {
+            if (charset != null) {
+                this.characterEncoding = charset.name();
+            }
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return characterEncoding;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+        }
+
+        @Override
+        public void setLocale(Locale locale) {
+            this.locale = locale;
+        }
+
+        @Override
+        public Locale getLocale() {
+            return locale;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    @Override
+                    public void write(int b) {
+                        buffer.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                        buffer.write(b, off, len);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(buffer, Charset.forName(characterEncoding)));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setBufferSize(int size) {
+        }
+
+        @Override
+        public int getBufferSize() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void flushBuffer() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            flushBuffer();
+            buffer.reset();
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return false;
+        }
+
+        @Override
+        public void reset() {
+            resetBuffer();
+            headers.clear();
+            status = SC_OK;
+            contentType = null;
+        }
+
+        @Override
+        public void setTrailerFields(Supplier<Map<String, String>> supplier) {
+        }
+
+        @Override
+        public Supplier<Map<String, String>> getTrailerFields() {
+            return null;
+        }
+    }
+}
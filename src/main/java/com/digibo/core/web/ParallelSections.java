@@ -0,0 +1,200 @@
+package com.digibo.core.web;
+
+import com.digibo.core.exception.ResourceNotFoundException;
+import com.digibo.core.exception.ServiceUnavailableException;
+import com.digibo.core.exception.ValidationException;
+import com.digibo.core.service.base.CallDeadline;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * ParallelSections - Runs the independent calls behind a composite response concurrently,
+ * each on its own virtual thread, under one deadline.
+ *
+ * Every section reports its own outcome, so one slow or failing call does not fail the
+ * response:
+ * <pre>
+ * "history": { "status": "ok", "elapsedMs": 38, "data": [...] }
+ * "messages": { "status": "timeout", "elapsedMs": 5000 }
+ * </pre>
+ * Statuses: ok, forbidden (not run), not_found, invalid, unavailable (package saturated),
+ * timeout, error.
+ *
+ * Sections run under the plan's {@link CallDeadline}: their procedure calls get a query
+ * timeout of the time left, so a call past the deadline is stopped by Oracle and gives its
+ * connection and bulkhead slot back. Threads are never interrupted, which could leave a
+ * connection in the middle of a network round trip.
+ *
+ * Usage in controllers:
+ * <pre>
+ * ParallelSections.Plan plan = parallelSections.plan();
+ * plan.add("history", permissions.contains("BODOCUMENTS.HISTORY"), () -> service.getHistory(id));
+ * Map&lt;String, Map&lt;String, Object&gt;&gt; sections = plan.run();
+ * </pre>
+ */
+@Component
+public class ParallelSections {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelSections.class);
+
+    public static final String OK = "ok";
+    public static final String FORBIDDEN = "forbidden";
+    public static final String NOT_FOUND = "not_found";
+    public static final String INVALID = "invalid";
+    public static final String UNAVAILABLE = "unavailable";
+    public static final String TIMEOUT = "timeout";
+    public static final String ERROR = "error";
+
+    private final long timeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * @param timeout deadline of a whole plan, in milliseconds
+     */
+    public ParallelSections(@Value("${app.composite.timeout:5000}") long timeout) {
+        this.timeout = timeout;
+    }
+
+    public Plan plan() {
+        return new Plan(timeout, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Plan with its own deadline that runs at most maxConcurrent sections at a time;
+     * waiting for a turn counts toward the deadline.
+     */
+    public Plan plan(long timeout, int maxConcurrent) {
+        return new Plan(timeout, maxConcurrent);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Sections of one composite response, started together by {@link #run()}.
+     */
+    public final class Plan {
+
+        private final Map<String, Callable<?>> calls = new LinkedHashMap<>();
+        private final long timeout;
+        private final Semaphore turns;
+
+        private Plan(long timeout, int maxConcurrent) {
+            this.timeout = timeout;
+            this.turns = maxConcurrent < Integer.MAX_VALUE ? new Semaphore(maxConcurrent, true) : null;
+        }
+
+        /**
+         * Add a section; a section that is not allowed is reported as forbidden without
+         * being run.
+         */
+        public Plan add(String name, boolean allowed, Callable<?> call) {
+            calls.put(name, allowed ? call : null);
+            return this;
+        }
+
+        /**
+         * Run all allowed sections and wait for them until the deadline. Sections still
+         * running then are reported as timed out; their calls end at the deadline's query
+         * timeout and their results are dropped.
+         *
+         * @return outcome of each section, in the order added
+         */
+        public Map<String, Map<String, Object>> run() {
+            long start = System.nanoTime();
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeout);
+            Map<String, Future<Map<String, Object>>> futures = new LinkedHashMap<>();
+            calls.forEach((name, call) -> {
+                if (call != null) {
+                    futures.put(name, executor.submit(() -> turns != null
+                            ? executeInTurn(name, call, start, deadline)
+                            : execute(name, call, start, deadline)));
+                }
+            });
+
+            Map<String, Map<String, Object>> sections = new LinkedHashMap<>();
+            for (String name : calls.keySet()) {
+                Future<Map<String, Object>> future = futures.get(name);
+                sections.put(name, future == null ? Map.of("status", FORBIDDEN) : await(name, future, start, deadline));
+            }
+            return sections;
+        }
+
+        private Map<String, Object> executeInTurn(String name, Callable<?> call, long start, long deadline)
+                throws InterruptedException {
+            if (!turns.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return section(TIMEOUT, start);
+            }
+            try {
+                return execute(name, call, start, deadline);
+            } finally {
+                turns.release();
+            }
+        }
+    }
+
+    private static Map<String, Object> execute(String name, Callable<?> call, long start, long deadline) {
+        Map<String, Object> section;
+        try {
+            Object data = CallDeadline.within(deadline, call);
+            section = section(OK, start);
+            section.put("data", data);
+        } catch (ResourceNotFoundException e) {
+            section = section(NOT_FOUND, start);
+        } catch (ValidationException e) {
+            section = section(INVALID, start);
+            section.put("message", e.getMessage());
+        } catch (ServiceUnavailableException e) {
+            section = section(UNAVAILABLE, start);
+            section.put("retryAfter", e.getRetryAfterSeconds());
+        } catch (Exception e) {
+            if (System.nanoTime() - deadline >= 0) {
+                // Stopped at the deadline, already reported as timed out
+                return section(TIMEOUT, start);
+            }
+            logger.error("Section {} failed: {}", name, e.getMessage(), e);
+            section = section(ERROR, start);
+        }
+        return section;
+    }
+
+    private static Map<String, Object> await(String name, Future<Map<String, Object>> future, long start, long deadline) {
+        try {
+            return future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Not interrupted: the section's call ends at its query timeout
+            future.cancel(false);
+            return section(TIMEOUT, start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            return section(TIMEOUT, start);
+        } catch (ExecutionException e) {
+            logger.error("Section {} failed: {}", name, e.getCause().getMessage(), e.getCause());
+            return section(ERROR, start);
+        }
+    }
+
+    private static Map<String, Object> section(String status, long start) {
+        Map<String, Object> section = new LinkedHashMap<>();
+        section.put("status", status);
+        section.put("elapsedMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return section;
+    }
+}
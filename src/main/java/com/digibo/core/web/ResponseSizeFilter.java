@@ -0,0 +1,180 @@
+package com.digibo.core.web;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ResponseSizeFilter - bytes of the response bodies written per endpoint.
+ *
+ * Counts the bytes the controllers and converters write, before compression by Tomcat.
+ * Streamed responses (StreamingResponseBody) are recorded when the async request
+ * completes. Runs outside {@link ConditionalGetFilter}, so a 304 counts as empty.
+ *
+ * Meter: digibo.http.response.bytes{uri} (uri is the matched pattern, as in
+ * http.server.requests; UNKNOWN when no handler matched)
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ResponseSizeFilter extends OncePerRequestFilter {
+
+    static final double[] SIZE_BUCKETS = {1024, 10 * 1024, 100 * 1024, 1024 * 1024, 10 * 1024 * 1024};
+
+    private final MeterRegistry registry;
+    private final Map<String, DistributionSummary> sizes = new ConcurrentHashMap<>();
+
+    public ResponseSizeFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CountingResponse counting = new CountingResponse(response);
+        try {
+            chain.doFilter(request, counting);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, counting);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, counting);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponse response) {
+        response.flushWriter();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary size = sizes.get(uri);
+        if (size == null) {
+            size = sizes.computeIfAbsent(uri, this::register);
+        }
+        size.record(response.bytes);
+    }
+
+    private DistributionSummary register(String uri) {
+        return DistributionSummary.builder("digibo.http.response.bytes")
+                .description("Bytes of response bodies, before compression")
+                .baseUnit("bytes")
+                .tag("uri", uri)
+                .serviceLevelObjectives(SIZE_BUCKETS)
+                .register(registry);
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private ServletOutputStream output;
+        private PrintWriter writer;
+        private long bytes;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (output == null) {
+                output = new CountingOutputStream(super.getOutputStream());
+            }
+            return output;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        private final class CountingOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream target;
+
+            CountingOutputStream(ServletOutputStream target) {
+                this.target = target;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                target.write(b);
+                bytes++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                target.write(b, off, len);
+                bytes += len;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                target.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                target.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return target.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                target.setWriteListener(listener);
+            }
+        }
+    }
+}
@@ -22,6 +22,17 @@ CREATE OR REPLACE PACKAGE BO_AUTH AS
         P_CURSOR    OUT SYS_REFCURSOR
     );
 
+    /**
+     * List every application procedure that can be granted.
+     * Returns a cursor with PACKAGE_NAME and PROCEDURE_NAME columns; the backend
+     * uses it as the catalog compact permission claims in tokens refer to.
+     *
+     * @param P_CURSOR    Output cursor with all application procedures
+     */
+    PROCEDURE GET_PERMISSION_CATALOG(
+        P_CURSOR    OUT SYS_REFCURSOR
+    );
+
     /**
      * Check if a specific user has permission to execute a procedure.
      *
@@ -77,6 +88,20 @@ CREATE OR REPLACE PACKAGE BODY BO_AUTH AS
             ORDER BY PACKAGE_NAME, PROCEDURE_NAME;
     END GET_USER_PERMISSIONS;
 
+    PROCEDURE GET_PERMISSION_CATALOG(
+        P_CURSOR    OUT SYS_REFCURSOR
+    ) AS
+    BEGIN
+        OPEN P_CURSOR FOR
+            SELECT DISTINCT
+                ap.object_name AS PACKAGE_NAME,
+                ap.procedure_name AS PROCEDURE_NAME
+            FROM all_procedures ap
+            WHERE ap.object_name LIKE c_app_package_prefix
+              AND ap.procedure_name IS NOT NULL
+            ORDER BY PACKAGE_NAME, PROCEDURE_NAME;
+    END GET_PERMISSION_CATALOG;
+
     FUNCTION HAS_PERMISSION(
         P_USERNAME      IN VARCHAR2,
         P_PACKAGE_NAME  IN VARCHAR2,
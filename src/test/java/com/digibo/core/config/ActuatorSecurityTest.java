@@ -0,0 +1,51 @@
+package com.digibo.core.config;
+
+import com.digibo.core.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("mock")
+class ActuatorSecurityTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private int get(String path, Set<String> permissions) throws Exception {
+        String token = jwtTokenProvider.generateToken("user1", "1", List.of("USER"), permissions);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Test
+    void slowCalls_requiresAdminPermission() throws Exception {
+        assertEquals(403, get("/actuator/slowcalls", Set.of("BOCUSTOMER.FIND")));
+        assertEquals(403, get("/actuator/slowcalls/BOCUSTOMER", Set.of("BOCUSTOMER.FIND")));
+        // The mock profile has no journal, so an administrator gets past security to a 404
+        assertNotEquals(403, get("/actuator/slowcalls", Set.of("BOSYSADMIN.GET_OFFICERS")));
+    }
+
+    @Test
+    void metricsEndpoint_isNotExposed() throws Exception {
+        assertNotEquals(200, get("/actuator/metrics", Set.of("BOSYSADMIN.GET_OFFICERS")));
+        assertEquals(200, get("/actuator/prometheus", Set.of()));
+    }
+}
@@ -0,0 +1,93 @@
+package com.digibo.core.controller;
+
+import com.digibo.core.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("mock")
+class BatchControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpResponse<String> post(String body, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void batch_dispatchesEachRequestWithCallersAuthentication() throws Exception {
+        String token = jwtTokenProvider.generateToken("user1", "1", List.of("USER"), Set.of());
+        String body = """
+                {"requests": [
+                  {"id": "history", "path": "/api/documents/1/history"},
+                  {"id": "missing", "path": "/api/documents/not-a-number"},
+                  {"id": "write", "method": "POST", "path": "/api/documents/1/lock"},
+                  {"id": "nested", "path": "/api/batch"},
+                  {"id": "hidden", "path": "//api//%62atch"}
+                ]}""";
+
+        HttpResponse<String> response = post(body, token);
+
+        assertEquals(200, response.statusCode());
+        JsonNode responses = objectMapper.readTree(response.body()).get("responses");
+        assertEquals("history", responses.get(0).get("id").asString());
+        assertEquals(200, responses.get(0).get("status").asInt());
+        assertTrue(responses.get(0).get("body").isArray());
+        assertEquals(400, responses.get(1).get("status").asInt());
+        assertEquals(400, responses.get(2).get("status").asInt());
+        assertEquals(400, responses.get(3).get("status").asInt());
+        assertEquals(400, responses.get(4).get("status").asInt());
+    }
+
+    @Test
+    void batch_requiresAuthentication() throws Exception {
+        HttpResponse<String> response = post("{\"requests\": [{\"path\": \"/api/documents/1/history\"}]}", null);
+
+        assertNotEquals(200, response.statusCode());
+    }
+
+    @Test
+    void normalize_decodesAndCollapsesBeforeExclusionsAreChecked() {
+        assertEquals("/api/batch", BatchController.normalize("//api//batch"));
+        assertEquals("/api/auth/login", BatchController.normalize("/api/%61uth/login?x=1"));
+        assertEquals("/api/documents/1/history", BatchController.normalize("/api/documents/1/history"));
+        assertNull(BatchController.normalize("/api/documents/%2e%2e/batch"));
+        assertNull(BatchController.normalize("/api/batch;x=1"));
+        assertNull(BatchController.normalize("/api/%2561uth/login"));
+        assertNull(BatchController.normalize("api/documents"));
+
+        assertFalse(BatchController.isBatchable(BatchController.normalize("/api/auth")));
+        assertFalse(BatchController.isBatchable(BatchController.normalize("//api/%61uth?x=1")));
+        assertFalse(BatchController.isBatchable(BatchController.normalize("/api/auth/me")));
+        assertFalse(BatchController.isBatchable(BatchController.normalize("/api/batch/")));
+        assertTrue(BatchController.isBatchable(BatchController.normalize("/api/authorizations/1")));
+        assertTrue(BatchController.isBatchable(BatchController.normalize("/api/documents/1/history")));
+    }
+}
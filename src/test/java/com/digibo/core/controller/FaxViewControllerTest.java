@@ -0,0 +1,83 @@
+package com.digibo.core.controller;
+
+import com.digibo.core.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("mock")
+class FaxViewControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = jwtTokenProvider.generateToken("user1", "1", List.of("USER"), Set.of());
+    }
+
+    private HttpResponse<byte[]> getImage(String range) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/faxview/1/tif"))
+                .header("Authorization", "Bearer " + token);
+        if (range != null) {
+            request.header("Range", range);
+        }
+        return HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Test
+    void loadFaxImage_streamsWholeImageOrRange() throws Exception {
+        HttpResponse<byte[]> full = getImage(null);
+        assertEquals(200, full.statusCode());
+        assertEquals("image/tiff", full.headers().firstValue("Content-Type").orElse(null));
+        assertEquals(4096, full.body().length);
+
+        HttpResponse<byte[]> head = getImage("bytes=0-3");
+        assertEquals(206, head.statusCode());
+        assertEquals("bytes 0-3/4096", head.headers().firstValue("Content-Range").orElse(null));
+        assertArrayEquals(new byte[]{'I', 'I', 42, 0}, head.body());
+
+        HttpResponse<byte[]> beyond = getImage("bytes=5000-");
+        assertEquals(416, beyond.statusCode());
+        assertEquals("bytes */4096", beyond.headers().firstValue("Content-Range").orElse(null));
+    }
+
+    @Test
+    void addDocument_acceptsRawImageBody() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                        + "/api/faxedit/documents?faxId=1&docClass=1&officerId=1&docStatus=1"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/octet-stream")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(new byte[1000]))
+                .build();
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(201, response.statusCode());
+        JsonNode body = objectMapper.readTree(response.body());
+        assertEquals(1000, body.get("tifSize").asInt());
+    }
+}
@@ -0,0 +1,81 @@
+package com.digibo.core.mapper;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactRowTest {
+
+    private static final RowSchema SCHEMA = new RowSchema("ID", "NAME", "AMOUNT");
+
+    @Test
+    void get_returnsValuesByColumnName() {
+        CompactRow row = new CompactRow(SCHEMA, new Object[]{"D1", null, new BigDecimal("10.50")});
+
+        assertEquals(3, row.size());
+        assertEquals("D1", row.get("ID"));
+        assertNull(row.get("NAME"));
+        assertTrue(row.containsKey("NAME"));
+        assertFalse(row.containsKey("OTHER"));
+        assertNull(row.get("OTHER"));
+    }
+
+    @Test
+    void equals_matchesEquivalentHashMap() {
+        CompactRow row = new CompactRow(SCHEMA, new Object[]{"D1", "Doc", BigDecimal.ONE});
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("ID", "D1");
+        expected.put("NAME", "Doc");
+        expected.put("AMOUNT", BigDecimal.ONE);
+
+        assertEquals(expected, row);
+        assertEquals(row, expected);
+        assertEquals(expected.hashCode(), row.hashCode());
+    }
+
+    @Test
+    void put_replacesExistingColumnOnly() {
+        CompactRow row = new CompactRow(SCHEMA, new Object[]{"D1", "Doc", null});
+
+        assertEquals("Doc", row.put("NAME", "Renamed"));
+        assertEquals("Renamed", row.get("NAME"));
+        assertThrows(UnsupportedOperationException.class, () -> row.put("OTHER", 1));
+    }
+
+    @Test
+    void serialize_writesSameJsonAsMapInColumnOrder() {
+        ObjectMapper mapper = JsonMapper.builder().build();
+        CompactRow row = new CompactRow(SCHEMA, new Object[]{"D1", null, new BigDecimal("10.50")});
+
+        Map<String, Object> expected = new LinkedHashMap<>(row);
+
+        assertEquals(mapper.writeValueAsString(expected), mapper.writeValueAsString(row));
+        assertEquals("[{\"ID\":\"D1\",\"NAME\":null,\"AMOUNT\":10.50}]", mapper.writeValueAsString(List.of(row)));
+    }
+
+    @Test
+    void duplicateColumnNames_keepLastValueLikeHashMap() {
+        ObjectMapper mapper = JsonMapper.builder().build();
+        RowSchema schema = new RowSchema("ID", "NAME", "ID");
+        CompactRow row = new CompactRow(schema, new Object[]{"first", "Doc", "last"});
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("ID", "first");
+        expected.put("NAME", "Doc");
+        expected.put("ID", "last");
+
+        assertEquals(2, row.size());
+        assertEquals(expected, row);
+        assertEquals("{\"ID\":\"last\",\"NAME\":\"Doc\"}", mapper.writeValueAsString(row));
+        assertEquals(3, schema.columnCount());
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -79,4 +80,38 @@ class JwtTokenProviderTest {
 
         assertFalse(tokenProvider.isRefreshToken(accessToken));
     }
+
+    @Test
+    void verifyToken_returnsAllClaimsFromOneParse() {
+        String token = tokenProvider.generateToken("testuser", "USER001", List.of("ROLE_USER"),
+                Set.of("BOPAYMENT.FIND"), "S1");
+
+        VerifiedClaims claims = tokenProvider.verifyToken(token);
+
+        assertNotNull(claims);
+        assertEquals("testuser", claims.getUsername());
+        assertEquals("USER001", claims.getUserId());
+        assertEquals(List.of("ROLE_USER"), claims.getRoles());
+        assertEquals(Set.of("BOPAYMENT.FIND"), claims.getPermissions());
+        assertEquals("S1", claims.getSessionId());
+        assertFalse(claims.isRefreshToken());
+        assertSame(claims, tokenProvider.verifyToken(token));
+    }
+
+    @Test
+    void verifyToken_returnsNullForExpiredToken() {
+        JwtTokenProvider expiring = new JwtTokenProvider(SECRET, -1000, 86400000);
+        String token = expiring.generateToken("testuser", "USER001", List.of("ROLE_USER"));
+
+        assertNull(expiring.verifyToken(token));
+        assertNull(expiring.verifyToken(token));
+    }
+
+    @Test
+    void verifyToken_doesNotCacheWhenDisabled() {
+        JwtTokenProvider uncached = new JwtTokenProvider(SECRET, 3600000, 86400000, 0);
+        String token = uncached.generateToken("testuser", "USER001", List.of("ROLE_USER"));
+
+        assertNotSame(uncached.verifyToken(token), uncached.verifyToken(token));
+    }
 }
@@ -0,0 +1,86 @@
+package com.digibo.core.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermissionClaimCodecTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final AtomicReference<List<String>> catalog = new AtomicReference<>(
+            List.of("BOCUSTOMER.FIND", "BOCUSTOMER.GET_BY_ID", "BOPAYMENT.CREATE", "BOPAYMENT.FIND"));
+
+    private final PermissionClaimCodec codec = new PermissionClaimCodec(catalog::get, 60_000, now::get);
+
+    private static Claims claims(Map<String, Object> values) {
+        return Jwts.claims().add(values).build();
+    }
+
+    @Test
+    void encode_roundTripsCatalogAndExtraPermissions() {
+        Map<String, Object> encoded = codec.encode(Set.of("bocustomer.find", "BOPAYMENT.FIND", "BOTEST.EXTRA"));
+
+        assertEquals(codec.currentVersion(), encoded.get(PermissionClaimCodec.VERSION_CLAIM));
+        assertEquals(List.of("BOTEST.EXTRA"), encoded.get(PermissionClaimCodec.EXTRA_CLAIM));
+
+        PermissionSet decoded = codec.decode(claims(encoded));
+        assertEquals(Set.of("BOCUSTOMER.FIND", "BOPAYMENT.FIND", "BOTEST.EXTRA"), Set.copyOf(decoded.names()));
+        assertFalse(decoded.contains("BOPAYMENT.CREATE"));
+    }
+
+    @Test
+    void decode_acceptsLegacyPermissionList() {
+        PermissionSet decoded = codec.decode(claims(Map.of("permissions", List.of("BOPAYMENT.CREATE"))));
+
+        assertTrue(decoded.contains("bopayment.create"));
+        assertEquals(1, decoded.size());
+    }
+
+    @Test
+    void decode_keepsPreviousVersionsAndRejectsUnknownOnes() {
+        Map<String, Object> before = codec.encode(Set.of("BOPAYMENT.CREATE"));
+
+        List<String> changed = new ArrayList<>(catalog.get());
+        changed.add("BOAAA.NEW");
+        catalog.set(changed);
+        now.addAndGet(60_000);
+        Map<String, Object> after = codec.encode(Set.of("BOPAYMENT.CREATE"));
+
+        assertNotEquals(before.get(PermissionClaimCodec.VERSION_CLAIM), after.get(PermissionClaimCodec.VERSION_CLAIM));
+        assertTrue(codec.decode(claims(before)).contains("BOPAYMENT.CREATE"));
+        assertTrue(codec.decode(claims(after)).contains("BOPAYMENT.CREATE"));
+
+        assertThrows(MalformedJwtException.class, () -> codec.decode(claims(Map.of(
+                PermissionClaimCodec.VERSION_CLAIM, "00000000",
+                PermissionClaimCodec.BITMAP_CLAIM, "AQ"))));
+    }
+
+    @Test
+    void encode_isSmallerThanPermissionList() {
+        List<String> all = new ArrayList<>();
+        for (int p = 0; p < 20; p++) {
+            for (int i = 0; i < 15; i++) {
+                all.add("BOPACKAGE" + p + ".PROCEDURE_" + i);
+            }
+        }
+        catalog.set(all);
+        Set<String> granted = Set.copyOf(all.subList(0, 200));
+
+        String compact = Jwts.builder().claims(codec.encode(granted)).compact();
+        String legacy = Jwts.builder().claim("permissions", granted).compact();
+
+        assertTrue(compact.length() * 10 < legacy.length(),
+                "compact " + compact.length() + " vs legacy " + legacy.length());
+        assertEquals(granted, Set.copyOf(codec.decode(claims(codec.encode(granted))).names()));
+    }
+}
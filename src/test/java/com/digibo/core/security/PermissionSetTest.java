@@ -0,0 +1,73 @@
+package com.digibo.core.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermissionSetTest {
+
+    @Test
+    void register_assignsDenseStableIdsIgnoringCase() {
+        PermissionCatalog catalog = new PermissionCatalog();
+
+        int find = catalog.register("BOPAYMENT.FIND");
+        int load = catalog.register("BOPAYMENT.LOAD");
+
+        assertEquals(0, find);
+        assertEquals(1, load);
+        assertEquals(find, catalog.register("bopayment.find"));
+        assertEquals(load, catalog.idOf("BOPayment.Load"));
+        assertEquals(-1, catalog.idOf("BOPAYMENT.DELETE"));
+        assertEquals("BOPAYMENT.FIND", catalog.nameOf(find));
+    }
+
+    @Test
+    void contains_testsBitsAcrossWords() {
+        PermissionCatalog catalog = new PermissionCatalog();
+        for (int i = 0; i < 130; i++) {
+            catalog.register("PKG.P" + i);
+        }
+
+        PermissionSet set = PermissionSet.of(catalog, List.of("PKG.P1", "pkg.p64", "PKG.P129"));
+
+        assertTrue(set.contains("PKG.P1"));
+        assertTrue(set.contains("PKG.P64"));
+        assertTrue(set.contains(catalog.idOf("PKG.P129")));
+        assertFalse(set.contains("PKG.P2"));
+        assertFalse(set.contains("PKG.UNKNOWN"));
+        assertFalse(set.contains(-1));
+        assertEquals(3, set.size());
+        assertEquals(Set.of("PKG.P1", "PKG.P64", "PKG.P129"), set.names());
+    }
+
+    @Test
+    void of_emptyOrNullGivesEmptySet() {
+        assertTrue(PermissionSet.of(null).isEmpty());
+        assertTrue(PermissionSet.of(List.of()).isEmpty());
+        assertTrue(PermissionSet.EMPTY.names().isEmpty());
+    }
+
+    @Test
+    void serialization_keepsPermissionsByName() throws Exception {
+        PermissionSet permissions = PermissionSet.of(Set.of("BOPAYMENT.FIND", "BONOTE.LOAD_NOTE"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(permissions);
+        }
+        PermissionSet read;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = (PermissionSet) in.readObject();
+        }
+
+        assertEquals(permissions.names(), read.names());
+        assertTrue(read.contains("bopayment.find"));
+    }
+}
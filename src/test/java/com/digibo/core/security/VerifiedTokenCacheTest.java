@@ -0,0 +1,56 @@
+package com.digibo.core.security;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private static VerifiedClaims claims(String username, long expiresAt) {
+        return VerifiedClaims.from(Jwts.claims().subject(username).expiration(new Date(expiresAt)).build(),
+                PermissionSet.of(Set.of()));
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsedEntryWhenFull() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(3, now::get);
+        cache.put("a", claims("a", 2_000_000));
+        cache.put("b", claims("b", 2_000_000));
+        cache.put("c", claims("c", 2_000_000));
+        assertNotNull(cache.get("a"));
+
+        cache.put("d", claims("d", 2_000_000));
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals("a", cache.get("a").getUsername());
+        assertNotNull(cache.get("c"));
+        assertNotNull(cache.get("d"));
+    }
+
+    @Test
+    void expiredEntriesAreNotReturnedAndAreSweptOut() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(3, now::get);
+        cache.put("live", claims("live", 2_000_000));
+        cache.put("expiring", claims("expiring", 1_000_500));
+        now.addAndGet(500);
+
+        // The sweep on the third insertion drops the expired entry, so the older live one stays
+        cache.put("third", claims("third", 2_000_000));
+        cache.put("fourth", claims("fourth", 2_000_000));
+
+        assertEquals(3, cache.size());
+        assertNotNull(cache.get("live"));
+        assertNull(cache.get("expiring"));
+
+        now.addAndGet(1_000_000);
+        assertNull(cache.get("live"));
+    }
+}
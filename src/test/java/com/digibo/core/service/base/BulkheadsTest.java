@@ -0,0 +1,62 @@
+package com.digibo.core.service.base;
+
+import com.digibo.core.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("app.bulkheads.default.max-concurrent", "0")
+            .withProperty("app.bulkheads.default.max-wait", "500")
+            .withProperty("app.bulkheads.default.retry-after", "3")
+            .withProperty("app.bulkheads.packages.BOAUDITLOG.max-concurrent", "1")
+            .withProperty("app.bulkheads.packages.BOAUDITLOG.max-queued", "1");
+    private final Bulkheads bulkheads = new Bulkheads(environment, registry);
+
+    @Test
+    void forPackage_usesPackageSettingsAndLeavesOthersUnlimited() {
+        assertNull(bulkheads.forPackage("BOPayment"));
+        assertSame(bulkheads.forPackage("BOAuditLog"), bulkheads.forPackage("BOAUDITLOG"));
+    }
+
+    @Test
+    void acquire_rejectsWhenQueueIsFullOrWaitTimesOut() throws InterruptedException {
+        Bulkheads.Bulkhead bulkhead = bulkheads.forPackage("BOAuditLog");
+        bulkhead.acquire();
+
+        AtomicReference<Throwable> waited = new AtomicReference<>();
+        Thread queued = Thread.ofVirtual().start(() -> {
+            try {
+                bulkhead.acquire();
+            } catch (ServiceUnavailableException e) {
+                waited.set(e);
+            }
+        });
+        while (bulkhead.queued() == 0 && queued.isAlive()) {
+            Thread.onSpinWait();
+        }
+
+        ServiceUnavailableException shed = assertThrows(ServiceUnavailableException.class, bulkhead::acquire);
+        assertEquals(3, shed.getRetryAfterSeconds());
+        assertEquals("BOAUDITLOG", shed.getPackageName());
+
+        assertTrue(queued.join(Duration.ofSeconds(5)));
+        assertInstanceOf(ServiceUnavailableException.class, waited.get());
+        assertEquals(1, registry.get("digibo.bulkhead.rejected").tag("reason", "queue-full").counter().count());
+        assertEquals(1, registry.get("digibo.bulkhead.rejected").tag("reason", "timeout").counter().count());
+        assertEquals(1, registry.get("digibo.bulkhead.inflight").tag("package", "BOAUDITLOG").gauge().value());
+
+        bulkhead.release();
+        bulkhead.acquire();
+        bulkhead.release();
+        assertEquals(0, bulkhead.inFlight());
+    }
+}
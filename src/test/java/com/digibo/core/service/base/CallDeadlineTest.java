@@ -0,0 +1,26 @@
+package com.digibo.core.service.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CallDeadlineTest {
+
+    @Test
+    void queryTimeoutSeconds_isTimeLeftRoundedUpWithinDeadline() throws Exception {
+        assertEquals(0, CallDeadline.queryTimeoutSeconds());
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500);
+        assertEquals(2, CallDeadline.within(deadline, CallDeadline::queryTimeoutSeconds));
+        // A nested, later deadline does not extend the outer one
+        assertEquals(2, CallDeadline.within(deadline,
+                () -> CallDeadline.within(deadline + TimeUnit.SECONDS.toNanos(60), CallDeadline::queryTimeoutSeconds)));
+        assertEquals(0, CallDeadline.queryTimeoutSeconds());
+
+        assertThrows(SQLTimeoutException.class,
+                () -> CallDeadline.within(System.nanoTime() - 1, CallDeadline::queryTimeoutSeconds));
+    }
+}
@@ -0,0 +1,66 @@
+package com.digibo.core.service.base;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionGateTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    private DataSource dataSource(boolean failing) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+                new Class<?>[]{DataSource.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("getConnection")) {
+                        return null;
+                    }
+                    if (failing) {
+                        throw new SQLException("pool exhausted");
+                    }
+                    return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                            new Class<?>[]{Connection.class}, (connection, call, callArgs) -> {
+                                if (call.getName().equals("close")) {
+                                    closed.incrementAndGet();
+                                }
+                                return null;
+                            });
+                });
+    }
+
+    @Test
+    void getConnection_holdsPermitUntilConnectionIsClosed() throws SQLException {
+        ConnectionGate gate = new ConnectionGate(1, 50, registry);
+        DataSource dataSource = dataSource(false);
+
+        Connection connection = gate.getConnection(dataSource);
+        assertEquals(0, gate.available());
+        assertThrows(SQLTransientConnectionException.class, () -> gate.getConnection(dataSource));
+        assertEquals(1, registry.get("digibo.db.admission.timeouts").counter().count());
+
+        connection.close();
+        connection.close();
+        assertEquals(2, closed.get());
+        assertEquals(1, gate.available());
+
+        gate.getConnection(dataSource).close();
+        assertEquals(3, registry.get("digibo.db.admission.wait").timer().count());
+    }
+
+    @Test
+    void getConnection_returnsPermitWhenPoolFails() {
+        ConnectionGate gate = new ConnectionGate(2, 50, registry);
+
+        assertThrows(SQLException.class, () -> gate.getConnection(dataSource(true)));
+
+        assertEquals(2, gate.available());
+    }
+}
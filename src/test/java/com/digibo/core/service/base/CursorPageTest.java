@@ -0,0 +1,68 @@
+package com.digibo.core.service.base;
+
+import com.digibo.core.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorPageTest {
+
+    private static List<Map<String, Object>> rows(int count) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(Map.of("ID", i));
+        }
+        return rows;
+    }
+
+    @Test
+    void page_walksThroughRowsWithTokens() {
+        CursorStream stream = CursorStream.of(rows(5));
+
+        CursorPage first = stream.page(PageRequest.of(2, null));
+        assertEquals(List.of(Map.of("ID", 0), Map.of("ID", 1)), first.rows());
+        assertTrue(first.hasMore());
+
+        CursorPage second = stream.page(PageRequest.of(2, first.nextPageToken()));
+        assertEquals(List.of(Map.of("ID", 2), Map.of("ID", 3)), second.rows());
+
+        CursorPage last = stream.page(PageRequest.of(2, second.nextPageToken()));
+        assertEquals(List.of(Map.of("ID", 4)), last.rows());
+        assertFalse(last.hasMore());
+        assertNull(last.nextPageToken());
+    }
+
+    @Test
+    void page_stopsReadingAfterLookAheadRow() {
+        List<Integer> produced = new ArrayList<>();
+        CursorStream stream = sink -> {
+            sink.begin(Map.of());
+            for (int i = 0; i < 100 && !sink.isFull(); i++) {
+                produced.add(i);
+                sink.row(new String[]{"ID"}, new Object[]{i});
+            }
+            sink.end(produced.size());
+        };
+
+        CursorPage page = stream.page(PageRequest.of(10, null));
+
+        assertEquals(10, page.rows().size());
+        assertTrue(page.hasMore());
+        assertEquals(11, produced.size());
+    }
+
+    @Test
+    void of_parsesTokensAndRejectsBadInput() {
+        PageRequest kept = PageRequest.of(null, PageRequest.token(100, "abc"));
+        assertEquals(new PageRequest(PageRequest.DEFAULT_LIMIT, 100, "abc"), kept);
+        assertFalse(PageRequest.requested(null, ""));
+
+        assertThrows(ValidationException.class, () -> PageRequest.of(0, null));
+        assertThrows(ValidationException.class, () -> PageRequest.of(PageRequest.MAX_LIMIT + 1, null));
+        assertThrows(ValidationException.class, () -> PageRequest.of(10, "not a token"));
+    }
+}
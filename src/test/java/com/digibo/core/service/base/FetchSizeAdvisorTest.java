@@ -0,0 +1,91 @@
+package com.digibo.core.service.base;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FetchSizeAdvisorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final int[] fetchSize = new int[1];
+
+    private ResultSet resultSet() {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("setFetchSize")) {
+                        fetchSize[0] = (Integer) args[0];
+                    }
+                    return null;
+                });
+    }
+
+    private static ProcedureSpec spec(String procedure) {
+        return ProcedureSpec.procedure("BOUser", procedure).cursor("P_CURSOR").build();
+    }
+
+    private void call(FetchSizeAdvisor advisor, ProcedureSpec spec, int rows, Map<String, Object> row) throws Exception {
+        FetchSizeAdvisor.Tracker tracker = advisor.track(spec, resultSet());
+        for (int i = 0; i < rows; i++) {
+            tracker.row(row);
+        }
+        tracker.end();
+    }
+
+    @Test
+    void fetchSize_learnsFromRowCountsAndCountsRoundTrips() throws Exception {
+        FetchSizeAdvisor advisor = new FetchSizeAdvisor(100, 1000, 1 << 20, name -> null, registry);
+        ProcedureSpec spec = spec("find");
+
+        call(advisor, spec, 400, Map.of("ID", 1));
+        assertEquals(100, fetchSize[0]);
+        assertEquals(501, advisor.fetchSizeFor(spec));
+
+        call(advisor, spec, 400, Map.of("ID", 1));
+        assertEquals(501, fetchSize[0]);
+
+        assertEquals(5 + 1, registry.get("digibo.db.fetch.roundtrips")
+                .tag("procedure", "BOUSER.FIND").counter().count());
+        assertEquals(FetchSizeAdvisor.MIN_FETCH_SIZE, advisor.fetchSizeFor(learned(advisor, 0)));
+    }
+
+    private ProcedureSpec learned(FetchSizeAdvisor advisor, int rows) throws Exception {
+        ProcedureSpec spec = spec("empty");
+        call(advisor, spec, rows, Map.of());
+        return spec;
+    }
+
+    @Test
+    void fetchSize_isCappedByBytesPerRoundTrip() throws Exception {
+        FetchSizeAdvisor advisor = new FetchSizeAdvisor(100, 1000, 10_000, name -> null, registry);
+        ProcedureSpec spec = spec("find");
+
+        call(advisor, spec, 500, Map.of("TEXT", "x".repeat(99)));
+
+        assertEquals(100, advisor.fetchSizeFor(spec));
+    }
+
+    @Test
+    void fetchSize_prefersProcedureThenPackageThenSpecSetting() throws Exception {
+        Function<String, Integer> overrides = name -> switch (name) {
+            case "BOUSER.FIND" -> 300;
+            case "BOUSER" -> 200;
+            default -> null;
+        };
+        FetchSizeAdvisor advisor = new FetchSizeAdvisor(100, 1000, 1 << 20, overrides, registry);
+
+        ProcedureSpec find = spec("find");
+        call(advisor, find, 5000, Map.of("ID", 1));
+        assertEquals(300, advisor.fetchSizeFor(find));
+        assertEquals(200, advisor.fetchSizeFor(spec("list")));
+
+        FetchSizeAdvisor specOnly = new FetchSizeAdvisor(100, 1000, 1 << 20, name -> null, registry);
+        ProcedureSpec fixed = ProcedureSpec.procedure("BOUser", "all").cursor("P_CURSOR").fetchSize(2000).build();
+        assertEquals(2000, specOnly.fetchSizeFor(fixed));
+    }
+}
@@ -0,0 +1,48 @@
+package com.digibo.core.service.base;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcedureMetricsTest {
+
+    private static final ProcedureSpec FIND = ProcedureSpec.procedure("BOPayment", "find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .build();
+
+    @Test
+    void forProcedure_registersMetersOnceAndRecordsByOutcome() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ProcedureMetrics metrics = new ProcedureMetrics(registry);
+
+        ProcedureMetrics.Meters meters = metrics.forProcedure(FIND);
+        assertSame(meters, metrics.forProcedure(FIND));
+
+        meters.call(4_000_000, true);
+        meters.call(6_000_000, true);
+        meters.call(1_000_000, false);
+        meters.rows(120);
+
+        Timer success = registry.get("digibo.db.call")
+                .tags("package", "BOPayment", "procedure", "find", "outcome", "success").timer();
+        assertEquals(2, success.count());
+        assertEquals(10, success.totalTime(java.util.concurrent.TimeUnit.MILLISECONDS));
+        assertEquals(1, registry.get("digibo.db.call").tag("outcome", "error").timer().count());
+        assertEquals(120, registry.get("digibo.db.call.rows").tag("procedure", "find").summary().totalAmount());
+    }
+
+    @Test
+    void none_recordsNothing() {
+        ProcedureMetrics.Meters none = ProcedureMetrics.Meters.none();
+
+        assertDoesNotThrow(() -> {
+            none.call(1_000_000, true);
+            none.rows(5);
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.digibo.core.service.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProcedureSpecTest {
+
+    @Test
+    void procedure_buildsCallSqlWithPositionsInDeclarationOrder() {
+        ProcedureSpec spec = ProcedureSpec.procedure("BOBroker", "find")
+                .in("P_CUST_ID", Types.VARCHAR)
+                .in("P_DOC_COUNT", Types.NUMERIC)
+                .cursor("P_CURSOR")
+                .out("P_TOTAL", Types.NUMERIC)
+                .build();
+
+        assertEquals("{ call BOBroker.find(?, ?, ?, ?) }", spec.getSql());
+        assertEquals("BOBroker.find", spec.getQualifiedName());
+        assertFalse(spec.isFunction());
+        assertTrue(spec.hasCursor());
+        assertEquals("P_CURSOR", spec.getCursorName());
+        assertEquals(3, spec.getCursorPosition());
+        assertEquals(2, spec.getInCount());
+        assertEquals(1, spec.getOutCount());
+    }
+
+    @Test
+    void function_reservesFirstPositionForReturnValue() {
+        ProcedureSpec spec = ProcedureSpec.function("BOCustomer", "get_name", Types.VARCHAR)
+                .in("P_ID", Types.VARCHAR)
+                .build();
+
+        assertEquals("{ ? = call BOCustomer.get_name(?) }", spec.getSql());
+        assertTrue(spec.isFunction());
+        assertEquals(Types.VARCHAR, spec.getReturnType());
+        assertFalse(spec.hasCursor());
+    }
+
+    @Test
+    void argsFrom_ordersMapValuesByInParameter() {
+        ProcedureSpec spec = ProcedureSpec.procedure("BOPayment", "find")
+                .in("P_CUST_ID", Types.VARCHAR)
+                .in("P_OFFICER_ID", Types.NUMERIC)
+                .in("P_STATUSES", Types.VARCHAR)
+                .build();
+
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put("P_STATUSES", "NEW");
+        inputs.put("P_CUST_ID", "C1");
+
+        assertArrayEquals(new Object[]{"C1", null, "NEW"}, spec.argsFrom(inputs));
+    }
+
+    @Test
+    void builder_rejectsSecondCursor() {
+        ProcedureSpec.Builder builder = ProcedureSpec.procedure("BONote", "load").cursor("P_PRODUCTS");
+
+        assertThrows(IllegalStateException.class, () -> builder.cursor("P_CHANNELS"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.digibo.core.service.base;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceDataCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final ReferenceDataCache referenceData = new ReferenceDataCache(
+            new SimpleMeterRegistry(), new MockEnvironment(), 60_000, 10);
+
+    private List<Map<String, Object>> load(Object... args) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("ARGS", List.of(args).toString());
+        row.put("LOAD", loads.incrementAndGet());
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.add(row);
+        return rows;
+    }
+
+    @Test
+    void get_cachesPerArgumentsAndReturnsImmutableSnapshots() {
+        ReferenceDataCache.Lookup rates = referenceData.define(ReferenceDataCache.CURRENCY_RATES, this::load);
+
+        List<Map<String, Object>> first = rates.get("EUR", "X");
+        assertSame(first, rates.get("EUR", "X"));
+        assertNotSame(first, rates.get("USD", "X"));
+        assertEquals(2, loads.get());
+
+        assertThrows(UnsupportedOperationException.class, () -> first.add(Map.of()));
+        assertThrows(UnsupportedOperationException.class, () -> first.get(0).put("LOAD", 0));
+    }
+
+    @Test
+    void invalidate_dropsLookupSharedByName() {
+        ReferenceDataCache.Lookup products = referenceData.define(ReferenceDataCache.NOTE_PRODUCTS, this::load);
+        ReferenceDataCache.Lookup sameProducts = referenceData.define(ReferenceDataCache.NOTE_PRODUCTS, this::load);
+
+        assertEquals(1, products.get().get(0).get("LOAD"));
+        assertEquals(1, sameProducts.get().get(0).get("LOAD"));
+
+        referenceData.invalidate(ReferenceDataCache.NOTE_PRODUCTS);
+        assertEquals(2, sameProducts.get().get(0).get("LOAD"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.digibo.core.service.base;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final ProcedureSpec FIND_CURRENT = ProcedureSpec.procedure("BOMessage", "find_current")
+            .in("P_CLASSES", Types.VARCHAR)
+            .cursor("P_CURSOR")
+            .coalesce()
+            .build();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void concurrentIdenticalCallsShareOneExecution() throws Exception {
+        SingleFlight singleFlight = new SingleFlight(0, name -> null, registry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        List<String> rows = List.of("row");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<List<String>> leader = executor.submit(() -> singleFlight.execute(FIND_CURRENT,
+                    new Object[]{"1,2"}, () -> {
+                        executions.incrementAndGet();
+                        started.countDown();
+                        await(release);
+                        return rows;
+                    }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            List<Future<List<String>>> followers = List.of(
+                    executor.submit(() -> singleFlight.execute(FIND_CURRENT, new Object[]{"1,2"}, () -> {
+                        executions.incrementAndGet();
+                        return List.of();
+                    })),
+                    executor.submit(() -> singleFlight.execute(FIND_CURRENT, new Object[]{"1,2"}, () -> {
+                        executions.incrementAndGet();
+                        return List.of();
+                    })));
+            while (count("joined") < 2) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertSame(rows, leader.get(5, TimeUnit.SECONDS));
+            for (Future<List<String>> follower : followers) {
+                assertSame(rows, follower.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, count("executed"));
+
+        // Completed without a share window: the next call runs again
+        singleFlight.execute(FIND_CURRENT, new Object[]{"1,2"}, () -> rows);
+        assertEquals(2, count("executed"));
+    }
+
+    @Test
+    void sharesCompletedResultWithinWindowAndNeverFailures() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        SingleFlight singleFlight = new SingleFlight(1000, name -> null, registry, now::get);
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute(FIND_CURRENT, new Object[]{new BigDecimal("10.00")}, executions::incrementAndGet);
+        now.addAndGet(999);
+        assertEquals(1, singleFlight.execute(FIND_CURRENT, new Object[]{10}, executions::incrementAndGet));
+        assertEquals(1, count("shared"));
+
+        now.addAndGet(1);
+        assertEquals(2, singleFlight.execute(FIND_CURRENT, new Object[]{10}, executions::incrementAndGet));
+
+        IllegalStateException failure = new IllegalStateException("ORA-04068");
+        assertSame(failure, assertThrows(IllegalStateException.class,
+                () -> singleFlight.execute(FIND_CURRENT, new Object[]{"x"}, () -> {
+                    throw failure;
+                })));
+        assertEquals("ok", singleFlight.execute(FIND_CURRENT, new Object[]{"x"}, () -> "ok"));
+    }
+
+    @Test
+    void normalize_comparesArgumentsAsOracleBindsThem() {
+        assertArrayEquals(SingleFlight.normalize(new Object[]{"", 10L, new BigDecimal("10.0")}),
+                SingleFlight.normalize(new Object[]{null, new BigDecimal("10"), 10}));
+        assertFalse(Arrays.equals(SingleFlight.normalize(new Object[]{"A"}),
+                SingleFlight.normalize(new Object[]{"a"})));
+    }
+
+    private double count(String result) {
+        return registry.get("digibo.db.coalescing").tag("result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.digibo.core.service.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowCallJournalTest {
+
+    private static final ProcedureSpec FIND = ProcedureSpec.procedure("BOPayment", "find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_NAME", Types.VARCHAR)
+            .in("P_AMOUNT", Types.NUMERIC)
+            .in("P_FROM", Types.DATE)
+            .cursor("P_CURSOR")
+            .build();
+
+    private static final Object[] ARGS = {"C0001234", "Ber%", new BigDecimal("10.50"), null};
+
+    @Test
+    void keepsSlowestCallsPerWindowAboveThreshold() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        SlowCallJournal journal = new SlowCallJournal(100, 2, 60_000, 3, now::get);
+
+        assertFalse(journal.isSlow(99_000_000));
+        assertTrue(journal.isSlow(100_000_000));
+
+        journal.record(FIND, ARGS, 150_000_000, 10, 1, false);
+        journal.record(FIND, ARGS, 300_000_000, 5000, 50, false);
+        journal.record(FIND, ARGS, 120_000_000, 0, 1, true);
+        List<SlowCallJournal.Entry> slowest = journal.slowest("BOPayment");
+        assertEquals(List.of(300.0, 150.0), slowest.stream().map(SlowCallJournal.Entry::millis).toList());
+        assertEquals(50, slowest.get(0).roundTrips());
+
+        // A new window keeps its own slowest calls
+        now.addAndGet(60_000);
+        journal.record(FIND, ARGS, 110_000_000, 1, 1, false);
+        assertEquals(3, journal.slowest("BOPayment").size());
+
+        // Windows older than the kept ones are dropped
+        now.addAndGet(3 * 60_000);
+        assertTrue(journal.slowest().isEmpty());
+    }
+
+    @Test
+    void fingerprint_showsArgumentShapesNotValues() {
+        String fingerprint = SlowCallJournal.fingerprint(FIND, new Object[]{"C0001234", "Ber%", BigDecimal.ONE,
+                Date.valueOf("2024-01-01")});
+
+        assertEquals("P_CUST_ID=str(8), P_NAME=str(4)%, P_AMOUNT=num, P_FROM=date", fingerprint);
+        assertFalse(fingerprint.contains("C0001234"));
+        assertEquals("P_CUST_ID=null, P_NAME='', P_AMOUNT=null, P_FROM=null",
+                SlowCallJournal.fingerprint(FIND, new Object[]{null, "", null, null}));
+    }
+
+    @Test
+    void zeroEntries_disablesJournal() {
+        SlowCallJournal journal = new SlowCallJournal(0, 0, 60_000, 1);
+
+        assertFalse(journal.isSlow(Long.MAX_VALUE - 1));
+    }
+}
@@ -0,0 +1,68 @@
+package com.digibo.core.service.base;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import oracle.jdbc.OracleCallableStatement;
+import oracle.jdbc.OracleStatement;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementCacheMonitorTest {
+
+    /**
+     * Connection whose statements report the creation state mapped to their SQL.
+     */
+    private static Connection connection(Map<String, Integer> creationStates) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "prepareCall" -> statement(creationStates.get((String) args[0]));
+                    default -> null;
+                });
+    }
+
+    private static CallableStatement statement(int creationState) {
+        return (CallableStatement) Proxy.newProxyInstance(OracleCallableStatement.class.getClassLoader(),
+                new Class<?>[]{OracleCallableStatement.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "isWrapperFor" -> ((Class<?>) args[0]).isInstance(proxy);
+                    case "unwrap" -> proxy;
+                    case "creationState" -> creationState;
+                    default -> null;
+                });
+    }
+
+    @Test
+    void prepareCall_countsStatementsByDriverCreationState() throws Exception {
+        StatementCacheMonitor monitor = new StatementCacheMonitor(10, new SimpleMeterRegistry());
+        Connection conn = connection(Map.of(
+                "{ call PKG.cached() }", OracleStatement.IMPLICIT,
+                "{ call PKG.parsed() }", OracleStatement.NEW,
+                "{ call PKG.explicit() }", OracleStatement.EXPLICIT));
+
+        monitor.prepareCall(conn, "{ call PKG.cached() }");
+        monitor.prepareCall(conn, "{ call PKG.cached() }");
+        monitor.prepareCall(conn, "{ call PKG.parsed() }");
+        monitor.prepareCall(conn, "{ call PKG.explicit() }");
+
+        assertEquals(2, monitor.getHitCount());
+        assertEquals(1, monitor.getMissCount());
+    }
+
+    @Test
+    void prepareCall_doesNotCountNonOracleStatements() throws Exception {
+        StatementCacheMonitor monitor = new StatementCacheMonitor(10, new SimpleMeterRegistry());
+        CallableStatement plain = (CallableStatement) Proxy.newProxyInstance(
+                CallableStatement.class.getClassLoader(), new Class<?>[]{CallableStatement.class},
+                (proxy, method, args) -> method.getName().equals("isWrapperFor") ? false : null);
+        Connection conn = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> plain);
+
+        assertSame(plain, monitor.prepareCall(conn, "{ call PKG.a() }"));
+        assertEquals(0, monitor.getHitCount());
+        assertEquals(0, monitor.getMissCount());
+    }
+}
@@ -0,0 +1,104 @@
+package com.digibo.core.service.base.replay;
+
+import com.digibo.core.service.base.ProcedureSpec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordReplayTest {
+
+    private static final ProcedureSpec FIND = ProcedureSpec.procedure("BOPayment", "find")
+            .in("P_CUST_ID", Types.VARCHAR)
+            .in("P_AMOUNT", Types.NUMERIC)
+            .cursor("P_CURSOR")
+            .out("P_TOTAL", Types.NUMERIC)
+            .build();
+
+    private static final Timestamp CREATED = Timestamp.valueOf("2024-03-01 10:15:00");
+
+    @Test
+    void recordedCalls_replayWithSameRowsAndOutputs(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("calls.rec");
+        List<Object> recorded;
+        try (RecordingDataSource recording = new RecordingDataSource(source(), file)) {
+            recorded = call(recording, "C1", new BigDecimal("10.00"));
+            call(recording, "C2", BigDecimal.ONE);
+        }
+
+        List<Recording.Call> calls = Recording.read(file);
+        assertEquals(2, calls.size());
+        assertEquals(FIND.getSql(), calls.get(0).sql());
+
+        ReplayDataSource replay = new ReplayDataSource(calls, 0);
+        assertEquals(recorded, call(replay, "C1", new BigDecimal("10")));
+        assertEquals(List.of(List.of(), Map.of("P_TOTAL", BigDecimal.ZERO)), call(replay, "C2", BigDecimal.ONE));
+    }
+
+    @Test
+    void unknownSql_failsAndRecordedErrorIsRaisedAgain() throws Exception {
+        Recording.Call failed = new Recording.Call("{ call BOPayment.cancel(?) }", new TreeMap<>(Map.of(1, "P1")),
+                0, Map.of(), Map.of(), new SQLException("ORA-20001: Payment already sent", "72000", 20001));
+        ReplayDataSource replay = new ReplayDataSource(List.of(failed), 0);
+
+        try (Connection conn = replay.getConnection()) {
+            CallableStatement cs = conn.prepareCall("{ call BOPayment.cancel(?) }");
+            cs.setString(1, "P1");
+            SQLException error = assertThrows(SQLException.class, cs::execute);
+            assertEquals(20001, error.getErrorCode());
+
+            assertThrows(SQLException.class, () -> conn.prepareCall("{ call BOPayment.send(?) }").execute());
+        }
+    }
+
+    /**
+     * Run FIND the way BaseService does: bind, execute, read the cursor and the outputs.
+     */
+    private static List<Object> call(DataSource dataSource, String customerId, BigDecimal amount) throws SQLException {
+        try (Connection conn = dataSource.getConnection();
+             CallableStatement cs = conn.prepareCall(FIND.getSql())) {
+            FIND.bind(cs, customerId, amount);
+            cs.execute();
+            List<Object> rows = new ArrayList<>();
+            try (ResultSet rs = (ResultSet) cs.getObject(FIND.getCursorPosition())) {
+                rs.setFetchSize(100);
+                while (rs.next()) {
+                    rows.add(List.of(rs.getString(1), rs.getBigDecimal(2), rs.getTimestamp(3),
+                            rs.getMetaData().getColumnName(2)));
+                }
+            }
+            return List.of(rows, FIND.readOutputs(cs));
+        }
+    }
+
+    /**
+     * Stand-in database: a replay of hand-made calls, recorded in the test.
+     */
+    private static DataSource source() {
+        Recording.Cursor rows = new Recording.Cursor(new String[]{"ID", "AMOUNT", "CREATED"},
+                new int[]{Types.VARCHAR, Types.NUMERIC, Types.TIMESTAMP},
+                List.of(new Object[]{"P1", new BigDecimal("10.00"), CREATED},
+                        new Object[]{"P2", new BigDecimal("2.50"), CREATED}), 0);
+        Recording.Cursor empty = new Recording.Cursor(new String[]{"ID", "AMOUNT", "CREATED"},
+                new int[]{Types.VARCHAR, Types.NUMERIC, Types.TIMESTAMP}, List.of(), 0);
+        return new ReplayDataSource(List.of(
+                new Recording.Call(FIND.getSql(), new TreeMap<>(Map.of(1, "C1", 2, new BigDecimal("10.00"))), 0,
+                        Map.of(4, new BigDecimal("12.50")), Map.of(3, rows), null),
+                new Recording.Call(FIND.getSql(), new TreeMap<>(Map.of(1, "C2", 2, BigDecimal.ONE)), 0,
+                        Map.of(4, BigDecimal.ZERO), Map.of(3, empty), null)), 0);
+    }
+}
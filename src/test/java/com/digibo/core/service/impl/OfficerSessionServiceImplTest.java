@@ -0,0 +1,175 @@
+package com.digibo.core.service.impl;
+
+import oracle.jdbc.OracleConnection;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OfficerSessionServiceImplTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final FakePool pool = new FakePool();
+
+    @Test
+    void createSession_registersAsOfficerWithoutHoldingAConnection() {
+        OfficerSessionServiceImpl sessions = new OfficerSessionServiceImpl(pool.dataSource(), 2, 60_000, 1000, now::get);
+
+        String first = sessions.createSession("OFFICER1", "secret", "10.0.0.1");
+        sessions.createSession("OFFICER2", "secret", "10.0.0.2");
+
+        assertEquals(0, pool.borrowed.get());
+        assertEquals(List.of("REGISTER_SESSION " + first + " as OFFICER1"), pool.calls.subList(0, 1));
+        assertEquals(0, pool.openProxySessions.get());
+
+        // At the cap, with nothing idle
+        assertThrows(RuntimeException.class, () -> sessions.createSession("OFFICER3", "secret", "10.0.0.3"));
+        assertEquals(2, sessions.activeSessionCount());
+
+        sessions.closeSession(first);
+        assertTrue(pool.calls.contains("REMOVE_SESSION " + first + " as app"));
+        sessions.createSession("OFFICER3", "secret", "10.0.0.3");
+        assertEquals(2, sessions.activeSessionCount());
+        assertEquals(0, pool.borrowed.get());
+        sessions.cleanup();
+    }
+
+    @Test
+    void reapIdleSessions_endsSessionsNotUsedWithinIdleTimeout() {
+        OfficerSessionServiceImpl sessions = new OfficerSessionServiceImpl(pool.dataSource(), 2, 1000, 1000, now::get);
+        String idle = sessions.createSession("OFFICER1", "secret", "10.0.0.1");
+        String used = sessions.createSession("OFFICER2", "secret", "10.0.0.2");
+
+        now.addAndGet(800);
+        sessions.touchSession(used);
+        now.addAndGet(700);
+        sessions.reapIdleSessions();
+
+        assertEquals(1, sessions.activeSessionCount());
+        assertTrue(pool.calls.contains("REMOVE_SESSION " + idle + " as app"));
+        assertFalse(pool.calls.contains("REMOVE_SESSION " + used + " as app"));
+
+        // A login at the cap reaps idle sessions first
+        sessions.createSession("OFFICER3", "secret", "10.0.0.3");
+        now.addAndGet(1500);
+        sessions.createSession("OFFICER4", "secret", "10.0.0.4");
+        assertEquals(1, sessions.activeSessionCount());
+        sessions.cleanup();
+    }
+
+    @Test
+    void cleanup_endsSessionsInParallelWithinShutdownTimeout() {
+        OfficerSessionServiceImpl sessions = new OfficerSessionServiceImpl(pool.dataSource(), 10, 60_000, 5000, now::get);
+        for (int i = 0; i < 4; i++) {
+            sessions.createSession("OFFICER" + i, "secret", "10.0.0.1");
+        }
+        pool.removeDelay = 300;
+
+        long start = System.nanoTime();
+        sessions.cleanup();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 900, "cleanup took " + elapsedMs + " ms");
+        assertEquals(4, pool.calls.stream().filter(call -> call.startsWith("REMOVE_SESSION")).count());
+        assertEquals(0, sessions.activeSessionCount());
+    }
+
+    @Test
+    void cleanup_givesUpAfterShutdownTimeout() {
+        OfficerSessionServiceImpl sessions = new OfficerSessionServiceImpl(pool.dataSource(), 10, 60_000, 200, now::get);
+        sessions.createSession("OFFICER1", "secret", "10.0.0.1");
+        pool.removeDelay = 3000;
+
+        long start = System.nanoTime();
+        sessions.cleanup();
+
+        assertTrue((System.nanoTime() - start) / 1_000_000 < 2000);
+    }
+
+    /**
+     * Connections that record each BO_AUTH call and the user it ran as.
+     */
+    private static final class FakePool {
+
+        private final List<String> calls = new CopyOnWriteArrayList<>();
+        private final AtomicInteger borrowed = new AtomicInteger();
+        private final AtomicInteger openProxySessions = new AtomicInteger();
+        private volatile long removeDelay;
+
+        DataSource dataSource() {
+            return proxy(DataSource.class, (proxy, method, args) -> switch (method.getName()) {
+                case "getConnection" -> {
+                    borrowed.incrementAndGet();
+                    yield connection();
+                }
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        }
+
+        private Connection connection() {
+            String[] proxyUser = {null};
+            OracleConnection oracle = proxy(OracleConnection.class, (proxy, method, args) -> switch (method.getName()) {
+                case "openProxySession" -> {
+                    proxyUser[0] = ((Properties) args[1]).getProperty(OracleConnection.PROXY_USER_NAME);
+                    openProxySessions.incrementAndGet();
+                    yield null;
+                }
+                case "isProxySession" -> proxyUser[0] != null;
+                case "close" -> {
+                    if (args != null && (int) args[0] == OracleConnection.PROXY_SESSION && proxyUser[0] != null) {
+                        proxyUser[0] = null;
+                        openProxySessions.decrementAndGet();
+                    }
+                    yield null;
+                }
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+            return proxy(Connection.class, (proxy, method, args) -> switch (method.getName()) {
+                case "unwrap" -> oracle;
+                case "prepareCall" -> statement((String) args[0], proxyUser);
+                case "close" -> {
+                    borrowed.decrementAndGet();
+                    yield null;
+                }
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        }
+
+        private CallableStatement statement(String sql, String[] proxyUser) {
+            String procedure = sql.substring(sql.indexOf('.') + 1, sql.indexOf('('));
+            String[] sessionId = {null};
+            return proxy(CallableStatement.class, (proxy, method, args) -> switch (method.getName()) {
+                case "setString" -> {
+                    if ((int) args[0] == 1) {
+                        sessionId[0] = (String) args[1];
+                    }
+                    yield null;
+                }
+                case "execute" -> {
+                    if (procedure.equals("REMOVE_SESSION") && removeDelay > 0) {
+                        Thread.sleep(removeDelay);
+                    }
+                    calls.add(procedure + " " + sessionId[0] + " as " + (proxyUser[0] != null ? proxyUser[0] : "app"));
+                    yield true;
+                }
+                case "close" -> null;
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.digibo.core.service.mock;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticDataTest {
+
+    interface SampleService {
+        List<Map<String, Object>> find(String filter);
+
+        default int count(String filter) {
+            return find(filter).size();
+        }
+    }
+
+    private static List<Map<String, Object>> template() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("PAYMENT_ID", "PMT001");
+        row.put("STATUS", "PENDING");
+        row.put("AMOUNT", new BigDecimal("1000.00"));
+        return List.of(row);
+    }
+
+    @Test
+    void rows_generateConfiguredShapeDeterministically() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.mock.synthetic.procedures.SampleService.find.rows", "500")
+                .withProperty("app.mock.synthetic.procedures.SampleService.find.columns", "6")
+                .withProperty("app.mock.synthetic.procedures.SampleService.find.width", "20");
+        SyntheticData data = new SyntheticData(environment);
+
+        List<Map<String, Object>> rows = data.rows("SampleService.find", template(), "x");
+
+        assertEquals(500, rows.size());
+        Map<String, Object> last = rows.get(499);
+        assertEquals(List.of("PAYMENT_ID", "STATUS", "AMOUNT", "EXTRA_01", "EXTRA_02", "EXTRA_03"),
+                List.copyOf(last.keySet()));
+        assertEquals(20, ((String) last.get("STATUS")).length());
+        assertTrue(((String) last.get("PAYMENT_ID")).endsWith("-499"));
+        assertInstanceOf(BigDecimal.class, last.get("AMOUNT"));
+        assertEquals(rows, data.rows("SampleService.find", template(), "x"));
+        assertNotEquals(rows, data.rows("SampleService.find", template(), "y"));
+
+        assertSame(template().getClass(), data.rows("SampleService.other", template()).getClass());
+    }
+
+    @Test
+    void wrap_reshapesResultsAlsoThroughDefaultMethods() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("app.mock.synthetic.default.rows", "250");
+        SyntheticData data = new SyntheticData(environment);
+        SampleService service = (SampleService) data.wrap(
+                (SampleService) filter -> template(), new Class<?>[]{SampleService.class});
+
+        assertEquals(250, service.find("a").size());
+        assertEquals(250, service.count("a"));
+    }
+
+    @Test
+    void parseTypes_expandsWeights() {
+        assertEquals(4, SyntheticData.parseTypes("string:3, date").length);
+        assertThrows(IllegalArgumentException.class, () -> SyntheticData.parseTypes("blob:1"));
+    }
+}
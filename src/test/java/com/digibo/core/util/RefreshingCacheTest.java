@@ -0,0 +1,160 @@
+package com.digibo.core.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshingCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private RefreshingCache<String, String> cache(int maxSize, long ttl, long refreshAhead) {
+        return new RefreshingCache<>("test", maxSize, ttl, refreshAhead,
+                key -> key + "#" + loads.incrementAndGet(), Runnable::run, new SimpleMeterRegistry(), now::get);
+    }
+
+    @Test
+    void get_concurrentMissesShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RefreshingCache<String, String> cache = new RefreshingCache<>("test", 10, 60_000, 0, key -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return key.toLowerCase();
+        }, Runnable::run, new SimpleMeterRegistry());
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(pool.submit(() -> cache.get("USER1")));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                results.add(pool.submit(() -> cache.get("USER1")));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("user1", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_refreshesAheadOfExpiryAndReloadsAfterIt() {
+        RefreshingCache<String, String> cache = cache(10, 1_000, 200);
+
+        assertEquals("A#1", cache.get("A"));
+        now.addAndGet(500);
+        assertEquals("A#1", cache.get("A"));
+
+        now.addAndGet(400);
+        assertEquals("A#1", cache.get("A"));
+        assertEquals("A#2", cache.get("A"));
+
+        now.addAndGet(5_000);
+        assertEquals("A#3", cache.get("A"));
+        assertEquals(3, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void invalidate_andSizeBoundDropEntries() {
+        RefreshingCache<String, String> cache = cache(10, 60_000, 0);
+
+        for (int i = 0; i < 11; i++) {
+            now.incrementAndGet();
+            cache.get("K" + i);
+        }
+        assertEquals(9, cache.size());
+        assertEquals("K10#11", cache.get("K10"));
+
+        cache.invalidate("K10");
+        assertEquals("K10#12", cache.get("K10"));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void invalidate_duringLoadIsNotOverwrittenByThatLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RefreshingCache<String, String> cache = blockingFirstLoad(loading, release);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> blocked = pool.submit(() -> cache.get("USER1"));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // Calls after the invalidation do not join the running load
+            cache.invalidate("USER1");
+            assertEquals("USER1#2", cache.get("USER1"));
+
+            release.countDown();
+            assertEquals("USER1#1", blocked.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals("USER1#2", cache.get("USER1"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_ofOtherKeyKeepsRunningLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RefreshingCache<String, String> cache = blockingFirstLoad(loading, release);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> blocked = pool.submit(() -> cache.get("USER1"));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            cache.invalidate("USER2");
+            release.countDown();
+            assertEquals("USER1#1", blocked.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals("USER1#1", cache.get("USER1"));
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * Cache whose first load waits for release; values are KEY#load.
+     */
+    private RefreshingCache<String, String> blockingFirstLoad(CountDownLatch loading, CountDownLatch release) {
+        return new RefreshingCache<>("test", 10, 60_000, 0, key -> {
+            int load = loads.incrementAndGet();
+            if (load == 1) {
+                loading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return key + "#" + load;
+        }, Runnable::run, new SimpleMeterRegistry(), now::get);
+    }
+}
@@ -0,0 +1,70 @@
+package com.digibo.core.web;
+
+import com.digibo.core.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("mock")
+class ConditionalGetFilterTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        String token = jwtTokenProvider.generateToken("user1", "1", List.of("USER"), Set.of());
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token);
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void markedEndpoint_answersMatchingIfNoneMatchWithNotModified() throws Exception {
+        HttpResponse<String> first = get("/api/rates", null);
+        assertEquals(200, first.statusCode());
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        assertEquals("private, no-cache", first.headers().firstValue("Cache-Control").orElse(null));
+        assertEquals(String.valueOf(first.body().length()), first.headers().firstValue("Content-Length").orElse(null));
+
+        HttpResponse<String> unchanged = get("/api/rates", etag);
+        assertEquals(304, unchanged.statusCode());
+        assertEquals("", unchanged.body());
+        assertEquals(etag, unchanged.headers().firstValue("ETag").orElse(null));
+
+        assertEquals(304, get("/api/rates", "\"other\", W/" + etag).statusCode());
+        assertEquals(200, get("/api/rates", "\"other\"").statusCode());
+    }
+
+    @Test
+    void unmarkedEndpoint_hasNoETag() throws Exception {
+        HttpResponse<String> response = get("/api/documents/1/history", null);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("ETag").isEmpty());
+    }
+
+    @Test
+    void matches_comparesWeakly() {
+        assertTrue(ConditionalGetFilter.matches(List.of("W/\"a\""), "\"a\""));
+        assertTrue(ConditionalGetFilter.matches(List.of("*"), "\"a\""));
+        assertFalse(ConditionalGetFilter.matches(List.of("\"b\", \"c\""), "\"a\""));
+    }
+}
@@ -0,0 +1,87 @@
+package com.digibo.core.web;
+
+import com.digibo.core.service.base.CursorStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorJsonWriterTest {
+
+    private CursorJsonWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new CursorJsonWriter(JsonMapper.builder().build());
+    }
+
+    @Test
+    void array_writesRowsAsJsonArray() throws IOException {
+        String json = render(writer.array(CursorStream.of(List.of(row("ID", 1, "NAME", "a"), row("ID", 2, "NAME", null)))));
+
+        assertEquals("[{\"ID\":1,\"NAME\":\"a\"},{\"ID\":2,\"NAME\":null}]", json);
+    }
+
+    @Test
+    void object_writesRowsAndCount() throws IOException {
+        String json = render(writer.object(CursorStream.of(List.of(row("ID", 1, "NAME", "a"))), "orders", "count"));
+
+        assertEquals("{\"orders\":[{\"ID\":1,\"NAME\":\"a\"}],\"count\":1}", json);
+    }
+
+    @Test
+    void object_writesOutputsBeforeRows() throws IOException {
+        CursorStream stream = CursorStream.of(List.of(), Map.of("P_PMT_CLASS_OUT", "SEPA"));
+
+        String json = render(writer.object(stream, "payments", null, Map.of("P_PMT_CLASS_OUT", "pmtClass")));
+
+        assertEquals("{\"pmtClass\":\"SEPA\",\"payments\":[]}", json);
+    }
+
+    @Test
+    void array_writesDuplicateColumnOnceWithLastValue() throws IOException {
+        CursorStream stream = sink -> {
+            sink.begin(Map.of());
+            sink.row(new String[]{"ID", "NAME", "ID"}, new Object[]{1, "a", 2});
+            sink.end(1);
+        };
+
+        assertEquals("[{\"ID\":2,\"NAME\":\"a\"}]", render(writer.array(stream)));
+    }
+
+    @Test
+    void array_leavesJsonUnterminatedWhenStreamFails() {
+        CursorStream stream = sink -> {
+            sink.begin(Map.of());
+            sink.row(new String[]{"ID"}, new Object[]{1});
+            throw new IllegalStateException("ORA-01013");
+        };
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(IllegalStateException.class, () -> writer.array(stream).getBody().writeTo(out));
+        assertEquals("[{\"ID\":1}", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Object> row(String k1, Object v1, String k2, Object v2) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put(k1, v1);
+        row.put(k2, v2);
+        return row;
+    }
+
+    private static String render(ResponseEntity<StreamingResponseBody> response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
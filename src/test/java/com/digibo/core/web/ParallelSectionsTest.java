@@ -0,0 +1,87 @@
+package com.digibo.core.web;
+
+import com.digibo.core.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSectionsTest {
+
+    private final ParallelSections parallelSections = new ParallelSections(300);
+
+    @AfterEach
+    void shutdown() {
+        parallelSections.shutdown();
+    }
+
+    @Test
+    void run_runsSectionsConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Map<String, Map<String, Object>> sections = parallelSections.plan()
+                .add("a", true, () -> {
+                    bothStarted.countDown();
+                    return bothStarted.await(1, TimeUnit.SECONDS);
+                })
+                .add("b", true, () -> {
+                    bothStarted.countDown();
+                    return bothStarted.await(1, TimeUnit.SECONDS);
+                })
+                .run();
+
+        assertEquals(List.of("a", "b"), List.copyOf(sections.keySet()));
+        assertEquals(true, sections.get("a").get("data"));
+        assertEquals(true, sections.get("b").get("data"));
+    }
+
+    @Test
+    void run_reportsEachSectionOutcome() {
+        Map<String, Map<String, Object>> sections = parallelSections.plan()
+                .add("ok", true, () -> List.of(1))
+                .add("forbidden", false, () -> fail("must not run"))
+                .add("slow", true, () -> {
+                    Thread.sleep(5000);
+                    return null;
+                })
+                .add("busy", true, () -> {
+                    throw new ServiceUnavailableException("busy", "BODOCUMENTS", 2);
+                })
+                .add("broken", true, () -> {
+                    throw new IllegalStateException("boom");
+                })
+                .run();
+
+        assertEquals(ParallelSections.OK, sections.get("ok").get("status"));
+        assertEquals(List.of(1), sections.get("ok").get("data"));
+        assertEquals(Map.of("status", ParallelSections.FORBIDDEN), sections.get("forbidden"));
+        assertEquals(ParallelSections.TIMEOUT, sections.get("slow").get("status"));
+        assertEquals(ParallelSections.UNAVAILABLE, sections.get("busy").get("status"));
+        assertEquals(2L, sections.get("busy").get("retryAfter"));
+        assertEquals(ParallelSections.ERROR, sections.get("broken").get("status"));
+        assertFalse(sections.get("broken").containsKey("data"));
+    }
+
+    @Test
+    void run_doesNotStartSectionsWhoseTurnComesAfterTheDeadline() throws InterruptedException {
+        CountDownLatch lateStarted = new CountDownLatch(1);
+        Map<String, Map<String, Object>> sections = parallelSections.plan(100, 1)
+                .add("slow", true, () -> {
+                    Thread.sleep(300);
+                    return null;
+                })
+                .add("late", true, () -> {
+                    lateStarted.countDown();
+                    return null;
+                })
+                .run();
+
+        assertEquals(ParallelSections.TIMEOUT, sections.get("slow").get("status"));
+        assertEquals(ParallelSections.TIMEOUT, sections.get("late").get("status"));
+        assertFalse(lateStarted.await(500, TimeUnit.MILLISECONDS));
+    }
+}
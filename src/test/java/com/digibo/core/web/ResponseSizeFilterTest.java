@@ -0,0 +1,54 @@
+package com.digibo.core.web;
+
+import com.digibo.core.security.JwtTokenProvider;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("mock")
+class ResponseSizeFilterTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void responseBytes_areRecordedPerMatchedPattern() throws Exception {
+        String token = jwtTokenProvider.generateToken("user1", "1", List.of("USER"), Set.of());
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/documents/1/history"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+
+        DistributionSummary before = meterRegistry.find("digibo.http.response.bytes")
+                .tag("uri", "/api/documents/{id}/history").summary();
+        long count = before != null ? before.count() : 0;
+        double total = before != null ? before.totalAmount() : 0;
+
+        HttpResponse<byte[]> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode());
+
+        DistributionSummary size = meterRegistry.get("digibo.http.response.bytes")
+                .tag("uri", "/api/documents/{id}/history").summary();
+        assertEquals(count + 1, size.count());
+        assertEquals(total + response.body().length, size.totalAmount());
+    }
+}